@@ -5,17 +5,26 @@ import calendar.model.CalendarContainerImpl;
 import calendar.model.CalendarImpl;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.persistence.JournaledCalendarContainer;
+import calendar.model.persistence.SyncPolicy;
 import calendar.view.CalendarGuiView;
 import calendar.view.CalendarGuiViewImpl;
 import calendar.view.CalendarView;
 import calendar.view.CalendarViewImpl;
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Program runner.
+ * When the calendar.journal system property names a file, every change is journaled there
+ * and replayed on the next start. The calendar.journal.sync property picks the sync policy
+ * (always, group or never, default group) and calendar.journal.group the group size. Once the
+ * journal holds calendar.journal.snapshot records, a snapshot is written next to it when the
+ * program starts or exits.
  */
 public class CalendarRunner {
-  private static final CalendarContainer container = new CalendarContainerImpl();
+  private static final CalendarContainer container = createContainer();
   private static final CalendarEditable calendar = new CalendarImpl();
   private static final CalendarView view = new CalendarViewImpl(System.out);
   private static CalendarGuiView guiView = new CalendarGuiViewImpl();
@@ -65,4 +74,29 @@ public class CalendarRunner {
       view.renderError("  java -jar JARNAME.jar --mode headless <filename> # Headless mode");
     }
   }
+
+  /**
+   * Creates the calendar container, journaled when the calendar.journal property is set.
+   *
+   * @return the container used by the program
+   */
+  private static CalendarContainer createContainer() {
+    String journal = System.getProperty("calendar.journal");
+    if (journal == null) {
+      return new CalendarContainerImpl();
+    }
+    JournaledCalendarContainer journaled = JournaledCalendarContainer.open(Paths.get(journal),
+        SyncPolicy.of(System.getProperty("calendar.journal.sync", "group")),
+        Integer.getInteger("calendar.journal.group", 64),
+        Integer.getInteger("calendar.journal.snapshot",
+            JournaledCalendarContainer.DEFAULT_SNAPSHOT_THRESHOLD));
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        journaled.close();
+      } catch (IOException e) {
+        view.renderError("Error closing journal: " + e.getMessage());
+      }
+    }));
+    return journaled;
+  }
 }
@@ -3,12 +3,16 @@ package calendar.controller;
 import calendar.controller.commands.Command;
 import calendar.controller.commands.CommandTokenizer;
 import calendar.controller.commands.CommandTokenizerImpl;
+import calendar.controller.commands.ConflictsCommand;
 import calendar.controller.commands.CreateCommand;
 import calendar.controller.commands.EditEventCommand;
 import calendar.controller.commands.EditMultipleEventsCommand;
 import calendar.controller.commands.EditSeriesCommand;
 import calendar.controller.commands.ExportCommand;
+import calendar.controller.commands.FindSlotCommand;
+import calendar.controller.commands.ImportCommand;
 import calendar.controller.commands.PrintCommand;
+import calendar.controller.commands.SearchCommand;
 import calendar.controller.commands.UserStatusCommand;
 import calendar.model.AdvancedCalendarImpl;
 import calendar.model.CalendarContainerImpl;
@@ -101,10 +105,18 @@ public class CalendarControllerImpl implements CalendarController {
         (container) -> new EditSeriesCommand(container.getActiveCalendar()));
     this.commands.put("print events",
         (container) -> new PrintCommand(container.getActiveCalendar()));
+    this.commands.put("search events",
+        (container) -> new SearchCommand(container.getActiveCalendar()));
     this.commands.put("export cal",
         (container) -> new ExportCommand(container.getActiveCalendar()));
+    this.commands.put("import cal",
+        (container) -> new ImportCommand(container.getActiveCalendar()));
     this.commands.put("show status",
         (container) -> new UserStatusCommand(container.getActiveCalendar()));
+    this.commands.put("find slot",
+        (container) -> new FindSlotCommand(container));
+    this.commands.put("show conflicts",
+        (container) -> new ConflictsCommand(container));
   }
 
   @Override
@@ -223,9 +235,19 @@ public class CalendarControllerImpl implements CalendarController {
         + "print events on <dateString>" + System.lineSeparator()
         + "print events from <dateStringTtimeString> to <dateStringTtimeString>"
         + System.lineSeparator()
+        + "search events \"<words>\"" + System.lineSeparator()
+        + "search events \"<words>\" from <dateStringTtimeString> to <dateStringTtimeString>"
+        + System.lineSeparator()
         + "export cal fileName.csv or export cal fileName.ical"
         + System.lineSeparator()
-        + "show status on <dateStringTtimeString>" + System.lineSeparator();
+        + "export cal <fileName> from <dateStringTtimeString> to <dateStringTtimeString>"
+        + System.lineSeparator()
+        + "import cal fileName.ics or import cal fileName.ical" + System.lineSeparator()
+        + "show status on <dateStringTtimeString>" + System.lineSeparator()
+        + "find slot for <N> minutes from <dateStringTtimeString> to <dateStringTtimeString> "
+        + "[--calendars <calName,...>|all] [--count <K>]" + System.lineSeparator()
+        + "show conflicts from <dateStringTtimeString> to <dateStringTtimeString> "
+        + "[--calendars <calName,...>|all]" + System.lineSeparator();
   }
 
 
@@ -0,0 +1,39 @@
+package calendar.controller.commanddata;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data transfer object for ConflictsCommand parsed data.
+ */
+public class ConflictsCommandData {
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+  private final List<String> calendarNames;
+
+  /**
+   * Constructor for ConflictsCommandData.
+   *
+   * @param startDateTime the start of the checked range
+   * @param endDateTime the end of the checked range
+   * @param calendarNames the calendars to check, empty for the active calendar
+   */
+  public ConflictsCommandData(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                              List<String> calendarNames) {
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+    this.calendarNames = calendarNames;
+  }
+
+  public LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+
+  public List<String> getCalendarNames() {
+    return calendarNames;
+  }
+}
@@ -1,5 +1,6 @@
 package calendar.controller.commanddata;
 
+import calendar.model.datatypes.StorageMode;
 import java.time.ZoneId;
 
 /**
@@ -8,16 +9,44 @@ import java.time.ZoneId;
 public class CreateCalendarCommandData {
   private final String name;
   private final ZoneId timezone;
+  private final StorageMode storage;
+  private final boolean rejectOverlaps;
 
   /**
-   * Constructor for CreateCalendarCommandData.
+   * Constructor for CreateCalendarCommandData, for a calendar stored on the heap.
    *
    * @param name the calendar name
    * @param timezone the timezone
    */
   public CreateCalendarCommandData(String name, ZoneId timezone) {
+    this(name, timezone, StorageMode.HEAP);
+  }
+
+  /**
+   * Constructor for CreateCalendarCommandData.
+   *
+   * @param name the calendar name
+   * @param timezone the timezone
+   * @param storage how the events of the calendar are stored
+   */
+  public CreateCalendarCommandData(String name, ZoneId timezone, StorageMode storage) {
+    this(name, timezone, storage, false);
+  }
+
+  /**
+   * Constructor for CreateCalendarCommandData, for a calendar that may refuse overlaps.
+   *
+   * @param name the calendar name
+   * @param timezone the timezone
+   * @param storage how the events of the calendar are stored
+   * @param rejectOverlaps true to refuse events that overlap an existing event
+   */
+  public CreateCalendarCommandData(String name, ZoneId timezone, StorageMode storage,
+                                   boolean rejectOverlaps) {
     this.name = name;
     this.timezone = timezone;
+    this.storage = storage;
+    this.rejectOverlaps = rejectOverlaps;
   }
 
   public String getName() {
@@ -27,5 +56,13 @@ public class CreateCalendarCommandData {
   public ZoneId getTimezone() {
     return timezone;
   }
+
+  public StorageMode getStorage() {
+    return storage;
+  }
+
+  public boolean rejectsOverlaps() {
+    return rejectOverlaps;
+  }
 }
 
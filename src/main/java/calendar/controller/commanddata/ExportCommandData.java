@@ -1,22 +1,47 @@
 package calendar.controller.commanddata;
 
+import java.time.LocalDateTime;
+
 /**
  * Data transfer object for ExportCommand parsed data.
  */
 public class ExportCommandData {
   private final String fileName;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
 
   /**
-   * Constructor for ExportCommandData.
+   * Constructor for ExportCommandData exporting every event.
    *
    * @param fileName the file name to export to
    */
   public ExportCommandData(String fileName) {
+    this(fileName, null, null);
+  }
+
+  /**
+   * Constructor for ExportCommandData.
+   *
+   * @param fileName the file name to export to
+   * @param startDateTime the start of the exported range, null to export every event
+   * @param endDateTime the end of the exported range, null to export every event
+   */
+  public ExportCommandData(String fileName, LocalDateTime startDateTime,
+                           LocalDateTime endDateTime) {
     this.fileName = fileName;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
   }
 
   public String getFileName() {
     return fileName;
   }
-}
 
+  public LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+}
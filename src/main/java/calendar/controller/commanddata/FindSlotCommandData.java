@@ -0,0 +1,54 @@
+package calendar.controller.commanddata;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data transfer object for FindSlotCommand parsed data.
+ */
+public class FindSlotCommandData {
+  private final Duration duration;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+  private final List<String> calendarNames;
+  private final int count;
+
+  /**
+   * Constructor for FindSlotCommandData.
+   *
+   * @param duration the shortest free gap to find
+   * @param startDateTime the start of the searched window
+   * @param endDateTime the end of the searched window
+   * @param calendarNames the calendars that must be free, empty for the active calendar
+   * @param count the most slots to list
+   */
+  public FindSlotCommandData(Duration duration, LocalDateTime startDateTime,
+                             LocalDateTime endDateTime, List<String> calendarNames, int count) {
+    this.duration = duration;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+    this.calendarNames = calendarNames;
+    this.count = count;
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  public LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+
+  public List<String> getCalendarNames() {
+    return calendarNames;
+  }
+
+  public int getCount() {
+    return count;
+  }
+}
@@ -0,0 +1,21 @@
+package calendar.controller.commanddata;
+
+/**
+ * Data transfer object for ImportCommand parsed data.
+ */
+public class ImportCommandData {
+  private final String fileName;
+
+  /**
+   * Constructor for ImportCommandData.
+   *
+   * @param fileName the file name to import from
+   */
+  public ImportCommandData(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+}
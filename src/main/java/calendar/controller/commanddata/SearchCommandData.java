@@ -0,0 +1,38 @@
+package calendar.controller.commanddata;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data transfer object for SearchCommand parsed data.
+ */
+public class SearchCommandData {
+  private final String text;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+
+  /**
+   * Constructor for SearchCommandData.
+   *
+   * @param text the words to search for
+   * @param startDateTime the start of the searched range, null to search every event
+   * @param endDateTime the end of the searched range, null to search every event
+   */
+  public SearchCommandData(String text, LocalDateTime startDateTime,
+                           LocalDateTime endDateTime) {
+    this.text = text;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+}
@@ -0,0 +1,70 @@
+package calendar.controller.commands;
+
+import calendar.controller.commanddata.ConflictsCommandData;
+import calendar.controller.handlers.ConflictsHandler;
+import calendar.model.interfaces.CalendarContainer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Executes the "show conflicts" command from the user input.
+ * Represents the command used to list the events that overlap each other between two date
+ * times, in the active calendar or across the named calendars.
+ * This class handles parsing, while ConflictsHandler handles the logic.
+ */
+public class ConflictsCommand implements Command {
+
+  private final ConflictsHandler handler;
+
+  /**
+   * We are passing the calendar container in the constructor, since conflicts may be checked
+   * across several of its calendars.
+   *
+   * @param calendarManager the calendar container.
+   */
+  public ConflictsCommand(CalendarContainer calendarManager) {
+    this.handler = new ConflictsHandler(calendarManager);
+  }
+
+  /**
+   * Parses the command and delegates to the handler.
+   *
+   * @param parsedCommand list of user input values.
+   * @return a string to print.
+   */
+  @Override
+  public String execute(List<String> parsedCommand) {
+    ConflictsCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into a ConflictsCommandData object.
+   * The syntax is "show conflicts from start to end", optionally followed by
+   * "--calendars name,name" (or "--calendars all").
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return ConflictsCommandData containing parsed information
+   */
+  public ConflictsCommandData parse(List<String> parsedCommand) {
+    if ((parsedCommand.size() != 6 && parsedCommand.size() != 8)
+        || !parsedCommand.get(2).equals("from") || !parsedCommand.get(4).equals("to")
+        || (parsedCommand.size() == 8 && !parsedCommand.get(6).equals("--calendars"))) {
+      throw new IllegalArgumentException("Invalid show conflicts command");
+    }
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(3), formatter);
+    LocalDateTime endDateTime = LocalDateTime.parse(parsedCommand.get(5), formatter);
+    if (endDateTime.isBefore(startDateTime)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    List<String> calendarNames = new ArrayList<>();
+    if (parsedCommand.size() == 8) {
+      calendarNames.addAll(Arrays.asList(parsedCommand.get(7).split(",")));
+    }
+    return new ConflictsCommandData(startDateTime, endDateTime, calendarNames);
+  }
+}
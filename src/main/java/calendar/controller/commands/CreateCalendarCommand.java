@@ -2,6 +2,7 @@ package calendar.controller.commands;
 
 import calendar.controller.commanddata.CreateCalendarCommandData;
 import calendar.controller.handlers.CreateCalendarHandler;
+import calendar.model.datatypes.StorageMode;
 import calendar.model.interfaces.CalendarContainer;
 import java.time.ZoneId;
 import java.time.zone.ZoneRulesException;
@@ -13,8 +14,14 @@ import java.util.List;
  * IANA Time Zone Database format. In this format the timezone is specified as "area/location".
  * It throws an Illegal argument exception if a calendar with given name is already existing.
  * This class handles parsing, while CreateCalendarHandler handles the logic.
+ * An optional storage mode (heap, columnar or off-heap) chooses how the events of the
+ * calendar are stored; calendars are stored on the heap by default. A trailing --strict
+ * makes the calendar refuse events that overlap one it already holds; strict calendars are
+ * stored on the heap.
  * Example usage of commands:
  * "create calendar --name calName --timezone area/location"
+ * "create calendar --name calName --timezone area/location --storage off-heap"
+ * "create calendar --name calName --timezone area/location --strict"
  */
 public class CreateCalendarCommand implements Command {
 
@@ -49,10 +56,16 @@ public class CreateCalendarCommand implements Command {
    * @return CreateCalendarCommandData containing parsed information
    */
   public CreateCalendarCommandData parse(List<String> parsedCommand) {
-    if (parsedCommand.size() != 6 || !parsedCommand.get(2).equalsIgnoreCase("--name")
-        || !parsedCommand.get(4).equalsIgnoreCase("--timezone")) {
+    boolean strict = parsedCommand.size() % 2 == 1
+        && parsedCommand.get(parsedCommand.size() - 1).equalsIgnoreCase("--strict");
+    int size = strict ? parsedCommand.size() - 1 : parsedCommand.size();
+    if ((size != 6 && size != 8)
+        || !parsedCommand.get(2).equalsIgnoreCase("--name")
+        || !parsedCommand.get(4).equalsIgnoreCase("--timezone")
+        || (size == 8 && !parsedCommand.get(6).equalsIgnoreCase("--storage"))) {
       throw new IllegalArgumentException("Invalid create calendar command. "
-          + "Usage: create calendar --name <calName> --timezone area/location");
+          + "Usage: create calendar --name <calName> --timezone area/location "
+          + "[--storage heap|columnar|off-heap] [--strict]");
     }
     String name = parsedCommand.get(3);
     ZoneId timezone;
@@ -62,6 +75,11 @@ public class CreateCalendarCommand implements Command {
     } catch (ZoneRulesException e) {
       throw new IllegalArgumentException("Invalid timezone");
     }
-    return new CreateCalendarCommandData(name, timezone);
+    StorageMode storage = size == 8
+        ? StorageMode.getStorageMode(parsedCommand.get(7)) : StorageMode.HEAP;
+    if (strict && storage != StorageMode.HEAP) {
+      throw new IllegalArgumentException("Strict calendars are stored on the heap");
+    }
+    return new CreateCalendarCommandData(name, timezone, storage, strict);
   }
 }
@@ -3,11 +3,14 @@ package calendar.controller.commands;
 import calendar.controller.commanddata.ExportCommandData;
 import calendar.controller.handlers.ExportEventHandler;
 import calendar.model.interfaces.CalendarEditable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
  * Executes the "export cal" command from the user input.
- * Represents the command used to export the calendar events into csv file.
+ * Represents the command used to export the calendar events into csv file, optionally only
+ * those between two date times.
  * This class handles parsing, while ExportEventHandler handles the logic.
  */
 public class ExportCommand implements Command {
@@ -43,11 +46,19 @@ public class ExportCommand implements Command {
    * @return ExportCommandData containing parsed information
    */
   public ExportCommandData parse(List<String> parsedCommand) {
-    if (parsedCommand.size() != 3) {
+    if (parsedCommand.size() == 3) {
+      return new ExportCommandData(parsedCommand.get(2));
+    }
+    if (parsedCommand.size() != 7 || !parsedCommand.get(3).equals("from")
+        || !parsedCommand.get(5).equals("to")) {
       throw new IllegalArgumentException("Invalid export command");
     }
-
-    String fileName = parsedCommand.get(2);
-    return new ExportCommandData(fileName);
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(4), formatter);
+    LocalDateTime endDateTime = LocalDateTime.parse(parsedCommand.get(6), formatter);
+    if (endDateTime.isBefore(startDateTime)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    return new ExportCommandData(parsedCommand.get(2), startDateTime, endDateTime);
   }
 }
@@ -0,0 +1,92 @@
+package calendar.controller.commands;
+
+import calendar.controller.commanddata.FindSlotCommandData;
+import calendar.controller.handlers.FindSlotHandler;
+import calendar.model.interfaces.CalendarContainer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Executes the "find slot" command from the user input.
+ * Represents the command used to list the earliest gaps of a given length in which the
+ * active calendar, or each of the named calendars, is free.
+ * This class handles parsing, while FindSlotHandler handles the logic.
+ */
+public class FindSlotCommand implements Command {
+
+  private final FindSlotHandler handler;
+
+  /**
+   * We are passing the calendar container in the constructor, since the slot may be searched
+   * across several of its calendars.
+   *
+   * @param calendarManager the calendar container.
+   */
+  public FindSlotCommand(CalendarContainer calendarManager) {
+    this.handler = new FindSlotHandler(calendarManager);
+  }
+
+  /**
+   * Parses the command and delegates to the handler.
+   *
+   * @param parsedCommand list of user input values.
+   * @return a string to print.
+   */
+  @Override
+  public String execute(List<String> parsedCommand) {
+    FindSlotCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into a FindSlotCommandData object.
+   * The syntax is "find slot for N minutes from start to end", optionally followed by
+   * "--calendars name,name" (or "--calendars all") and "--count K".
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return FindSlotCommandData containing parsed information
+   */
+  public FindSlotCommandData parse(List<String> parsedCommand) {
+    if (parsedCommand.size() < 9 || parsedCommand.size() % 2 == 0
+        || !parsedCommand.get(2).equals("for") || !parsedCommand.get(4).equals("minutes")
+        || !parsedCommand.get(5).equals("from") || !parsedCommand.get(7).equals("to")) {
+      throw new IllegalArgumentException("Invalid find slot command");
+    }
+    Duration duration = Duration.ofMinutes(parseNumber(parsedCommand.get(3)));
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(6), formatter);
+    LocalDateTime endDateTime = LocalDateTime.parse(parsedCommand.get(8), formatter);
+    if (endDateTime.isBefore(startDateTime)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    List<String> calendarNames = new ArrayList<>();
+    int count = 1;
+    for (int i = 9; i < parsedCommand.size(); i += 2) {
+      String value = parsedCommand.get(i + 1);
+      if (parsedCommand.get(i).equals("--calendars") && calendarNames.isEmpty()) {
+        calendarNames.addAll(Arrays.asList(value.split(",")));
+      } else if (parsedCommand.get(i).equals("--count")) {
+        count = parseNumber(value);
+      } else {
+        throw new IllegalArgumentException("Invalid find slot command");
+      }
+    }
+    return new FindSlotCommandData(duration, startDateTime, endDateTime, calendarNames, count);
+  }
+
+  private static int parseNumber(String value) {
+    try {
+      int number = Integer.parseInt(value);
+      if (number < 1) {
+        throw new IllegalArgumentException("Invalid find slot command");
+      }
+      return number;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid find slot command");
+    }
+  }
+}
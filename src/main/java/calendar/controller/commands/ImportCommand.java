@@ -0,0 +1,51 @@
+package calendar.controller.commands;
+
+import calendar.controller.commanddata.ImportCommandData;
+import calendar.controller.handlers.ImportEventHandler;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.util.List;
+
+/**
+ * Executes the "import cal" command from the user input.
+ * Represents the command used to import the events of an iCalendar file into the calendar.
+ * This class handles parsing, while ImportEventHandler handles the logic.
+ */
+public class ImportCommand implements Command {
+
+  private final ImportEventHandler handler;
+
+  /**
+   * We are passing the active calendar in the constructor.
+   * It is the calendar on which the current operation is to be performed.
+   *
+   * @param calendarModel current active calendar.
+   */
+  public ImportCommand(AdvancedCalendar calendarModel) {
+    this.handler = new ImportEventHandler(calendarModel);
+  }
+
+  /**
+   * Parses the command and delegates to the handler.
+   *
+   * @param parsedCommand list of user input values.
+   * @return the result string
+   */
+  @Override
+  public String execute(List<String> parsedCommand) {
+    ImportCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into an ImportCommandData object.
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return ImportCommandData containing parsed information
+   */
+  public ImportCommandData parse(List<String> parsedCommand) {
+    if (parsedCommand.size() != 3) {
+      throw new IllegalArgumentException("Invalid import command");
+    }
+    return new ImportCommandData(parsedCommand.get(2));
+  }
+}
@@ -0,0 +1,64 @@
+package calendar.controller.commands;
+
+import calendar.controller.commanddata.SearchCommandData;
+import calendar.controller.handlers.SearchEventsHandler;
+import calendar.model.interfaces.CalendarEditable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Executes the "search events" command from the user input.
+ * Represents the command used to find events by the words of their subject and description,
+ * optionally between two date times.
+ * This class handles parsing, while SearchEventsHandler handles the logic.
+ */
+public class SearchCommand implements Command {
+
+  private final SearchEventsHandler handler;
+
+  /**
+   * We are passing the active calendar in the constructor.
+   * It is the calendar on which the current operation is to be performed.
+   *
+   * @param calendar current active calendar.
+   */
+  public SearchCommand(CalendarEditable calendar) {
+    this.handler = new SearchEventsHandler(calendar);
+  }
+
+  /**
+   * Parses the command and delegates to the handler.
+   *
+   * @param parsedCommand list of user input values.
+   * @return a string to print.
+   */
+  @Override
+  public String execute(List<String> parsedCommand) {
+    SearchCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into a SearchCommandData object.
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return SearchCommandData containing parsed information
+   */
+  public SearchCommandData parse(List<String> parsedCommand) {
+    if (parsedCommand.size() == 3) {
+      return new SearchCommandData(parsedCommand.get(2), null, null);
+    }
+    if (parsedCommand.size() != 7 || !parsedCommand.get(3).equals("from")
+        || !parsedCommand.get(5).equals("to")) {
+      throw new IllegalArgumentException("Invalid search command");
+    }
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(4), formatter);
+    LocalDateTime endDateTime = LocalDateTime.parse(parsedCommand.get(6), formatter);
+    if (endDateTime.isBefore(startDateTime)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    return new SearchCommandData(parsedCommand.get(2), startDateTime, endDateTime);
+  }
+}
@@ -0,0 +1,122 @@
+package calendar.controller.export;
+
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Merges the events of several calendars into one stream in start order, for export.
+ * Each calendar streams its events in the range in start order, and the merge keeps only the
+ * next event of each calendar in a heap, so the calendars are never copied into one list.
+ * Events of different calendars are compared by the instant they start at in the time zone
+ * of their calendar, and events starting at the same instant in the order calendars return
+ * their events in.
+ */
+public final class CalendarMerge {
+  private static final Comparator<Source> HEAD_ORDER =
+      Comparator.comparing((Source source) -> source.start)
+          .thenComparing(source -> source.head, CalendarReadOnly.START_ORDER);
+
+  private CalendarMerge() {
+  }
+
+  /**
+   * Streams the events of the calendars that occur in the given range, in the order of the
+   * instants they start at. Each calendar is asked for the range in its own time zone, and
+   * its events keep the times it holds them at. Closing the stream closes the stream of every
+   * calendar; the calendars must not be changed while it is consumed.
+   *
+   * @param calendars the calendars to merge
+   * @param from      the start of the range
+   * @param to        the end of the range
+   * @return the merged events
+   */
+  public static Stream<EventReadOnly> inStartOrder(Collection<? extends AdvancedCalendar> calendars,
+                                                   Instant from, Instant to) {
+    List<Stream<EventReadOnly>> sources = new ArrayList<>(calendars.size());
+    List<ZoneId> zones = new ArrayList<>(calendars.size());
+    for (AdvancedCalendar calendar : calendars) {
+      ZoneId zone = calendar.getZoneId();
+      sources.add(calendar.stream(LocalDateTime.ofInstant(from, zone),
+          LocalDateTime.ofInstant(to, zone)));
+      zones.add(zone);
+    }
+    if (sources.size() == 1) {
+      return sources.get(0);
+    }
+    Merge merge = new Merge(sources, zones);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merge,
+            Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(() -> sources.forEach(Stream::close));
+  }
+
+  /**
+   * The next event of one calendar, the instant it starts at, and the rest of its events.
+   */
+  private static final class Source {
+    private final Iterator<EventReadOnly> events;
+    private final ZoneId zone;
+    private EventReadOnly head;
+    private Instant start;
+
+    private Source(Iterator<EventReadOnly> events, ZoneId zone) {
+      this.events = events;
+      this.zone = zone;
+      advance();
+    }
+
+    private void advance() {
+      head = events.next();
+      start = head.getStartDateTime().atZone(zone).toInstant();
+    }
+  }
+
+  /**
+   * Iterates the calendars together, always taking the earliest head.
+   */
+  private static final class Merge implements Iterator<EventReadOnly> {
+    private final PriorityQueue<Source> heads = new PriorityQueue<>(HEAD_ORDER);
+
+    private Merge(List<Stream<EventReadOnly>> sources, List<ZoneId> zones) {
+      for (int i = 0; i < sources.size(); i++) {
+        Iterator<EventReadOnly> events = sources.get(i).iterator();
+        if (events.hasNext()) {
+          heads.add(new Source(events, zones.get(i)));
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !heads.isEmpty();
+    }
+
+    @Override
+    public EventReadOnly next() {
+      Source source = heads.poll();
+      if (source == null) {
+        throw new NoSuchElementException();
+      }
+      EventReadOnly next = source.head;
+      if (source.events.hasNext()) {
+        source.advance();
+        heads.add(source);
+      }
+      return next;
+    }
+  }
+}
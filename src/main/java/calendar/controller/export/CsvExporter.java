@@ -1,42 +1,43 @@
 package calendar.controller.export;
 
+import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.EventReadOnly;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Map;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Exports calendar events into a CSV (Comma-Separated Values) file format.
+ * Rows are built in a reusable character buffer, with dates and times written digit by digit
+ * instead of through a formatter, and encoded into a large byte buffer that is written out
+ * only when full, so a large export costs little more than the bytes it writes.
  */
 public class CsvExporter implements FileExporter {
+  private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+  private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+  private static final String LINE_SEPARATOR = System.lineSeparator();
 
   @Override
-  public String export(String fileName, Map<LocalDate, List<EventReadOnly>> events) {
-
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-    DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
+  public String export(String fileName, Stream<EventReadOnly> events) {
     File file = new File(fileName);
-
-    try (FileWriter fileWriter = new FileWriter(fileName)) {
-      fileWriter.append("Subject,StartDate,StartTime").append(System.lineSeparator());
-
-      for (Map.Entry<LocalDate, List<EventReadOnly>> entry : events.entrySet()) {
-        entry.getValue().forEach(event -> {
-          try {
-            fileWriter.append(event.getSubject()).append(",")
-                .append(event.getStartDateTime().format(dateFormatter)).append(",")
-                .append(formatTime(event.getStartDateTime().format(timeFormatter)))
-                .append(System.lineSeparator());
-          } catch (IOException e) {
-            throw new RuntimeException(e);
-          }
-        });
-      }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(events, channel);
       return file.getAbsolutePath();
     } catch (IOException e) {
       throw new RuntimeException("Error writing to file: " + fileName, e);
@@ -44,25 +45,157 @@ public class CsvExporter implements FileExporter {
   }
 
   /**
-   * Helper to converts a 24-hour formatted time string into a 12-hour AM/PM format.
+   * Exports the events of several calendars that occur in the given range to a file, merged
+   * in the order of the instants they start at. Each event is written at the time its own
+   * calendar holds it.
+   *
+   * @param fileName  the filename.
+   * @param calendars the calendars to export.
+   * @param from      the start of the range.
+   * @param to        the end of the range.
+   * @return the absolute path of the exported file.
+   */
+  public String export(String fileName, Collection<? extends AdvancedCalendar> calendars,
+                       Instant from, Instant to) {
+    try (Stream<EventReadOnly> events = CalendarMerge.inStartOrder(calendars, from, to)) {
+      return export(fileName, events);
+    }
+  }
+
+  /**
+   * Writes the events as CSV to an output stream, which is not closed.
+   *
+   * @param events the events to write, in the order they are written.
+   * @param out    the stream to write to.
+   * @throws IOException if the stream cannot be written.
+   */
+  public void write(Stream<EventReadOnly> events, OutputStream out) throws IOException {
+    write(events, Channels.newChannel(out));
+    out.flush();
+  }
+
+  /**
+   * Writes the events as CSV to a channel, which is not closed. Text is encoded in the
+   * default charset, as a FileWriter would.
+   *
+   * @param events  the events to write, in the order they are written.
+   * @param channel the channel to write to.
+   * @throws IOException if the channel cannot be written.
+   */
+  public void write(Stream<EventReadOnly> events, WritableByteChannel channel)
+      throws IOException {
+    RowBuffer rows = new RowBuffer(channel);
+    rows.append("Subject,StartDate,StartTime").append(LINE_SEPARATOR);
+    Iterator<EventReadOnly> ordered = events.iterator();
+    while (ordered.hasNext()) {
+      EventReadOnly event = ordered.next();
+      LocalDateTime start = event.getStartDateTime();
+      rows.append(event.getSubject()).append(',');
+      rows.appendNumber(start.getMonthValue(), 2).append('/');
+      rows.appendNumber(start.getDayOfMonth(), 2).append('/');
+      rows.appendNumber(start.getYear(), 4).append(',');
+      appendTime(rows, start.getHour(), start.getMinute());
+      rows.append(LINE_SEPARATOR);
+    }
+    rows.finish();
+  }
+
+  /**
+   * Writes a time in the 12-hour AM/PM format, the hour without a leading zero.
    *
-   * @param time the time string in HH:mm format
-   * @return the formatted time in 12-hour AM/PM format
+   * @param rows   the buffer to write to
+   * @param hour   the hour of the day, 0 to 23
+   * @param minute the minute of the hour
    */
-  private String formatTime(String time) {
-    String[] parts = time.split(":");
-    int hour = Integer.parseInt(parts[0]);
-    String minutes = parts[1];
+  private static void appendTime(RowBuffer rows, int hour, int minute) throws IOException {
+    int clockHour = hour % 12 == 0 ? 12 : hour % 12;
+    rows.appendNumber(clockHour, 1).append(':');
+    rows.appendNumber(minute, 2).append(hour < 12 ? "AM" : "PM");
+  }
+
+  /**
+   * Characters of the rows being written, encoded into bytes and written to the channel in
+   * large blocks.
+   */
+  private static final class RowBuffer {
+    private final WritableByteChannel channel;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+    private final char[] digits = new char[10];
+    private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private RowBuffer(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    private RowBuffer append(char c) throws IOException {
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+      chars.put(c);
+      return this;
+    }
+
+    private RowBuffer append(String text) throws IOException {
+      int offset = 0;
+      while (offset < text.length()) {
+        if (!chars.hasRemaining()) {
+          encode(false);
+        }
+        int count = Math.min(chars.remaining(), text.length() - offset);
+        chars.put(text, offset, offset + count);
+        offset += count;
+      }
+      return this;
+    }
 
-    if (hour == 0) {
-      return "12:" + minutes + "AM";
+    private RowBuffer appendNumber(int value, int width) throws IOException {
+      if (value < 0) {
+        append('-');
+        value = -value;
+      }
+      int length = 0;
+      do {
+        digits[length++] = (char) ('0' + value % 10);
+        value /= 10;
+      } while (value > 0);
+      for (int i = length; i < width; i++) {
+        append('0');
+      }
+      while (length > 0) {
+        append(digits[--length]);
+      }
+      return this;
     }
-    if (hour < 12) {
-      return hour + ":" + minutes + "AM";
+
+    private void encode(boolean endOfInput) throws IOException {
+      chars.flip();
+      while (true) {
+        CoderResult result = encoder.encode(chars, bytes, endOfInput);
+        if (!result.isOverflow()) {
+          break;
+        }
+        writeBytes();
+      }
+      chars.compact();
     }
-    if (hour == 12) {
-      return hour + ":" + minutes + "PM";
+
+    private void finish() throws IOException {
+      encode(true);
+      while (encoder.flush(bytes).isOverflow()) {
+        writeBytes();
+      }
+      writeBytes();
+    }
+
+    private void writeBytes() throws IOException {
+      bytes.flip();
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      bytes.clear();
     }
-    return (hour - 12) + ":" + minutes + "PM";
   }
 }
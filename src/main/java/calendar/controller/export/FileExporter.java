@@ -1,9 +1,7 @@
 package calendar.controller.export;
 
 import calendar.model.interfaces.EventReadOnly;
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
 
 
 /**
@@ -17,8 +15,8 @@ public interface FileExporter {
    * Exports the given events to a file.
    *
    * @param fileName the filename.
-   * @param events   list of events covering the required dates.
+   * @param events   the events to export, in the order they are written.
    * @return the absolute path of the exported file.
    */
-  String export(String fileName, Map<LocalDate, List<EventReadOnly>> events);
+  String export(String fileName, Stream<EventReadOnly> events);
 }
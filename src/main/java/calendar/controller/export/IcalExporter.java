@@ -1,53 +1,440 @@
 package calendar.controller.export;
 
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.EventReadOnly;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * Exports events to .ical (iCalendar) format.
+ * The events are cut into chunks of whole days, which a pool of workers formats into bytes in
+ * parallel while a single writer thread writes the chunks to the file in their original
+ * order. At most a fixed number of chunks may wait between the two, so reading the events
+ * stops while the writer is behind and memory stays bounded however large the export is.
+ *
+ * <p>Each event is written with its UID, summary, times, description, location and class.
+ * Consecutive occurrences of a series that share its subject, times and details are written
+ * as one event with a weekly RRULE, as long as that rule gives back exactly their dates. Only
+ * the first date, the count and the weekdays of such a run are kept while it grows, and it is
+ * written with the chunk being filled once a week has passed without an occurrence or the next
+ * occurrence falls outside its rule; that occurrence starts a new run. A run of one occurrence
+ * is written as a single event, and edited occurrences are written in their place in the order.
  */
 public class IcalExporter implements FileExporter {
+  private static final int CHUNK_EVENTS = 512;
+  private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  private static final int MAX_PENDING = 2 * WORKERS;
+  private static final Future<byte[]> END = CompletableFuture.completedFuture(new byte[0]);
+  private static final String CRLF = "\r\n";
+  private static final int MAX_LINE_OCTETS = 75;
+  private static final String DEFAULT_DESCRIPTION = "No description given";
 
   @Override
-  public String export(String fileName, Map<LocalDate, List<EventReadOnly>> events) {
+  public String export(String fileName, Stream<EventReadOnly> events) {
+    File file = new File(fileName);
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(events, channel);
+      return file.getAbsolutePath();
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing to file: " + fileName, e);
+    }
+  }
 
+  /**
+   * Writes the events as an iCalendar document to a channel, which is not closed.
+   *
+   * @param events  the events to write, in start order.
+   * @param channel the channel to write to.
+   * @throws IOException if the channel cannot be written.
+   */
+  public void write(Stream<EventReadOnly> events, WritableByteChannel channel)
+      throws IOException {
+    String stamp = stamp(LocalDateTime.now(ZoneOffset.UTC)) + "Z";
+    BlockingQueue<Future<byte[]>> pending = new ArrayBlockingQueue<>(MAX_PENDING);
+    Writer writer = new Writer(pending, channel);
+    ExecutorService workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+      Thread thread = new Thread(runnable, "ical-format");
+      thread.setDaemon(true);
+      return thread;
+    });
+    writer.start();
+    try {
+      put(pending, CompletableFuture.completedFuture(utf8("BEGIN:VCALENDAR" + CRLF
+          + "VERSION:2.0" + CRLF + "PRODID:-//MyCalendarApp//EN" + CRLF)));
+      Map<UUID, SeriesRun> series = new LinkedHashMap<>();
+      Set<UUID> ruled = new HashSet<>();
+      List<Entry> chunk = new ArrayList<>(CHUNK_EVENTS);
+      LocalDate day = null;
+      Iterator<EventReadOnly> ordered = events.iterator();
+      while (ordered.hasNext() && writer.failure == null) {
+        EventReadOnly event = ordered.next();
+        LocalDate date = event.getStartDateTime().toLocalDate();
+        if (!date.equals(day)) {
+          Iterator<SeriesRun> runs = series.values().iterator();
+          while (runs.hasNext()) {
+            SeriesRun run = runs.next();
+            if (run.last.plusDays(7).isBefore(date)) {
+              runs.remove();
+              chunk.add(run.close(ruled));
+            }
+          }
+        }
+        if (chunk.size() >= CHUNK_EVENTS && !date.equals(day)) {
+          submit(pending, workers, chunk, stamp);
+          chunk = new ArrayList<>(CHUNK_EVENTS);
+        }
+        day = date;
+        if (event.getEventType() == TypeOfEvent.SERIES) {
+          SeriesRun run = series.get(event.getId());
+          if (run != null && run.add(event)) {
+            continue;
+          }
+          if (run == null || run.matches(event)) {
+            if (run != null) {
+              chunk.add(run.close(ruled));
+            }
+            series.put(event.getId(), new SeriesRun(event));
+            continue;
+          }
+        }
+        chunk.add(new Entry(event, null, null));
+      }
+      for (SeriesRun run : series.values()) {
+        chunk.add(run.close(ruled));
+      }
+      submit(pending, workers, chunk, stamp);
+      put(pending, CompletableFuture.completedFuture(utf8("END:VCALENDAR" + CRLF)));
+    } finally {
+      putEnd(pending);
+      joinQuietly(writer);
+      workers.shutdownNow();
+    }
+    if (writer.failure != null) {
+      throw writer.failure;
+    }
+  }
 
-    File file = new File(fileName);
+  private static void submit(BlockingQueue<Future<byte[]>> pending, ExecutorService workers,
+                             List<Entry> chunk, String stamp) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    put(pending, workers.submit(() -> {
+      StringBuilder sb = new StringBuilder(chunk.size() * 256);
+      for (Entry entry : chunk) {
+        appendEvent(sb, entry.event, entry.uid == null ? uid(entry.event) : entry.uid,
+            entry.rule, stamp);
+      }
+      return utf8(sb.toString());
+    }));
+  }
 
-    DateTimeFormatter dateTimeFormatter = new DateTimeFormatterBuilder()
-        .appendPattern("yyyyMMdd'T'HHmmss")
-        .toFormatter();
+  /**
+   * Appends one VEVENT. Text values are escaped and long lines folded as RFC 5545 asks.
+   */
+  private static void appendEvent(StringBuilder sb, EventReadOnly event, String uid,
+                                  RecurrenceRule rule, String stamp) {
+    sb.append("BEGIN:VEVENT").append(CRLF);
+    appendLine(sb, "UID:" + uid);
+    sb.append("DTSTAMP:").append(stamp).append(CRLF);
+    appendLine(sb, "SUMMARY:" + escape(event.getSubject()));
+    sb.append("DTSTART:").append(stamp(event.getStartDateTime())).append(CRLF);
+    sb.append("DTEND:").append(stamp(event.getEndDateTime())).append(CRLF);
+    String description = event.getDescription();
+    if (description != null && !description.isEmpty()
+        && !description.equals(DEFAULT_DESCRIPTION)) {
+      appendLine(sb, "DESCRIPTION:" + escape(description));
+    }
+    if (event.getLocation() != null && event.getLocation() != Location.UNKNOWN) {
+      sb.append("LOCATION:").append(event.getLocation().name()).append(CRLF);
+    }
+    if (event.getEventStatus() != null && event.getEventStatus() != EventStatus.UNKNOWN) {
+      sb.append("CLASS:").append(event.getEventStatus().name()).append(CRLF);
+    }
+    if (rule != null) {
+      sb.append("RRULE:FREQ=WEEKLY;BYDAY=");
+      String separator = "";
+      for (DayOfWeek day : rule.getDays()) {
+        sb.append(separator).append(day.name(), 0, 2);
+        separator = ",";
+      }
+      sb.append(";COUNT=").append(rule.getTimes()).append(CRLF);
+    }
+    sb.append("END:VEVENT").append(CRLF);
+  }
 
-    try (FileWriter fileWriter = new FileWriter(file)) {
+  /**
+   * Appends a content line, folded so that no physical line is longer than 75 octets.
+   */
+  private static void appendLine(StringBuilder sb, String line) {
+    int octets = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      int width = c < 0x80 ? 1 : c < 0x800 || Character.isLowSurrogate(c) ? 2 : 3;
+      if (octets + width > MAX_LINE_OCTETS && !Character.isLowSurrogate(c)) {
+        sb.append(CRLF).append(' ');
+        octets = 1;
+      }
+      sb.append(c);
+      octets += width;
+    }
+    sb.append(CRLF);
+  }
 
-      fileWriter.write("BEGIN:VCALENDAR\n");
-      fileWriter.write("VERSION:2.0\n");
-      fileWriter.write("PRODID:-//MyCalendarApp//EN\n");
+  private static String escape(String text) {
+    StringBuilder sb = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' || c == ';' || c == ',') {
+        sb.append('\\').append(c);
+      } else if (c == '\n') {
+        sb.append("\\n");
+      } else if (c != '\r') {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
 
-      for (Map.Entry<LocalDate, List<EventReadOnly>> entry : events.entrySet()) {
-        for (EventReadOnly event : entry.getValue()) {
+  private static String uid(EventReadOnly event) {
+    if (event.getEventType() != TypeOfEvent.SERIES) {
+      return event.getId().toString();
+    }
+    return event.getId() + "-" + stamp(event.getStartDateTime());
+  }
 
-          fileWriter.write("BEGIN:VEVENT\n");
-          fileWriter.write("SUMMARY:" + event.getSubject() + "\n");
-          fileWriter.write("DTSTART:" + event.getStartDateTime().format(dateTimeFormatter) + "\n");
-          fileWriter.write("DTEND:" + event.getEndDateTime().format(dateTimeFormatter) + "\n");
-          fileWriter.write("END:VEVENT\n");
-        }
+  private static String stamp(LocalDateTime dateTime) {
+    StringBuilder sb = new StringBuilder(15);
+    digits(sb, dateTime.getYear(), 4);
+    digits(sb, dateTime.getMonthValue(), 2);
+    digits(sb, dateTime.getDayOfMonth(), 2);
+    sb.append('T');
+    digits(sb, dateTime.getHour(), 2);
+    digits(sb, dateTime.getMinute(), 2);
+    digits(sb, dateTime.getSecond(), 2);
+    return sb.toString();
+  }
+
+  private static void digits(StringBuilder sb, int value, int width) {
+    String text = Integer.toString(value);
+    for (int i = text.length(); i < width; i++) {
+      sb.append('0');
+    }
+    sb.append(text);
+  }
+
+  private static byte[] utf8(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void put(BlockingQueue<Future<byte[]>> pending, Future<byte[]> chunk) {
+    try {
+      pending.put(chunk);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Export interrupted", e);
+    }
+  }
+
+  private static void putEnd(BlockingQueue<Future<byte[]>> pending) {
+    boolean interrupted = Thread.interrupted();
+    while (true) {
+      try {
+        pending.put(END);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void joinQuietly(Thread thread) {
+    boolean interrupted = false;
+    while (thread.isAlive()) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
       }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
 
-      fileWriter.write("END:VCALENDAR\n");
+  /**
+   * Consecutive occurrences of one series that match its first occurrence in everything but
+   * the date, and that a weekly rule starting at the first one gives in order. The rule gives
+   * the dates of its weekdays one after the other, so the run stays valid as long as none of
+   * the dates it passed over falls on one of its weekdays.
+   */
+  private static final class SeriesRun {
+    private final EventReadOnly template;
+    private final Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    private final Set<DayOfWeek> skipped = EnumSet.noneOf(DayOfWeek.class);
+    private LocalDate last;
+    private int count;
 
-      return file.getAbsolutePath();
+    private SeriesRun(EventReadOnly template) {
+      this.template = template;
+      this.last = template.getStartDateTime().toLocalDate();
+      this.days.add(last.getDayOfWeek());
+      this.count = 1;
+    }
 
-    } catch (IOException e) {
-      throw new RuntimeException("Error writing to file: " + fileName, e);
+    /**
+     * Checks whether an occurrence only differs from the first one by its date.
+     */
+    private boolean matches(EventReadOnly event) {
+      LocalDateTime start = template.getStartDateTime();
+      return event.getSubject().equals(template.getSubject())
+          && event.getStartDateTime().toLocalTime().equals(start.toLocalTime())
+          && Duration.between(event.getStartDateTime(), event.getEndDateTime())
+              .equals(Duration.between(start, template.getEndDateTime()))
+          && Objects.equals(event.getDescription(), template.getDescription())
+          && event.getLocation() == template.getLocation()
+          && event.getEventStatus() == template.getEventStatus()
+          && event.isAllDay() == template.isAllDay();
+    }
+
+    /**
+     * Adds an occurrence if it matches the first one and the weekly rule of the run, extended
+     * with its weekday, gives it next.
+     *
+     * @return true if the occurrence was added, false if the run cannot take it
+     */
+    private boolean add(EventReadOnly event) {
+      LocalDate date = event.getStartDateTime().toLocalDate();
+      if (!date.isAfter(last) || last.plusDays(7).isBefore(date) || !matches(event)) {
+        return false;
+      }
+      Set<DayOfWeek> passed = EnumSet.copyOf(skipped);
+      for (LocalDate between = last.plusDays(1); between.isBefore(date);
+           between = between.plusDays(1)) {
+        passed.add(between.getDayOfWeek());
+      }
+      if (passed.contains(date.getDayOfWeek()) || passed.removeAll(days)) {
+        return false;
+      }
+      skipped.addAll(passed);
+      days.add(date.getDayOfWeek());
+      last = date;
+      count++;
+      return true;
+    }
+
+    /**
+     * Ends the run. A run of several occurrences becomes a rule, whose UID is the series id
+     * for the first rule of the series and that of its first occurrence for the later ones.
+     *
+     * @param ruled the series that already have a rule written, updated
+     * @return the event to write
+     */
+    private Entry close(Set<UUID> ruled) {
+      if (count == 1) {
+        return new Entry(template, null, null);
+      }
+      UUID id = template.getId();
+      return new Entry(template, ruled.add(id) ? id.toString() : uid(template),
+          new RecurrenceRule(days, count));
+    }
+  }
+
+  /**
+   * One VEVENT to write: an event, or the first occurrence of a run with its weekly rule.
+   * A null UID is built from the event by the worker formatting it.
+   */
+  private static final class Entry {
+    private final EventReadOnly event;
+    private final String uid;
+    private final RecurrenceRule rule;
+
+    private Entry(EventReadOnly event, String uid, RecurrenceRule rule) {
+      this.event = event;
+      this.uid = uid;
+      this.rule = rule;
+    }
+  }
+
+  /**
+   * Writes the formatted chunks to the channel in the order they were queued.
+   * After a failure it keeps taking chunks, without writing them, until the end marker.
+   */
+  private static final class Writer extends Thread {
+    private final BlockingQueue<Future<byte[]>> pending;
+    private final WritableByteChannel channel;
+    private volatile IOException failure;
+
+    private Writer(BlockingQueue<Future<byte[]>> pending, WritableByteChannel channel) {
+      super("ical-writer");
+      setDaemon(true);
+      this.pending = pending;
+      this.channel = channel;
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        Future<byte[]> chunk;
+        try {
+          chunk = pending.take();
+        } catch (InterruptedException e) {
+          failure = new IOException("Export interrupted", e);
+          continue;
+        }
+        if (chunk == END) {
+          return;
+        }
+        if (failure != null) {
+          chunk.cancel(true);
+          continue;
+        }
+        try {
+          ByteBuffer bytes = ByteBuffer.wrap(chunk.get());
+          while (bytes.hasRemaining()) {
+            channel.write(bytes);
+          }
+        } catch (IOException e) {
+          failure = e;
+        } catch (ExecutionException | InterruptedException e) {
+          failure = new IOException("Could not format events", e);
+        }
+      }
     }
   }
 }
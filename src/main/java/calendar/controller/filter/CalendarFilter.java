@@ -2,16 +2,30 @@ package calendar.controller.filter;
 
 import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a filter for the calendar that can be used
  * to get a list of events matching certain conditions.
+ * Calendars with at least a threshold of events are filtered in parallel on the common
+ * fork/join pool, split by date, so the predicate must not depend on shared mutable state.
+ * The number of events is the size estimate of the calendar's stream, so the calendar is
+ * not counted first, and a calendar whose stream cannot be split is filtered on the calling
+ * thread whatever its size.
  */
 public class CalendarFilter {
+  /**
+   * The number of events from which a filter runs in parallel by default.
+   */
+  public static final int PARALLEL_THRESHOLD = 20_000;
+
   private final CalendarEditable calendar;
+  private final int parallelThreshold;
 
 
   /**
@@ -20,23 +34,66 @@ public class CalendarFilter {
    * @param calendar the model that contains the event filter.
    */
   public CalendarFilter(CalendarEditable calendar) {
+    this(calendar, PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Creates a CalendarFilter object with a calendar and the number of events from which
+   * filters run in parallel.
+   *
+   * @param calendar the model that contains the event filter.
+   * @param parallelThreshold the smallest calendar size filtered in parallel
+   * @throws IllegalArgumentException if the threshold is negative
+   */
+  public CalendarFilter(CalendarEditable calendar, int parallelThreshold) {
+    if (parallelThreshold < 0) {
+      throw new IllegalArgumentException("Parallel threshold cannot be negative");
+    }
     this.calendar = calendar;
+    this.parallelThreshold = parallelThreshold;
   }
 
 
   /**
    * Filters the events in the calendar based on the given condition.
+   * Queries from EventPredicates are looked up through their most selective condition when
+   * they compare a series id, a start time or a date range; other conditions are then tested
+   * on the events found. Other filters return the events in the order of the calendar's
+   * stream, which for CalendarImpl is start order within each day. The events are returned
+   * in the same order whether or not the filter runs in parallel.
    *
    * @param predicate the condition used to filter each event
    * @return a list of events that meet the given condition
    */
   public List<EventReadOnly> filter(Predicate<EventReadOnly> predicate) {
-    List<EventReadOnly> result = new ArrayList<>();
-    calendar.forEachEvent(event -> {
-      if (predicate.test(event)) {
-        result.add(event);
+    Stream<EventReadOnly> candidates = QueryPlanner.candidates(calendar, predicate);
+    if (candidates != null) {
+      return candidates.filter(predicate).collect(Collectors.toList());
+    }
+    Spliterator<EventReadOnly> events = calendar.stream(predicate).parallel().spliterator();
+    if (events.estimateSize() >= parallelThreshold) {
+      Spliterator<EventReadOnly> first = events.trySplit();
+      if (first != null) {
+        return Stream.concat(StreamSupport.stream(first, true), StreamSupport.stream(events, true))
+            .collect(Collectors.toList());
       }
-    });
-    return result;
+    }
+    return StreamSupport.stream(events, false).collect(Collectors.toList());
+  }
+
+  /**
+   * Streams the events in the calendar that meet the given condition, without collecting
+   * them first. Queries are looked up like in filter. The calendar must not be changed while
+   * the stream is consumed.
+   *
+   * @param predicate the condition used to filter each event
+   * @return the events that meet the given condition
+   */
+  public Stream<EventReadOnly> stream(Predicate<EventReadOnly> predicate) {
+    Stream<EventReadOnly> candidates = QueryPlanner.candidates(calendar, predicate);
+    if (candidates != null) {
+      return candidates.filter(predicate);
+    }
+    return calendar.stream(predicate);
   }
 }
@@ -1,16 +1,17 @@
 package calendar.controller.filter;
 
+import calendar.controller.filter.EventQuery.Field;
 import calendar.model.datatypes.EventStatus;
 import calendar.model.datatypes.Location;
 import calendar.model.datatypes.TypeOfEvent;
-import calendar.model.interfaces.EventReadOnly;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.function.Predicate;
 
 /**
  * Predicate class used for filtering Events in a calendar.
+ * The predicates are queries that keep the compared field, so CalendarFilter can look
+ * matching events up by date or series instead of testing every event.
  */
 
 public class EventPredicates {
@@ -22,8 +23,8 @@ public class EventPredicates {
    * @return a predicate that returns true for events with specified subject.
    */
 
-  public static Predicate<EventReadOnly> bySubject(String subject) {
-    return event -> event.getSubject().equals(subject);
+  public static EventQuery bySubject(String subject) {
+    return EventQuery.of(Field.SUBJECT, subject, event -> event.getSubject().equals(subject));
   }
 
 
@@ -34,8 +35,8 @@ public class EventPredicates {
    * @return a predicate that returns true for events with specified start date.
    */
 
-  public static Predicate<EventReadOnly> byStartDate(LocalDateTime start) {
-    return event -> event.getStartDateTime().equals(start);
+  public static EventQuery byStartDate(LocalDateTime start) {
+    return EventQuery.of(Field.START, start, event -> event.getStartDateTime().equals(start));
   }
 
   /**
@@ -44,8 +45,8 @@ public class EventPredicates {
    * @param end the subject to filter
    * @return a predicate that returns true for events with specified end date.
    */
-  public static Predicate<EventReadOnly> byEndDate(LocalDateTime end) {
-    return event -> event.getEndDateTime().equals(end);
+  public static EventQuery byEndDate(LocalDateTime end) {
+    return EventQuery.of(Field.END, end, event -> event.getEndDateTime().equals(end));
   }
 
 
@@ -55,8 +56,9 @@ public class EventPredicates {
    * @param description the subject to filter
    * @return a predicate that returns true for events with specified description.
    */
-  public static Predicate<EventReadOnly> byDescription(String description) {
-    return event -> event.getDescription().equals(description);
+  public static EventQuery byDescription(String description) {
+    return EventQuery.of(Field.DESCRIPTION, description,
+        event -> event.getDescription().equals(description));
   }
 
   /**
@@ -65,8 +67,8 @@ public class EventPredicates {
    * @param location the subject to filter
    * @return a predicate that returns true for events with specified location.
    */
-  public static Predicate<EventReadOnly> byLocation(Location location) {
-    return event -> event.getLocation() == location;
+  public static EventQuery byLocation(Location location) {
+    return EventQuery.of(Field.LOCATION, location, event -> event.getLocation() == location);
   }
 
   /**
@@ -75,8 +77,8 @@ public class EventPredicates {
    * @param status the subject to filter
    * @return a predicate that returns true for events with specified status.
    */
-  public static Predicate<EventReadOnly> byStatus(EventStatus status) {
-    return event -> event.getEventStatus() == status;
+  public static EventQuery byStatus(EventStatus status) {
+    return EventQuery.of(Field.STATUS, status, event -> event.getEventStatus() == status);
   }
 
   /**
@@ -85,8 +87,8 @@ public class EventPredicates {
    * @param eventType the event type to match SINGLE, SERIES
    * @return a predicate that returns true for events with the specified type
    */
-  public static Predicate<EventReadOnly> byEventType(TypeOfEvent eventType) {
-    return event -> event.getEventType() == eventType;
+  public static EventQuery byEventType(TypeOfEvent eventType) {
+    return EventQuery.of(Field.TYPE, eventType, event -> event.getEventType() == eventType);
   }
 
   /**
@@ -95,8 +97,8 @@ public class EventPredicates {
    * @param eventId the UUID of the event to match
    * @return a predicate that returns true for the event with the specified ID
    */
-  public static Predicate<EventReadOnly> byEventId(UUID eventId) {
-    return event -> Objects.equals(event.getId().toString(), eventId.toString());
+  public static EventQuery byEventId(UUID eventId) {
+    return EventQuery.of(Field.ID, eventId, event -> Objects.equals(event.getId(), eventId));
   }
 
   /**
@@ -105,8 +107,8 @@ public class EventPredicates {
    * @param allDay true to match all-day events, false otherwise
    * @return a predicate that returns true for events matching the all-day flag
    */
-  public static Predicate<EventReadOnly> byAllDay(boolean allDay) {
-    return event -> event.isAllDay() == allDay;
+  public static EventQuery byAllDay(boolean allDay) {
+    return EventQuery.of(Field.ALL_DAY, allDay, event -> event.isAllDay() == allDay);
   }
 
   /**
@@ -119,11 +121,9 @@ public class EventPredicates {
    * @return a predicate that returns true for events that belong to the specified series
    */
 
-  public static Predicate<EventReadOnly> bySeries(LocalDateTime firstStart, LocalDateTime firstEnd,
-                                                  String firstSubject) {
-    return event -> event.getStartDateTime().equals(firstStart)
-        && event.getSubject().equals(firstSubject)
-        && event.getEndDateTime().equals(firstEnd);
+  public static EventQuery bySeries(LocalDateTime firstStart, LocalDateTime firstEnd,
+                                    String firstSubject) {
+    return byStartDate(firstStart).and(bySubject(firstSubject)).and(byEndDate(firstEnd));
   }
 
   /**
@@ -133,9 +133,8 @@ public class EventPredicates {
    * @param end   the end of the time range
    * @return a predicate that returns true for events starting between the specified times.
    */
-  public static Predicate<EventReadOnly> betweenStartAndEnd(LocalDateTime start,
-                                                            LocalDateTime end) {
-    return event ->
-        !event.getEndDateTime().isBefore(start) && !event.getStartDateTime().isAfter(end);
+  public static EventQuery betweenStartAndEnd(LocalDateTime start, LocalDateTime end) {
+    return EventQuery.range(start, end, event ->
+        !event.getEndDateTime().isBefore(start) && !event.getStartDateTime().isAfter(end));
   }
 }
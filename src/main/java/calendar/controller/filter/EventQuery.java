@@ -0,0 +1,168 @@
+package calendar.controller.filter;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A predicate on events that keeps the conditions it is made of, so a filter can see which
+ * fields are compared and look the events up instead of testing every event.
+ * Combining queries with and gives a query holding the conditions of both; any other
+ * predicate is kept as a condition that can only be tested.
+ */
+public final class EventQuery implements Predicate<EventReadOnly> {
+
+  /**
+   * The event property a condition compares.
+   */
+  enum Field {
+    SUBJECT, START, END, DESCRIPTION, LOCATION, STATUS, TYPE, ID, ALL_DAY, RANGE, OTHER
+  }
+
+  /**
+   * One condition of a query: the compared property, the value it is compared with and the
+   * test itself. Range conditions keep both ends of the range.
+   */
+  static final class Condition {
+    private final Field field;
+    private final Object value;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Predicate<? super EventReadOnly> test;
+
+    private Condition(Field field, Object value, LocalDateTime from, LocalDateTime to,
+                      Predicate<? super EventReadOnly> test) {
+      this.field = field;
+      this.value = value;
+      this.from = from;
+      this.to = to;
+      this.test = test;
+    }
+
+    /**
+     * Returns the compared property.
+     *
+     * @return the field of the condition
+     */
+    Field getField() {
+      return field;
+    }
+
+    /**
+     * Returns the value the property is compared with.
+     *
+     * @return the value, null for ranges and opaque predicates
+     */
+    Object getValue() {
+      return value;
+    }
+
+    /**
+     * Returns the start of a range condition.
+     *
+     * @return the start of the range, null for other conditions
+     */
+    LocalDateTime getFrom() {
+      return from;
+    }
+
+    /**
+     * Returns the end of a range condition.
+     *
+     * @return the end of the range, null for other conditions
+     */
+    LocalDateTime getTo() {
+      return to;
+    }
+
+    @Override
+    public String toString() {
+      if (field == Field.RANGE) {
+        return "overlaps " + from + " to " + to;
+      }
+      if (field == Field.OTHER) {
+        return "predicate";
+      }
+      return field.name().toLowerCase() + " = " + value;
+    }
+  }
+
+  private final List<Condition> conditions;
+
+  private EventQuery(List<Condition> conditions) {
+    this.conditions = Collections.unmodifiableList(conditions);
+  }
+
+  /**
+   * Creates a query with a single condition comparing a field with a value.
+   *
+   * @param field the compared property
+   * @param value the value compared with
+   * @param test  the test of the condition
+   * @return the query
+   */
+  static EventQuery of(Field field, Object value, Predicate<? super EventReadOnly> test) {
+    return new EventQuery(List.of(new Condition(field, value, null, null, test)));
+  }
+
+  /**
+   * Creates a query matching the events that overlap the given range.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range
+   * @param test the test of the condition
+   * @return the query
+   */
+  static EventQuery range(LocalDateTime from, LocalDateTime to,
+                          Predicate<? super EventReadOnly> test) {
+    return new EventQuery(List.of(new Condition(Field.RANGE, null, from, to, test)));
+  }
+
+  /**
+   * Returns the conditions of this query, all of which an event meets to match.
+   *
+   * @return the conditions in the order they were combined
+   */
+  List<Condition> getConditions() {
+    return conditions;
+  }
+
+  @Override
+  public boolean test(EventReadOnly event) {
+    for (Condition condition : conditions) {
+      if (!condition.test.test(event)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a query matching the events that meet this query and the given predicate.
+   * The conditions of another query are kept, and any other predicate becomes one condition.
+   *
+   * @param other the predicate to meet as well
+   * @return the combined query
+   */
+  @Override
+  public EventQuery and(Predicate<? super EventReadOnly> other) {
+    Objects.requireNonNull(other);
+    List<Condition> combined = new ArrayList<>(conditions);
+    if (other instanceof EventQuery) {
+      combined.addAll(((EventQuery) other).conditions);
+    } else {
+      combined.add(new Condition(Field.OTHER, null, null, null, other));
+    }
+    return new EventQuery(combined);
+  }
+
+  @Override
+  public String toString() {
+    return conditions.stream().map(Condition::toString).collect(Collectors.joining(" and "));
+  }
+}
@@ -0,0 +1,130 @@
+package calendar.controller.filter;
+
+import calendar.controller.filter.EventQuery.Condition;
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Chooses how the events of a query are found in a calendar.
+ * Of the conditions of a query, a subject together with a start time is the most selective
+ * lookup, then a series id, then an exact start time. Below those, conditions on location,
+ * status, type and all-day are selected together through the calendar's attribute indexes,
+ * limited to the narrowest date range if there is one; a date range alone comes last.
+ * The events found that way are only candidates: the whole query still has to be tested
+ * on each of them.
+ */
+final class QueryPlanner {
+  private static final int NO_LOOKUP = Integer.MAX_VALUE;
+
+  private QueryPlanner() {
+  }
+
+  /**
+   * Returns the events that can match the given predicate, looked up through its most
+   * selective condition, in date order.
+   *
+   * @param calendar  the calendar to look the events up in
+   * @param predicate the predicate the events have to match
+   * @return the candidate events, or null if no condition can be looked up and every event
+   *         has to be tested
+   */
+  static Stream<EventReadOnly> candidates(CalendarEditable calendar,
+                                          Predicate<EventReadOnly> predicate) {
+    if (!(predicate instanceof EventQuery)) {
+      return null;
+    }
+    Condition best = null;
+    String subject = null;
+    LocalDateTime start = null;
+    AttributeQuery attributes = null;
+    for (Condition condition : ((EventQuery) predicate).getConditions()) {
+      attributes = restrict(attributes, condition);
+      if (condition.getField() == EventQuery.Field.SUBJECT && condition.getValue() != null) {
+        subject = (String) condition.getValue();
+      } else if (condition.getField() == EventQuery.Field.START
+          && condition.getValue() != null) {
+        start = (LocalDateTime) condition.getValue();
+      }
+      if (isBetter(condition, best)) {
+        best = condition;
+      }
+    }
+    if (subject != null && start != null) {
+      return calendar.findEvents(subject, start).stream();
+    }
+    if (attributes != null && (best == null || best.getField() == EventQuery.Field.RANGE)) {
+      if (best != null && !best.getTo().isBefore(best.getFrom())) {
+        attributes = attributes.within(best.getFrom(), best.getTo());
+      }
+      return calendar.select(attributes).stream();
+    }
+    if (best == null) {
+      return null;
+    }
+    switch (best.getField()) {
+      case ID:
+        return calendar.getSeries((UUID) best.getValue()).stream();
+      case START:
+        return calendar.stream(start, start);
+      default:
+        return calendar.stream(best.getFrom(), best.getTo());
+    }
+  }
+
+  private static AttributeQuery restrict(AttributeQuery attributes, Condition condition) {
+    AttributeQuery query = attributes == null ? new AttributeQuery() : attributes;
+    if (condition.getValue() == null) {
+      return attributes;
+    }
+    switch (condition.getField()) {
+      case LOCATION:
+        return query.withLocation((Location) condition.getValue());
+      case STATUS:
+        return query.withStatus((EventStatus) condition.getValue());
+      case TYPE:
+        return query.withType((TypeOfEvent) condition.getValue());
+      case ALL_DAY:
+        return query.withAllDay((Boolean) condition.getValue());
+      default:
+        return attributes;
+    }
+  }
+
+  private static boolean isBetter(Condition condition, Condition best) {
+    int rank = rank(condition);
+    if (rank == NO_LOOKUP) {
+      return false;
+    }
+    if (best == null || rank < rank(best)) {
+      return true;
+    }
+    return rank == rank(best) && condition.getField() == EventQuery.Field.RANGE
+        && span(condition).compareTo(span(best)) < 0;
+  }
+
+  private static int rank(Condition condition) {
+    switch (condition.getField()) {
+      case ID:
+        return condition.getValue() == null ? NO_LOOKUP : 0;
+      case START:
+        return condition.getValue() == null ? NO_LOOKUP : 1;
+      case RANGE:
+        return condition.getFrom() == null || condition.getTo() == null ? NO_LOOKUP : 2;
+      default:
+        return NO_LOOKUP;
+    }
+  }
+
+  private static Duration span(Condition range) {
+    return Duration.between(range.getFrom(), range.getTo());
+  }
+}
@@ -322,7 +322,7 @@ public class CalendarGuiController implements CalendarController, ViewListener {
     LocalDateTime start = firstDay.atStartOfDay();
     LocalDateTime end = lastDay.atTime(23, 59, 59);
 
-    List<EventReadOnly> events = activeCalendar.getCalendar().getEvents(start, end);
+    List<EventReadOnly> events = activeCalendar.getCalendar().snapshot().getEvents(start, end);
     for (EventReadOnly event : events) {
       LocalDate eventDate = event.getStartDateTime().toLocalDate();
       result.computeIfAbsent(eventDate, k -> new ArrayList<>())
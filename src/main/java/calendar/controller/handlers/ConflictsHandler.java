@@ -0,0 +1,65 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.ConflictsCommandData;
+import calendar.model.ConflictDetector;
+import calendar.model.datatypes.EventConflict;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for reporting overlapping events.
+ * Takes parsed command data and interacts with the model. The range and the shared times
+ * are in the time zone of the active calendar.
+ */
+public class ConflictsHandler {
+
+  private final CalendarContainer calendarManager;
+
+  /**
+   * Constructor for ConflictsHandler.
+   *
+   * @param calendarManager the calendar container to interact with
+   */
+  public ConflictsHandler(CalendarContainer calendarManager) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+  }
+
+  /**
+   * Executes the conflict report logic based on the parsed command data.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(ConflictsCommandData data) {
+    List<AdvancedCalendar> calendars = FindSlotHandler.resolveCalendars(calendarManager,
+        data.getCalendarNames());
+    List<EventConflict> conflicts = new ConflictDetector(
+        calendarManager.getActiveCalendar().getZoneId())
+        .find(calendars, data.getStartDateTime(), data.getEndDateTime());
+    if (conflicts.isEmpty()) {
+      return "No conflicts found";
+    }
+    boolean named = !data.getCalendarNames().isEmpty();
+    StringBuilder sb = new StringBuilder();
+    for (EventConflict conflict : conflicts) {
+      sb.append("> ").append(conflict.getFirst().getSubject());
+      if (named) {
+        sb.append(" (").append(conflict.getFirstCalendar()).append(")");
+      }
+      sb.append(" overlaps ").append(conflict.getSecond().getSubject());
+      if (named) {
+        sb.append(" (").append(conflict.getSecondCalendar()).append(")");
+      }
+      sb.append(" starting on ");
+      sb.append(conflict.getStart().toLocalDate()).append(" at ");
+      sb.append(conflict.getStart().toLocalTime());
+      sb.append(", ending on ");
+      sb.append(conflict.getEnd().toLocalDate()).append(" at ");
+      sb.append(conflict.getEnd().toLocalTime());
+      sb.append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+}
@@ -2,7 +2,6 @@ package calendar.controller.handlers;
 
 import static calendar.controller.commands.CopySingleEventCalendarCommand.getOutputString;
 
-import calendar.controller.filter.CalendarFilter;
 import calendar.controller.filter.EventPredicates;
 import calendar.controller.commanddata.CopyMultipleEventsCommandData;
 import calendar.model.Event;
@@ -22,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Handler class that performs the logic for copying multiple events.
@@ -63,45 +63,41 @@ public class CopyMultipleEventsHandler {
     ZoneId sourceZone = sourceCal.getZoneId();
     ZoneId targetZone = targetCal.getZoneId();
 
-    List<EventReadOnly> eventsToCopy = new CalendarFilter(sourceCal)
-        .filter(EventPredicates.betweenStartAndEnd(sourceStart.atStartOfDay(),
-            sourceEnd.atTime(23, 59, 59)));
+    LocalDateTime rangeStart = sourceStart.atStartOfDay();
+    LocalDateTime rangeEnd = sourceEnd.atTime(23, 59, 59);
+    Predicate<EventReadOnly> inRange = EventPredicates.betweenStartAndEnd(rangeStart, rangeEnd);
 
-    List<EventReadOnly> copiedEvents = new ArrayList<>();
+    List<EventReadOnly> plannedCopies = new ArrayList<>();
     Set<java.util.UUID> processedSeries = new HashSet<>();
 
-    for (EventReadOnly event : eventsToCopy) {
+    sourceCal.stream(rangeStart, rangeEnd).forEachOrdered(event -> {
       if (event.getEventType() == TypeOfEvent.SINGLE) {
-        copiedEvents
+        plannedCopies
             .add(copySingleEvent(event, sourceStart,
-                targetStart, sourceZone, targetZone, targetCal));
+                targetStart, sourceZone, targetZone));
       } else if (event.getEventType() == TypeOfEvent.SERIES) {
         java.util.UUID seriesId = event.getId();
-        if (processedSeries.contains(seriesId)) {
-          continue;
+        if (!processedSeries.add(seriesId)) {
+          return;
         }
-        processedSeries.add(seriesId);
 
-        List<EventReadOnly> seriesEvents = new CalendarFilter(sourceCal)
-            .filter(EventPredicates.byEventId(seriesId)
-                .and(EventPredicates.betweenStartAndEnd(
-                    sourceStart.atStartOfDay(),
-                    sourceEnd.atTime(23, 59, 59))));
-
-        for (EventReadOnly seriesEvent : seriesEvents) {
-          copiedEvents
+        for (EventReadOnly seriesEvent : sourceCal.getSeries(seriesId)) {
+          if (!inRange.test(seriesEvent)) {
+            continue;
+          }
+          plannedCopies
               .add(copySingleEvent(seriesEvent, sourceStart,
-                  targetStart, sourceZone, targetZone, targetCal));
+                  targetStart, sourceZone, targetZone));
         }
       }
-    }
+    });
 
-    return handleOutput(copiedEvents);
+    return handleOutput(targetCal.addEvents(plannedCopies));
   }
 
   private EventReadOnly copySingleEvent(EventReadOnly event, LocalDate sourceStart,
                                         LocalDate targetStart, ZoneId sourceZone,
-                                        ZoneId targetZone, AdvancedCalendar targetCal) {
+                                        ZoneId targetZone) {
 
     long daysOffset = ChronoUnit.DAYS.between(sourceStart, event.getStartDateTime().toLocalDate());
     LocalDate targetDate = targetStart.plusDays(daysOffset);
@@ -117,12 +113,10 @@ public class CopyMultipleEventsHandler {
         convertToTargetDateTime(event.getStartDateTime(), targetDate, sourceZone, targetZone);
     LocalDateTime targetEndDateTime = targetStartDateTime.plus(duration);
 
-    EventReadOnly targetEvent = new Event.EventBuilder(event)
+    return new Event.EventBuilder(event)
         .setStartDateTime(targetStartDateTime)
         .setEndDateTime(targetEndDateTime)
         .build();
-
-    return targetCal.addEvent(targetEvent);
   }
 
   private LocalDateTime convertToTargetDateTime(LocalDateTime sourceDateTime, LocalDate targetDate,
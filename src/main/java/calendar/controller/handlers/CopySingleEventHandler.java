@@ -8,10 +8,13 @@ import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Handler class that performs the logic for copying single events.
@@ -60,19 +63,11 @@ public class CopySingleEventHandler {
 
   private List<EventReadOnly> findEvents(AdvancedCalendar calendar,
                                          String name, LocalDateTime time) {
-    List<EventReadOnly> eventsToCopy = new ArrayList<>();
-    List<EventReadOnly> list = calendar
-        .getAllEvents()
-        .getOrDefault(time.toLocalDate(), new ArrayList<>());
-    if (list.isEmpty()) {
-      return eventsToCopy;
-    }
-    for (EventReadOnly event : list) {
-      if (event.getSubject().equalsIgnoreCase(name)) {
-        eventsToCopy.add(event);
-      }
-    }
-    return eventsToCopy;
+    LocalDate day = time.toLocalDate();
+    return calendar.stream(day.atStartOfDay(), day.atTime(LocalTime.MAX))
+        .filter(event -> event.getStartDateTime().toLocalDate().equals(day)
+            && event.getSubject().equalsIgnoreCase(name))
+        .collect(Collectors.toList());
   }
 
   private String copyEventsToTarget(List<EventReadOnly> events,
@@ -30,9 +30,13 @@ public class CreateCalendarHandler {
    * @return the result string
    */
   public String handle(CreateCalendarCommandData data) {
-    AdvancedCalendar newCal = new AdvancedCalendarImpl
+    AdvancedCalendarImpl.AdvancedCalendarBuilder builder = new AdvancedCalendarImpl
         .AdvancedCalendarBuilder(data.getName(), data.getTimezone())
-        .build();
+        .setStorage(data.getStorage());
+    if (data.rejectsOverlaps()) {
+      builder.rejectOverlaps();
+    }
+    AdvancedCalendar newCal = builder.build();
     calendarManager.addCalendar(data.getName(), newCal);
     return "Calendar with name " + data.getName() + " has been successfully created";
   }
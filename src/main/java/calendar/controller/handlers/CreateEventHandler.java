@@ -2,16 +2,21 @@ package calendar.controller.handlers;
 
 import calendar.controller.commanddata.CreateCommandData;
 import calendar.model.Event;
+import calendar.model.datatypes.RecurrenceRule;
 import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -69,28 +74,34 @@ public class CreateEventHandler {
 
   private String createAndAddEvent(String subject,
                                    LocalDateTime start, LocalDateTime end) {
+    return formatEventResult(calendarModel.addEvent(buildEvent(subject, start, end)));
+  }
+
+  private EventReadOnly buildEvent(String subject, LocalDateTime start, LocalDateTime end) {
     boolean allDay = isAllDay(start, end);
-    EventReadOnly event = new Event.EventBuilder(subject, start)
+    return new Event.EventBuilder(subject, start)
         .setEndDateTime(end)
         .setAllDay(allDay)
         .build();
-    return formatEventResult(calendarModel.addEvent(event));
   }
 
   private String createMultiDayEvents(String subject,
                                       LocalDateTime start, LocalDateTime end) {
-    StringBuilder result = new StringBuilder();
+    List<EventReadOnly> dayEvents = new ArrayList<>();
     LocalDate currentDate = start.toLocalDate();
 
     while (!currentDate.isAfter(end.toLocalDate())) {
       LocalDateTime dayStart = getDayStart(currentDate, start);
       LocalDateTime dayEnd = getDayEnd(currentDate, end);
 
-      result.append(createAndAddEvent(subject, dayStart, dayEnd))
-          .append(System.lineSeparator());
+      dayEvents.add(buildEvent(subject, dayStart, dayEnd));
       currentDate = currentDate.plusDays(1);
     }
 
+    StringBuilder result = new StringBuilder();
+    for (EventReadOnly event : calendarModel.addEvents(dayEvents)) {
+      result.append(formatEventResult(event)).append(System.lineSeparator());
+    }
     return result.toString();
   }
 
@@ -138,76 +149,26 @@ public class CreateEventHandler {
       throw new IllegalArgumentException("Repeat until date cannot be before start date");
     }
 
-    List<DayOfWeek> repeatDays = populateWeekDays(data.getDaysString());
-    UUID uuid = UUID.randomUUID();
-    List<EventReadOnly> planned = new ArrayList<>();
-    boolean allDay = isAllDay(startDateTime, endDateTime);
-    LocalDate startDate = startDateTime.toLocalDate();
-    LocalDate endDate = repeatUntil.toLocalDate();
-    LocalDate currentDate = startDate;
-
-    while (!currentDate.isAfter(endDate)) {
-      DayOfWeek currentDay = currentDate.getDayOfWeek();
-      if (repeatDays.contains(currentDay)) {
-        LocalDateTime currentStartDateTime = LocalDateTime.of(currentDate,
-            startDateTime.toLocalTime());
-        LocalDateTime currentEndDateTime = LocalDateTime.of(currentDate,
-            endDateTime.toLocalTime());
-        EventReadOnly newEvent = buildRepeatingEvent(data.getSubject(), currentStartDateTime,
-            currentEndDateTime, uuid, allDay);
-        checkConflict(newEvent);
-        planned.add(newEvent);
-      }
-      currentDate = currentDate.plusDays(1);
-    }
-
-    return buildSeriesOutput(planned);
+    RecurrenceRule rule = new RecurrenceRule(populateWeekDays(data.getDaysString()),
+        repeatUntil.toLocalDate());
+    LocalDateTime firstEnd = LocalDateTime.of(startDateTime.toLocalDate(),
+        endDateTime.toLocalTime());
+    EventReadOnly template = buildRepeatingEvent(data.getSubject(), startDateTime, firstEnd,
+        UUID.randomUUID(), isAllDay(startDateTime, endDateTime));
+    return buildSeriesOutput(template, rule);
   }
 
   private String handleTimesRepetitions(CreateCommandData data, int n) {
     LocalDateTime startDateTime = data.getStartDateTime();
     LocalDateTime endDateTime = data.getEndDateTime();
 
-    UUID uuid = UUID.randomUUID();
-    List<DayOfWeek> repeatDays = populateWeekDays(data.getDaysString());
-    List<EventReadOnly> planned = new ArrayList<>();
-
-    LocalDateTime currentStart = startDateTime;
-    LocalDateTime currentEnd = endDateTime;
-    boolean allDay = isAllDay(startDateTime, endDateTime);
-
-    if (n > 0 && repeatDays.contains(startDateTime.getDayOfWeek())) {
-      EventReadOnly startEvent =
-          buildRepeatingEvent(data.getSubject(), startDateTime, endDateTime, uuid, allDay);
-      checkConflict(startEvent);
-      planned.add(startEvent);
-      n--;
-    }
-
-    while (n > 0) {
-      currentStart = currentStart.plusDays(1);
-      currentEnd = currentEnd.plusDays(1);
-
-      if (repeatDays.contains(currentStart.getDayOfWeek())) {
-        EventReadOnly nextEvent =
-            buildRepeatingEvent(data.getSubject(), currentStart, currentEnd, uuid, allDay);
-        checkConflict(nextEvent);
-        planned.add(nextEvent);
-        n--;
-      }
-    }
-    if (planned.isEmpty()) {
+    if (n <= 0) {
       throw new IllegalArgumentException("Invalid command.");
     }
-    return buildSeriesOutput(planned);
-  }
-
-  private void checkConflict(EventReadOnly newEvent) {
-    calendarModel.forEachEvent(event -> {
-      if (newEvent.equals(event)) {
-        throw new IllegalArgumentException("Cannot create series — conflict with existing event");
-      }
-    });
+    RecurrenceRule rule = new RecurrenceRule(populateWeekDays(data.getDaysString()), n);
+    EventReadOnly template = buildRepeatingEvent(data.getSubject(), startDateTime, endDateTime,
+        UUID.randomUUID(), isAllDay(startDateTime, endDateTime));
+    return buildSeriesOutput(template, rule);
   }
 
   private EventReadOnly buildRepeatingEvent(String subject, LocalDateTime start, LocalDateTime end,
@@ -226,17 +187,29 @@ public class CreateEventHandler {
         && endDateTime.toLocalTime().equals(allDayEnd);
   }
 
-  private String buildSeriesOutput(List<EventReadOnly> plannedEvents) {
+  private String buildSeriesOutput(EventReadOnly template, RecurrenceRule rule) {
+    try {
+      calendarModel.addSeries(template, rule);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cannot create series — conflict with existing event");
+    }
+    Duration duration = Duration.between(template.getStartDateTime(),
+        template.getEndDateTime());
+    LocalTime startTime = template.getStartDateTime().toLocalTime();
     StringBuilder output = new StringBuilder("Created a Series Event: " + System.lineSeparator());
-    for (EventReadOnly e : plannedEvents) {
-      output.append(calendarModel.addEvent(e).toString()).append(System.lineSeparator());
+    Iterator<LocalDate> dates = rule.dates(template.getStartDateTime().toLocalDate());
+    while (dates.hasNext()) {
+      LocalDateTime start = LocalDateTime.of(dates.next(), startTime);
+      EventReadOnly occurrence = buildRepeatingEvent(template.getSubject(), start,
+          start.plus(duration), template.getId(), template.isAllDay());
+      output.append(occurrence.toString()).append(System.lineSeparator());
     }
 
     return output.toString();
   }
 
-  private List<DayOfWeek> populateWeekDays(String daysString) {
-    List<DayOfWeek> days = new ArrayList<>();
+  private Set<DayOfWeek> populateWeekDays(String daysString) {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
     for (char c : daysString.toCharArray()) {
       switch (c) {
         case 'M':
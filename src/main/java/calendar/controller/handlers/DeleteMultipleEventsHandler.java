@@ -49,13 +49,7 @@ public class DeleteMultipleEventsHandler {
       List<EventReadOnly> eventsToDelete = new ArrayList<>();
       if (event.getEventType() == TypeOfEvent.SERIES) {
         // Get all events in the series from this date onwards
-        List<EventReadOnly> seriesEvents = filter.filter(EventPredicates.byEventId(event.getId()));
-        for (EventReadOnly seriesEvent : seriesEvents) {
-          if (seriesEvent.getStartDateTime().isEqual(data.getStartDateTime())
-              || seriesEvent.getStartDateTime().isAfter(data.getStartDateTime())) {
-            eventsToDelete.add(seriesEvent);
-          }
-        }
+        eventsToDelete = calendarModel.getSeriesFrom(event.getId(), data.getStartDateTime());
       } else {
         // Single event - only delete if it matches the start date
         if (event.getStartDateTime().isEqual(data.getStartDateTime())) {
@@ -49,7 +49,7 @@ public class DeleteSeriesHandler {
       List<EventReadOnly> eventsToDelete = new ArrayList<>();
       if (event.getEventType() == TypeOfEvent.SERIES) {
         // Get all events in the series
-        eventsToDelete = filter.filter(EventPredicates.byEventId(event.getId()));
+        eventsToDelete = calendarModel.getSeries(event.getId());
       } else {
         // Single event - just delete this one
         eventsToDelete.add(event);
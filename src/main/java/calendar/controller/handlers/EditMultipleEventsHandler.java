@@ -45,9 +45,7 @@ public class EditMultipleEventsHandler {
       List<EventReadOnly> currEvents = new ArrayList<>();
       currEvents.add(event);
       if (event.getEventType() == TypeOfEvent.SERIES) {
-        currEvents = filter.filter(EventPredicates.byEventId(event.getId()));
-        currEvents.removeIf(ev -> !(ev.getStartDateTime().isEqual(data.getStartDateTime())
-            || ev.getStartDateTime().isAfter(data.getStartDateTime())));
+        currEvents = calendarModel.getSeriesFrom(event.getId(), data.getStartDateTime());
       }
       calendarModel.editEvent(currEvents, data.getPropertyToUpdate(), data.getNewPropertyValue());
       List<EventReadOnly> newFilteredEvents;
@@ -56,11 +54,9 @@ public class EditMultipleEventsHandler {
             .and(EventPredicates.byStartDate(LocalDateTime.parse(data.getNewPropertyValue())))
             .and(EventPredicates.byEndDate(LocalDateTime
                 .parse(event.getEndDateTime().toString()))));
-        currEvents = filter.filter(EventPredicates.byEventId(newFilteredEvents.get(0).getId()));
+        currEvents = calendarModel.getSeries(newFilteredEvents.get(0).getId());
       } else {
-        currEvents = filter.filter(EventPredicates.byEventId(event.getId()));
-        currEvents.removeIf(ev -> !(ev.getStartDateTime().isEqual(data.getStartDateTime())
-            || ev.getStartDateTime().isAfter(data.getStartDateTime())));
+        currEvents = calendarModel.getSeriesFrom(event.getId(), data.getStartDateTime());
       }
 
       EditSeriesCommand.getReturnValue(output, currEvents);
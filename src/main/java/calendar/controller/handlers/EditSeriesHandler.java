@@ -46,7 +46,7 @@ public class EditSeriesHandler {
       List<EventReadOnly> currEvents = new ArrayList<>();
       currEvents.add(event);
       if (event.getEventType() == TypeOfEvent.SERIES) {
-        currEvents = filter.filter(EventPredicates.byEventId(event.getId()));
+        currEvents = calendarModel.getSeries(event.getId());
       }
       calendarModel.editEvent(currEvents, data.getPropertyToUpdate(), data.getNewPropertyValue());
 
@@ -56,9 +56,9 @@ public class EditSeriesHandler {
             .and(EventPredicates.byStartDate(LocalDateTime.parse(data.getNewPropertyValue())))
             .and(EventPredicates.byEndDate(LocalDateTime
                 .parse(event.getEndDateTime().toString()))));
-        currEvents = filter.filter(EventPredicates.byEventId(newFilteredEvents.get(0).getId()));
+        currEvents = calendarModel.getSeries(newFilteredEvents.get(0).getId());
       } else {
-        currEvents = filter.filter(EventPredicates.byEventId(event.getId()));
+        currEvents = calendarModel.getSeries(event.getId());
       }
 
       EditSeriesCommand.getReturnValue(output, currEvents);
@@ -5,6 +5,7 @@ import calendar.controller.export.FileExporter;
 import calendar.controller.export.IcalExporter;
 import calendar.controller.commanddata.ExportCommandData;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -43,7 +44,10 @@ public class ExportEventHandler {
     if (exporter == null) {
       throw new IllegalArgumentException("Invalid file type." + fileType);
     }
-    String path = exporter.export(fileName, calendarModel.getAllEvents());
+    CalendarReadOnly snapshot = calendarModel.snapshot();
+    String path = exporter.export(fileName, data.getStartDateTime() == null
+        ? snapshot.stream(event -> true)
+        : snapshot.stream(data.getStartDateTime(), data.getEndDateTime()));
     return "Successfully exported to: " + path;
   }
 }
@@ -0,0 +1,85 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.FindSlotCommandData;
+import calendar.model.FreeSlotFinder;
+import calendar.model.datatypes.FreeSlot;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for finding free slots.
+ * Takes parsed command data and interacts with the model. The window and the slots are in
+ * the time zone of the active calendar.
+ */
+public class FindSlotHandler {
+
+  private final CalendarContainer calendarManager;
+
+  /**
+   * Constructor for FindSlotHandler.
+   *
+   * @param calendarManager the calendar container to interact with
+   */
+  public FindSlotHandler(CalendarContainer calendarManager) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+  }
+
+  /**
+   * Executes the find slot logic based on the parsed command data.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(FindSlotCommandData data) {
+    AdvancedCalendar active = calendarManager.getActiveCalendar();
+    List<AdvancedCalendar> calendars = resolveCalendars(calendarManager,
+        data.getCalendarNames());
+    List<FreeSlot> slots = new FreeSlotFinder(active.getZoneId()).find(calendars,
+        data.getStartDateTime(), data.getEndDateTime(), data.getDuration(), data.getCount());
+    if (slots.isEmpty()) {
+      throw new IllegalArgumentException("No free slot found with the given details");
+    }
+    StringBuilder sb = new StringBuilder();
+    for (FreeSlot slot : slots) {
+      sb.append("> Free starting on ");
+      sb.append(slot.getStart().toLocalDate()).append(" at ");
+      sb.append(slot.getStart().toLocalTime());
+      sb.append(", ending on ");
+      sb.append(slot.getEnd().toLocalDate()).append(" at ");
+      sb.append(slot.getEnd().toLocalTime());
+      sb.append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the calendars named in a command: the active calendar when no name is given,
+   * every calendar for the single name "all", otherwise the named calendars.
+   *
+   * @param calendarManager the calendar container
+   * @param names           the names given in the command
+   * @return the calendars to look at
+   * @throws IllegalArgumentException if a named calendar does not exist
+   */
+  static List<AdvancedCalendar> resolveCalendars(CalendarContainer calendarManager,
+                                                 List<String> names) {
+    List<AdvancedCalendar> calendars = new ArrayList<>();
+    if (names.isEmpty()) {
+      calendars.add(calendarManager.getActiveCalendar());
+    } else if (names.equals(List.of("all"))) {
+      calendars.addAll(calendarManager.getCalendars().values());
+    } else {
+      for (String name : names) {
+        AdvancedCalendar calendar = calendarManager.getCalendars().get(name);
+        if (calendar == null) {
+          throw new IllegalArgumentException("No calendar with name " + name);
+        }
+        calendars.add(calendar);
+      }
+    }
+    return calendars;
+  }
+}
@@ -0,0 +1,48 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.ImportCommandData;
+import calendar.controller.importer.IcalImporter;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for importing events.
+ * Takes parsed command data and interacts with the model.
+ */
+public class ImportEventHandler {
+
+  private final AdvancedCalendar calendarModel;
+
+  /**
+   * Constructor for ImportEventHandler.
+   *
+   * @param calendarModel the calendar model to interact with
+   */
+  public ImportEventHandler(AdvancedCalendar calendarModel) {
+    this.calendarModel = Objects.requireNonNull(calendarModel);
+  }
+
+  /**
+   * Executes the import logic based on the parsed command data.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(ImportCommandData data) {
+    String fileName = data.getFileName();
+    String fileType = fileName.substring(fileName.lastIndexOf('.') + 1);
+    if (!fileType.equals("ics") && !fileType.equals("ical")) {
+      throw new IllegalArgumentException("Invalid file type." + fileType);
+    }
+    IcalImporter.Result result = new IcalImporter().importFile(Path.of(fileName),
+        calendarModel);
+    String message = "Imported " + result.getEvents() + " events (" + result.getSeries()
+        + " series) from: " + fileName;
+    if (result.getUnsupportedRules() > 0) {
+      message += System.lineSeparator() + result.getUnsupportedRules()
+          + " recurrence rules were not supported; only their first occurrence was imported";
+    }
+    return message;
+  }
+}
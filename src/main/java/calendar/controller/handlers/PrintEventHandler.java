@@ -3,8 +3,8 @@ package calendar.controller.handlers;
 import calendar.controller.commanddata.PrintCommandData;
 import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
-import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Handler class that performs the logic for printing events.
@@ -30,41 +30,38 @@ public class PrintEventHandler {
    * @return the result string
    */
   public String handle(PrintCommandData data) {
-    List<EventReadOnly> print = calendarModel.getEvents(data.getStartDateTime(),
-        data.getEndDateTime());
-    if (print.isEmpty()) {
+    StringBuilder sb = new StringBuilder();
+    Consumer<EventReadOnly> format = data.isOnCommand()
+        ? event -> outputFormatOn(sb, event) : event -> outputFormatFrom(sb, event);
+    calendarModel.stream(data.getStartDateTime(), data.getEndDateTime()).forEach(format);
+    if (sb.length() == 0) {
       throw new IllegalArgumentException("No Events found with the given details");
     }
-    if (data.isOnCommand()) {
-      return outputFormatOn(print);
-    }
-    return outputFormatFrom(print);
+    return sb.toString();
   }
 
-  private String outputFormatOn(List<EventReadOnly> print) {
-    StringBuilder sb = new StringBuilder();
-    for (EventReadOnly event : print) {
-      sb.append("> Subject: ").append(event.getSubject()).append(", ");
-      sb.append("StartDateTime: ").append(event.getStartDateTime()).append(", ");
-      sb.append("EndDateTime: ").append(event.getEndDateTime()).append(", ");
-      sb.append("Location: ").append(event.getLocation());
-      sb.append(System.lineSeparator());
-    }
-    return sb.toString();
+  private static void outputFormatOn(StringBuilder sb, EventReadOnly event) {
+    sb.append("> Subject: ").append(event.getSubject()).append(", ");
+    sb.append("StartDateTime: ").append(event.getStartDateTime()).append(", ");
+    sb.append("EndDateTime: ").append(event.getEndDateTime()).append(", ");
+    sb.append("Location: ").append(event.getLocation());
+    sb.append(System.lineSeparator());
   }
 
-  private String outputFormatFrom(List<EventReadOnly> print) {
-    StringBuilder sb = new StringBuilder();
-    for (EventReadOnly event : print) {
-      sb.append("> ").append(event.getSubject()).append(" starting on ");
-      sb.append(event.getStartDateTime().toLocalDate()).append(" at ");
-      sb.append(event.getStartDateTime().toLocalTime());
-      sb.append(", ending on ");
-      sb.append(event.getEndDateTime().toLocalDate()).append(" at ");
-      sb.append(event.getEndDateTime().toLocalTime());
-      sb.append(System.lineSeparator());
-    }
-    return sb.toString();
+  /**
+   * Appends the line printed for an event of a range, with its subject, start and end.
+   * Other handlers listing events use the same line.
+   *
+   * @param sb    the output to append to
+   * @param event the event to print
+   */
+  static void outputFormatFrom(StringBuilder sb, EventReadOnly event) {
+    sb.append("> ").append(event.getSubject()).append(" starting on ");
+    sb.append(event.getStartDateTime().toLocalDate()).append(" at ");
+    sb.append(event.getStartDateTime().toLocalTime());
+    sb.append(", ending on ");
+    sb.append(event.getEndDateTime().toLocalDate()).append(" at ");
+    sb.append(event.getEndDateTime().toLocalTime());
+    sb.append(System.lineSeparator());
   }
 }
-
@@ -0,0 +1,45 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.SearchCommandData;
+import calendar.model.datatypes.SearchQuery;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for searching events by words.
+ * Takes parsed command data and interacts with the model, listing the best matches first.
+ */
+public class SearchEventsHandler {
+
+  private final CalendarEditable calendarModel;
+
+  /**
+   * Constructor for SearchEventsHandler.
+   *
+   * @param calendarModel the calendar model to interact with
+   */
+  public SearchEventsHandler(CalendarEditable calendarModel) {
+    this.calendarModel = Objects.requireNonNull(calendarModel);
+  }
+
+  /**
+   * Executes the search logic based on the parsed command data.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(SearchCommandData data) {
+    List<EventReadOnly> found = calendarModel.search(new SearchQuery(data.getText(),
+        data.getStartDateTime(), data.getEndDateTime()));
+    if (found.isEmpty()) {
+      throw new IllegalArgumentException("No Events found with the given details");
+    }
+    StringBuilder sb = new StringBuilder();
+    for (EventReadOnly event : found) {
+      PrintEventHandler.outputFormatFrom(sb, event);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,670 @@
+package calendar.controller.importer;
+
+import calendar.model.Event;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports the events of an iCalendar (.ics) file into a calendar.
+ * The file is read through a channel in large blocks and decoded as it goes; folded lines are
+ * joined back, and each VEVENT is built directly into an event, with no command text in
+ * between. Single events are added in large batches, so a feed of hundreds of thousands of
+ * events is loaded in a few seconds.
+ *
+ * <p>Times are converted into the time zone of the calendar: UTC times and times with a TZID
+ * are moved to the same instant there, and floating times are kept as they are. A date
+ * without a time gives an all-day event on each of its days. A weekly or daily RRULE
+ * with a COUNT or UNTIL becomes a series, from which the dates of any EXDATE or
+ * RECURRENCE-ID are removed; a RECURRENCE-ID event then replaces its occurrence. When moving
+ * the first occurrence into the time zone of the calendar changes its date, the weekdays of
+ * the rule move by as many days. A one-day all-day event may recur as well. Rules of other
+ * kinds, and rules of all-day events lasting several days, keep only their first occurrence
+ * and are counted in the result.
+ */
+public class IcalImporter {
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final int BATCH_SIZE = 4096;
+  private static final LocalTime ALL_DAY_START = LocalTime.of(8, 0);
+  private static final LocalTime ALL_DAY_END = LocalTime.of(17, 0);
+
+  /**
+   * The number of events, series and unsupported rules of an import.
+   */
+  public static final class Result {
+    private final int events;
+    private final int series;
+    private final int unsupportedRules;
+
+    private Result(int events, int series, int unsupportedRules) {
+      this.events = events;
+      this.series = series;
+      this.unsupportedRules = unsupportedRules;
+    }
+
+    /**
+     * Returns the number of VEVENTs imported, each series counted once.
+     *
+     * @return the number of imported events
+     */
+    public int getEvents() {
+      return events;
+    }
+
+    /**
+     * Returns the number of VEVENTs imported as a series.
+     *
+     * @return the number of imported series
+     */
+    public int getSeries() {
+      return series;
+    }
+
+    /**
+     * Returns the number of recurrence rules that could not be kept, whose events were
+     * imported with their first occurrence only.
+     *
+     * @return the number of unsupported rules
+     */
+    public int getUnsupportedRules() {
+      return unsupportedRules;
+    }
+  }
+
+  /**
+   * Imports the events of a file into the calendar.
+   *
+   * @param file     the .ics file to read.
+   * @param calendar the calendar to add the events to.
+   * @return the counts of imported events.
+   * @throws IllegalArgumentException if the file cannot be read, holds an invalid event or an
+   *                                  event that already exists; the batches added before the
+   *                                  failing event stay in the calendar.
+   */
+  public Result importFile(Path file, AdvancedCalendar calendar) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return importFrom(channel, calendar);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error reading file: " + file, e);
+    }
+  }
+
+  /**
+   * Imports the events read from a channel into the calendar. The channel is not closed.
+   *
+   * @param channel  the channel to read the iCalendar text from, in UTF-8.
+   * @param calendar the calendar to add the events to.
+   * @return the counts of imported events.
+   * @throws IOException              if the channel cannot be read.
+   * @throws IllegalArgumentException if an event is invalid or already exists.
+   */
+  public Result importFrom(ReadableByteChannel channel, AdvancedCalendar calendar)
+      throws IOException {
+    Loader loader = new Loader(calendar);
+    new LineReader(channel).forEachLine(loader);
+    return loader.finish();
+  }
+
+  /**
+   * Receives the unfolded content lines of a file, with their line numbers.
+   */
+  private interface LineHandler {
+    void line(String line, int number);
+  }
+
+  /**
+   * Reads content lines from a channel, joining each folded line back to the one before it.
+   */
+  private static final class LineReader {
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder physical = new StringBuilder(256);
+    private final StringBuilder logical = new StringBuilder(256);
+    private int physicalNumber;
+    private int logicalNumber;
+
+    private LineReader(ReadableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    private void forEachLine(LineHandler handler) throws IOException {
+      ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+      CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+      boolean endOfInput = false;
+      while (!endOfInput) {
+        endOfInput = channel.read(bytes) < 0;
+        bytes.flip();
+        decoder.decode(bytes, chars, endOfInput);
+        if (endOfInput) {
+          decoder.flush(chars);
+        }
+        bytes.compact();
+        chars.flip();
+        while (chars.hasRemaining()) {
+          char c = chars.get();
+          if (c == '\n') {
+            endPhysicalLine(handler);
+          } else {
+            physical.append(c);
+          }
+        }
+        chars.clear();
+      }
+      if (physical.length() > 0) {
+        endPhysicalLine(handler);
+      }
+      if (logical.length() > 0) {
+        handler.line(logical.toString(), logicalNumber);
+      }
+    }
+
+    private void endPhysicalLine(LineHandler handler) {
+      physicalNumber++;
+      int length = physical.length();
+      if (length > 0 && physical.charAt(length - 1) == '\r') {
+        physical.setLength(--length);
+      }
+      if (length > 0 && (physical.charAt(0) == ' ' || physical.charAt(0) == '\t')) {
+        logical.append(physical, 1, length);
+      } else {
+        if (logical.length() > 0) {
+          handler.line(logical.toString(), logicalNumber);
+        }
+        logical.setLength(0);
+        logical.append(physical);
+        logicalNumber = physicalNumber;
+      }
+      physical.setLength(0);
+    }
+  }
+
+  /**
+   * Builds events from the content lines and adds them to the calendar.
+   */
+  private static final class Loader implements LineHandler {
+    private final AdvancedCalendar calendar;
+    private final ZoneId zone;
+    private final List<EventReadOnly> batch = new ArrayList<>(BATCH_SIZE);
+    private final List<EventReadOnly> overrides = new ArrayList<>();
+    private final List<EventReadOnly> removals = new ArrayList<>();
+    private final Map<UUID, String> seriesSubjects = new HashMap<>();
+    private VeventFields current;
+    private int nested;
+    private int events;
+    private int series;
+    private int unsupportedRules;
+
+    private Loader(AdvancedCalendar calendar) {
+      this.calendar = calendar;
+      this.zone = calendar.getZoneId();
+    }
+
+    @Override
+    public void line(String line, int number) {
+      try {
+        handle(line);
+      } catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException e) {
+        throw new IllegalArgumentException("Invalid iCal line " + number + ": "
+            + e.getMessage(), e);
+      }
+    }
+
+    private void handle(String line) {
+      Property property = Property.parse(line);
+      if (property == null) {
+        return;
+      }
+      if (property.name.equals("BEGIN")) {
+        if (current != null) {
+          nested++;
+        } else if (property.value.equalsIgnoreCase("VEVENT")) {
+          current = new VeventFields();
+        }
+      } else if (property.name.equals("END") && current != null) {
+        if (nested > 0) {
+          nested--;
+        } else {
+          VeventFields fields = current;
+          current = null;
+          add(fields);
+        }
+      } else if (current != null && nested == 0) {
+        current.set(property);
+      }
+    }
+
+    private void add(VeventFields fields) {
+      if (fields.start == null) {
+        throw new IllegalArgumentException("VEVENT without DTSTART");
+      }
+      events++;
+      if (fields.allDay) {
+        addAllDay(fields);
+        return;
+      }
+      LocalDateTime start = toZone(fields.start, fields.startZone);
+      LocalDateTime end = fields.end == null ? start.plus(fields.duration)
+          : toZone(fields.end, fields.endZone);
+      Event.EventBuilder builder = fields.builder(start, end);
+      if (fields.recurrenceId != null) {
+        overrides.add(builder.setEventType(TypeOfEvent.SERIES).build());
+        removals.add(occurrence(fields, toZone(fields.recurrenceId, fields.recurrenceIdZone)));
+        return;
+      }
+      RecurrenceRule rule = fields.rule(zone,
+          (int) ChronoUnit.DAYS.between(fields.start.toLocalDate(), start.toLocalDate()));
+      if (fields.rrule != null && rule == null) {
+        unsupportedRules++;
+      }
+      if (rule == null) {
+        queue(builder.build());
+        return;
+      }
+      calendar.addSeries(builder.setEventType(TypeOfEvent.SERIES).build(), rule);
+      seriesSubjects.put(fields.id(), fields.subject);
+      series++;
+      for (LocalDateTime excluded : fields.exdates) {
+        removals.add(occurrence(fields, toZone(excluded, fields.startZone)));
+      }
+    }
+
+    private void addAllDay(VeventFields fields) {
+      LocalDate first = fields.start.toLocalDate();
+      LocalDate last = fields.end == null ? first : fields.end.toLocalDate().minusDays(1);
+      if (last.isBefore(first)) {
+        last = first;
+      }
+      if (fields.rrule != null) {
+        RecurrenceRule rule = first.equals(last) ? fields.rule(zone, 0) : null;
+        if (rule == null) {
+          unsupportedRules++;
+        } else {
+          calendar.addSeries(fields.builder(first.atTime(ALL_DAY_START), first.atTime(ALL_DAY_END))
+              .setAllDay(true).setEventType(TypeOfEvent.SERIES).build(), rule);
+          seriesSubjects.put(fields.id(), fields.subject);
+          series++;
+          for (LocalDateTime excluded : fields.exdates) {
+            removals.add(occurrence(fields, excluded.toLocalDate().atTime(ALL_DAY_START)));
+          }
+          return;
+        }
+      }
+      for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+        queue(fields.builder(day.atTime(ALL_DAY_START), day.atTime(ALL_DAY_END))
+            .setAllDay(true).build());
+      }
+    }
+
+    private EventReadOnly occurrence(VeventFields fields, LocalDateTime start) {
+      return new Event.EventBuilder(fields.subject, start).setEventId(fields.id()).build();
+    }
+
+    private void queue(EventReadOnly event) {
+      batch.add(event);
+      if (batch.size() == BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (!batch.isEmpty()) {
+        calendar.addEvents(batch);
+        batch.clear();
+      }
+    }
+
+    private Result finish() {
+      flush();
+      for (EventReadOnly removal : removals) {
+        String subject = seriesSubjects.getOrDefault(removal.getId(), removal.getSubject());
+        for (EventReadOnly occurrence : calendar.findEvents(subject,
+            removal.getStartDateTime())) {
+          if (occurrence.getId().equals(removal.getId())) {
+            calendar.removeEvent(occurrence);
+            break;
+          }
+        }
+      }
+      if (!overrides.isEmpty()) {
+        calendar.addEvents(overrides);
+      }
+      return new Result(events, series, unsupportedRules);
+    }
+
+    private LocalDateTime toZone(LocalDateTime dateTime, ZoneId from) {
+      if (from == null || from.equals(zone)) {
+        return dateTime;
+      }
+      return dateTime.atZone(from).withZoneSameInstant(zone).toLocalDateTime();
+    }
+  }
+
+  /**
+   * A content line split into its name, the parameters the importer uses, and its value.
+   */
+  private static final class Property {
+    private final String name;
+    private final String value;
+    private final String tzid;
+    private final boolean date;
+
+    private Property(String name, String value, String tzid, boolean date) {
+      this.name = name;
+      this.value = value;
+      this.tzid = tzid;
+      this.date = date;
+    }
+
+    private static Property parse(String line) {
+      int colon = -1;
+      int nameEnd = -1;
+      boolean quoted = false;
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (c == '"') {
+          quoted = !quoted;
+        } else if (!quoted && (c == ';' || c == ':') && nameEnd < 0) {
+          nameEnd = i;
+        }
+        if (!quoted && c == ':') {
+          colon = i;
+          break;
+        }
+      }
+      if (colon < 0) {
+        return null;
+      }
+      String name = line.substring(0, nameEnd).toUpperCase(Locale.ROOT);
+      String tzid = null;
+      boolean date = false;
+      for (String parameter : line.substring(nameEnd, colon).split(";")) {
+        int equals = parameter.indexOf('=');
+        if (equals < 0) {
+          continue;
+        }
+        String key = parameter.substring(0, equals).toUpperCase(Locale.ROOT);
+        String value = parameter.substring(equals + 1).replace("\"", "");
+        if (key.equals("TZID")) {
+          tzid = value;
+        } else if (key.equals("VALUE")) {
+          date = value.equalsIgnoreCase("DATE");
+        }
+      }
+      return new Property(name, line.substring(colon + 1), tzid, date);
+    }
+  }
+
+  /**
+   * The properties of one VEVENT, as read so far.
+   */
+  private static final class VeventFields {
+    private String uid;
+    private String subject = "";
+    private String description;
+    private Location location;
+    private EventStatus status;
+    private LocalDateTime start;
+    private ZoneId startZone;
+    private boolean allDay;
+    private LocalDateTime end;
+    private ZoneId endZone;
+    private Duration duration = Duration.ZERO;
+    private String rrule;
+    private LocalDateTime recurrenceId;
+    private ZoneId recurrenceIdZone;
+    private final List<LocalDateTime> exdates = new ArrayList<>();
+
+    private void set(Property property) {
+      switch (property.name) {
+        case "UID":
+          uid = property.value;
+          break;
+        case "SUMMARY":
+          subject = unescape(property.value);
+          break;
+        case "DESCRIPTION":
+          description = unescape(property.value);
+          break;
+        case "LOCATION":
+          location = Location.getLocation(unescape(property.value));
+          break;
+        case "CLASS":
+          status = EventStatus.getEventStatus(property.value);
+          break;
+        case "DTSTART":
+          allDay = property.date || property.value.length() == 8;
+          start = dateTime(property.value);
+          startZone = zone(property);
+          break;
+        case "DTEND":
+          end = dateTime(property.value);
+          endZone = zone(property);
+          break;
+        case "DURATION":
+          duration = duration(property.value);
+          break;
+        case "RRULE":
+          rrule = property.value;
+          break;
+        case "RECURRENCE-ID":
+          recurrenceId = dateTime(property.value);
+          recurrenceIdZone = zone(property);
+          break;
+        case "EXDATE":
+          for (String value : property.value.split(",")) {
+            exdates.add(dateTime(value));
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    private UUID id() {
+      if (uid == null) {
+        uid = UUID.randomUUID().toString();
+      }
+      try {
+        return UUID.fromString(uid);
+      } catch (IllegalArgumentException e) {
+        return UUID.nameUUIDFromBytes(uid.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    private Event.EventBuilder builder(LocalDateTime start, LocalDateTime end) {
+      Event.EventBuilder builder = new Event.EventBuilder(subject, start)
+          .setEndDateTime(end)
+          .setEventId(id())
+          .setAllDay(start.toLocalDate().equals(end.toLocalDate())
+              && start.toLocalTime().equals(ALL_DAY_START)
+              && end.toLocalTime().equals(ALL_DAY_END));
+      if (description != null) {
+        builder.setDescription(description);
+      }
+      if (location != null) {
+        builder.setLocation(location);
+      }
+      if (status != null) {
+        builder.setEventStatus(status);
+      }
+      return builder;
+    }
+
+    /**
+     * Returns the rule of a weekly or daily RRULE with a COUNT or UNTIL, or null. The weekdays
+     * and a local UNTIL date are moved by the days the first occurrence moved when it was put
+     * into the time zone of the calendar.
+     *
+     * @param zone  the time zone of the calendar
+     * @param shift the days between the date of DTSTART and that of the first occurrence
+     */
+    private RecurrenceRule rule(ZoneId zone, int shift) {
+      if (rrule == null) {
+        return null;
+      }
+      String frequency = null;
+      Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+      int count = 0;
+      LocalDate until = null;
+      for (String part : rrule.split(";")) {
+        int equals = part.indexOf('=');
+        if (equals < 0) {
+          return null;
+        }
+        String key = part.substring(0, equals).toUpperCase(Locale.ROOT);
+        String value = part.substring(equals + 1).toUpperCase(Locale.ROOT);
+        switch (key) {
+          case "FREQ":
+            frequency = value;
+            break;
+          case "COUNT":
+            count = Integer.parseInt(value);
+            break;
+          case "UNTIL":
+            LocalDateTime last = dateTime(value);
+            until = value.endsWith("Z")
+                ? last.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDate()
+                : last.toLocalDate().plusDays(shift);
+            break;
+          case "INTERVAL":
+            if (Integer.parseInt(value) != 1) {
+              return null;
+            }
+            break;
+          case "WKST":
+            break;
+          case "BYDAY":
+            for (String day : value.split(",")) {
+              DayOfWeek dayOfWeek = dayOfWeek(day);
+              if (dayOfWeek == null) {
+                return null;
+              }
+              days.add(dayOfWeek.plus(shift));
+            }
+            break;
+          default:
+            return null;
+        }
+      }
+      if ("DAILY".equals(frequency) && days.isEmpty()) {
+        days = EnumSet.allOf(DayOfWeek.class);
+      } else if (!"WEEKLY".equals(frequency)) {
+        return null;
+      }
+      if (days.isEmpty()) {
+        days.add(start.getDayOfWeek().plus(shift));
+      }
+      if (count > 0 && until == null) {
+        return new RecurrenceRule(days, count);
+      }
+      if (until != null && count == 0) {
+        return new RecurrenceRule(days, until);
+      }
+      return null;
+    }
+
+    private static DayOfWeek dayOfWeek(String day) {
+      for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+        if (dayOfWeek.name().startsWith(day) && day.length() == 2) {
+          return dayOfWeek;
+        }
+      }
+      return null;
+    }
+
+    private static ZoneId zone(Property property) {
+      if (property.value.endsWith("Z")) {
+        return ZoneOffset.UTC;
+      }
+      return property.tzid == null ? null : ZoneId.of(property.tzid);
+    }
+
+    /**
+     * Parses a DATE (yyyyMMdd) or DATE-TIME (yyyyMMdd'T'HHmmss, optionally ending in Z).
+     */
+    private static LocalDateTime dateTime(String value) {
+      int year = number(value, 0, 4);
+      int month = number(value, 4, 6);
+      int day = number(value, 6, 8);
+      if (value.length() == 8) {
+        return LocalDateTime.of(year, month, day, 0, 0);
+      }
+      if (value.length() < 15 || value.charAt(8) != 'T') {
+        throw new IllegalArgumentException("Invalid date time " + value);
+      }
+      return LocalDateTime.of(year, month, day, number(value, 9, 11), number(value, 11, 13),
+          number(value, 13, 15));
+    }
+
+    private static int number(String value, int from, int to) {
+      int number = 0;
+      for (int i = from; i < to; i++) {
+        char c = value.charAt(i);
+        if (c < '0' || c > '9') {
+          throw new IllegalArgumentException("Invalid date time " + value);
+        }
+        number = number * 10 + (c - '0');
+      }
+      return number;
+    }
+
+    private static Duration duration(String value) {
+      int weeks = value.indexOf('W');
+      if (weeks > 0) {
+        int sign = value.startsWith("-") ? -1 : 1;
+        int from = value.indexOf('P') + 1;
+        return Duration.ofDays(7L * sign * Integer.parseInt(value.substring(from, weeks)));
+      }
+      return Duration.parse(value);
+    }
+
+    private static String unescape(String text) {
+      if (text.indexOf('\\') < 0) {
+        return text;
+      }
+      StringBuilder sb = new StringBuilder(text.length());
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '\\' && i + 1 < text.length()) {
+          char next = text.charAt(++i);
+          sb.append(next == 'n' || next == 'N' ? '\n' : next);
+        } else {
+          sb.append(c);
+        }
+      }
+      return sb.toString();
+    }
+  }
+}
@@ -1,15 +1,25 @@
 package calendar.model;
 
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.SearchQuery;
+import calendar.model.datatypes.StorageMode;
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventChangeListener;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Represents an advanced calendar that supports time zones and can perform
@@ -44,6 +54,16 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.addEvent(event);
   }
 
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    return calendar.addEvents(events);
+  }
+
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    calendar.addSeries(template, rule);
+  }
+
   /**
    * Edits one or more existing events by modifying a specified property.
    *
@@ -59,6 +79,18 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.editEvent(events, property, newValue);
   }
 
+  /**
+   * Replaces an event with its edited version.
+   *
+   * @param oldEvent the event currently in the calendar
+   * @param newEvent the edited event
+   * @throws IllegalArgumentException if the edited event conflicts with an existing event
+   */
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    calendar.updateEvent(oldEvent, newEvent);
+  }
+
   /**
    * Removes an event from the calendar.
    *
@@ -80,6 +112,11 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.isBusy(dateTime);
   }
 
+  @Override
+  public boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    return calendar.isBusy(from, to);
+  }
+
   /**
    * Executes the provided consumer for every event in the calendar.
    * Used mainly for filtering and passing each event to the filter predicate.
@@ -108,6 +145,56 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.getAllEvents();
   }
 
+  @Override
+  public Stream<EventReadOnly> stream(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return calendar.stream(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    return calendar.stream(filter);
+  }
+
+  @Override
+  public int size() {
+    return calendar.size();
+  }
+
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    return calendar.findEvents(subject, startDateTime);
+  }
+
+  @Override
+  public List<EventReadOnly> search(SearchQuery query) {
+    return calendar.search(query);
+  }
+
+  @Override
+  public List<EventReadOnly> select(AttributeQuery query) {
+    return calendar.select(query);
+  }
+
+  @Override
+  public CalendarReadOnly snapshot() {
+    return calendar.snapshot();
+  }
+
+  @Override
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    return calendar.getSeries(seriesId);
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    return calendar.getSeriesFrom(seriesId, from);
+  }
+
+  @Override
+  public boolean containsEvent(EventReadOnly event) {
+    return calendar.containsEvent(event);
+  }
+
   @Override
   public String getName() {
     return this.name;
@@ -123,11 +210,17 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return this.calendar;
   }
 
+  @Override
+  public boolean rejectsOverlaps() {
+    return calendar.rejectsOverlaps();
+  }
+
   /**
    * Builder class to create instances of AdvancedCalendarImpl.
    */
   public static class AdvancedCalendarBuilder {
     private CalendarEditable calendar;
+    private ZoneId calendarZone;
     private String name;
     private ZoneId zoneId;
 
@@ -145,6 +238,8 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
 
     /**
      * Creates a builder from an existing advanced calendar.
+     * The built calendar shares the events of the existing one; if it is given another
+     * time zone, the shared events are seen in that zone without being rewritten.
      *
      * @param advancedCalendar the existing advanced calendar
      */
@@ -152,19 +247,50 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
       this.calendar = Objects.requireNonNull(advancedCalendar.getCalendar());
       this.name = Objects.requireNonNull(advancedCalendar.getName());
       this.zoneId = Objects.requireNonNull(advancedCalendar.getZoneId());
+      this.calendarZone = this.zoneId;
     }
 
     /**
-     * Sets the base editable calendar.
+     * Sets the base editable calendar, whose times are in the time zone of the built calendar.
      *
      * @param calendar the editable calendar to use
      * @return this builder instance
      */
     public AdvancedCalendarBuilder setCalendar(CalendarEditable calendar) {
       this.calendar = calendar;
+      this.calendarZone = null;
       return this;
     }
 
+    /**
+     * Sets how the events of the built calendar are stored, replacing the base calendar with
+     * a new empty one of that kind.
+     *
+     * @param storage the storage mode to use
+     * @return this builder instance
+     */
+    public AdvancedCalendarBuilder setStorage(StorageMode storage) {
+      switch (storage) {
+        case COLUMNAR:
+          return setCalendar(new ColumnarCalendarImpl());
+        case OFF_HEAP:
+          return setCalendar(new OffHeapCalendarImpl());
+        default:
+          return setCalendar(new CalendarImpl());
+      }
+    }
+
+    /**
+     * Makes the built calendar refuse events that overlap one it already holds, replacing
+     * the base calendar with a new empty one stored on the heap.
+     *
+     * @return this builder instance
+     */
+    public AdvancedCalendarBuilder rejectOverlaps() {
+      return setCalendar(new CalendarImpl(new EventChangeListener() {
+      }, true));
+    }
+
     /**
      * Sets the name of the calendar.
      *
@@ -193,7 +319,9 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
      * @return a new AdvancedCalendarImpl instance
      */
     public AdvancedCalendarImpl build() {
-      return new AdvancedCalendarImpl(calendar, name, zoneId);
+      CalendarEditable projected = calendarZone == null
+          ? calendar : ZoneProjectedCalendar.project(calendar, calendarZone, zoneId);
+      return new AdvancedCalendarImpl(projected, name, zoneId);
     }
   }
 }
@@ -0,0 +1,126 @@
+package calendar.model;
+
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap indexes over the location, status, type and all-day flag of stored events.
+ * Every stored event gets a small ordinal, reused once the event is removed so the bitmaps
+ * stay dense, and each value of each attribute has the bitmap of the ordinals holding it.
+ * A selection intersects the bitmaps of its restricted attributes.
+ */
+final class AttributeIndex {
+  private final List<EventReadOnly> events = new ArrayList<>();
+  private final Map<EventReadOnly, Integer> ordinals = new IdentityHashMap<>();
+  private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+  private final EventBitmap[] locations = bitmaps(Location.values().length);
+  private final EventBitmap[] statuses = bitmaps(EventStatus.values().length);
+  private final EventBitmap[] types = bitmaps(TypeOfEvent.values().length);
+  private final EventBitmap[] allDay = bitmaps(2);
+
+  /**
+   * Gives the event an ordinal and sets it in the bitmaps of its attributes.
+   *
+   * @param event the stored event
+   */
+  void add(EventReadOnly event) {
+    int ordinal;
+    if (freeOrdinals.isEmpty()) {
+      ordinal = events.size();
+      events.add(event);
+    } else {
+      ordinal = freeOrdinals.pop();
+      events.set(ordinal, event);
+    }
+    ordinals.put(event, ordinal);
+    for (EventBitmap bitmap : bitmapsOf(event)) {
+      if (bitmap != null) {
+        bitmap.add(ordinal);
+      }
+    }
+  }
+
+  /**
+   * Clears the event from the bitmaps and frees its ordinal.
+   *
+   * @param event the removed event, as it was stored
+   */
+  void remove(EventReadOnly event) {
+    Integer ordinal = ordinals.remove(event);
+    if (ordinal == null) {
+      return;
+    }
+    for (EventBitmap bitmap : bitmapsOf(event)) {
+      if (bitmap != null) {
+        bitmap.remove(ordinal);
+      }
+    }
+    events.set(ordinal, null);
+    freeOrdinals.push(ordinal);
+  }
+
+  /**
+   * Returns the stored events selected by the query, through the intersection of the
+   * bitmaps of its restricted attributes.
+   *
+   * @param query the attributes and optional range to select
+   * @return the selected events in no particular order, or null if the query restricts no
+   *         attribute and every event would have to be checked
+   */
+  List<EventReadOnly> select(AttributeQuery query) {
+    EventBitmap selected = null;
+    if (query.getLocation() != null) {
+      selected = intersect(selected, locations[query.getLocation().ordinal()]);
+    }
+    if (query.getStatus() != null) {
+      selected = intersect(selected, statuses[query.getStatus().ordinal()]);
+    }
+    if (query.getType() != null) {
+      selected = intersect(selected, types[query.getType().ordinal()]);
+    }
+    if (query.getAllDay() != null) {
+      selected = intersect(selected, allDay[query.getAllDay() ? 1 : 0]);
+    }
+    if (selected == null) {
+      return null;
+    }
+    List<EventReadOnly> result = new ArrayList<>(selected.cardinality());
+    selected.forEach(ordinal -> {
+      EventReadOnly event = events.get(ordinal);
+      if (query.matches(event)) {
+        result.add(event);
+      }
+    });
+    return result;
+  }
+
+  private EventBitmap[] bitmapsOf(EventReadOnly event) {
+    return new EventBitmap[] {
+        event.getLocation() == null ? null : locations[event.getLocation().ordinal()],
+        event.getEventStatus() == null ? null : statuses[event.getEventStatus().ordinal()],
+        event.getEventType() == null ? null : types[event.getEventType().ordinal()],
+        allDay[event.isAllDay() ? 1 : 0]
+    };
+  }
+
+  private static EventBitmap intersect(EventBitmap selected, EventBitmap bitmap) {
+    return selected == null ? bitmap : selected.and(bitmap);
+  }
+
+  private static EventBitmap[] bitmaps(int count) {
+    EventBitmap[] bitmaps = new EventBitmap[count];
+    for (int i = 0; i < count; i++) {
+      bitmaps[i] = new EventBitmap();
+    }
+    return bitmaps;
+  }
+}
@@ -0,0 +1,214 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minute bitmaps of the busy time of each day, 1440 bits per day.
+ * An event covers the instants from its start up to its end, and its start instant itself.
+ * For each day two bitmaps are kept: the minutes that events cover entirely, and the minutes
+ * holding at least one covered instant. A set full bit proves the calendar busy, a clear
+ * touched bit proves it free, and only minutes partly covered need the events themselves.
+ * Events are marked on every day they span, so busy time carries over midnight.
+ */
+final class BusyIndex {
+  private static final int MINUTES = 1440;
+  private static final int WORDS = (MINUTES + 63) / 64;
+
+  private final Map<LocalDate, Day> days = new HashMap<>();
+
+  /**
+   * The bitmaps of one day.
+   */
+  private static final class Day {
+    private final long[] full = new long[WORDS];
+    private final long[] touched = new long[WORDS];
+
+    private boolean isEmpty() {
+      for (long word : touched) {
+        if (word != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Marks the time the event covers on every day it spans.
+   *
+   * @param event the added event
+   */
+  void add(EventReadOnly event) {
+    for (LocalDate day = event.getStartDateTime().toLocalDate(); !day.isAfter(lastDay(event));
+         day = day.plusDays(1)) {
+      mark(days.computeIfAbsent(day, key -> new Day()), day, event);
+    }
+  }
+
+  /**
+   * Rebuilds a day from the events still overlapping it, after one of them was removed.
+   *
+   * @param day    the day to rebuild
+   * @param events the remaining events overlapping the day
+   */
+  void rebuild(LocalDate day, List<EventReadOnly> events) {
+    Day bits = new Day();
+    for (EventReadOnly event : events) {
+      mark(bits, day, event);
+    }
+    if (bits.isEmpty()) {
+      days.remove(day);
+    } else {
+      days.put(day, bits);
+    }
+  }
+
+  /**
+   * Forgets every marked day.
+   */
+  void clear() {
+    days.clear();
+  }
+
+  /**
+   * Returns the last day on which the event covers an instant.
+   *
+   * @param event the event
+   * @return the day of its last covered instant
+   */
+  static LocalDate lastDay(EventReadOnly event) {
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEndDateTime();
+    return end.isAfter(start) ? end.minusNanos(1).toLocalDate() : start.toLocalDate();
+  }
+
+  /**
+   * Checks whether the minute holding the instant is covered entirely.
+   *
+   * @param dateTime the instant to check
+   * @return true if the calendar is certainly busy at the instant
+   */
+  boolean fills(LocalDateTime dateTime) {
+    Day day = days.get(dateTime.toLocalDate());
+    return day != null && isSet(day.full, minuteOf(dateTime));
+  }
+
+  /**
+   * Checks whether some minute lying entirely inside [from, to) is covered entirely.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range, after from
+   * @return true if the calendar is certainly busy somewhere in the range
+   */
+  boolean fills(LocalDateTime from, LocalDateTime to) {
+    LocalDateTime first = ceilMinute(from);
+    LocalDateTime last = to.truncatedTo(ChronoUnit.MINUTES);
+    return first.isBefore(last) && any(first, last, true);
+  }
+
+  /**
+   * Checks whether the minute holding the instant has any covered instant.
+   *
+   * @param dateTime the instant to check
+   * @return false if the calendar is certainly free at the instant
+   */
+  boolean touches(LocalDateTime dateTime) {
+    Day day = days.get(dateTime.toLocalDate());
+    return day != null && isSet(day.touched, minuteOf(dateTime));
+  }
+
+  /**
+   * Checks whether some minute overlapping [from, to) has a covered instant.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range, after from
+   * @return false if the calendar is certainly free in the whole range
+   */
+  boolean touches(LocalDateTime from, LocalDateTime to) {
+    return any(from.truncatedTo(ChronoUnit.MINUTES), ceilMinute(to), false);
+  }
+
+  private boolean any(LocalDateTime from, LocalDateTime to, boolean full) {
+    for (LocalDate date = from.toLocalDate(); date.atStartOfDay().isBefore(to);
+         date = date.plusDays(1)) {
+      Day day = days.get(date);
+      if (day == null) {
+        continue;
+      }
+      int first = date.equals(from.toLocalDate()) ? minuteOf(from) : 0;
+      int last = date.equals(to.toLocalDate()) ? minuteOf(to) : MINUTES;
+      if (anySet(full ? day.full : day.touched, first, last)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void mark(Day bits, LocalDate day, EventReadOnly event) {
+    LocalDateTime dayStart = day.atStartOfDay();
+    LocalDateTime dayEnd = dayStart.plusDays(1);
+    LocalDateTime start = event.getStartDateTime();
+    if (!start.isBefore(dayStart) && start.isBefore(dayEnd)) {
+      setRange(bits.touched, minuteOf(start), minuteOf(start) + 1);
+    }
+    LocalDateTime from = start.isAfter(dayStart) ? start : dayStart;
+    LocalDateTime to = event.getEndDateTime().isBefore(dayEnd) ? event.getEndDateTime() : dayEnd;
+    if (!from.isBefore(to)) {
+      return;
+    }
+    setRange(bits.touched, minuteOf(from), minuteIndex(dayStart, to.minusNanos(1)) + 1);
+    int fullFrom = minuteIndex(dayStart, ceilMinute(from));
+    int fullTo = minuteIndex(dayStart, to);
+    if (fullFrom < fullTo) {
+      setRange(bits.full, fullFrom, fullTo);
+    }
+  }
+
+  private static int minuteOf(LocalDateTime dateTime) {
+    return dateTime.getHour() * 60 + dateTime.getMinute();
+  }
+
+  private static int minuteIndex(LocalDateTime dayStart, LocalDateTime dateTime) {
+    return (int) ChronoUnit.MINUTES.between(dayStart, dateTime);
+  }
+
+  private static LocalDateTime ceilMinute(LocalDateTime dateTime) {
+    LocalDateTime floor = dateTime.truncatedTo(ChronoUnit.MINUTES);
+    return floor.equals(dateTime) ? floor : floor.plusMinutes(1);
+  }
+
+  private static boolean isSet(long[] words, int bit) {
+    return (words[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  private static void setRange(long[] words, int from, int to) {
+    for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+      words[word] |= mask(word, from, to);
+    }
+  }
+
+  private static boolean anySet(long[] words, int from, int to) {
+    if (from >= to) {
+      return false;
+    }
+    for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+      if ((words[word] & mask(word, from, to)) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long mask(int word, int from, int to) {
+    int low = Math.max(from - (word << 6), 0);
+    int high = Math.min(to - (word << 6), 64);
+    long upper = high == 64 ? -1L : (1L << high) - 1;
+    return upper & (-1L << low);
+  }
+}
@@ -5,25 +5,28 @@ import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.EditCalendar;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages multiple calendars and allows adding, updating,
  * deleting, and switching between active calendars.
+ * The container can be shared by several threads: lookups read a concurrent map and the
+ * active calendar without locking, while changes to the set of calendars are serialized.
  */
 public class CalendarContainerImpl implements CalendarContainer {
 
   private final Map<String, AdvancedCalendar> calendars;
-  private AdvancedCalendar activeCalendar;
+  private volatile AdvancedCalendar activeCalendar;
 
   /**
    * Creates a new CalendarManager with an empty set of calendars.
    */
   public CalendarContainerImpl() {
-    calendars = new HashMap<>();
+    calendars = new ConcurrentHashMap<>();
   }
 
   @Override
-  public void addCalendar(String name, AdvancedCalendar advancedCalendar) {
+  public synchronized void addCalendar(String name, AdvancedCalendar advancedCalendar) {
     if (calendars.containsKey(name)) {
       throw new IllegalArgumentException("Calendar with name " + name + " already exists");
     }
@@ -36,7 +39,7 @@ public class CalendarContainerImpl implements CalendarContainer {
 
 
   @Override
-  public void updateCalendar(String name, String property, String newValue) {
+  public synchronized void updateCalendar(String name, String property, String newValue) {
     if (!calendars.containsKey(name)) {
       throw new IllegalArgumentException("Calendar with name " + name + " does not exist");
     }
@@ -74,7 +77,7 @@ public class CalendarContainerImpl implements CalendarContainer {
   }
 
   @Override
-  public void setActiveCalendar(String name) {
+  public synchronized void setActiveCalendar(String name) {
     if (!calendars.containsKey(name)) {
       throw new IllegalArgumentException("Calendar with name " + name + " does not exist");
     }
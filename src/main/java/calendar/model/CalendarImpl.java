@@ -1,21 +1,34 @@
 package calendar.model;
 
-import calendar.controller.filter.CalendarFilter;
-import calendar.controller.filter.EventPredicates;
-import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.SearchQuery;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventChangeListener;
 import calendar.model.interfaces.EventReadOnly;
-import calendar.model.interfaces.ModifyEvent;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of the ICalenderEditable interface.
@@ -24,207 +37,699 @@ import java.util.function.Consumer;
  */
 
 public class CalendarImpl implements CalendarEditable {
-  protected Map<LocalDate, List<EventReadOnly>> events;
+  private static final int SERIES_DAYS = 32;
+
+  protected NavigableMap<LocalDate, List<EventReadOnly>> events;
+  private final EventIntervalTree intervals;
+  private final Map<UUID, NavigableSet<EventReadOnly>> series;
+  private final Map<EventKey, EventReadOnly> keys;
+  private final Map<EventKey, List<EventReadOnly>> starts;
+  private final TextIndex text;
+  private final AttributeIndex attributes;
+  private final BusyIndex busy;
+  private final BusyIndex seriesBusy;
+  private final Map<LocalDate, List<EventReadOnly>> seriesDays;
+  private final Map<UUID, SeriesRule> rules;
+  private final Map<String, List<SeriesRule>> rulesBySubject;
+  private final EventChangeListener listener;
+  private final boolean rejectOverlaps;
+  private List<SeriesRule> frozenRules;
+  private long maxSpanDays;
 
   /**
    * Constructor of a new empty calendar.
    * We are using Map to store the calendar events.
    * Each entry contains list of all the events for a given day.
+   * An interval tree over the same events answers range and busy queries,
+   * a series index maps each event id to its occurrences in start order,
+   * a hash index over subject, start and end detects duplicates in constant time,
+   * a hash index over subject and start answers exact lookups by handlers,
+   * an inverted index over the words of subjects and descriptions answers searches,
+   * bitmap indexes over location, status, type and all-day answer attribute selections,
+   * and minute bitmaps of each day answer busy checks.
+   * Recurring series are kept as rules whose occurrences are built when the calendar is read,
+   * indexed by id and by subject. Busy checks mark the occurrences of a day in bitmaps of their
+   * own the first time the day is asked about; the most recently asked days are kept, until
+   * the rules change, and ranges longer than those days ask the rules directly.
+   * The interval tree is persistent, so a snapshot of the calendar shares it instead of
+   * copying the events.
    */
   public CalendarImpl() {
+    this(new EventChangeListener() {
+    });
+  }
+
+  /**
+   * Constructor of a new empty calendar that reports every change of its events
+   * to the given listener.
+   *
+   * @param listener the listener notified after each added or removed event
+   */
+  public CalendarImpl(EventChangeListener listener) {
+    this(listener, false);
+  }
+
+  /**
+   * Constructor of a new empty calendar that reports every change of its events to the given
+   * listener and, in strict mode, refuses events that overlap one it already holds.
+   * The overlap check of an added event asks the interval tree whether an event covers its
+   * start or starts before its end, in O(log n).
+   *
+   * @param listener       the listener notified after each added or removed event
+   * @param rejectOverlaps true to refuse events that are busy at the same time as another
+   */
+  public CalendarImpl(EventChangeListener listener, boolean rejectOverlaps) {
+    this.listener = Objects.requireNonNull(listener);
+    this.rejectOverlaps = rejectOverlaps;
     this.events = new TreeMap<>();
+    this.intervals = new EventIntervalTree();
+    this.series = new HashMap<>();
+    this.keys = new HashMap<>();
+    this.starts = new HashMap<>();
+    this.text = new TextIndex();
+    this.attributes = new AttributeIndex();
+    this.busy = new BusyIndex();
+    this.seriesBusy = new BusyIndex();
+    this.seriesDays = new LinkedHashMap<>(SERIES_DAYS * 2, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<LocalDate, List<EventReadOnly>> eldest) {
+        if (size() <= SERIES_DAYS) {
+          return false;
+        }
+        seriesBusy.rebuild(eldest.getKey(), List.of());
+        return true;
+      }
+    };
+    this.rules = new LinkedHashMap<>();
+    this.rulesBySubject = new HashMap<>();
   }
 
   @Override
   public EventReadOnly addEvent(EventReadOnly newEvent) {
-    LocalDate eventDate = newEvent.getStartDateTime().toLocalDate();
-    List<EventReadOnly> existingEvents = events.getOrDefault(eventDate, new ArrayList<>());
+    EventKey key = new EventKey(newEvent);
+    if (contains(key)) {
+      throw new IllegalArgumentException("Event already exists");
+    }
+    checkOverlap(newEvent, null);
+    store(key, newEvent);
+    return newEvent;
+  }
 
-    for (EventReadOnly existingEvent : existingEvents) {
-      if (newEvent.equals(existingEvent)) {
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    if (rules.containsKey(template.getId())) {
+      throw new IllegalArgumentException("Series already exists");
+    }
+    SeriesRule seriesRule = new SeriesRule(template, rule);
+    seriesRule.forEach(occurrence -> {
+      if (contains(new EventKey(occurrence))) {
         throw new IllegalArgumentException("Event already exists");
       }
+      checkOverlap(occurrence, null);
+    });
+    if (!seriesRule.isEmpty()) {
+      rules.put(template.getId(), seriesRule);
+      rulesBySubject.computeIfAbsent(seriesRule.getSubject(), subject -> new ArrayList<>())
+          .add(seriesRule);
+      rulesChanged();
+      listener.seriesAdded(template, rule);
     }
-    existingEvents.add(newEvent);
-    events.put(eventDate, existingEvents);
-    return newEvent;
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> newEvents) {
+    List<EventKey> batchKeys = new ArrayList<>(newEvents.size());
+    Set<EventKey> seen = new HashSet<>();
+    for (EventReadOnly newEvent : newEvents) {
+      EventKey key = new EventKey(newEvent);
+      if (contains(key) || !seen.add(key)) {
+        throw new IllegalArgumentException("Event already exists");
+      }
+      batchKeys.add(key);
+      checkOverlap(newEvent, null);
+    }
+    if (rejectOverlaps) {
+      checkBatchOverlap(newEvents);
+    }
+    List<EventReadOnly> added = new ArrayList<>(newEvents.size());
+    int i = 0;
+    listener.changesStarted();
+    try {
+      for (EventReadOnly newEvent : newEvents) {
+        store(batchKeys.get(i++), newEvent);
+        added.add(newEvent);
+      }
+    } finally {
+      listener.changesFinished();
+    }
+    return added;
+  }
+
+  /**
+   * Stores an already validated event in the day map and every index.
+   *
+   * @param key      the identity key of the event
+   * @param newEvent the event to store
+   */
+  private void store(EventKey key, EventReadOnly newEvent) {
+    keys.put(key, newEvent);
+    starts.computeIfAbsent(EventKey.ofStart(key.getSubject(), key.getStartDateTime()),
+        start -> new ArrayList<>(1)).add(newEvent);
+    text.add(newEvent);
+    attributes.add(newEvent);
+    busy.add(newEvent);
+    maxSpanDays = Math.max(maxSpanDays, ChronoUnit.DAYS.between(
+        newEvent.getStartDateTime().toLocalDate(), newEvent.getEndDateTime().toLocalDate()));
+    events.computeIfAbsent(newEvent.getStartDateTime().toLocalDate(), date -> new ArrayList<>())
+        .add(newEvent);
+    intervals.insert(newEvent);
+    series.computeIfAbsent(newEvent.getId(), id -> new TreeSet<>(EventIntervalTree.ORDER))
+        .add(newEvent);
+    listener.eventAdded(newEvent);
   }
 
   @Override
   public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
                                        String newValue) {
-    if (events.isEmpty()) {
-      throw new IllegalArgumentException("Event with given details doesn't exist");
+    listener.changesStarted();
+    try {
+      return EventEditor.edit(this, this::updateEvent, events, property, newValue);
+    } finally {
+      listener.changesFinished();
+    }
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    EventReadOnly stored = keys.remove(new EventKey(event));
+    if (stored == null) {
+      if (removeOccurrence(event)) {
+        listener.eventRemoved(event);
+      }
+      return;
+    }
+    LocalDate eventDate = stored.getStartDateTime().toLocalDate();
+    List<EventReadOnly> existingEvents = events.get(eventDate);
+    existingEvents.remove(stored);
+    if (existingEvents.isEmpty()) {
+      events.remove(eventDate);
+    }
+    intervals.remove(stored);
+    for (LocalDate day = eventDate; !day.isAfter(BusyIndex.lastDay(stored));
+         day = day.plusDays(1)) {
+      busy.rebuild(day, intervals.overlapping(day.atStartOfDay(), day.atTime(LocalTime.MAX)));
+    }
+    EventKey start = EventKey.ofStart(stored.getSubject(), stored.getStartDateTime());
+    List<EventReadOnly> sameStart = starts.get(start);
+    sameStart.remove(stored);
+    if (sameStart.isEmpty()) {
+      starts.remove(start);
     }
-    if (events.size() == 1) {
-      return editSingleEvent(events, property, newValue);
+    text.remove(stored);
+    attributes.remove(stored);
+    NavigableSet<EventReadOnly> occurrences = series.get(stored.getId());
+    if (occurrences != null) {
+      occurrences.remove(stored);
+      if (occurrences.isEmpty()) {
+        series.remove(stored.getId());
+      }
     }
-    return editMultipleEvents(events, property, newValue);
+    listener.eventRemoved(stored);
+  }
 
+  /**
+   * Removes an occurrence of a rule based series by recording it as an exception.
+   * The rule is dropped once every occurrence has been removed.
+   *
+   * @param event the occurrence to remove
+   * @return true if the event was an occurrence of a series
+   */
+  private boolean removeOccurrence(EventReadOnly event) {
+    SeriesRule rule = rules.get(event.getId());
+    if (rule == null || !rule.exclude(event)) {
+      rule = null;
+      for (SeriesRule candidate : rulesWithSubject(event.getSubject())) {
+        if (candidate.exclude(event)) {
+          rule = candidate;
+          break;
+        }
+      }
+    }
+    if (rule == null) {
+      return false;
+    }
+    rulesChanged();
+    if (rule.isEmpty()) {
+      rules.remove(rule.getId());
+      List<SeriesRule> sameSubject = rulesBySubject.get(rule.getSubject());
+      sameSubject.remove(rule);
+      if (sameSubject.isEmpty()) {
+        rulesBySubject.remove(rule.getSubject());
+      }
+    }
+    return true;
   }
 
   /**
-   * Edits multiple events in a batch by modifying the specified property.
+   * Returns the series whose occurrences have the given subject.
    *
-   * @param events   the list of events to modify
-   * @param property the property name to edit
-   * @param newValue the new value for the property
-   * @throws UnsupportedOperationException if the property is invalid
-   */
-
-  private List<EventReadOnly> editMultipleEvents(List<EventReadOnly> events,
-                                                 String property, String newValue) {
-    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
-    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
-    if (modifyEvent == null) {
-      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
-    }
-    UUID uuid = UUID.randomUUID();
-    List<EventReadOnly> editedEvents = new ArrayList<>();
-    for (EventReadOnly event : events) {
-      EventReadOnly updatedEvent;
-      if (property.equalsIgnoreCase("start")) {
-        updatedEvent = modifyEvents.get("id").edit(this, event, uuid.toString());
-        String currStart = updatedEvent.getStartDateTime().toString();
-        String newStartTime = newValue.split("T")[1];
-        String newStratDateTime = currStart.split("T")[0] + "T" + newStartTime;
-        updatedEvent = modifyEvent.edit(this, updatedEvent, newStratDateTime);
-      } else if (property.equalsIgnoreCase("end")) {
-        String currEnd = event.getEndDateTime().toString();
-        String newEndTime = newValue.split("T")[1];
-        String newEndDateTime = currEnd.split("T")[0] + "T" + newEndTime;
-        updatedEvent = modifyEvent.edit(this, event, newEndDateTime);
-      } else {
-        updatedEvent = modifyEvent.edit(this, event, newValue);
+   * @param subject the subject to look up
+   * @return the series with that subject, empty if there are none
+   */
+  private List<SeriesRule> rulesWithSubject(String subject) {
+    return rulesBySubject.getOrDefault(subject, List.of());
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    if (rules.isEmpty()) {
+      for (List<EventReadOnly> eventList : events.values()) {
+        for (EventReadOnly event : eventList) {
+          consumer.accept(event);
+        }
+      }
+      return;
+    }
+    for (List<EventReadOnly> eventList : getAllEvents().values()) {
+      for (EventReadOnly event : eventList) {
+        consumer.accept(event);
       }
-      updateEvent(event, updatedEvent);
-      editedEvents.add(updatedEvent);
     }
-    return editedEvents;
   }
 
+
   /**
-   * Edits a single event's property.
-   * and if necessary, changes its type from series to single.
+   * Reports each series once with its rule, followed by the removal of its removed or edited
+   * occurrences, and then every other event as added.
    *
-   * @param events   list containing events.
-   * @param property the property to modify.
-   * @param newValue the value for the property.
-   * @throws UnsupportedOperationException if the property is invalid
+   * @param target the listener to report the changes to
    */
-  private List<EventReadOnly> editSingleEvent(List<EventReadOnly> events,
-                                              String property, String newValue) {
-    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
-    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
-    if (modifyEvent == null) {
-      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
+  @Override
+  public void replay(EventChangeListener target) {
+    for (SeriesRule rule : rules.values()) {
+      target.seriesAdded(rule.getTemplate(), rule.getRule());
+      rule.forEachException(target::eventRemoved);
+    }
+    for (List<EventReadOnly> eventList : events.values()) {
+      for (EventReadOnly event : eventList) {
+        target.eventAdded(event);
+      }
     }
+  }
 
-    List<EventReadOnly> editedEvents = new ArrayList<>();
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    List<EventReadOnly> result = intervals.overlapping(startDateTime, endDateTime);
+    if (rules.isEmpty()) {
+      return result;
+    }
+    for (SeriesRule rule : rules.values()) {
+      result.addAll(rule.overlapping(startDateTime, endDateTime));
+    }
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
 
-    for (EventReadOnly event : events) {
-      EventReadOnly updatedEvent = event;
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    List<EventReadOnly> found = starts.get(EventKey.ofStart(subject, startDateTime));
+    List<EventReadOnly> result = found == null ? new ArrayList<>() : new ArrayList<>(found);
+    for (SeriesRule rule : rulesWithSubject(subject)) {
+      EventReadOnly occurrence = rule.occurrenceOn(startDateTime.toLocalDate());
+      if (occurrence != null && occurrence.getStartDateTime().equals(startDateTime)) {
+        result.add(occurrence);
+      }
+    }
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
 
-      if (property.equalsIgnoreCase("start")
-          && event.getEventType() == TypeOfEvent.SERIES) {
-        updatedEvent = new Event.EventBuilder(event)
-            .setEventId(UUID.randomUUID())
-            .setEventType(TypeOfEvent.SINGLE)
-            .build();
+  @Override
+  public List<EventReadOnly> search(SearchQuery query) {
+    List<EventReadOnly> found = new ArrayList<>();
+    for (EventReadOnly event : text.candidates(query.getTerms())) {
+      if (query.inRange(event)) {
+        found.add(event);
+      }
+    }
+    for (SeriesRule rule : rules.values()) {
+      if (query.score(rule.getTemplate()) == 0) {
+        continue;
+      }
+      if (query.isRestricted()) {
+        found.addAll(rule.overlapping(query.getFrom(), query.getTo()));
+      } else {
+        rule.forEach(found::add);
+      }
+    }
+    return query.rank(found.stream());
+  }
+
+  @Override
+  public List<EventReadOnly> select(AttributeQuery query) {
+    List<EventReadOnly> found = attributes.select(query);
+    if (found == null) {
+      return CalendarEditable.super.select(query);
+    }
+    for (SeriesRule rule : rules.values()) {
+      if (!query.matchesAttributes(rule.getTemplate())) {
+        continue;
+      }
+      if (query.isRestricted()) {
+        found.addAll(rule.overlapping(query.getFrom(), query.getTo()));
+      } else {
+        rule.forEach(found::add);
       }
-      updatedEvent = modifyEvent.edit(this, updatedEvent, newValue);
-      updateEvent(event, updatedEvent);
-      editedEvents.add(updatedEvent);
     }
-    return editedEvents;
+    found.sort(EventIntervalTree.ORDER);
+    return found;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    for (Map.Entry<LocalDate, List<EventReadOnly>> entry : events.entrySet()) {
+      allEvents.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    for (SeriesRule rule : rules.values()) {
+      rule.forEach(occurrence -> allEvents
+          .computeIfAbsent(occurrence.getStartDateTime().toLocalDate(),
+              date -> new ArrayList<>())
+          .add(occurrence));
+    }
+    return allEvents;
   }
 
   /**
-   * Populates a map of property modification handlers used.
-   * call and modify events for the given property.
+   * Streams the overlapping events from the day buckets that may hold one, bounded by the
+   * longest number of days any stored event has spanned. With recurring series the events
+   * are gathered as by getEvents.
    *
-   * @return a map linking property names to their respective modification classes.
+   * @param startDateTime the start date and time of the range.
+   * @param endDateTime   the end date and time of the range.
+   * @return the events occurring in the given range, in start order.
    */
-  private Map<String, ModifyEvent> populateModifyEvents() {
-    Map<String, ModifyEvent> modifyEvents = new HashMap<>();
-
-    modifyEvents.put("subject", new ModifySubject());
-    modifyEvents.put("start", new ModifyStartDate());
-    modifyEvents.put("end", new ModifyEndDate());
-    modifyEvents.put("location", new ModifyLocation());
-    modifyEvents.put("description", new ModifyDescription());
-    modifyEvents.put("status", new ModifyStatus());
-    modifyEvents.put("id", new ModifyId());
+  @Override
+  public Stream<EventReadOnly> stream(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    if (!rules.isEmpty()) {
+      return getEvents(startDateTime, endDateTime).stream();
+    }
+    LocalDate from = startDateTime.toLocalDate().minusDays(maxSpanDays);
+    LocalDate to = endDateTime.toLocalDate();
+    if (from.isAfter(to)) {
+      return Stream.empty();
+    }
+    return StreamSupport.stream(new EventSpliterator(events.subMap(from, true, to, true)
+            .values()), false)
+        .filter(event -> !event.getStartDateTime().isAfter(endDateTime)
+            && !event.getEndDateTime().isBefore(startDateTime));
+  }
 
-    return modifyEvents;
+  /**
+   * Streams the matching events day by day in date order, each day sorted by start like
+   * getEvents as the stream reaches it. The order within a day is therefore start order,
+   * not the order the events were added in as forEachEvent gives them.
+   *
+   * @param filter the condition each streamed event meets.
+   * @return the matching events.
+   */
+  @Override
+  public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    Map<LocalDate, List<EventReadOnly>> days = rules.isEmpty() ? events : getAllEvents();
+    return StreamSupport.stream(new EventSpliterator(days.values()), false).filter(filter);
   }
 
   @Override
-  public void removeEvent(EventReadOnly event) {
-    LocalDate eventDate = event.getStartDateTime().toLocalDate();
-    List<EventReadOnly> existingEvents = events.get(eventDate);
-    existingEvents.remove(event);
+  public int size() {
+    if (rules.isEmpty()) {
+      return keys.size();
+    }
+    return CalendarEditable.super.size();
   }
 
+  /**
+   * Returns a view sharing the current interval tree. The series rules are copied once and
+   * the copies are reused by later snapshots until a series changes.
+   *
+   * @return the immutable view of the current events
+   */
   @Override
-  public void forEachEvent(Consumer<EventReadOnly> consumer) {
-    for (List<EventReadOnly> eventList : events.values()) {
-      for (EventReadOnly event : eventList) {
-        consumer.accept(event);
+  public CalendarReadOnly snapshot() {
+    if (frozenRules == null) {
+      List<SeriesRule> copies = new ArrayList<>(rules.size());
+      for (SeriesRule rule : rules.values()) {
+        copies.add(rule.copy());
       }
+      frozenRules = copies;
     }
+    return new CalendarSnapshot(intervals.snapshot(), frozenRules);
   }
 
-
   @Override
-  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    NavigableSet<EventReadOnly> occurrences = series.get(seriesId);
+    List<EventReadOnly> result = occurrences == null
+        ? new ArrayList<>() : new ArrayList<>(occurrences);
+    SeriesRule rule = rules.get(seriesId);
+    if (rule != null) {
+      rule.forEach(result::add);
+      result.sort(EventIntervalTree.ORDER);
+    }
+    return result;
+  }
 
-    if (startDateTime.toLocalDate().equals(endDateTime.toLocalDate())
-        && startDateTime.toLocalTime().equals(LocalTime.of(0, 0))
-        && endDateTime.toLocalTime().equals(LocalTime.of(23, 59))) {
-      return events.getOrDefault(startDateTime.toLocalDate(), new ArrayList<>());
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    NavigableSet<EventReadOnly> occurrences = series.get(seriesId);
+    EventReadOnly earliest = new Event.EventBuilder("", from).setEndDateTime(from).build();
+    List<EventReadOnly> result = occurrences == null
+        ? new ArrayList<>() : new ArrayList<>(occurrences.tailSet(earliest, true));
+    SeriesRule rule = rules.get(seriesId);
+    if (rule != null) {
+      rule.forEach(occurrence -> {
+        if (EventIntervalTree.ORDER.compare(occurrence, earliest) >= 0) {
+          result.add(occurrence);
+        }
+      });
+      result.sort(EventIntervalTree.ORDER);
     }
-    CalendarFilter filter = new CalendarFilter(this);
-    return filter.filter(EventPredicates
-        .betweenStartAndEnd(startDateTime, endDateTime));
+    return result;
   }
 
   @Override
-  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
-    return this.events;
+  public boolean containsEvent(EventReadOnly event) {
+    return contains(new EventKey(event));
+  }
+
+  @Override
+  public boolean rejectsOverlaps() {
+    return rejectOverlaps;
   }
 
+  /**
+   * Checks whether an event or a series occurrence with the given identity exists.
+   *
+   * @param key the identity to look up
+   * @return true if the calendar holds an event with that identity
+   */
+  private boolean contains(EventKey key) {
+    if (keys.containsKey(key)) {
+      return true;
+    }
+    for (SeriesRule rule : rulesWithSubject(key.getSubject())) {
+      if (rule.hasOccurrence(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
   @Override
   public boolean isBusy(LocalDateTime dateTime) {
+    if (busy.fills(dateTime) || busy.touches(dateTime) && intervals.covers(dateTime)) {
+      return true;
+    }
+    if (rules.isEmpty()) {
+      return false;
+    }
+    List<EventReadOnly> occurrences = seriesOn(dateTime.toLocalDate());
+    if (seriesBusy.fills(dateTime)) {
+      return true;
+    }
+    return seriesBusy.touches(dateTime) && occurrences.stream()
+        .anyMatch(occurrence -> occurrence.getStartDateTime().equals(dateTime)
+            || occurrence.getStartDateTime().isBefore(dateTime)
+            && occurrence.getEndDateTime().isAfter(dateTime));
+  }
 
-    LocalDate date = dateTime.toLocalDate();
-    if (!events.containsKey(date)) {
+  @Override
+  public boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    if (!from.isBefore(to)) {
+      return false;
+    }
+    if (busy.fills(from, to) || busy.touches(from, to)
+        && intervals.overlapping(from, to).stream().anyMatch(event -> busy(event, from, to))) {
+      return true;
+    }
+    if (rules.isEmpty()) {
+      return false;
+    }
+    if (ChronoUnit.DAYS.between(from.toLocalDate(), to.toLocalDate()) >= SERIES_DAYS) {
+      for (SeriesRule rule : rules.values()) {
+        for (EventReadOnly occurrence : rule.overlapping(from, to)) {
+          if (busy(occurrence, from, to)) {
+            return true;
+          }
+        }
+      }
       return false;
     }
-    List<EventReadOnly> eventList = events.get(date);
-    for (EventReadOnly event : eventList) {
-      LocalDateTime startDateTime = event.getStartDateTime();
-      LocalDateTime endDateTime = event.getEndDateTime();
-      if (event.getStartDateTime().equals(dateTime)
-          || (startDateTime.isBefore(dateTime)
-          && endDateTime.isAfter(dateTime))) {
+    for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to);
+         day = day.plusDays(1)) {
+      List<EventReadOnly> occurrences = seriesOn(day);
+      LocalDateTime dayFrom = from.isAfter(day.atStartOfDay()) ? from : day.atStartOfDay();
+      LocalDateTime dayTo = to.isBefore(day.plusDays(1).atStartOfDay())
+          ? to : day.plusDays(1).atStartOfDay();
+      if (seriesBusy.fills(dayFrom, dayTo)) {
         return true;
       }
+      if (seriesBusy.touches(dayFrom, dayTo)) {
+        for (EventReadOnly occurrence : occurrences) {
+          if (busy(occurrence, dayFrom, dayTo)) {
+            return true;
+          }
+        }
+      }
     }
     return false;
   }
 
-  private void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
-    List<EventReadOnly> eventsOnDate =
-        events.getOrDefault(oldEvent.getStartDateTime().toLocalDate(), new ArrayList<>());
-    eventsOnDate.remove(oldEvent);
-    this.forEachEvent(event -> {
-      if (event.equals(newEvent)) {
-        throw new IllegalArgumentException("Update conflicting with existing event");
+  /**
+   * Returns the series occurrences overlapping a day, marking them in the series bitmaps the
+   * first time the day is asked about. Only the most recently asked days are kept; the bits
+   * of a day dropped from them are cleared.
+   *
+   * @param day the day
+   * @return the occurrences overlapping the day
+   */
+  private List<EventReadOnly> seriesOn(LocalDate day) {
+    List<EventReadOnly> occurrences = seriesDays.get(day);
+    if (occurrences == null) {
+      occurrences = new ArrayList<>();
+      for (SeriesRule rule : rules.values()) {
+        occurrences.addAll(rule.overlapping(day.atStartOfDay(), day.atTime(LocalTime.MAX)));
       }
-    });
-    eventsOnDate.add(newEvent);
-    events.put(oldEvent.getStartDateTime().toLocalDate(), eventsOnDate);
+      seriesBusy.rebuild(day, occurrences);
+      seriesDays.put(day, occurrences);
+    }
+    return occurrences;
+  }
+
+  /**
+   * Drops the frozen rules and the marked series days after a rule was added or changed.
+   */
+  private void rulesChanged() {
+    frozenRules = null;
+    seriesDays.clear();
+    seriesBusy.clear();
+  }
+
+  /**
+   * Checks whether an event covers some instant of [from, to): its start, or any instant
+   * before its end.
+   *
+   * @param event the event to check
+   * @param from  the start of the range
+   * @param to    the end of the range
+   * @return true if the event makes the range busy
+   */
+  private static boolean busy(EventReadOnly event, LocalDateTime from, LocalDateTime to) {
+    return event.getStartDateTime().isBefore(to) && (event.getEndDateTime().isAfter(from)
+        || !event.getStartDateTime().isBefore(from));
+  }
+
+  /**
+   * In strict mode, refuses an event that overlaps a stored event or a series occurrence.
+   * Without an ignored event the interval tree answers directly: an event overlaps when a
+   * stored event covers its start, or a stored event starts inside it. An edit looks at the
+   * events overlapping the new times so that the edited event itself can be skipped.
+   *
+   * @param event   the event about to be stored
+   * @param ignored the event it replaces, null for an added event
+   * @throws IllegalArgumentException if the calendar is strict and the event overlaps another
+   */
+  private void checkOverlap(EventReadOnly event, EventReadOnly ignored) {
+    if (!rejectOverlaps) {
+      return;
+    }
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEndDateTime();
+    EventKey ignoredKey = ignored == null ? null : new EventKey(ignored);
+    boolean overlaps = ignored == null
+        ? intervals.covers(start) || intervals.startsWithin(start, end)
+        : intervals.overlapping(start, end).stream().anyMatch(other ->
+            ConflictDetector.overlap(other, event) && !new EventKey(other).equals(ignoredKey));
+    for (SeriesRule rule : rules.values()) {
+      for (EventReadOnly occurrence : rule.overlapping(start, end)) {
+        if (ConflictDetector.overlap(occurrence, event)
+            && !new EventKey(occurrence).equals(ignoredKey)) {
+          overlaps = true;
+        }
+      }
+    }
+    if (overlaps) {
+      throw new IllegalArgumentException("Event overlaps an existing event");
+    }
+  }
+
+  /**
+   * Refuses a batch of events in which two events overlap each other, sweeping the batch in
+   * start order while keeping the latest end seen so far.
+   *
+   * @param newEvents the events about to be stored
+   * @throws IllegalArgumentException if two events of the batch overlap
+   */
+  private static void checkBatchOverlap(Collection<EventReadOnly> newEvents) {
+    List<EventReadOnly> sorted = new ArrayList<>(newEvents);
+    sorted.sort(EventIntervalTree.ORDER);
+    EventReadOnly previous = null;
+    LocalDateTime latestEnd = null;
+    for (EventReadOnly event : sorted) {
+      LocalDateTime start = event.getStartDateTime();
+      if (previous != null
+          && (latestEnd.isAfter(start) || previous.getStartDateTime().equals(start))) {
+        throw new IllegalArgumentException("Event overlaps an existing event");
+      }
+      if (latestEnd == null || event.getEndDateTime().isAfter(latestEnd)) {
+        latestEnd = event.getEndDateTime();
+      }
+      previous = event;
+    }
+  }
+
+  /**
+   * Replaces an existing event with its edited version.
+   * The edited event is stored under its own start date; an edited series occurrence
+   * becomes an exception of its series and is stored as an ordinary event.
+   *
+   * @param oldEvent the event currently in the calendar
+   * @param newEvent the edited event
+   * @throws IllegalArgumentException if the edited event conflicts with an existing event, or
+   *                                  overlaps another event in strict mode
+   */
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    EventKey newKey = new EventKey(newEvent);
+    if (!newKey.equals(new EventKey(oldEvent)) && contains(newKey)) {
+      throw new IllegalArgumentException("Update conflicting with existing event");
+    }
+    checkOverlap(newEvent, oldEvent);
+    listener.changesStarted();
+    try {
+      removeEvent(oldEvent);
+      store(newKey, newEvent);
+    } finally {
+      listener.changesFinished();
+    }
   }
 }
@@ -0,0 +1,113 @@
+package calendar.model;
+
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable view of a calendar at one point in time.
+ * The view holds a snapshot of the calendar's interval tree, which shares its nodes with the
+ * live tree, and frozen copies of its recurring series, so taking it copies no events.
+ */
+final class CalendarSnapshot implements CalendarReadOnly {
+  private final EventIntervalTree intervals;
+  private final List<SeriesRule> rules;
+
+  /**
+   * Creates a view over frozen calendar contents.
+   *
+   * @param intervals the events of the calendar; the tree must not change afterwards
+   * @param rules     the recurring series of the calendar; they must not change afterwards
+   */
+  CalendarSnapshot(EventIntervalTree intervals, List<SeriesRule> rules) {
+    this.intervals = intervals;
+    this.rules = rules;
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    if (intervals.covers(dateTime)) {
+      return true;
+    }
+    for (SeriesRule rule : rules) {
+      if (rule.covers(dateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    if (rules.isEmpty()) {
+      intervals.forEach(consumer);
+      return;
+    }
+    for (List<EventReadOnly> eventList : getAllEvents().values()) {
+      for (EventReadOnly event : eventList) {
+        consumer.accept(event);
+      }
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    List<EventReadOnly> result = intervals.overlapping(startDateTime, endDateTime);
+    if (rules.isEmpty()) {
+      return result;
+    }
+    for (SeriesRule rule : rules) {
+      result.addAll(rule.overlapping(startDateTime, endDateTime));
+    }
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    Consumer<EventReadOnly> add = event -> allEvents
+        .computeIfAbsent(event.getStartDateTime().toLocalDate(), date -> new ArrayList<>())
+        .add(event);
+    intervals.forEach(add);
+    if (!rules.isEmpty()) {
+      for (SeriesRule rule : rules) {
+        rule.forEach(add);
+      }
+      for (List<EventReadOnly> eventList : allEvents.values()) {
+        eventList.sort(EventIntervalTree.ORDER);
+      }
+    }
+    return allEvents;
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    Spliterator<EventReadOnly> events = rules.isEmpty()
+        ? intervals.spliterator() : new EventSpliterator(getAllEvents().values());
+    return StreamSupport.stream(events, false).filter(filter);
+  }
+
+  @Override
+  public int size() {
+    if (rules.isEmpty()) {
+      return intervals.size();
+    }
+    return CalendarReadOnly.super.size();
+  }
+
+  @Override
+  public CalendarReadOnly snapshot() {
+    return this;
+  }
+}
@@ -0,0 +1,182 @@
+package calendar.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A calendar that keeps its events in parallel primitive arrays instead of event objects.
+ * Each event is one row: its start and end as epoch seconds, its series id as two longs, its
+ * location, status, type and all-day flag packed into a byte, and its subject and description
+ * as indices into a table holding each distinct string once. A row takes about 60 bytes
+ * including its indices, so the heap used grows predictably with the number of events.
+ *
+ * <p>Rows are only appended; a removed row is marked and skipped, and the rows are compacted
+ * once more of them are removed than kept. An index of rows sorted by start answers range and
+ * busy queries by binary search, bounded by the longest event duration, and rows appended since
+ * the index was built are scanned until enough of them have gathered to merge them in on the
+ * next read. Identity lookups go through an open-addressing hash table of rows, and series
+ * lookups follow a chain of the rows of each series.
+ *
+ * <p>Events read from the calendar are lightweight views of their row, decoded on each call.
+ * A view keeps answering with the values of its row even after the event is edited or removed.
+ * Times are kept to the second.
+ */
+public class ColumnarCalendarImpl extends RecordCalendar {
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Constructor of a new empty columnar calendar.
+   */
+  public ColumnarCalendarImpl() {
+    super(new Columns());
+  }
+
+  /**
+   * The columns of the calendar. The string table and its map are shared by every copy of
+   * the columns; strings are only ever added to them.
+   */
+  private static final class Columns extends EventRecords {
+    private long[] starts;
+    private long[] ends;
+    private long[] idHigh;
+    private long[] idLow;
+    private int[] subjects;
+    private int[] descriptions;
+    private byte[] flags;
+    private String[] strings;
+    private int stringCount;
+    private Map<String, Integer> stringIds;
+
+    private Columns() {
+      this.starts = new long[INITIAL_CAPACITY];
+      this.ends = new long[INITIAL_CAPACITY];
+      this.idHigh = new long[INITIAL_CAPACITY];
+      this.idLow = new long[INITIAL_CAPACITY];
+      this.subjects = new int[INITIAL_CAPACITY];
+      this.descriptions = new int[INITIAL_CAPACITY];
+      this.flags = new byte[INITIAL_CAPACITY];
+      this.strings = new String[INITIAL_CAPACITY];
+      this.stringIds = new HashMap<>();
+    }
+
+    private Columns(Columns other) {
+      super(other);
+      this.starts = other.starts;
+      this.ends = other.ends;
+      this.idHigh = other.idHigh;
+      this.idLow = other.idLow;
+      this.subjects = other.subjects;
+      this.descriptions = other.descriptions;
+      this.flags = other.flags;
+      this.strings = other.strings;
+      this.stringCount = other.stringCount;
+      this.stringIds = other.stringIds;
+    }
+
+    @Override
+    Columns freeze() {
+      return new Columns(this);
+    }
+
+    @Override
+    Columns withStringsOnly() {
+      Columns c = new Columns();
+      c.strings = strings;
+      c.stringCount = stringCount;
+      c.stringIds = stringIds;
+      return c;
+    }
+
+    @Override
+    void growTo(int capacity) {
+      if (capacity <= starts.length) {
+        return;
+      }
+      int size = Math.max(capacity, starts.length + (starts.length >> 1));
+      starts = Arrays.copyOf(starts, size);
+      ends = Arrays.copyOf(ends, size);
+      idHigh = Arrays.copyOf(idHigh, size);
+      idLow = Arrays.copyOf(idLow, size);
+      subjects = Arrays.copyOf(subjects, size);
+      descriptions = Arrays.copyOf(descriptions, size);
+      flags = Arrays.copyOf(flags, size);
+    }
+
+    @Override
+    void write(int row, long start, long end, long high, long low, int subject,
+               int description, byte flag) {
+      starts[row] = start;
+      ends[row] = end;
+      idHigh[row] = high;
+      idLow[row] = low;
+      subjects[row] = subject;
+      descriptions[row] = description;
+      flags[row] = flag;
+    }
+
+    @Override
+    long start(int row) {
+      return starts[row];
+    }
+
+    @Override
+    long end(int row) {
+      return ends[row];
+    }
+
+    @Override
+    long idHigh(int row) {
+      return idHigh[row];
+    }
+
+    @Override
+    long idLow(int row) {
+      return idLow[row];
+    }
+
+    @Override
+    int subject(int row) {
+      return subjects[row];
+    }
+
+    @Override
+    int description(int row) {
+      return descriptions[row];
+    }
+
+    @Override
+    byte flags(int row) {
+      return flags[row];
+    }
+
+    @Override
+    String string(int index) {
+      return index < 0 ? null : strings[index];
+    }
+
+    @Override
+    int lookup(String value) {
+      Integer index = stringIds.get(value);
+      return index == null ? -1 : index;
+    }
+
+    @Override
+    int intern(String value) {
+      if (value == null) {
+        return -1;
+      }
+      Integer index = stringIds.get(value);
+      if (index == null) {
+        if (stringCount == strings.length) {
+          strings = Arrays.copyOf(strings, strings.length * 2);
+        }
+        index = stringCount;
+        strings[index] = value;
+        stringCount = index + 1;
+        stringIds.put(value, index);
+      }
+      return index;
+    }
+  }
+}
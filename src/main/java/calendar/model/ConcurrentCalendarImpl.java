@@ -0,0 +1,340 @@
+package calendar.model;
+
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A calendar that can be shared by many threads without a global lock.
+ * Events are kept in a concurrent skip list of day buckets. Each bucket is a copy-on-write
+ * list guarded by its own lock for writes, so readers never block and writers only contend
+ * when they touch the same day. Event identity is claimed in a concurrent hash index before
+ * an event is stored, which makes duplicate detection atomic, and a batch either claims every
+ * identity or releases the ones it took. A removal may release a claim before the event is
+ * stored, so a writer checks its claim again once the event is stored and takes the event
+ * back out if the claim is gone.
+ *
+ * <p>Range and busy queries scan the days that may hold an overlapping event, bounded by the
+ * longest number of days any stored event has spanned. Recurring series are stored as their
+ * occurrences. A reader may observe a concurrent edit half done, with both the old and the
+ * edited event visible, but never an event stored twice.
+ */
+public class ConcurrentCalendarImpl implements CalendarEditable {
+  private final ConcurrentNavigableMap<LocalDate, Bucket> events;
+  private final ConcurrentMap<UUID, Bucket> series;
+  private final ConcurrentMap<EventKey, EventReadOnly> keys;
+  private final AtomicLong maxSpanDays;
+
+  /**
+   * Constructor of a new empty concurrent calendar.
+   */
+  public ConcurrentCalendarImpl() {
+    this.events = new ConcurrentSkipListMap<>();
+    this.series = new ConcurrentHashMap<>();
+    this.keys = new ConcurrentHashMap<>();
+    this.maxSpanDays = new AtomicLong();
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly newEvent) {
+    if (keys.putIfAbsent(new EventKey(newEvent), newEvent) != null) {
+      throw new IllegalArgumentException("Event already exists");
+    }
+    storeClaimed(newEvent);
+    return newEvent;
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> newEvents) {
+    List<EventReadOnly> claimed = new ArrayList<>(newEvents.size());
+    for (EventReadOnly newEvent : newEvents) {
+      if (keys.putIfAbsent(new EventKey(newEvent), newEvent) != null) {
+        for (EventReadOnly event : claimed) {
+          keys.remove(new EventKey(event), event);
+        }
+        throw new IllegalArgumentException("Event already exists");
+      }
+      claimed.add(newEvent);
+    }
+    for (EventReadOnly newEvent : claimed) {
+      storeClaimed(newEvent);
+    }
+    return claimed;
+  }
+
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    if (series.containsKey(template.getId())) {
+      throw new IllegalArgumentException("Series already exists");
+    }
+    List<EventReadOnly> occurrences = new ArrayList<>();
+    new SeriesRule(template, rule).forEach(occurrences::add);
+    addEvents(occurrences);
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    return EventEditor.edit(this, this::updateEvent, events, property, newValue);
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    EventReadOnly stored = keys.remove(new EventKey(event));
+    if (stored != null) {
+      unstore(stored);
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    Bucket occurrences = series.get(seriesId);
+    List<EventReadOnly> result = occurrences == null
+        ? new ArrayList<>() : new ArrayList<>(occurrences.events);
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    List<EventReadOnly> result = getSeries(seriesId);
+    result.removeIf(event -> event.getStartDateTime().isBefore(from));
+    return result;
+  }
+
+  @Override
+  public boolean containsEvent(EventReadOnly event) {
+    return keys.containsKey(new EventKey(event));
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    LocalDate date = dateTime.toLocalDate();
+    for (Bucket bucket : candidates(date, date).values()) {
+      for (EventReadOnly event : bucket.events) {
+        LocalDateTime start = event.getStartDateTime();
+        if (start.equals(dateTime)
+            || (start.isBefore(dateTime) && event.getEndDateTime().isAfter(dateTime))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    for (Bucket bucket : events.values()) {
+      for (EventReadOnly event : bucket.events) {
+        consumer.accept(event);
+      }
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    for (Bucket bucket
+        : candidates(startDateTime.toLocalDate(), endDateTime.toLocalDate()).values()) {
+      for (EventReadOnly event : bucket.events) {
+        if (!event.getStartDateTime().isAfter(endDateTime)
+            && !event.getEndDateTime().isBefore(startDateTime)) {
+          result.add(event);
+        }
+      }
+    }
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    for (Map.Entry<LocalDate, Bucket> entry : events.entrySet()) {
+      List<EventReadOnly> dayEvents = new ArrayList<>(entry.getValue().events);
+      if (!dayEvents.isEmpty()) {
+        allEvents.put(entry.getKey(), dayEvents);
+      }
+    }
+    return allEvents;
+  }
+
+  /**
+   * Returns a view holding a copy of the current events. Each day is copied as it is at one
+   * instant; a write to another day made while the copy is taken may or may not be included.
+   *
+   * @return the immutable view of the events
+   */
+  @Override
+  public CalendarReadOnly snapshot() {
+    EventIntervalTree copy = new EventIntervalTree();
+    forEachEvent(copy::insert);
+    return new CalendarSnapshot(copy, List.of());
+  }
+
+  /**
+   * Returns the day buckets that may hold an event overlapping the given days.
+   *
+   * @param from the first day of the range
+   * @param to   the last day of the range
+   * @return the buckets from the longest event span before the first day up to the last day
+   */
+  private Map<LocalDate, Bucket> candidates(LocalDate from, LocalDate to) {
+    LocalDate earliest = from.minusDays(maxSpanDays.get());
+    if (earliest.isAfter(to)) {
+      return Map.of();
+    }
+    return events.subMap(earliest, true, to, true);
+  }
+
+  /**
+   * Replaces an existing event with its edited version.
+   * The identity of the edited event is claimed before the old event is released, so two
+   * threads cannot both edit an event into the same identity.
+   *
+   * @param oldEvent the event currently in the calendar
+   * @param newEvent the edited event
+   * @throws IllegalArgumentException if the edited event conflicts with an existing event,
+   *                                  or the old event is no longer in the calendar
+   */
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    EventKey oldKey = new EventKey(oldEvent);
+    EventKey newKey = new EventKey(newEvent);
+    EventReadOnly stored;
+    if (newKey.equals(oldKey)) {
+      stored = keys.get(oldKey);
+      if (stored == null || !keys.replace(oldKey, stored, newEvent)) {
+        throw new IllegalArgumentException("Event with given details doesn't exist");
+      }
+    } else {
+      if (keys.putIfAbsent(newKey, newEvent) != null) {
+        throw new IllegalArgumentException("Update conflicting with existing event");
+      }
+      stored = keys.remove(oldKey);
+      if (stored == null) {
+        keys.remove(newKey, newEvent);
+        throw new IllegalArgumentException("Event with given details doesn't exist");
+      }
+    }
+    unstore(stored);
+    storeClaimed(newEvent);
+  }
+
+  /**
+   * Stores an event whose identity has been claimed, then removes it again if a concurrent
+   * removal released the claim before the event was in its buckets. The removal found nothing
+   * to take out in that case, so the event would otherwise stay stored without its identity.
+   *
+   * @param event the event to store
+   */
+  private void storeClaimed(EventReadOnly event) {
+    store(event);
+    if (keys.get(new EventKey(event)) != event) {
+      unstore(event);
+    }
+  }
+
+  /**
+   * Adds an event whose identity has been claimed to its day bucket and its series.
+   *
+   * @param event the event to store
+   */
+  private void store(EventReadOnly event) {
+    LocalDateTime start = event.getStartDateTime();
+    long span = ChronoUnit.DAYS.between(start.toLocalDate(),
+        event.getEndDateTime().toLocalDate());
+    maxSpanDays.accumulateAndGet(span, Math::max);
+    add(events, start.toLocalDate(), event);
+    add(series, event.getId(), event);
+  }
+
+  /**
+   * Removes an event whose identity has been released from its day bucket and its series.
+   *
+   * @param event the stored event to remove
+   */
+  private void unstore(EventReadOnly event) {
+    remove(events, event.getStartDateTime().toLocalDate(), event);
+    remove(series, event.getId(), event);
+  }
+
+  private static <K> void add(ConcurrentMap<K, Bucket> buckets, K key, EventReadOnly event) {
+    while (true) {
+      Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+      if (bucket.add(event)) {
+        return;
+      }
+      buckets.remove(key, bucket);
+    }
+  }
+
+  private static <K> void remove(ConcurrentMap<K, Bucket> buckets, K key,
+                                 EventReadOnly event) {
+    Bucket bucket = buckets.get(key);
+    if (bucket != null && bucket.remove(event)) {
+      buckets.remove(key, bucket);
+    }
+  }
+
+  /**
+   * The events of one day or one series.
+   * Writers take the lock of the bucket, readers iterate the copy-on-write list without it.
+   * A bucket whose last event is removed is retired, and a writer that finds a retired bucket
+   * creates a new one, so an event is never added to a bucket already dropped from its map.
+   */
+  private static final class Bucket {
+    private final List<EventReadOnly> events = new CopyOnWriteArrayList<>();
+    private boolean retired;
+
+    /**
+     * Adds an event unless the bucket has been retired.
+     *
+     * @param event the event to add
+     * @return true if the event was added
+     */
+    synchronized boolean add(EventReadOnly event) {
+      if (retired) {
+        return false;
+      }
+      events.add(event);
+      return true;
+    }
+
+    /**
+     * Removes the given event instance, retiring the bucket if it becomes empty.
+     * Events are matched by reference, since an equal event may have been stored again
+     * after this one was released.
+     *
+     * @param event the event to remove
+     * @return true if the bucket was retired
+     */
+    synchronized boolean remove(EventReadOnly event) {
+      for (int i = 0; i < events.size(); i++) {
+        if (events.get(i) == event) {
+          events.remove(i);
+          break;
+        }
+      }
+      retired = events.isEmpty();
+      return retired;
+    }
+  }
+}
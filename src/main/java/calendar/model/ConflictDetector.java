@@ -0,0 +1,167 @@
+package calendar.model;
+
+import calendar.model.datatypes.EventConflict;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the pairs of events that are busy at the same instant, within one calendar or
+ * across several.
+ * An event is busy at its start and at every instant before its end, so two events overlap
+ * when the one starting later starts while the other is still busy; events that only touch
+ * end to start do not. The events of each calendar inside the searched range are placed on
+ * a common timeline of instants, each calendar reading its times in its own time zone, and
+ * sorted once. A sweep in start order keeps the events still busy in a heap ordered by end,
+ * drops those that ended before the next start and pairs that start with the rest, so the
+ * cost is O(n log n) plus the number of conflicts rather than a comparison of every pair.
+ */
+public final class ConflictDetector {
+  private static final Comparator<Busy> BY_START = Comparator.comparing((Busy busy) -> busy.start)
+      .thenComparing(busy -> busy.end)
+      .thenComparing(busy -> busy.event.getSubject())
+      .thenComparing(busy -> busy.calendar == null ? "" : busy.calendar);
+
+  private final ZoneId zoneId;
+
+  /**
+   * Creates a detector whose range and shared times are expressed in the given time zone.
+   *
+   * @param zoneId the time zone of the common timeline
+   */
+  public ConflictDetector(ZoneId zoneId) {
+    this.zoneId = Objects.requireNonNull(zoneId);
+  }
+
+  /**
+   * Checks whether two events are busy at some common instant.
+   *
+   * @param first  an event
+   * @param second another event, with times in the same time zone
+   * @return true if the events overlap
+   */
+  public static boolean overlap(EventReadOnly first, EventReadOnly second) {
+    return covers(first, second.getStartDateTime()) || covers(second, first.getStartDateTime());
+  }
+
+  /**
+   * Returns the conflicts between the events of one calendar that are busy in [from, to).
+   * The calendar times are read as they are, without a time zone.
+   *
+   * @param calendar the calendar to check
+   * @param from     the start of the range
+   * @param to       the end of the range, excluded
+   * @return the conflicts in the order of the later start, then the earlier one
+   * @throws IllegalArgumentException if the range ends before it starts
+   */
+  public static List<EventConflict> find(CalendarReadOnly calendar, LocalDateTime from,
+                                         LocalDateTime to) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    List<Busy> busy = new ArrayList<>();
+    collect(busy, calendar, null, ZoneOffset.UTC, from.toInstant(ZoneOffset.UTC),
+        to.toInstant(ZoneOffset.UTC));
+    return new ConflictDetector(ZoneOffset.UTC).sweep(busy);
+  }
+
+  /**
+   * Returns the conflicts between the events of the given calendars that are busy in
+   * [from, to), whether both events are in the same calendar or in two of them.
+   *
+   * @param calendars the calendars to check
+   * @param from      the start of the range
+   * @param to        the end of the range, excluded
+   * @return the conflicts in the order of the later start, then the earlier one
+   * @throws IllegalArgumentException if the range ends before it starts
+   */
+  public List<EventConflict> find(Collection<? extends AdvancedCalendar> calendars,
+                                  LocalDateTime from, LocalDateTime to) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    Instant rangeStart = from.atZone(zoneId).toInstant();
+    Instant rangeEnd = to.atZone(zoneId).toInstant();
+    List<Busy> busy = new ArrayList<>();
+    for (AdvancedCalendar calendar : calendars) {
+      collect(busy, calendar, calendar.getName(), calendar.getZoneId(), rangeStart, rangeEnd);
+    }
+    return sweep(busy);
+  }
+
+  private List<EventConflict> sweep(List<Busy> busy) {
+    busy.sort(BY_START);
+    PriorityQueue<Busy> active = new PriorityQueue<>(Comparator.comparing(
+        (Busy open) -> open.end));
+    List<EventConflict> conflicts = new ArrayList<>();
+    for (Busy next : busy) {
+      while (!active.isEmpty() && !active.peek().covers(next.start)) {
+        active.poll();
+      }
+      List<Busy> overlapping = new ArrayList<>();
+      for (Busy open : active) {
+        if (open.covers(next.start)) {
+          overlapping.add(open);
+        }
+      }
+      overlapping.sort(BY_START);
+      for (Busy open : overlapping) {
+        Instant end = open.end.isBefore(next.end) ? open.end : next.end;
+        conflicts.add(new EventConflict(open.event, open.calendar, next.event, next.calendar,
+            LocalDateTime.ofInstant(next.start, zoneId),
+            LocalDateTime.ofInstant(end.isAfter(next.start) ? end : next.start, zoneId)));
+      }
+      active.add(next);
+    }
+    return conflicts;
+  }
+
+  private static void collect(List<Busy> busy, CalendarReadOnly calendar, String name,
+                              ZoneId zone, Instant rangeStart, Instant rangeEnd) {
+    calendar.stream(LocalDateTime.ofInstant(rangeStart, zone),
+        LocalDateTime.ofInstant(rangeEnd, zone)).forEach(event -> {
+          Busy entry = new Busy(event, name, event.getStartDateTime().atZone(zone).toInstant(),
+              event.getEndDateTime().atZone(zone).toInstant());
+          if (entry.start.isBefore(rangeEnd)
+              && (entry.end.isAfter(rangeStart) || !entry.start.isBefore(rangeStart))) {
+            busy.add(entry);
+          }
+        });
+  }
+
+  private static boolean covers(EventReadOnly event, LocalDateTime dateTime) {
+    return event.getStartDateTime().equals(dateTime)
+        || !event.getStartDateTime().isAfter(dateTime) && event.getEndDateTime().isAfter(dateTime);
+  }
+
+  /**
+   * An event placed on the common timeline.
+   */
+  private static final class Busy {
+    private final EventReadOnly event;
+    private final String calendar;
+    private final Instant start;
+    private final Instant end;
+
+    private Busy(EventReadOnly event, String calendar, Instant start, Instant end) {
+      this.event = event;
+      this.calendar = calendar;
+      this.start = start;
+      this.end = end;
+    }
+
+    private boolean covers(Instant instant) {
+      return start.equals(instant) || !start.isAfter(instant) && end.isAfter(instant);
+    }
+  }
+}
@@ -2,17 +2,14 @@ package calendar.model;
 
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.EditCalendar;
-import calendar.model.interfaces.EventReadOnly;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.zone.ZoneRulesException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Command used to edit the time zone of the calendar.
- * When a timezone changes all the start and end times of the events.
- * will be updated with the time in new time zone.
+ * The events keep their instants: after the change, their start and end times are shown in
+ * the new time zone. The stored events are not rewritten; the edited calendar sees them
+ * through a projection into the new zone, so the change takes constant time.
  */
 public class EditCalendarTimeZone implements EditCalendar {
   @Override
@@ -31,31 +28,6 @@ public class EditCalendarTimeZone implements EditCalendar {
           + "same as the existing calendar timezone.");
     }
 
-
-    List<EventReadOnly> events = new ArrayList<>();
-    calendar.getCalendar().forEachEvent(events::add);
-
-    for (EventReadOnly event : events) {
-      LocalDateTime newStartDateTime = event
-          .getStartDateTime()
-          .atZone(sourceZone)
-          .withZoneSameInstant(targetZone)
-          .toLocalDateTime();
-
-      LocalDateTime newEndDateTime = event
-          .getEndDateTime()
-          .atZone(sourceZone)
-          .withZoneSameInstant(targetZone)
-          .toLocalDateTime();
-
-      EventReadOnly newEvent = new Event.EventBuilder(event)
-          .setStartDateTime(newStartDateTime)
-          .setEndDateTime(newEndDateTime)
-          .build();
-
-      calendar.getCalendar().removeEvent(event);
-      calendar.getCalendar().addEvent(newEvent);
-    }
     return new AdvancedCalendarImpl.AdvancedCalendarBuilder(calendar)
         .setZoneId(targetZone)
         .build();
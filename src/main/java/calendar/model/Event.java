@@ -63,7 +63,8 @@ public class Event implements EventReadOnly {
   /**
    * Compares this event to another object for equality.
    * Two events are considered equal if they share the same subject.
-   * start date/time, and end date/time.
+   * start date/time, and end date/time. Any other implementation of EventReadOnly with the
+   * same three values is equal too, so events read from other stores compare as expected.
    *
    * @param o the reference object with which to compare.
    * @return true if they are equal else false.
@@ -74,13 +75,13 @@ public class Event implements EventReadOnly {
     if (this == o) {
       return true;
     }
-    if (!(o instanceof Event)) {
+    if (!(o instanceof EventReadOnly)) {
       return false;
     }
-    Event event = (Event) o;
-    return subject.equals(event.subject)
-        && startDateTime.equals(event.startDateTime)
-        && endDateTime.equals(event.endDateTime);
+    EventReadOnly event = (EventReadOnly) o;
+    return subject.equals(event.getSubject())
+        && startDateTime.equals(event.getStartDateTime())
+        && endDateTime.equals(event.getEndDateTime());
   }
 
   /**
@@ -0,0 +1,323 @@
+package calendar.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of event ordinals, split like a roaring bitmap.
+ * Ordinals are grouped by their high 16 bits; each group keeps its low 16 bits either as a
+ * sorted array while it holds at most 4096 values, or as a 65536-bit bitmap above that.
+ * Intersections work group by group and choose the cheapest form for each pair.
+ */
+final class EventBitmap {
+  private static final int ARRAY_LIMIT = 4096;
+  private static final int WORDS = 1024;
+
+  private int[] highs = new int[0];
+  private Container[] containers = new Container[0];
+  private int groups;
+
+  /**
+   * Adds an ordinal to the set.
+   *
+   * @param ordinal the ordinal to add, not negative
+   */
+  void add(int ordinal) {
+    int high = ordinal >>> 16;
+    int index = Arrays.binarySearch(highs, 0, groups, high);
+    if (index < 0) {
+      index = -index - 1;
+      if (groups == highs.length) {
+        int capacity = Math.max(4, groups * 2);
+        highs = Arrays.copyOf(highs, capacity);
+        containers = Arrays.copyOf(containers, capacity);
+      }
+      System.arraycopy(highs, index, highs, index + 1, groups - index);
+      System.arraycopy(containers, index, containers, index + 1, groups - index);
+      highs[index] = high;
+      containers[index] = new ArrayContainer();
+      groups++;
+    }
+    containers[index] = containers[index].add((char) ordinal);
+  }
+
+  /**
+   * Removes an ordinal from the set, if present.
+   *
+   * @param ordinal the ordinal to remove
+   */
+  void remove(int ordinal) {
+    int index = Arrays.binarySearch(highs, 0, groups, ordinal >>> 16);
+    if (index < 0) {
+      return;
+    }
+    Container container = containers[index].remove((char) ordinal);
+    if (container.cardinality() > 0) {
+      containers[index] = container;
+      return;
+    }
+    System.arraycopy(highs, index + 1, highs, index, groups - index - 1);
+    System.arraycopy(containers, index + 1, containers, index, groups - index - 1);
+    groups--;
+    containers[groups] = null;
+  }
+
+  /**
+   * Checks whether the set holds an ordinal.
+   *
+   * @param ordinal the ordinal to look up
+   * @return true if the ordinal is in the set
+   */
+  boolean contains(int ordinal) {
+    int index = Arrays.binarySearch(highs, 0, groups, ordinal >>> 16);
+    return index >= 0 && containers[index].contains((char) ordinal);
+  }
+
+  /**
+   * Returns the number of ordinals in the set.
+   *
+   * @return the cardinality
+   */
+  int cardinality() {
+    int count = 0;
+    for (int i = 0; i < groups; i++) {
+      count += containers[i].cardinality();
+    }
+    return count;
+  }
+
+  /**
+   * Returns a new set holding the ordinals in both this set and the other.
+   *
+   * @param other the set to intersect with
+   * @return the intersection
+   */
+  EventBitmap and(EventBitmap other) {
+    EventBitmap result = new EventBitmap();
+    int capacity = Math.min(groups, other.groups);
+    result.highs = new int[capacity];
+    result.containers = new Container[capacity];
+    int i = 0;
+    int j = 0;
+    while (i < groups && j < other.groups) {
+      if (highs[i] < other.highs[j]) {
+        i++;
+      } else if (highs[i] > other.highs[j]) {
+        j++;
+      } else {
+        Container both = containers[i].and(other.containers[j]);
+        if (both.cardinality() > 0) {
+          result.highs[result.groups] = highs[i];
+          result.containers[result.groups++] = both;
+        }
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Passes every ordinal of the set to the consumer in increasing order.
+   *
+   * @param consumer the consumer of the ordinals
+   */
+  void forEach(IntConsumer consumer) {
+    for (int i = 0; i < groups; i++) {
+      containers[i].forEach(highs[i] << 16, consumer);
+    }
+  }
+
+  /**
+   * The low 16 bits of the ordinals sharing the same high 16 bits.
+   */
+  private abstract static class Container {
+    abstract Container add(char low);
+
+    abstract Container remove(char low);
+
+    abstract boolean contains(char low);
+
+    abstract int cardinality();
+
+    abstract Container and(Container other);
+
+    abstract void forEach(int base, IntConsumer consumer);
+  }
+
+  /**
+   * A sparse group kept as a sorted array of low bits.
+   */
+  private static final class ArrayContainer extends Container {
+    private char[] values;
+    private int count;
+
+    private ArrayContainer() {
+      this(new char[4], 0);
+    }
+
+    private ArrayContainer(char[] values, int count) {
+      this.values = values;
+      this.count = count;
+    }
+
+    @Override
+    Container add(char low) {
+      int index = Arrays.binarySearch(values, 0, count, low);
+      if (index >= 0) {
+        return this;
+      }
+      if (count == ARRAY_LIMIT) {
+        return new BitmapContainer(this).add(low);
+      }
+      index = -index - 1;
+      if (count == values.length) {
+        values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, count * 2)));
+      }
+      System.arraycopy(values, index, values, index + 1, count - index);
+      values[index] = low;
+      count++;
+      return this;
+    }
+
+    @Override
+    Container remove(char low) {
+      int index = Arrays.binarySearch(values, 0, count, low);
+      if (index >= 0) {
+        System.arraycopy(values, index + 1, values, index, count - index - 1);
+        count--;
+      }
+      return this;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return Arrays.binarySearch(values, 0, count, low) >= 0;
+    }
+
+    @Override
+    int cardinality() {
+      return count;
+    }
+
+    @Override
+    Container and(Container other) {
+      char[] both = new char[count];
+      int size = 0;
+      if (other instanceof BitmapContainer) {
+        for (int i = 0; i < count; i++) {
+          if (other.contains(values[i])) {
+            both[size++] = values[i];
+          }
+        }
+        return new ArrayContainer(both, size);
+      }
+      ArrayContainer array = (ArrayContainer) other;
+      int i = 0;
+      int j = 0;
+      while (i < count && j < array.count) {
+        if (values[i] < array.values[j]) {
+          i++;
+        } else if (values[i] > array.values[j]) {
+          j++;
+        } else {
+          both[size++] = values[i];
+          i++;
+          j++;
+        }
+      }
+      return new ArrayContainer(both, size);
+    }
+
+    @Override
+    void forEach(int base, IntConsumer consumer) {
+      for (int i = 0; i < count; i++) {
+        consumer.accept(base | values[i]);
+      }
+    }
+  }
+
+  /**
+   * A dense group kept as one bit per low value.
+   */
+  private static final class BitmapContainer extends Container {
+    private final long[] words;
+    private int count;
+
+    private BitmapContainer(long[] words, int count) {
+      this.words = words;
+      this.count = count;
+    }
+
+    private BitmapContainer(ArrayContainer array) {
+      this(new long[WORDS], 0);
+      for (int i = 0; i < array.count; i++) {
+        add(array.values[i]);
+      }
+    }
+
+    @Override
+    Container add(char low) {
+      long bit = 1L << low;
+      if ((words[low >>> 6] & bit) == 0) {
+        words[low >>> 6] |= bit;
+        count++;
+      }
+      return this;
+    }
+
+    @Override
+    Container remove(char low) {
+      long bit = 1L << low;
+      if ((words[low >>> 6] & bit) != 0) {
+        words[low >>> 6] &= ~bit;
+        count--;
+      }
+      return count > ARRAY_LIMIT ? this : toArray();
+    }
+
+    @Override
+    boolean contains(char low) {
+      return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    @Override
+    int cardinality() {
+      return count;
+    }
+
+    @Override
+    Container and(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.and(this);
+      }
+      long[] both = new long[WORDS];
+      int size = 0;
+      long[] otherWords = ((BitmapContainer) other).words;
+      for (int i = 0; i < WORDS; i++) {
+        both[i] = words[i] & otherWords[i];
+        size += Long.bitCount(both[i]);
+      }
+      BitmapContainer result = new BitmapContainer(both, size);
+      return size > ARRAY_LIMIT ? result : result.toArray();
+    }
+
+    @Override
+    void forEach(int base, IntConsumer consumer) {
+      for (int i = 0; i < WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          consumer.accept(base | (i << 6) + Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+    }
+
+    private ArrayContainer toArray() {
+      char[] values = new char[Math.max(4, count)];
+      int[] size = new int[1];
+      forEach(0, low -> values[size[0]++] = (char) low);
+      return new ArrayContainer(values, size[0]);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package calendar.model;
+
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.ModifyEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Builds the edited versions of events for the calendar implementations.
+ * Storing each edited event in place of the original is left to the calendar, through the
+ * given update callback.
+ */
+final class EventEditor {
+
+  private EventEditor() {
+  }
+
+  /**
+   * Edits one or more events by modifying a specified property.
+   *
+   * @param calendar the calendar the events belong to
+   * @param update   replaces an event of the calendar with its edited version
+   * @param events   the list of events to modify
+   * @param property the property to edit like subject
+   * @param newValue the new value to assign to the property
+   * @return the edited events
+   * @throws IllegalArgumentException      if no events are given
+   * @throws UnsupportedOperationException if the property name is invalid
+   */
+  static List<EventReadOnly> edit(CalendarEditable calendar,
+                                  BiConsumer<EventReadOnly, EventReadOnly> update,
+                                  List<EventReadOnly> events, String property,
+                                  String newValue) {
+    if (events.isEmpty()) {
+      throw new IllegalArgumentException("Event with given details doesn't exist");
+    }
+    if (events.size() == 1) {
+      return editSingleEvent(calendar, update, events, property, newValue);
+    }
+    return editMultipleEvents(calendar, update, events, property, newValue);
+  }
+
+  /**
+   * Edits multiple events in a batch by modifying the specified property.
+   *
+   * @param calendar the calendar the events belong to
+   * @param update   replaces an event of the calendar with its edited version
+   * @param events   the list of events to modify
+   * @param property the property name to edit
+   * @param newValue the new value for the property
+   * @throws UnsupportedOperationException if the property is invalid
+   */
+  private static List<EventReadOnly> editMultipleEvents(
+      CalendarEditable calendar, BiConsumer<EventReadOnly, EventReadOnly> update,
+      List<EventReadOnly> events, String property, String newValue) {
+    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
+    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
+    if (modifyEvent == null) {
+      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
+    }
+    UUID uuid = UUID.randomUUID();
+    List<EventReadOnly> editedEvents = new ArrayList<>();
+    for (EventReadOnly event : events) {
+      EventReadOnly updatedEvent;
+      if (property.equalsIgnoreCase("start")) {
+        updatedEvent = modifyEvents.get("id").edit(calendar, event, uuid.toString());
+        String currStart = updatedEvent.getStartDateTime().toString();
+        String newStartTime = newValue.split("T")[1];
+        String newStratDateTime = currStart.split("T")[0] + "T" + newStartTime;
+        updatedEvent = modifyEvent.edit(calendar, updatedEvent, newStratDateTime);
+      } else if (property.equalsIgnoreCase("end")) {
+        String currEnd = event.getEndDateTime().toString();
+        String newEndTime = newValue.split("T")[1];
+        String newEndDateTime = currEnd.split("T")[0] + "T" + newEndTime;
+        updatedEvent = modifyEvent.edit(calendar, event, newEndDateTime);
+      } else {
+        updatedEvent = modifyEvent.edit(calendar, event, newValue);
+      }
+      update.accept(event, updatedEvent);
+      editedEvents.add(updatedEvent);
+    }
+    return editedEvents;
+  }
+
+  /**
+   * Edits a single event's property.
+   * and if necessary, changes its type from series to single.
+   *
+   * @param calendar the calendar the events belong to
+   * @param update   replaces an event of the calendar with its edited version
+   * @param events   list containing events.
+   * @param property the property to modify.
+   * @param newValue the value for the property.
+   * @throws UnsupportedOperationException if the property is invalid
+   */
+  private static List<EventReadOnly> editSingleEvent(
+      CalendarEditable calendar, BiConsumer<EventReadOnly, EventReadOnly> update,
+      List<EventReadOnly> events, String property, String newValue) {
+    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
+    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
+    if (modifyEvent == null) {
+      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
+    }
+
+    List<EventReadOnly> editedEvents = new ArrayList<>();
+
+    for (EventReadOnly event : events) {
+      EventReadOnly updatedEvent = event;
+
+      if (property.equalsIgnoreCase("start")
+          && event.getEventType() == TypeOfEvent.SERIES) {
+        updatedEvent = new Event.EventBuilder(event)
+            .setEventId(UUID.randomUUID())
+            .setEventType(TypeOfEvent.SINGLE)
+            .build();
+      }
+      updatedEvent = modifyEvent.edit(calendar, updatedEvent, newValue);
+      update.accept(event, updatedEvent);
+      editedEvents.add(updatedEvent);
+    }
+    return editedEvents;
+  }
+
+  /**
+   * Populates a map of property modification handlers used.
+   * call and modify events for the given property.
+   *
+   * @return a map linking property names to their respective modification classes.
+   */
+  private static Map<String, ModifyEvent> populateModifyEvents() {
+    Map<String, ModifyEvent> modifyEvents = new HashMap<>();
+
+    modifyEvents.put("subject", new ModifySubject());
+    modifyEvents.put("start", new ModifyStartDate());
+    modifyEvents.put("end", new ModifyEndDate());
+    modifyEvents.put("location", new ModifyLocation());
+    modifyEvents.put("description", new ModifyDescription());
+    modifyEvents.put("status", new ModifyStatus());
+    modifyEvents.put("id", new ModifyId());
+
+    return modifyEvents;
+  }
+}
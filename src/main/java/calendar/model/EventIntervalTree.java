@@ -0,0 +1,304 @@
+package calendar.model;
+
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Augmented interval tree over the events of a calendar.
+ * Events are kept in a balanced (AVL) tree ordered by start date time, then end date time
+ * and subject, which is the same identity used by Event.equals. Each node also remembers
+ * the latest end date time in its subtree so that range and point queries can skip whole
+ * subtrees that end before the query, giving O(log n + k) lookups.
+ *
+ * <p>Nodes are never changed once built: an insert or remove copies the nodes on the path it
+ * changes and shares every other subtree with the previous version. A snapshot of the tree
+ * is therefore just its current root, and stays valid however the tree changes afterwards.
+ */
+class EventIntervalTree {
+
+  static final Comparator<EventReadOnly> ORDER = CalendarReadOnly.START_ORDER;
+
+  private Node root;
+  private int size;
+
+  /**
+   * A single immutable tree node holding one event and the maximum end time of its subtree.
+   */
+  private static final class Node {
+    private final EventReadOnly event;
+    private final LocalDateTime maxEnd;
+    private final int height;
+    private final Node left;
+    private final Node right;
+
+    private Node(EventReadOnly event, Node left, Node right) {
+      this.event = event;
+      this.left = left;
+      this.right = right;
+      this.height = 1 + Math.max(height(left), height(right));
+      LocalDateTime maxEnd = event.getEndDateTime();
+      if (left != null && left.maxEnd.isAfter(maxEnd)) {
+        maxEnd = left.maxEnd;
+      }
+      if (right != null && right.maxEnd.isAfter(maxEnd)) {
+        maxEnd = right.maxEnd;
+      }
+      this.maxEnd = maxEnd;
+    }
+  }
+
+  /**
+   * Inserts an event into the tree. An event with the same identity is replaced.
+   *
+   * @param event the event to insert
+   */
+  void insert(EventReadOnly event) {
+    root = insertAt(root, event);
+  }
+
+  /**
+   * Removes the event with the same identity as the given event, if present.
+   *
+   * @param event the event to remove
+   * @return true if an event was removed
+   */
+  boolean remove(EventReadOnly event) {
+    int before = size;
+    root = removeFrom(root, event);
+    return size < before;
+  }
+
+  /**
+   * Returns the number of events in the tree.
+   *
+   * @return the number of events
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns a tree holding the events of this tree as they are now. The snapshot shares
+   * every node with this tree and is not affected by later changes to it.
+   *
+   * @return the snapshot, created in constant time
+   */
+  EventIntervalTree snapshot() {
+    EventIntervalTree snapshot = new EventIntervalTree();
+    snapshot.root = root;
+    snapshot.size = size;
+    return snapshot;
+  }
+
+  /**
+   * Passes every event of the tree to the consumer, in start order.
+   *
+   * @param consumer the consumer of the events
+   */
+  void forEach(Consumer<EventReadOnly> consumer) {
+    visit(root, consumer);
+  }
+
+  /**
+   * Returns a spliterator over the events of the tree, in start order. The tree must not
+   * change while it is used, which holds for a snapshot.
+   *
+   * @return the sized spliterator over the events
+   */
+  Spliterator<EventReadOnly> spliterator() {
+    Deque<Node> path = new ArrayDeque<>();
+    for (Node node = root; node != null; node = node.left) {
+      path.push(node);
+    }
+    Iterator<EventReadOnly> inOrder = new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return !path.isEmpty();
+      }
+
+      @Override
+      public EventReadOnly next() {
+        if (path.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        Node node = path.pop();
+        for (Node child = node.right; child != null; child = child.left) {
+          path.push(child);
+        }
+        return node.event;
+      }
+    };
+    return Spliterators.spliterator(inOrder, size,
+        Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+  }
+
+  /**
+   * Returns every event that overlaps the closed range [from, to], ordered by start.
+   * An event overlaps when it does not end before from and does not start after to.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range
+   * @return the overlapping events in start order
+   */
+  List<EventReadOnly> overlapping(LocalDateTime from, LocalDateTime to) {
+    List<EventReadOnly> result = new ArrayList<>();
+    collect(root, from, to, result);
+    return result;
+  }
+
+  /**
+   * Checks whether some event covers the given instant. An event covers an instant when it
+   * starts exactly at it, or starts before and ends after it.
+   *
+   * @param dateTime the instant to check
+   * @return true if an event covers the instant
+   */
+  boolean covers(LocalDateTime dateTime) {
+    return coversFrom(root, dateTime);
+  }
+
+  /**
+   * Checks whether some event starts inside [from, to), walking down the start order only.
+   *
+   * @param from the first start to look for
+   * @param to   the end of the starts to look for, excluded
+   * @return true if an event starts at or after from and before to
+   */
+  boolean startsWithin(LocalDateTime from, LocalDateTime to) {
+    Node node = root;
+    while (node != null) {
+      LocalDateTime start = node.event.getStartDateTime();
+      if (start.isBefore(from)) {
+        node = node.right;
+      } else if (!start.isBefore(to)) {
+        node = node.left;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void visit(Node node, Consumer<EventReadOnly> consumer) {
+    if (node != null) {
+      visit(node.left, consumer);
+      consumer.accept(node.event);
+      visit(node.right, consumer);
+    }
+  }
+
+  private static boolean coversFrom(Node node, LocalDateTime dateTime) {
+    if (node == null || node.maxEnd.isBefore(dateTime)) {
+      return false;
+    }
+    if (coversFrom(node.left, dateTime)) {
+      return true;
+    }
+    LocalDateTime start = node.event.getStartDateTime();
+    if (start.isAfter(dateTime)) {
+      return false;
+    }
+    if (start.equals(dateTime) || node.event.getEndDateTime().isAfter(dateTime)) {
+      return true;
+    }
+    return coversFrom(node.right, dateTime);
+  }
+
+  private static void collect(Node node, LocalDateTime from, LocalDateTime to,
+                              List<EventReadOnly> result) {
+    if (node == null || node.maxEnd.isBefore(from)) {
+      return;
+    }
+    collect(node.left, from, to, result);
+    if (node.event.getStartDateTime().isAfter(to)) {
+      return;
+    }
+    if (!node.event.getEndDateTime().isBefore(from)) {
+      result.add(node.event);
+    }
+    collect(node.right, from, to, result);
+  }
+
+  private Node insertAt(Node node, EventReadOnly event) {
+    if (node == null) {
+      size++;
+      return new Node(event, null, null);
+    }
+    int cmp = ORDER.compare(event, node.event);
+    if (cmp < 0) {
+      return balance(node.event, insertAt(node.left, event), node.right);
+    }
+    if (cmp > 0) {
+      return balance(node.event, node.left, insertAt(node.right, event));
+    }
+    return new Node(event, node.left, node.right);
+  }
+
+  private Node removeFrom(Node node, EventReadOnly event) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = ORDER.compare(event, node.event);
+    if (cmp < 0) {
+      return balance(node.event, removeFrom(node.left, event), node.right);
+    }
+    if (cmp > 0) {
+      return balance(node.event, node.left, removeFrom(node.right, event));
+    }
+    size--;
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    Node successor = node.right;
+    while (successor.left != null) {
+      successor = successor.left;
+    }
+    size++;
+    return balance(successor.event, node.left, removeFrom(node.right, successor.event));
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static Node balance(EventReadOnly event, Node left, Node right) {
+    int balance = height(left) - height(right);
+    if (balance > 1) {
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left);
+      }
+      return rotateRight(new Node(event, left, right));
+    }
+    if (balance < -1) {
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right);
+      }
+      return rotateLeft(new Node(event, left, right));
+    }
+    return new Node(event, left, right);
+  }
+
+  private static Node rotateRight(Node node) {
+    Node pivot = node.left;
+    return new Node(pivot.event, pivot.left, new Node(node.event, pivot.right, node.right));
+  }
+
+  private static Node rotateLeft(Node node) {
+    Node pivot = node.right;
+    return new Node(pivot.event, new Node(node.event, node.left, pivot.left), pivot.right);
+  }
+}
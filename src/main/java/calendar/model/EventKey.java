@@ -0,0 +1,91 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * The identity of an event inside a calendar: its subject, start and end date time.
+ * Two events with the same key cannot exist in the same calendar, which matches
+ * the equality used by Event. Used as a hash key for constant time duplicate checks.
+ * A key without an end date time stands for every event with its subject and start, and
+ * keys the index of events by subject and start.
+ */
+final class EventKey {
+  private final String subject;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+  private final int hash;
+
+  /**
+   * Creates the key of the given event.
+   *
+   * @param event the event to build the key from
+   */
+  EventKey(EventReadOnly event) {
+    this(event.getSubject(), event.getStartDateTime(), event.getEndDateTime());
+  }
+
+  /**
+   * Creates a key from the identifying fields of an event.
+   *
+   * @param subject       the subject of the event
+   * @param startDateTime the start date time of the event
+   * @param endDateTime   the end date time of the event, null for a subject and start key
+   */
+  EventKey(String subject, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    this.subject = subject;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+    this.hash = Objects.hash(subject, startDateTime, endDateTime);
+  }
+
+  /**
+   * Creates the key shared by every event with the given subject and start.
+   *
+   * @param subject       the subject of the events
+   * @param startDateTime the start date time of the events
+   * @return the subject and start key
+   */
+  static EventKey ofStart(String subject, LocalDateTime startDateTime) {
+    return new EventKey(subject, startDateTime, null);
+  }
+
+  /**
+   * Returns the subject of the keyed event.
+   *
+   * @return the subject
+   */
+  String getSubject() {
+    return subject;
+  }
+
+  /**
+   * Returns the start date time of the keyed event.
+   *
+   * @return the start date time
+   */
+  LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EventKey)) {
+      return false;
+    }
+    EventKey other = (EventKey) o;
+    return hash == other.hash
+        && subject.equals(other.subject)
+        && startDateTime.equals(other.startDateTime)
+        && Objects.equals(endDateTime, other.endDateTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+}
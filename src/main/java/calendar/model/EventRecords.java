@@ -0,0 +1,447 @@
+package calendar.model;
+
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Fixed-width event records and the index of them sorted by start, for calendars that store
+ * events as rows of primitive fields instead of event objects.
+ * Each record holds an event's start and end as epoch seconds, its series id as two longs,
+ * its subject and description as indices into a table holding each distinct string once, and
+ * its location, status, type and all-day flag packed into a byte. Subclasses decide where the
+ * records and strings live; the queries over them are shared.
+ *
+ * <p>Records are only appended, and a removed record is marked in a bit set and skipped.
+ * Range and busy queries binary search the start index, bounded by the longest event
+ * duration, and scan the records appended since the index was built. Writers append past the
+ * last record in use and replace the start index instead of changing it, so a frozen copy of
+ * these fields keeps reading what it was taken with as long as the removed bit set is copied
+ * before it is written to again.
+ */
+abstract class EventRecords implements CalendarReadOnly {
+  private static final int STATUS_SHIFT = 2;
+  private static final int FIELD_MASK = 0x3;
+  private static final byte SERIES = 0x10;
+  private static final byte ALL_DAY = 0x20;
+  private static final Location[] LOCATIONS = Location.values();
+  private static final EventStatus[] STATUSES = EventStatus.values();
+
+  int rows;
+  int[] sorted;
+  int indexedRows;
+  long maxDuration;
+  long[] removedRows;
+
+  /**
+   * Creates empty records.
+   */
+  EventRecords() {
+    this.sorted = new int[0];
+    this.removedRows = new long[1];
+  }
+
+  /**
+   * Creates records sharing the storage and index of other records.
+   *
+   * @param other the records to share
+   */
+  EventRecords(EventRecords other) {
+    this.rows = other.rows;
+    this.sorted = other.sorted;
+    this.indexedRows = other.indexedRows;
+    this.maxDuration = other.maxDuration;
+    this.removedRows = other.removedRows;
+  }
+
+  /**
+   * Returns a copy of these records that shares their storage and is never written to.
+   *
+   * @return the frozen copy
+   */
+  abstract EventRecords freeze();
+
+  /**
+   * Returns empty records that share the strings of these ones.
+   *
+   * @return the new records
+   */
+  abstract EventRecords withStringsOnly();
+
+  /**
+   * Makes room for records up to the given count.
+   *
+   * @param capacity the number of records to fit
+   */
+  abstract void growTo(int capacity);
+
+  /**
+   * Writes the fields of a record.
+   *
+   * @param row         the record to write
+   * @param start       the start in epoch seconds
+   * @param end         the end in epoch seconds
+   * @param idHigh      the high bits of the series id
+   * @param idLow       the low bits of the series id
+   * @param subject     the index of the subject
+   * @param description the index of the description, or -1
+   * @param flags       the packed location, status, type and all-day flag
+   */
+  abstract void write(int row, long start, long end, long idHigh, long idLow, int subject,
+                      int description, byte flags);
+
+  abstract long start(int row);
+
+  abstract long end(int row);
+
+  abstract long idHigh(int row);
+
+  abstract long idLow(int row);
+
+  abstract int subject(int row);
+
+  abstract int description(int row);
+
+  abstract byte flags(int row);
+
+  /**
+   * Returns a stored string.
+   *
+   * @param index the index of the string, or -1
+   * @return the string, or null for -1
+   */
+  abstract String string(int index);
+
+  /**
+   * Returns the index of a stored string.
+   *
+   * @param value the string to look for
+   * @return its index, or -1 if it is not stored
+   */
+  abstract int lookup(String value);
+
+  /**
+   * Returns the index of a string, storing it if it is new.
+   *
+   * @param value the string, or null
+   * @return its index, or -1 for null
+   */
+  abstract int intern(String value);
+
+  /**
+   * Makes room for the given number of records and their removed marks.
+   *
+   * @param capacity the number of records to fit
+   */
+  final void ensureCapacity(int capacity) {
+    growTo(capacity);
+    int words = (capacity + 63) >>> 6;
+    if (words > removedRows.length) {
+      removedRows = Arrays.copyOf(removedRows, Math.max(words, removedRows.length * 2));
+    }
+  }
+
+  /**
+   * Appends an event as a new record.
+   *
+   * @param event the event to store
+   * @return the new record
+   */
+  final int append(EventReadOnly event) {
+    int subject = intern(event.getSubject());
+    int description = intern(event.getDescription());
+    int row = rows;
+    ensureCapacity(row + 1);
+    long start = seconds(event.getStartDateTime());
+    long end = seconds(event.getEndDateTime());
+    UUID id = event.getId();
+    write(row, start, end, id.getMostSignificantBits(), id.getLeastSignificantBits(), subject,
+        description, pack(event));
+    maxDuration = Math.max(maxDuration, end - start);
+    rows = row + 1;
+    return row;
+  }
+
+  /**
+   * Returns new records holding the records still in use, in start order, with a full index.
+   *
+   * @return the compacted records
+   */
+  final EventRecords compacted() {
+    mergeUnindexed();
+    EventRecords r = withStringsOnly();
+    r.ensureCapacity(sorted.length);
+    int row = 0;
+    for (int from : sorted) {
+      r.write(row, start(from), end(from), idHigh(from), idLow(from), subject(from),
+          description(from), flags(from));
+      r.maxDuration = Math.max(r.maxDuration, end(from) - start(from));
+      row++;
+    }
+    r.rows = row;
+    r.indexedRows = row;
+    r.sorted = new int[row];
+    for (int i = 0; i < row; i++) {
+      r.sorted[i] = i;
+    }
+    return r;
+  }
+
+  final boolean isRemoved(int row) {
+    return (removedRows[row >>> 6] & 1L << row) != 0;
+  }
+
+  final void markRemoved(int row) {
+    removedRows[row >>> 6] |= 1L << row;
+  }
+
+  /**
+   * Returns the event stored in a record, as a view decoding the record on each call.
+   *
+   * @param row the record
+   * @return the event
+   */
+  final EventReadOnly event(int row) {
+    return new Row(this, row);
+  }
+
+  /**
+   * Sorts the records appended since the index was built and merges them into a new
+   * index, leaving out removed records.
+   */
+  final void mergeUnindexed() {
+    int[] unindexed = new int[rows - indexedRows];
+    int count = 0;
+    for (int row = indexedRows; row < rows; row++) {
+      if (!isRemoved(row)) {
+        unindexed[count++] = row;
+      }
+    }
+    sortByStart(unindexed, count);
+    int[] merged = new int[sorted.length + count];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < sorted.length || j < count) {
+      int row = j == count || (i < sorted.length && start(sorted[i]) <= start(unindexed[j]))
+          ? sorted[i++] : unindexed[j++];
+      if (!isRemoved(row)) {
+        merged[size++] = row;
+      }
+    }
+    sorted = size == merged.length ? merged : Arrays.copyOf(merged, size);
+    indexedRows = rows;
+  }
+
+  /**
+   * Sorts the first records of an array by start with a bottom-up merge sort.
+   *
+   * @param rows  the records to sort
+   * @param count the number of records to sort
+   */
+  private void sortByStart(int[] rows, int count) {
+    int[] from = rows;
+    int[] to = new int[count];
+    for (int width = 1; width < count; width *= 2) {
+      for (int low = 0; low < count; low += 2 * width) {
+        int middle = Math.min(low + width, count);
+        int high = Math.min(low + 2 * width, count);
+        int i = low;
+        int j = middle;
+        for (int k = low; k < high; k++) {
+          to[k] = j == high || (i < middle && start(from[i]) <= start(from[j]))
+              ? from[i++] : from[j++];
+        }
+      }
+      int[] swap = from;
+      from = to;
+      to = swap;
+    }
+    if (from != rows) {
+      System.arraycopy(from, 0, rows, 0, count);
+    }
+  }
+
+  /**
+   * Passes every record overlapping the closed range [from, to] to the consumer.
+   *
+   * @param from  the start of the range in epoch seconds
+   * @param to    the end of the range in epoch seconds
+   * @param found the consumer of the records
+   */
+  private void overlapping(long from, long to, IntConsumer found) {
+    for (int i = lowerBound(from - maxDuration); i < sorted.length; i++) {
+      int row = sorted[i];
+      if (start(row) > to) {
+        break;
+      }
+      if (end(row) >= from && !isRemoved(row)) {
+        found.accept(row);
+      }
+    }
+    for (int row = indexedRows; row < rows; row++) {
+      if (start(row) <= to && end(row) >= from && !isRemoved(row)) {
+        found.accept(row);
+      }
+    }
+  }
+
+  /**
+   * Returns the first position of the start index whose record starts at or after a time.
+   *
+   * @param start the time in epoch seconds
+   * @return the position, or the size of the index if every record starts earlier
+   */
+  private int lowerBound(long start) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (start(sorted[middle]) < start) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    long time = seconds(dateTime);
+    boolean[] busy = new boolean[1];
+    overlapping(time, time, row -> busy[0] |= start(row) == time || end(row) > time);
+    return busy[0];
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    for (int row : sorted) {
+      if (!isRemoved(row)) {
+        consumer.accept(event(row));
+      }
+    }
+    for (int row = indexedRows; row < rows; row++) {
+      if (!isRemoved(row)) {
+        consumer.accept(event(row));
+      }
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime,
+                                       LocalDateTime endDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    overlapping(seconds(startDateTime), seconds(endDateTime), row -> result.add(event(row)));
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    forEachEvent(event -> allEvents
+        .computeIfAbsent(event.getStartDateTime().toLocalDate(), date -> new ArrayList<>())
+        .add(event));
+    if (indexedRows < rows) {
+      allEvents.values().forEach(day -> day.sort(EventIntervalTree.ORDER));
+    }
+    return allEvents;
+  }
+
+  @Override
+  public CalendarReadOnly snapshot() {
+    return this;
+  }
+
+  static long seconds(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  private static LocalDateTime dateTime(long seconds) {
+    return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+  }
+
+  private static byte pack(EventReadOnly event) {
+    int flags = event.getLocation().ordinal()
+        | event.getEventStatus().ordinal() << STATUS_SHIFT;
+    if (event.getEventType() == TypeOfEvent.SERIES) {
+      flags |= SERIES;
+    }
+    if (event.isAllDay()) {
+      flags |= ALL_DAY;
+    }
+    return (byte) flags;
+  }
+
+  /**
+   * An event read from one record.
+   */
+  private static final class Row extends EventView {
+    private final EventRecords records;
+    private final int row;
+
+    private Row(EventRecords records, int row) {
+      this.records = records;
+      this.row = row;
+    }
+
+    @Override
+    public String getSubject() {
+      return records.string(records.subject(row));
+    }
+
+    @Override
+    public LocalDateTime getStartDateTime() {
+      return dateTime(records.start(row));
+    }
+
+    @Override
+    public LocalDateTime getEndDateTime() {
+      return dateTime(records.end(row));
+    }
+
+    @Override
+    public String getDescription() {
+      return records.string(records.description(row));
+    }
+
+    @Override
+    public Location getLocation() {
+      return LOCATIONS[records.flags(row) & FIELD_MASK];
+    }
+
+    @Override
+    public EventStatus getEventStatus() {
+      return STATUSES[records.flags(row) >> STATUS_SHIFT & FIELD_MASK];
+    }
+
+    @Override
+    public TypeOfEvent getEventType() {
+      return (records.flags(row) & SERIES) != 0 ? TypeOfEvent.SERIES : TypeOfEvent.SINGLE;
+    }
+
+    @Override
+    public UUID getId() {
+      return new UUID(records.idHigh(row), records.idLow(row));
+    }
+
+    @Override
+    public boolean isAllDay() {
+      return (records.flags(row) & ALL_DAY) != 0;
+    }
+  }
+}
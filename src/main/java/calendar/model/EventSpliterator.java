@@ -0,0 +1,115 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the events of consecutive day buckets.
+ * Each bucket is sorted by start when it is reached, so events come in start order. The
+ * number of events left is always known exactly, and a split hands the first half of the
+ * remaining events, rounded to whole buckets, to a new spliterator.
+ * The buckets must not change while the spliterator is in use.
+ */
+final class EventSpliterator implements Spliterator<EventReadOnly> {
+  private final List<List<EventReadOnly>> buckets;
+  private final int[] offsets;
+  private final int fence;
+  private int next;
+  private List<EventReadOnly> current;
+  private int index;
+  private long remaining;
+
+  /**
+   * Creates a spliterator over the given buckets, in their iteration order.
+   *
+   * @param buckets the events of each day, days in date order
+   */
+  EventSpliterator(Collection<List<EventReadOnly>> buckets) {
+    this.buckets = new ArrayList<>(buckets);
+    this.offsets = new int[this.buckets.size() + 1];
+    for (int i = 0; i < this.buckets.size(); i++) {
+      offsets[i + 1] = offsets[i] + this.buckets.get(i).size();
+    }
+    this.fence = this.buckets.size();
+    this.remaining = offsets[fence];
+  }
+
+  private EventSpliterator(EventSpliterator parent, int fence, long remaining) {
+    this.buckets = parent.buckets;
+    this.offsets = parent.offsets;
+    this.fence = fence;
+    this.next = parent.next;
+    this.current = parent.current;
+    this.index = parent.index;
+    this.remaining = remaining;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super EventReadOnly> action) {
+    while (current == null || index == current.size()) {
+      if (next == fence) {
+        current = null;
+        return false;
+      }
+      current = sorted(buckets.get(next++));
+      index = 0;
+    }
+    remaining--;
+    action.accept(current.get(index++));
+    return true;
+  }
+
+  /**
+   * Splits off the events before the bucket that holds the middle of the remaining events,
+   * including what is left of the bucket being read.
+   *
+   * @return the spliterator over the first part, or null if fewer than two buckets are left
+   */
+  @Override
+  public EventSpliterator trySplit() {
+    if (fence - next < 2) {
+      return null;
+    }
+    int target = offsets[next] + (offsets[fence] - offsets[next]) / 2;
+    int low = next + 1;
+    int high = fence - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (offsets[middle] < target) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    long prefix = remaining - (offsets[fence] - offsets[low]);
+    EventSpliterator first = new EventSpliterator(this, low, prefix);
+    next = low;
+    current = null;
+    index = 0;
+    remaining -= prefix;
+    return first;
+  }
+
+  @Override
+  public long estimateSize() {
+    return remaining;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL;
+  }
+
+  private static List<EventReadOnly> sorted(List<EventReadOnly> bucket) {
+    if (bucket.size() < 2) {
+      return bucket;
+    }
+    List<EventReadOnly> copy = new ArrayList<>(bucket);
+    copy.sort(EventIntervalTree.ORDER);
+    return copy;
+  }
+}
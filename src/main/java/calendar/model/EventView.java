@@ -0,0 +1,36 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.util.Objects;
+
+/**
+ * Base of the events that calendars decode from their own storage on each call instead of
+ * keeping Event objects. Equality follows the subject, start and end, like Event, and the
+ * string form is the one of the equal Event.
+ */
+abstract class EventView implements EventReadOnly {
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EventReadOnly)) {
+      return false;
+    }
+    EventReadOnly event = (EventReadOnly) o;
+    return getSubject().equals(event.getSubject())
+        && getStartDateTime().equals(event.getStartDateTime())
+        && getEndDateTime().equals(event.getEndDateTime());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getSubject(), getStartDateTime(), getEndDateTime());
+  }
+
+  @Override
+  public String toString() {
+    return new Event.EventBuilder(this).build().toString();
+  }
+}
@@ -0,0 +1,153 @@
+package calendar.model;
+
+import calendar.model.datatypes.FreeSlot;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the gaps in which none of a set of calendars is busy.
+ * The busy intervals of each calendar inside the searched window are placed on a common
+ * timeline of instants, each calendar reading its event times in its own time zone, sorted,
+ * and merged across calendars. A single sweep over the merged intervals then yields the free
+ * gaps in order, so a search costs one range query per calendar instead of a busy check per
+ * minute. Window and slots are given in the time zone of the finder.
+ */
+public final class FreeSlotFinder {
+  private static final Comparator<Instant[]> BY_START =
+      Comparator.comparing((Instant[] busy) -> busy[0]);
+
+  private final ZoneId zoneId;
+
+  /**
+   * Creates a finder whose window and slots are expressed in the given time zone.
+   *
+   * @param zoneId the time zone of the common timeline
+   */
+  public FreeSlotFinder(ZoneId zoneId) {
+    this.zoneId = Objects.requireNonNull(zoneId);
+  }
+
+  /**
+   * Returns the earliest free slots of at least the given duration inside [from, to).
+   * Each slot is a whole gap between busy intervals, cut to the window; it is free in every
+   * calendar at every instant, including the starts of events that last no time.
+   *
+   * @param calendars the calendars that must all be free
+   * @param from      the start of the window
+   * @param to        the end of the window, excluded
+   * @param duration  the shortest gap to report
+   * @param limit     the most slots to return
+   * @return up to limit slots, earliest first
+   * @throws IllegalArgumentException if the window ends before it starts, the duration is
+   *                                  not positive or the limit is below 1
+   */
+  public List<FreeSlot> find(Collection<? extends AdvancedCalendar> calendars,
+                             LocalDateTime from, LocalDateTime to, Duration duration,
+                             int limit) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("Slot duration must be positive");
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("Slot count must be at least 1");
+    }
+    Instant windowStart = from.atZone(zoneId).toInstant();
+    Instant windowEnd = to.atZone(zoneId).toInstant();
+
+    PriorityQueue<Cursor> merge = new PriorityQueue<>(
+        Comparator.comparing((Cursor cursor) -> cursor.peek()[0]));
+    for (AdvancedCalendar calendar : calendars) {
+      Cursor cursor = new Cursor(busyIntervals(calendar, windowStart, windowEnd));
+      if (cursor.hasNext()) {
+        merge.add(cursor);
+      }
+    }
+
+    List<FreeSlot> slots = new ArrayList<>();
+    Instant free = windowStart;
+    while (!merge.isEmpty() && slots.size() < limit) {
+      Cursor cursor = merge.poll();
+      Instant[] busy = cursor.next();
+      if (cursor.hasNext()) {
+        merge.add(cursor);
+      }
+      addSlot(slots, free, busy[0], duration);
+      if (busy[1].isAfter(free)) {
+        free = busy[1];
+      }
+    }
+    if (slots.size() < limit) {
+      addSlot(slots, free, windowEnd, duration);
+    }
+    return slots;
+  }
+
+  private void addSlot(List<FreeSlot> slots, Instant start, Instant end, Duration duration) {
+    if (!Duration.between(start, end).minus(duration).isNegative()) {
+      slots.add(new FreeSlot(LocalDateTime.ofInstant(start, zoneId),
+          LocalDateTime.ofInstant(end, zoneId)));
+    }
+  }
+
+  /**
+   * Returns the busy intervals of one calendar that meet the window, as instants sorted by
+   * start. An event that lasts no time still blocks its start instant.
+   */
+  private static List<Instant[]> busyIntervals(AdvancedCalendar calendar, Instant windowStart,
+                                               Instant windowEnd) {
+    ZoneId zone = calendar.getZoneId();
+    List<Instant[]> intervals = new ArrayList<>();
+    calendar.stream(LocalDateTime.ofInstant(windowStart, zone),
+        LocalDateTime.ofInstant(windowEnd, zone)).forEach(event -> {
+          Instant start = instant(event.getStartDateTime(), zone);
+          Instant end = instant(event.getEndDateTime(), zone);
+          if (!end.isAfter(start)) {
+            end = start.plusNanos(1);
+          }
+          if (start.isBefore(windowEnd) && end.isAfter(windowStart)) {
+            intervals.add(new Instant[] {start, end});
+          }
+        });
+    intervals.sort(BY_START);
+    return intervals;
+  }
+
+  private static Instant instant(LocalDateTime dateTime, ZoneId zone) {
+    return dateTime.atZone(zone).toInstant();
+  }
+
+  /**
+   * The position in the sorted busy intervals of one calendar.
+   */
+  private static final class Cursor {
+    private final List<Instant[]> intervals;
+    private int index;
+
+    private Cursor(List<Instant[]> intervals) {
+      this.intervals = intervals;
+    }
+
+    private boolean hasNext() {
+      return index < intervals.size();
+    }
+
+    private Instant[] peek() {
+      return intervals.get(index);
+    }
+
+    private Instant[] next() {
+      return intervals.get(index++);
+    }
+  }
+}
@@ -0,0 +1,281 @@
+package calendar.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A calendar that keeps its events outside the Java heap, meant for very large calendars that
+ * are mostly read. Each event is a fixed-width record of 48 bytes in direct buffers allocated
+ * a few thousand records at a time: its start and end as epoch seconds, its series id, the
+ * indices of its subject and description, and its location, status, type and all-day flag
+ * packed into a byte. Subjects and descriptions are stored once each, as UTF-8 bytes in direct
+ * buffers too. What stays on the heap are primitive arrays, a sorted start index and a few
+ * hash tables, so the garbage collector has a handful of objects to trace however many events
+ * are stored. The direct memory used counts against the JVM's direct memory limit.
+ *
+ * <p>Records are only appended; a removed record is marked in a bit set and skipped, and the
+ * records are compacted once more of them are removed than kept. Range and busy queries
+ * binary search the start index, bounded by the longest event duration, and records appended
+ * since the index was built are scanned until enough of them have gathered to merge them in
+ * on the next read. Series lookups follow a chain of the records of each series.
+ *
+ * <p>Events read from the calendar are views of their record, decoded on each call.
+ * A view keeps answering with the values of its record even after the event is edited or
+ * removed. Compacted buffers are released once no view or snapshot of them is reachable.
+ * Times are kept to the second.
+ */
+public class OffHeapCalendarImpl extends RecordCalendar {
+  private static final int RECORD_SIZE = 48;
+  private static final int START = 0;
+  private static final int END = 8;
+  private static final int ID_HIGH = 16;
+  private static final int ID_LOW = 24;
+  private static final int SUBJECT = 32;
+  private static final int DESCRIPTION = 36;
+  private static final int FLAGS = 40;
+  private static final int CHUNK_SHIFT = 12;
+  private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+  private static final int STRING_CHUNK_SIZE = 1 << 16;
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Constructor of a new empty off-heap calendar.
+   */
+  public OffHeapCalendarImpl() {
+    super(new Records());
+  }
+
+  private static int offset(int row) {
+    return (row & CHUNK_MASK) * RECORD_SIZE;
+  }
+
+  private static int mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  /**
+   * The records and strings of the calendar in direct buffers. Strings are written past the
+   * last one in use, so every copy of the records can share the string buffers and the hash
+   * table finding them.
+   */
+  private static final class Records extends EventRecords {
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private ByteBuffer[] stringChunks;
+    private int stringChunkCount;
+    private int stringFill;
+    private int[] stringChunk;
+    private int[] stringOffset;
+    private int[] stringLength;
+    private int[] stringHash;
+    private int stringCount;
+    private int[] stringSlots;
+
+    private Records() {
+      this.chunks = new ByteBuffer[INITIAL_CAPACITY];
+      this.stringChunks = new ByteBuffer[INITIAL_CAPACITY];
+      this.stringChunk = new int[INITIAL_CAPACITY];
+      this.stringOffset = new int[INITIAL_CAPACITY];
+      this.stringLength = new int[INITIAL_CAPACITY];
+      this.stringHash = new int[INITIAL_CAPACITY];
+      this.stringSlots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    private Records(Records other) {
+      super(other);
+      this.chunks = other.chunks;
+      this.chunkCount = other.chunkCount;
+      copyStrings(other);
+    }
+
+    private void copyStrings(Records other) {
+      this.stringChunks = other.stringChunks;
+      this.stringChunkCount = other.stringChunkCount;
+      this.stringFill = other.stringFill;
+      this.stringChunk = other.stringChunk;
+      this.stringOffset = other.stringOffset;
+      this.stringLength = other.stringLength;
+      this.stringHash = other.stringHash;
+      this.stringCount = other.stringCount;
+      this.stringSlots = other.stringSlots;
+    }
+
+    @Override
+    Records freeze() {
+      return new Records(this);
+    }
+
+    @Override
+    Records withStringsOnly() {
+      Records r = new Records();
+      r.copyStrings(this);
+      return r;
+    }
+
+    /**
+     * Allocates buffers until the given number of records fits.
+     *
+     * @param capacity the number of records to fit
+     */
+    @Override
+    void growTo(int capacity) {
+      while (chunkCount << CHUNK_SHIFT < capacity) {
+        if (chunkCount == chunks.length) {
+          chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = ByteBuffer.allocateDirect(RECORD_SIZE << CHUNK_SHIFT);
+      }
+    }
+
+    @Override
+    void write(int row, long start, long end, long idHigh, long idLow, int subject,
+               int description, byte flags) {
+      ByteBuffer chunk = chunk(row);
+      int at = offset(row);
+      chunk.putLong(at + START, start);
+      chunk.putLong(at + END, end);
+      chunk.putLong(at + ID_HIGH, idHigh);
+      chunk.putLong(at + ID_LOW, idLow);
+      chunk.putInt(at + SUBJECT, subject);
+      chunk.putInt(at + DESCRIPTION, description);
+      chunk.put(at + FLAGS, flags);
+    }
+
+    private ByteBuffer chunk(int row) {
+      return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    @Override
+    long start(int row) {
+      return chunk(row).getLong(offset(row) + START);
+    }
+
+    @Override
+    long end(int row) {
+      return chunk(row).getLong(offset(row) + END);
+    }
+
+    @Override
+    long idHigh(int row) {
+      return chunk(row).getLong(offset(row) + ID_HIGH);
+    }
+
+    @Override
+    long idLow(int row) {
+      return chunk(row).getLong(offset(row) + ID_LOW);
+    }
+
+    @Override
+    int subject(int row) {
+      return chunk(row).getInt(offset(row) + SUBJECT);
+    }
+
+    @Override
+    int description(int row) {
+      return chunk(row).getInt(offset(row) + DESCRIPTION);
+    }
+
+    @Override
+    byte flags(int row) {
+      return chunk(row).get(offset(row) + FLAGS);
+    }
+
+    @Override
+    String string(int index) {
+      return index < 0 ? null : new String(stringBytes(index), StandardCharsets.UTF_8);
+    }
+
+    private byte[] stringBytes(int index) {
+      byte[] bytes = new byte[stringLength[index]];
+      stringChunks[stringChunk[index]].get(stringOffset[index], bytes);
+      return bytes;
+    }
+
+    @Override
+    int lookup(String value) {
+      return lookup(value, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int lookup(String value, byte[] bytes) {
+      int hash = value.hashCode();
+      int mask = stringSlots.length - 1;
+      for (int slot = mix(hash) & mask; stringSlots[slot] != 0; slot = (slot + 1) & mask) {
+        int index = stringSlots[slot] - 1;
+        if (stringHash[index] == hash && Arrays.equals(stringBytes(index), bytes)) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    int intern(String value) {
+      if (value == null) {
+        return -1;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      int index = lookup(value, bytes);
+      if (index < 0) {
+        index = addString(value.hashCode(), bytes);
+        if ((index + 1) * 2 > stringSlots.length) {
+          int[] old = stringSlots;
+          stringSlots = new int[old.length * 2];
+          for (int slot : old) {
+            if (slot != 0) {
+              insertString(slot - 1);
+            }
+          }
+        }
+        insertString(index);
+      }
+      return index;
+    }
+
+    private void insertString(int index) {
+      int mask = stringSlots.length - 1;
+      int slot = mix(stringHash[index]) & mask;
+      while (stringSlots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      stringSlots[slot] = index + 1;
+    }
+
+    /**
+     * Stores the UTF-8 bytes of a new string.
+     *
+     * @param hash  the hash code of the string
+     * @param bytes the encoded string
+     * @return the index of the string
+     */
+    private int addString(int hash, byte[] bytes) {
+      if (stringChunkCount == 0 || stringFill + bytes.length > STRING_CHUNK_SIZE) {
+        if (stringChunkCount == stringChunks.length) {
+          stringChunks = Arrays.copyOf(stringChunks, stringChunks.length * 2);
+        }
+        stringChunks[stringChunkCount++] =
+            ByteBuffer.allocateDirect(Math.max(STRING_CHUNK_SIZE, bytes.length));
+        stringFill = 0;
+      }
+      if (stringCount == stringHash.length) {
+        int capacity = stringCount * 2;
+        stringChunk = Arrays.copyOf(stringChunk, capacity);
+        stringOffset = Arrays.copyOf(stringOffset, capacity);
+        stringLength = Arrays.copyOf(stringLength, capacity);
+        stringHash = Arrays.copyOf(stringHash, capacity);
+      }
+      int index = stringCount;
+      stringChunks[stringChunkCount - 1].put(stringFill, bytes);
+      stringChunk[index] = stringChunkCount - 1;
+      stringOffset[index] = stringFill;
+      stringLength[index] = bytes.length;
+      stringHash[index] = hash;
+      stringFill += bytes.length;
+      stringCount = index + 1;
+      return index;
+    }
+  }
+}
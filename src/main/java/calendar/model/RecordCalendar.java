@@ -0,0 +1,398 @@
+package calendar.model;
+
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A calendar that keeps its events as fixed-width records, whatever the records are stored in.
+ * Identity lookups go through an open-addressing hash table of records, and series lookups
+ * follow a chain linking the records of each series id, so neither scans the records.
+ * The records are compacted once more of them are removed than kept, which also drops the
+ * removed records from both tables.
+ *
+ * <p>Events read from the calendar are views of their record, decoded on each call.
+ * A view keeps answering with the values of its record even after the event is edited or
+ * removed. Times are kept to the second.
+ */
+abstract class RecordCalendar implements CalendarEditable {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAX_UNINDEXED = 1024;
+  private static final int MIN_COMPACTION = 1024;
+
+  private EventRecords records;
+  private int[] slots;
+  private int[] seriesSlots;
+  private int[] previousInSeries;
+  private int seriesCount;
+  private int live;
+  private int removed;
+  private boolean shared;
+
+  /**
+   * Creates a calendar storing its events in the given empty records.
+   *
+   * @param records the records to store the events in
+   */
+  RecordCalendar(EventRecords records) {
+    this.records = records;
+    this.slots = new int[INITIAL_CAPACITY * 2];
+    this.seriesSlots = new int[INITIAL_CAPACITY * 2];
+    this.previousInSeries = new int[INITIAL_CAPACITY];
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly newEvent) {
+    if (find(newEvent) >= 0) {
+      throw new IllegalArgumentException("Event already exists");
+    }
+    append(newEvent);
+    return newEvent;
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> newEvents) {
+    Set<EventKey> batch = new HashSet<>();
+    for (EventReadOnly newEvent : newEvents) {
+      if (find(newEvent) >= 0 || !batch.add(new EventKey(newEvent))) {
+        throw new IllegalArgumentException("Event already exists");
+      }
+    }
+    for (EventReadOnly newEvent : newEvents) {
+      append(newEvent);
+    }
+    return new ArrayList<>(newEvents);
+  }
+
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    if (!getSeries(template.getId()).isEmpty()) {
+      throw new IllegalArgumentException("Series already exists");
+    }
+    List<EventReadOnly> occurrences = new ArrayList<>();
+    new SeriesRule(template, rule).forEach(occurrences::add);
+    addEvents(occurrences);
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    return EventEditor.edit(this, this::updateEvent, events, property, newValue);
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    int row = find(event);
+    if (row >= 0) {
+      remove(row);
+    }
+  }
+
+  /**
+   * Returns the events of a series by following the chain of its records, in time order.
+   *
+   * @param seriesId the id of the series
+   * @return the events of the series
+   */
+  @Override
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    EventRecords r = records;
+    List<EventReadOnly> result = new ArrayList<>();
+    int slot = seriesSlot(seriesId.getMostSignificantBits(), seriesId.getLeastSignificantBits());
+    for (int link = seriesSlots[slot]; link != 0; link = previousInSeries[link - 1]) {
+      if (!r.isRemoved(link - 1)) {
+        result.add(r.event(link - 1));
+      }
+    }
+    result.sort(EventIntervalTree.ORDER);
+    return result;
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    List<EventReadOnly> result = getSeries(seriesId);
+    result.removeIf(event -> event.getStartDateTime().isBefore(from));
+    return result;
+  }
+
+  @Override
+  public boolean containsEvent(EventReadOnly event) {
+    return find(event) >= 0;
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    return indexed().isBusy(dateTime);
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    indexed().forEachEvent(consumer);
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return indexed().getEvents(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    return indexed().getAllEvents();
+  }
+
+  /**
+   * Returns a view of the events as they are now, in constant time. The view shares the
+   * records of this calendar: records appended later lie beyond its end, and the first
+   * removal after it is taken copies the removed bit set so the view keeps its own.
+   *
+   * @return the immutable view of the events
+   */
+  @Override
+  public CalendarReadOnly snapshot() {
+    shared = true;
+    return records.freeze();
+  }
+
+  /**
+   * Returns the number of events in the calendar.
+   *
+   * @return the number of stored events
+   */
+  @Override
+  public int size() {
+    return live;
+  }
+
+  /**
+   * Returns the records, first merging the ones appended since the start index was built
+   * once there are too many of them to scan on every read.
+   *
+   * @return the current records
+   */
+  private EventRecords indexed() {
+    EventRecords r = records;
+    if (r.rows - r.indexedRows > MAX_UNINDEXED) {
+      r.mergeUnindexed();
+    }
+    return r;
+  }
+
+  /**
+   * Replaces a stored event with its edited version.
+   *
+   * @param oldEvent the event currently in the calendar
+   * @param newEvent the edited event
+   * @throws IllegalArgumentException if the edited event conflicts with an existing event
+   */
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    if (!new EventKey(newEvent).equals(new EventKey(oldEvent)) && find(newEvent) >= 0) {
+      throw new IllegalArgumentException("Update conflicting with existing event");
+    }
+    removeEvent(oldEvent);
+    append(newEvent);
+  }
+
+  /**
+   * Stores an event in a new record and adds it to both tables.
+   *
+   * @param event the event to store
+   */
+  private void append(EventReadOnly event) {
+    int row = records.append(event);
+    live++;
+    if (live * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+    insertSlot(row);
+    link(row);
+  }
+
+  /**
+   * Marks a record removed, compacting the records once most of them are removed.
+   * The record stays in the chain of its series until then and is skipped there.
+   *
+   * @param row the record to remove
+   */
+  private void remove(int row) {
+    EventRecords r = records;
+    removeSlot(row);
+    if (shared) {
+      r.removedRows = r.removedRows.clone();
+      shared = false;
+    }
+    r.markRemoved(row);
+    live--;
+    removed++;
+    if (removed > MIN_COMPACTION && removed > live) {
+      compact();
+    }
+  }
+
+  /**
+   * Copies the records still in use, in start order, into new records and rebuilds both
+   * tables. Views and snapshots of the old records are left as they were.
+   */
+  private void compact() {
+    records = records.compacted();
+    removed = 0;
+    shared = false;
+    int capacity = Math.max(Integer.highestOneBit(Math.max(live, 1)) * 4, INITIAL_CAPACITY * 2);
+    rehash(capacity);
+    relink(capacity);
+  }
+
+  private static int mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  /**
+   * Returns the record holding an event with the identity of the given event.
+   *
+   * @param event the event to look for
+   * @return the record, or -1 if there is none
+   */
+  private int find(EventReadOnly event) {
+    EventRecords r = records;
+    int subject = r.lookup(event.getSubject());
+    if (subject < 0) {
+      return -1;
+    }
+    long start = EventRecords.seconds(event.getStartDateTime());
+    long end = EventRecords.seconds(event.getEndDateTime());
+    int mask = slots.length - 1;
+    for (int slot = hash(subject, start, end) & mask; slots[slot] != 0;
+         slot = (slot + 1) & mask) {
+      int row = slots[slot] - 1;
+      if (r.subject(row) == subject && r.start(row) == start && r.end(row) == end) {
+        return row;
+      }
+    }
+    return -1;
+  }
+
+  private int hash(int row) {
+    EventRecords r = records;
+    return hash(r.subject(row), r.start(row), r.end(row));
+  }
+
+  private static int hash(int subject, long start, long end) {
+    return mix(subject * 0x9E3779B97F4A7C15L + start * 31 + end);
+  }
+
+  private void insertSlot(int row) {
+    int mask = slots.length - 1;
+    int slot = hash(row) & mask;
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = row + 1;
+  }
+
+  /**
+   * Removes a record from the hash table, shifting back the records that probed past it so
+   * that no tombstones are left behind.
+   *
+   * @param row the record to remove
+   */
+  private void removeSlot(int row) {
+    int mask = slots.length - 1;
+    int slot = hash(row) & mask;
+    while (slots[slot] != row + 1) {
+      slot = (slot + 1) & mask;
+    }
+    for (int next = (slot + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+      int home = hash(slots[next] - 1) & mask;
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        slots[slot] = slots[next];
+        slot = next;
+      }
+    }
+    slots[slot] = 0;
+  }
+
+  private void rehash(int capacity) {
+    EventRecords r = records;
+    slots = new int[capacity];
+    for (int row = 0; row < r.rows; row++) {
+      if (!r.isRemoved(row)) {
+        insertSlot(row);
+      }
+    }
+  }
+
+  /**
+   * Returns the slot of the series table holding the last record of a series id, or the
+   * empty slot where it would go.
+   *
+   * @param idHigh the high bits of the series id
+   * @param idLow  the low bits of the series id
+   * @return the slot
+   */
+  private int seriesSlot(long idHigh, long idLow) {
+    EventRecords r = records;
+    int mask = seriesSlots.length - 1;
+    int slot = mix(idHigh * 31 + idLow) & mask;
+    while (seriesSlots[slot] != 0) {
+      int row = seriesSlots[slot] - 1;
+      if (r.idLow(row) == idLow && r.idHigh(row) == idHigh) {
+        break;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Makes a record the last one in the chain of its series id.
+   *
+   * @param row the record to link
+   */
+  private void link(int row) {
+    EventRecords r = records;
+    if (row == previousInSeries.length) {
+      previousInSeries = Arrays.copyOf(previousInSeries, row * 2);
+    }
+    int slot = seriesSlot(r.idHigh(row), r.idLow(row));
+    if (seriesSlots[slot] == 0) {
+      seriesCount++;
+    }
+    previousInSeries[row] = seriesSlots[slot];
+    seriesSlots[slot] = row + 1;
+    if (seriesCount * 2 > seriesSlots.length) {
+      relink(seriesSlots.length * 2);
+    }
+  }
+
+  /**
+   * Rebuilds the series table and chains from the records still in use.
+   *
+   * @param capacity the number of slots of the new table
+   */
+  private void relink(int capacity) {
+    EventRecords r = records;
+    seriesSlots = new int[capacity];
+    previousInSeries = new int[Math.max(r.rows, INITIAL_CAPACITY)];
+    seriesCount = 0;
+    for (int row = 0; row < r.rows; row++) {
+      if (!r.isRemoved(row)) {
+        link(row);
+      }
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package calendar.model;
+
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A recurring series stored as a template event and its recurrence rule.
+ * Occurrences are built on demand when the calendar is read instead of being kept in memory.
+ * Occurrences that were removed or edited are recorded as exception dates; an edited
+ * occurrence is then stored by the calendar as an ordinary event.
+ */
+class SeriesRule {
+  private final EventReadOnly template;
+  private final RecurrenceRule rule;
+  private final LocalDate firstDate;
+  private final LocalDate lastDate;
+  private final Duration duration;
+  private final long spanDays;
+  private final int total;
+  private final Set<LocalDate> exceptions;
+
+  /**
+   * Creates a series from its template and rule.
+   *
+   * @param template the event whose properties the series shares; its start date
+   *                 anchors the rule
+   * @param rule     the recurrence rule of the series
+   */
+  SeriesRule(EventReadOnly template, RecurrenceRule rule) {
+    this.template = template;
+    this.rule = rule;
+    LocalDate anchor = template.getStartDateTime().toLocalDate();
+    this.firstDate = anchor;
+    this.lastDate = rule.lastDate(anchor);
+    this.duration = Duration.between(template.getStartDateTime(), template.getEndDateTime());
+    this.spanDays = ChronoUnit.DAYS.between(anchor, template.getEndDateTime().toLocalDate());
+    this.total = rule.count(anchor);
+    this.exceptions = new HashSet<>();
+  }
+
+  private SeriesRule(SeriesRule other) {
+    this.template = other.template;
+    this.rule = other.rule;
+    this.firstDate = other.firstDate;
+    this.lastDate = other.lastDate;
+    this.duration = other.duration;
+    this.spanDays = other.spanDays;
+    this.total = other.total;
+    this.exceptions = new HashSet<>(other.exceptions);
+  }
+
+  /**
+   * Returns a copy of the series whose exceptions are independent of this one.
+   *
+   * @return the copy
+   */
+  SeriesRule copy() {
+    return new SeriesRule(this);
+  }
+
+  /**
+   * Returns the event the occurrences are copied from. Every occurrence has its subject
+   * and description.
+   *
+   * @return the template of the series
+   */
+  EventReadOnly getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns the recurrence rule the occurrence dates follow.
+   *
+   * @return the rule of the series
+   */
+  RecurrenceRule getRule() {
+    return rule;
+  }
+
+  /**
+   * Passes the occurrence of every removed or edited date to the consumer, in date order,
+   * as it was before it was removed or edited.
+   *
+   * @param consumer the consumer of the excluded occurrences
+   */
+  void forEachException(Consumer<EventReadOnly> consumer) {
+    for (LocalDate date : new TreeSet<>(exceptions)) {
+      consumer.accept(occurrence(date));
+    }
+  }
+
+  /**
+   * Returns the id shared by every occurrence of the series.
+   *
+   * @return the series id
+   */
+  UUID getId() {
+    return template.getId();
+  }
+
+  /**
+   * Returns the subject shared by every occurrence of the series.
+   *
+   * @return the series subject
+   */
+  String getSubject() {
+    return template.getSubject();
+  }
+
+  /**
+   * Checks whether every occurrence of the series has been removed or edited.
+   *
+   * @return true if no occurrence is left
+   */
+  boolean isEmpty() {
+    return exceptions.size() >= total;
+  }
+
+  /**
+   * Returns the occurrence starting on the given date.
+   *
+   * @param date the date to look up
+   * @return the occurrence, or null if the series has no live occurrence on that date
+   */
+  EventReadOnly occurrenceOn(LocalDate date) {
+    if (lastDate == null || date.isAfter(lastDate) || !rule.includes(firstDate, date)
+        || exceptions.contains(date)) {
+      return null;
+    }
+    return occurrence(date);
+  }
+
+  /**
+   * Checks whether the series has a live occurrence with the same subject, start and end
+   * as the given event.
+   *
+   * @param event the event to look up
+   * @return true if the event is an occurrence of the series
+   */
+  boolean hasOccurrence(EventReadOnly event) {
+    return hasOccurrence(new EventKey(event));
+  }
+
+  /**
+   * Checks whether the series has a live occurrence with the given identity.
+   *
+   * @param key the identity to look up
+   * @return true if an occurrence has that identity
+   */
+  boolean hasOccurrence(EventKey key) {
+    if (!template.getSubject().equals(key.getSubject())) {
+      return false;
+    }
+    EventReadOnly occurrence = occurrenceOn(key.getStartDateTime().toLocalDate());
+    return occurrence != null && new EventKey(occurrence).equals(key);
+  }
+
+  /**
+   * Records the occurrence matching the given event as an exception, so it is no longer
+   * produced by the series.
+   *
+   * @param event the occurrence to exclude
+   * @return true if the event was an occurrence of the series
+   */
+  boolean exclude(EventReadOnly event) {
+    if (!hasOccurrence(event)) {
+      return false;
+    }
+    exceptions.add(event.getStartDateTime().toLocalDate());
+    return true;
+  }
+
+  /**
+   * Passes every live occurrence to the consumer in start order.
+   *
+   * @param consumer the consumer of the occurrences
+   */
+  void forEach(Consumer<EventReadOnly> consumer) {
+    Iterator<LocalDate> dates = rule.dates(firstDate);
+    while (dates.hasNext()) {
+      LocalDate date = dates.next();
+      if (!exceptions.contains(date)) {
+        consumer.accept(occurrence(date));
+      }
+    }
+  }
+
+  /**
+   * Returns the live occurrences that overlap the closed range [from, to], in start order.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range
+   * @return the overlapping occurrences
+   */
+  List<EventReadOnly> overlapping(LocalDateTime from, LocalDateTime to) {
+    List<EventReadOnly> result = new ArrayList<>();
+    Iterator<LocalDate> dates = rule.dates(firstDate,
+        from.toLocalDate().minusDays(spanDays), to.toLocalDate());
+    while (dates.hasNext()) {
+      EventReadOnly occurrence = occurrenceOn(dates.next());
+      if (occurrence != null && !occurrence.getEndDateTime().isBefore(from)
+          && !occurrence.getStartDateTime().isAfter(to)) {
+        result.add(occurrence);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether a live occurrence covers the given instant, using the same rule as
+   * the calendar's busy check.
+   *
+   * @param dateTime the instant to check
+   * @return true if an occurrence covers the instant
+   */
+  boolean covers(LocalDateTime dateTime) {
+    Iterator<LocalDate> dates = rule.dates(firstDate,
+        dateTime.toLocalDate().minusDays(spanDays), dateTime.toLocalDate());
+    while (dates.hasNext()) {
+      EventReadOnly occurrence = occurrenceOn(dates.next());
+      if (occurrence != null) {
+        LocalDateTime start = occurrence.getStartDateTime();
+        if (start.equals(dateTime)
+            || (start.isBefore(dateTime) && occurrence.getEndDateTime().isAfter(dateTime))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Builds the occurrence on the given date from the template.
+   *
+   * @param date an occurrence date of the rule
+   * @return the occurrence on that date
+   */
+  private EventReadOnly occurrence(LocalDate date) {
+    LocalDateTime start = date.atTime(template.getStartDateTime().toLocalTime());
+    return new Event.EventBuilder(template)
+        .setStartDateTime(start)
+        .setEndDateTime(start.plus(duration))
+        .build();
+  }
+}
@@ -0,0 +1,91 @@
+package calendar.model;
+
+import calendar.model.datatypes.SearchQuery;
+import calendar.model.interfaces.EventReadOnly;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the words of event subjects and descriptions to the events that
+ * hold them, split into words like SearchQuery does.
+ * The words are kept sorted, so the events holding any word with a given prefix are the
+ * postings of one contiguous range of words.
+ */
+final class TextIndex {
+  private final NavigableMap<String, Set<EventReadOnly>> postings = new TreeMap<>();
+
+  /**
+   * Indexes the words of an event.
+   *
+   * @param event the event to index
+   */
+  void add(EventReadOnly event) {
+    for (String word : words(event)) {
+      postings.computeIfAbsent(word, key -> new HashSet<>()).add(event);
+    }
+  }
+
+  /**
+   * Removes an event from the postings of its words.
+   *
+   * @param event the event to remove
+   */
+  void remove(EventReadOnly event) {
+    for (String word : words(event)) {
+      Set<EventReadOnly> events = postings.get(word);
+      if (events != null) {
+        events.remove(event);
+        if (events.isEmpty()) {
+          postings.remove(word);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the events that hold, for every term, a word starting with the term.
+   * The postings of the rarest term are intersected with those of the others.
+   *
+   * @param terms the searched words
+   * @return the candidate events, in no particular order
+   */
+  Set<EventReadOnly> candidates(List<String> terms) {
+    Set<EventReadOnly> result = null;
+    for (String term : terms) {
+      Set<EventReadOnly> matches = withPrefix(term);
+      if (matches.isEmpty()) {
+        return Collections.emptySet();
+      }
+      if (result == null) {
+        result = matches;
+      } else if (matches.size() < result.size()) {
+        matches.retainAll(result);
+        result = matches;
+      } else {
+        result.retainAll(matches);
+      }
+    }
+    return result == null ? Collections.emptySet() : result;
+  }
+
+  private Set<EventReadOnly> withPrefix(String prefix) {
+    Set<EventReadOnly> matches = new HashSet<>();
+    for (Map.Entry<String, Set<EventReadOnly>> entry
+        : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+      matches.addAll(entry.getValue());
+    }
+    return matches;
+  }
+
+  private static Set<String> words(EventReadOnly event) {
+    Set<String> words = new LinkedHashSet<>(SearchQuery.tokenize(event.getSubject()));
+    words.addAll(SearchQuery.tokenize(event.getDescription()));
+    return words;
+  }
+}
@@ -0,0 +1,392 @@
+package calendar.model;
+
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.SearchQuery;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A calendar whose events are stored in one time zone and seen in another.
+ * The stored events keep the wall-clock times of the zone they were stored in, and each
+ * event is moved into the viewing zone as it is read; times passed in are moved back the
+ * other way. Changing the time zone of a calendar therefore only changes the viewing zone
+ * and leaves the stored events untouched.
+ *
+ * <p>Moving a time between zones is not always reversible: a stored time seen in an overlap
+ * of the viewing zone may be seen at the later of the two offsets, and a stored time that
+ * falls in a gap of the storing zone is seen as the time it is moved forward to. Events passed
+ * in are therefore looked up through every stored time seen at their start, rather than by
+ * moving their times back.
+ *
+ * <p>Recurring series added through a projection are stored as their occurrences, because
+ * the days of a rule refer to the viewing zone and not to the stored one.
+ */
+final class ZoneProjectedCalendar implements CalendarEditable {
+  private final CalendarEditable store;
+  private final ZoneId storeZone;
+  private final ZoneId viewZone;
+  private final Long fixedShift;
+  private final Projection view;
+
+  private ZoneProjectedCalendar(CalendarEditable store, ZoneId storeZone, ZoneId viewZone) {
+    this.store = store;
+    this.storeZone = storeZone;
+    this.viewZone = viewZone;
+    if (storeZone.getRules().isFixedOffset() && viewZone.getRules().isFixedOffset()) {
+      this.fixedShift = (long) viewZone.getRules().getOffset(Instant.EPOCH).getTotalSeconds()
+          - storeZone.getRules().getOffset(Instant.EPOCH).getTotalSeconds();
+    } else {
+      this.fixedShift = null;
+    }
+    this.view = new Projection(store);
+  }
+
+  /**
+   * Returns the given calendar, whose times are in one zone, as seen from another zone.
+   * A calendar that is already a projection is projected again from its stored events, so
+   * repeated time zone changes never stack projections.
+   *
+   * @param calendar the calendar to project
+   * @param fromZone the zone the times of the calendar are in
+   * @param toZone   the zone to see the calendar in
+   * @return the projected calendar, or the stored calendar itself if no projection is needed
+   */
+  static CalendarEditable project(CalendarEditable calendar, ZoneId fromZone, ZoneId toZone) {
+    CalendarEditable store = calendar;
+    ZoneId storeZone = fromZone;
+    if (calendar instanceof ZoneProjectedCalendar) {
+      ZoneProjectedCalendar projected = (ZoneProjectedCalendar) calendar;
+      store = projected.store;
+      storeZone = projected.storeZone;
+    }
+    if (storeZone.equals(toZone)) {
+      return store;
+    }
+    return new ZoneProjectedCalendar(store, storeZone, toZone);
+  }
+
+  private LocalDateTime toView(LocalDateTime dateTime) {
+    return move(dateTime, storeZone, viewZone, fixedShift);
+  }
+
+  private EventReadOnly toView(EventReadOnly event) {
+    return new Event.EventBuilder(event)
+        .setStartDateTime(toView(event.getStartDateTime()))
+        .setEndDateTime(toView(event.getEndDateTime()))
+        .build();
+  }
+
+  private List<EventReadOnly> toView(List<EventReadOnly> events) {
+    List<EventReadOnly> result = new ArrayList<>(events.size());
+    for (EventReadOnly event : events) {
+      result.add(toView(event));
+    }
+    return result;
+  }
+
+  private LocalDateTime toStore(LocalDateTime dateTime) {
+    return move(dateTime, viewZone, storeZone, fixedShift == null ? null : -fixedShift);
+  }
+
+  private EventReadOnly toStore(EventReadOnly event) {
+    return new Event.EventBuilder(event)
+        .setStartDateTime(toStore(event.getStartDateTime()))
+        .setEndDateTime(toStore(event.getEndDateTime()))
+        .build();
+  }
+
+  /**
+   * Returns every stored time that is seen as the given time in the viewing zone.
+   *
+   * @param dateTime the time in the viewing zone
+   * @return the stored times, the time moved back first
+   */
+  private List<LocalDateTime> storedTimes(LocalDateTime dateTime) {
+    LocalDateTime moved = toStore(dateTime);
+    if (fixedShift != null) {
+      return List.of(moved);
+    }
+    List<LocalDateTime> result = new ArrayList<>(2);
+    result.add(moved);
+    for (ZoneOffset offset : viewZone.getRules().getValidOffsets(dateTime)) {
+      Instant instant = dateTime.toInstant(offset);
+      LocalDateTime stored = LocalDateTime.ofInstant(instant, storeZone);
+      if (!result.contains(stored)) {
+        result.add(stored);
+      }
+      ZoneOffsetTransition gap = storeZone.getRules().previousTransition(instant.plusNanos(1));
+      if (gap != null && gap.isGap()
+          && instant.isBefore(gap.getInstant().plus(gap.getDuration()))) {
+        LocalDateTime skipped = stored.minus(gap.getDuration());
+        if (!result.contains(skipped)) {
+          result.add(skipped);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the stored event that is seen as the given event, or the event moved back to
+   * the storing zone if no stored event is.
+   *
+   * @param event the event in the viewing zone
+   * @return the stored event
+   */
+  private EventReadOnly stored(EventReadOnly event) {
+    EventReadOnly moved = toStore(event);
+    if (fixedShift != null || store.containsEvent(moved)) {
+      return moved;
+    }
+    for (LocalDateTime start : storedTimes(event.getStartDateTime())) {
+      for (EventReadOnly candidate : store.findEvents(event.getSubject(), start)) {
+        if (toView(candidate.getEndDateTime()).equals(event.getEndDateTime())) {
+          return candidate;
+        }
+      }
+    }
+    return moved;
+  }
+
+  private static LocalDateTime move(LocalDateTime dateTime, ZoneId from, ZoneId to,
+                                    Long shift) {
+    if (shift != null) {
+      return dateTime.plusSeconds(shift);
+    }
+    return dateTime.atZone(from).withZoneSameInstant(to).toLocalDateTime();
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly event) {
+    store.addEvent(toStore(event));
+    return event;
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    List<EventReadOnly> stored = new ArrayList<>(events.size());
+    for (EventReadOnly event : events) {
+      stored.add(toStore(event));
+    }
+    store.addEvents(stored);
+    return new ArrayList<>(events);
+  }
+
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    List<EventReadOnly> occurrences = new ArrayList<>();
+    new SeriesRule(template, rule).forEach(occurrences::add);
+    addEvents(occurrences);
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    return EventEditor.edit(this, this::updateEvent, events, property, newValue);
+  }
+
+  /**
+   * Replaces a stored event with its edited version, both given in the viewing zone.
+   *
+   * @param oldEvent the event currently in the calendar
+   * @param newEvent the edited event
+   * @throws IllegalArgumentException if the edited event conflicts with an existing event
+   */
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    store.updateEvent(stored(oldEvent), toStore(newEvent));
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    store.removeEvent(stored(event));
+  }
+
+  @Override
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    return toView(store.getSeries(seriesId));
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    return toView(store.getSeriesFrom(seriesId, toStore(from)));
+  }
+
+  @Override
+  public boolean containsEvent(EventReadOnly event) {
+    return store.containsEvent(stored(event));
+  }
+
+  @Override
+  public boolean rejectsOverlaps() {
+    return store.rejectsOverlaps();
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    return view.isBusy(dateTime);
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    return view.isBusy(from, to);
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    view.forEachEvent(consumer);
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return view.getEvents(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    return view.getAllEvents();
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return view.stream(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    return view.stream(filter);
+  }
+
+  @Override
+  public int size() {
+    return store.size();
+  }
+
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    return view.findEvents(subject, startDateTime);
+  }
+
+  @Override
+  public List<EventReadOnly> search(SearchQuery query) {
+    return view.search(query);
+  }
+
+  @Override
+  public List<EventReadOnly> select(AttributeQuery query) {
+    return view.select(query);
+  }
+
+  @Override
+  public CalendarReadOnly snapshot() {
+    return new Projection(store.snapshot());
+  }
+
+  /**
+   * The read operations of a calendar seen in the viewing zone.
+   * Day buckets are regrouped by the projected start date on each read.
+   */
+  private final class Projection implements CalendarReadOnly {
+    private final CalendarReadOnly source;
+
+    private Projection(CalendarReadOnly source) {
+      this.source = source;
+    }
+
+    @Override
+    public boolean isBusy(LocalDateTime dateTime) {
+      return source.isBusy(toStore(dateTime));
+    }
+
+    @Override
+    public boolean isBusy(LocalDateTime from, LocalDateTime to) {
+      return source.isBusy(toStore(from), toStore(to));
+    }
+
+    @Override
+    public void forEachEvent(Consumer<EventReadOnly> consumer) {
+      source.forEachEvent(event -> consumer.accept(toView(event)));
+    }
+
+    @Override
+    public List<EventReadOnly> getEvents(LocalDateTime startDateTime,
+                                         LocalDateTime endDateTime) {
+      return toView(source.getEvents(toStore(startDateTime), toStore(endDateTime)));
+    }
+
+    @Override
+    public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+      Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+      forEachEvent(event -> allEvents
+          .computeIfAbsent(event.getStartDateTime().toLocalDate(), date -> new ArrayList<>())
+          .add(event));
+      return allEvents;
+    }
+
+    @Override
+    public Stream<EventReadOnly> stream(LocalDateTime startDateTime,
+                                        LocalDateTime endDateTime) {
+      return source.stream(toStore(startDateTime), toStore(endDateTime))
+          .map(event -> toView(event));
+    }
+
+    @Override
+    public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+      return source.stream(event -> true).map(event -> toView(event)).filter(filter);
+    }
+
+    @Override
+    public int size() {
+      return source.size();
+    }
+
+    @Override
+    public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+      List<EventReadOnly> found = new ArrayList<>();
+      for (LocalDateTime start : storedTimes(startDateTime)) {
+        for (EventReadOnly event : source.findEvents(subject, start)) {
+          EventReadOnly seen = toView(event);
+          if (seen.getStartDateTime().equals(startDateTime)) {
+            found.add(seen);
+          }
+        }
+      }
+      return found;
+    }
+
+    @Override
+    public List<EventReadOnly> search(SearchQuery query) {
+      return toView(source.search(query.isRestricted()
+          ? query.withRange(toStore(query.getFrom()), toStore(query.getTo())) : query));
+    }
+
+    @Override
+    public List<EventReadOnly> select(AttributeQuery query) {
+      return toView(source.select(query.isRestricted()
+          ? query.within(toStore(query.getFrom()), toStore(query.getTo())) : query));
+    }
+
+    @Override
+    public CalendarReadOnly snapshot() {
+      CalendarReadOnly frozen = source.snapshot();
+      return frozen == source ? this : new Projection(frozen);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package calendar.model.datatypes;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+
+/**
+ * A selection of events by their location, status, type and all-day flag, each of which may
+ * be left open, optionally limited to the events overlapping a date time range.
+ * Queries are immutable; each with method returns a query with one more restriction.
+ */
+public final class AttributeQuery {
+  private final Location location;
+  private final EventStatus status;
+  private final TypeOfEvent type;
+  private final Boolean allDay;
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+
+  /**
+   * Creates a query selecting every event.
+   */
+  public AttributeQuery() {
+    this(null, null, null, null, null, null);
+  }
+
+  private AttributeQuery(Location location, EventStatus status, TypeOfEvent type,
+                         Boolean allDay, LocalDateTime from, LocalDateTime to) {
+    this.location = location;
+    this.status = status;
+    this.type = type;
+    this.allDay = allDay;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Returns this query limited to events with the given location.
+   *
+   * @param location the location of the selected events
+   * @return the restricted query
+   */
+  public AttributeQuery withLocation(Location location) {
+    return new AttributeQuery(location, status, type, allDay, from, to);
+  }
+
+  /**
+   * Returns this query limited to events with the given status.
+   *
+   * @param status the status of the selected events
+   * @return the restricted query
+   */
+  public AttributeQuery withStatus(EventStatus status) {
+    return new AttributeQuery(location, status, type, allDay, from, to);
+  }
+
+  /**
+   * Returns this query limited to events of the given type.
+   *
+   * @param type the type of the selected events
+   * @return the restricted query
+   */
+  public AttributeQuery withType(TypeOfEvent type) {
+    return new AttributeQuery(location, status, type, allDay, from, to);
+  }
+
+  /**
+   * Returns this query limited to all-day or timed events.
+   *
+   * @param allDay true to select all-day events, false for the others
+   * @return the restricted query
+   */
+  public AttributeQuery withAllDay(boolean allDay) {
+    return new AttributeQuery(location, status, type, allDay, from, to);
+  }
+
+  /**
+   * Returns this query limited to events overlapping the closed range [from, to].
+   *
+   * @param from the start of the range
+   * @param to   the end of the range
+   * @return the restricted query
+   * @throws IllegalArgumentException if the range ends before it starts
+   */
+  public AttributeQuery within(LocalDateTime from, LocalDateTime to) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    return new AttributeQuery(location, status, type, allDay, from, to);
+  }
+
+  /**
+   * Returns the selected location.
+   *
+   * @return the location, null if any location is selected
+   */
+  public Location getLocation() {
+    return location;
+  }
+
+  /**
+   * Returns the selected status.
+   *
+   * @return the status, null if any status is selected
+   */
+  public EventStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the selected type.
+   *
+   * @return the type, null if any type is selected
+   */
+  public TypeOfEvent getType() {
+    return type;
+  }
+
+  /**
+   * Returns the selected all-day flag.
+   *
+   * @return the flag, null if both all-day and timed events are selected
+   */
+  public Boolean getAllDay() {
+    return allDay;
+  }
+
+  /**
+   * Returns the start of the selected range.
+   *
+   * @return the start of the range, null if the query has no range
+   */
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the end of the selected range.
+   *
+   * @return the end of the range, null if the query has no range
+   */
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  /**
+   * Checks whether the query is limited to a range.
+   *
+   * @return true if only events overlapping the range are selected
+   */
+  public boolean isRestricted() {
+    return from != null;
+  }
+
+  /**
+   * Checks whether the given event has the selected attributes, ignoring the range.
+   *
+   * @param event the event to check
+   * @return true if every attribute that is not left open matches
+   */
+  public boolean matchesAttributes(EventReadOnly event) {
+    return (location == null || event.getLocation() == location)
+        && (status == null || event.getEventStatus() == status)
+        && (type == null || event.getEventType() == type)
+        && (allDay == null || event.isAllDay() == allDay);
+  }
+
+  /**
+   * Checks whether the given event is selected by the query.
+   *
+   * @param event the event to check
+   * @return true if the event has the selected attributes and overlaps the range, if any
+   */
+  public boolean matches(EventReadOnly event) {
+    return matchesAttributes(event) && (from == null
+        || !event.getEndDateTime().isBefore(from) && !event.getStartDateTime().isAfter(to));
+  }
+}
@@ -0,0 +1,98 @@
+package calendar.model.datatypes;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+
+/**
+ * Two events that are both busy at some instant, with the calendars holding them and the
+ * time they share. The first event is the one that starts first.
+ */
+public final class EventConflict {
+  private final EventReadOnly first;
+  private final String firstCalendar;
+  private final EventReadOnly second;
+  private final String secondCalendar;
+  private final LocalDateTime start;
+  private final LocalDateTime end;
+
+  /**
+   * Creates a conflict.
+   *
+   * @param first          the event that starts first
+   * @param firstCalendar  the name of its calendar, null within a single calendar
+   * @param second         the other event
+   * @param secondCalendar the name of its calendar, null within a single calendar
+   * @param start          the start of the shared time
+   * @param end            the end of the shared time, equal to its start when the events
+   *                       only share one instant
+   */
+  public EventConflict(EventReadOnly first, String firstCalendar, EventReadOnly second,
+                       String secondCalendar, LocalDateTime start, LocalDateTime end) {
+    this.first = first;
+    this.firstCalendar = firstCalendar;
+    this.second = second;
+    this.secondCalendar = secondCalendar;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the event that starts first.
+   *
+   * @return the first event, with the times of its own calendar
+   */
+  public EventReadOnly getFirst() {
+    return first;
+  }
+
+  /**
+   * Returns the name of the calendar holding the first event.
+   *
+   * @return the calendar name, null within a single calendar
+   */
+  public String getFirstCalendar() {
+    return firstCalendar;
+  }
+
+  /**
+   * Returns the event that starts second.
+   *
+   * @return the second event, with the times of its own calendar
+   */
+  public EventReadOnly getSecond() {
+    return second;
+  }
+
+  /**
+   * Returns the name of the calendar holding the second event.
+   *
+   * @return the calendar name, null within a single calendar
+   */
+  public String getSecondCalendar() {
+    return secondCalendar;
+  }
+
+  /**
+   * Returns the start of the time both events are busy.
+   *
+   * @return the start of the shared time
+   */
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the time both events are busy.
+   *
+   * @return the end of the shared time, excluded
+   */
+  public LocalDateTime getEnd() {
+    return end;
+  }
+
+  @Override
+  public String toString() {
+    return first.getSubject() + " overlaps " + second.getSubject() + " from " + start
+        + " to " + end;
+  }
+}
@@ -0,0 +1,78 @@
+package calendar.model.datatypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A gap in which none of the searched calendars is busy, from its start up to, but not
+ * including, its end.
+ */
+public final class FreeSlot {
+  private final LocalDateTime start;
+  private final LocalDateTime end;
+
+  /**
+   * Creates a free slot.
+   *
+   * @param start the first free instant
+   * @param end   the instant the slot ends, excluded
+   * @throws IllegalArgumentException if the slot ends before it starts
+   */
+  public FreeSlot(LocalDateTime start, LocalDateTime end) {
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the start of the slot.
+   *
+   * @return the first free instant
+   */
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the slot.
+   *
+   * @return the instant the slot ends, excluded
+   */
+  public LocalDateTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the length of the slot.
+   *
+   * @return the time from the start to the end
+   */
+  public Duration getDuration() {
+    return Duration.between(start, end);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof FreeSlot)) {
+      return false;
+    }
+    FreeSlot other = (FreeSlot) o;
+    return start.equals(other.start) && end.equals(other.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return "Free from " + start + " to " + end;
+  }
+}
@@ -0,0 +1,298 @@
+package calendar.model.datatypes;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Describes how an event series repeats: the days of the week it falls on, and either
+ * the number of occurrences or the last date it may occur on.
+ * A rule is anchored at the start date of the series; the occurrences are the dates on or
+ * after that date whose day of the week is one of the repeat days.
+ *
+ * <p>Occurrences are computed in closed form. Any seven consecutive days hold exactly one
+ * date per repeat day, so the k-th occurrence is the (k mod n)-th matching day of the first
+ * week after the anchor, shifted by (k div n) weeks, where n is the number of repeat days.
+ * Counting and window lookups never step through the days that do not match.
+ */
+public class RecurrenceRule {
+  private final Set<DayOfWeek> days;
+  private final int mask;
+  private final int times;
+  private final LocalDate until;
+
+  /**
+   * Creates a rule that repeats on the given days for a fixed number of occurrences.
+   *
+   * @param days  the days of the week the series falls on
+   * @param times the number of occurrences
+   * @throws IllegalArgumentException if days is empty or times is not positive
+   */
+  public RecurrenceRule(Set<DayOfWeek> days, int times) {
+    this(days, times, null);
+    if (times <= 0) {
+      throw new IllegalArgumentException("Number of repetitions must be positive");
+    }
+  }
+
+  /**
+   * Creates a rule that repeats on the given days up to and including the given date.
+   *
+   * @param days  the days of the week the series falls on
+   * @param until the last date an occurrence may fall on
+   * @throws IllegalArgumentException if days is empty or until is null
+   */
+  public RecurrenceRule(Set<DayOfWeek> days, LocalDate until) {
+    this(days, 0, until);
+    if (until == null) {
+      throw new IllegalArgumentException("Repeat until date cannot be null");
+    }
+  }
+
+  private RecurrenceRule(Set<DayOfWeek> days, int times, LocalDate until) {
+    if (days == null || days.isEmpty()) {
+      throw new IllegalArgumentException("Repeat days cannot be empty");
+    }
+    this.days = Collections.unmodifiableSet(EnumSet.copyOf(days));
+    int bits = 0;
+    for (DayOfWeek day : days) {
+      bits |= 1 << (day.getValue() - 1);
+    }
+    this.mask = bits;
+    this.times = times;
+    this.until = until;
+  }
+
+  /**
+   * Returns the days of the week the series falls on.
+   *
+   * @return the repeat days
+   */
+  public Set<DayOfWeek> getDays() {
+    return days;
+  }
+
+  /**
+   * Returns the number of occurrences, or 0 when the rule repeats until a date.
+   *
+   * @return the number of occurrences
+   */
+  public int getTimes() {
+    return times;
+  }
+
+  /**
+   * Returns the last date an occurrence may fall on, or null when the rule repeats
+   * a fixed number of times.
+   *
+   * @return the until date
+   */
+  public LocalDate getUntil() {
+    return until;
+  }
+
+  /**
+   * Returns the number of occurrences of a series anchored at the given date.
+   *
+   * @param anchor the start date of the series
+   * @return the number of occurrences
+   */
+  public int count(LocalDate anchor) {
+    if (until == null) {
+      return times;
+    }
+    return (int) countBefore(anchor, until.plusDays(1));
+  }
+
+  /**
+   * Returns the k-th occurrence date, counted from zero, of a series anchored at the
+   * given date. The index is not checked against the number of occurrences.
+   *
+   * @param anchor the start date of the series
+   * @param index  the index of the occurrence
+   * @return the date of that occurrence
+   */
+  public LocalDate occurrence(LocalDate anchor, long index) {
+    return dateAt(anchor, offsets(anchor), index);
+  }
+
+  /**
+   * Returns the date of the last occurrence of a series anchored at the given date.
+   *
+   * @param anchor the start date of the series
+   * @return the last occurrence date, or null if the series has no occurrences
+   */
+  public LocalDate lastDate(LocalDate anchor) {
+    int count = count(anchor);
+    return count == 0 ? null : occurrence(anchor, count - 1);
+  }
+
+  /**
+   * Checks whether the given date is an occurrence of a series anchored at the given date.
+   *
+   * @param anchor the start date of the series
+   * @param date   the date to check
+   * @return true if the series has an occurrence on that date
+   */
+  public boolean includes(LocalDate anchor, LocalDate date) {
+    return !date.isBefore(anchor)
+        && (mask & (1 << (date.getDayOfWeek().getValue() - 1))) != 0
+        && countBefore(anchor, date) < count(anchor);
+  }
+
+  /**
+   * Returns the occurrence dates of a series anchored at the given date, in order.
+   *
+   * @param anchor the start date of the series
+   * @return an iterator over the occurrence dates
+   */
+  public Iterator<LocalDate> dates(LocalDate anchor) {
+    return Spliterators.iterator(spliterator(anchor, anchor, null));
+  }
+
+  /**
+   * Returns the occurrence dates of a series anchored at the given date that fall within
+   * the closed range [from, to], in order.
+   *
+   * @param anchor the start date of the series
+   * @param from   the first date of the window
+   * @param to     the last date of the window
+   * @return an iterator over the occurrence dates in the window
+   */
+  public Iterator<LocalDate> dates(LocalDate anchor, LocalDate from, LocalDate to) {
+    return Spliterators.iterator(spliterator(anchor, from, to));
+  }
+
+  /**
+   * Returns a sized spliterator over the occurrence dates of a series anchored at the given
+   * date that fall within the closed range [from, to]. The spliterator splits by occurrence
+   * index, so a window can be processed in parallel.
+   *
+   * @param anchor the start date of the series
+   * @param from   the first date of the window
+   * @param to     the last date of the window, or null for no upper bound
+   * @return a spliterator over the occurrence dates in the window
+   */
+  public Spliterator<LocalDate> spliterator(LocalDate anchor, LocalDate from, LocalDate to) {
+    long end = count(anchor);
+    if (to != null) {
+      end = Math.min(end, countBefore(anchor, to.plusDays(1)));
+    }
+    long start = Math.min(end, countBefore(anchor, from));
+    return new DateSpliterator(anchor, offsets(anchor), start, end);
+  }
+
+  /**
+   * Returns the number of occurrences of the unbounded pattern on or after the anchor
+   * and strictly before the given date.
+   *
+   * @param anchor the start date of the series
+   * @param date   the exclusive upper bound
+   * @return the number of matching days in [anchor, date)
+   */
+  private long countBefore(LocalDate anchor, LocalDate date) {
+    long span = ChronoUnit.DAYS.between(anchor, date);
+    if (span <= 0) {
+      return 0;
+    }
+    int[] offsets = offsets(anchor);
+    long count = (span / 7) * offsets.length;
+    long rest = span % 7;
+    for (int offset : offsets) {
+      if (offset < rest) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the offsets, in days from the anchor, of the matching days in the first
+   * seven days of the series, in increasing order.
+   *
+   * @param anchor the start date of the series
+   * @return the matching offsets within the first week
+   */
+  private int[] offsets(LocalDate anchor) {
+    int[] offsets = new int[Integer.bitCount(mask)];
+    int first = anchor.getDayOfWeek().getValue() - 1;
+    int i = 0;
+    for (int offset = 0; offset < 7; offset++) {
+      if ((mask & (1 << ((first + offset) % 7))) != 0) {
+        offsets[i++] = offset;
+      }
+    }
+    return offsets;
+  }
+
+  private static LocalDate dateAt(LocalDate anchor, int[] offsets, long index) {
+    return anchor.plusDays(7 * (index / offsets.length) + offsets[(int) (index % offsets.length)]);
+  }
+
+  /**
+   * Spliterator over a range of occurrence indexes of an anchored rule.
+   */
+  private static class DateSpliterator implements Spliterator<LocalDate> {
+    private final LocalDate anchor;
+    private final int[] offsets;
+    private long index;
+    private final long end;
+
+    private DateSpliterator(LocalDate anchor, int[] offsets, long index, long end) {
+      this.anchor = anchor;
+      this.offsets = offsets;
+      this.index = index;
+      this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super LocalDate> action) {
+      if (index >= end) {
+        return false;
+      }
+      action.accept(dateAt(anchor, offsets, index++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super LocalDate> action) {
+      while (index < end) {
+        action.accept(dateAt(anchor, offsets, index++));
+      }
+    }
+
+    @Override
+    public Spliterator<LocalDate> trySplit() {
+      long mid = (index + end) >>> 1;
+      if (mid <= index) {
+        return null;
+      }
+      Spliterator<LocalDate> prefix = new DateSpliterator(anchor, offsets, index, mid);
+      index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    @Override
+    public Comparator<? super LocalDate> getComparator() {
+      return null;
+    }
+  }
+}
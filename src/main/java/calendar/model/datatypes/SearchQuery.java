@@ -0,0 +1,219 @@
+package calendar.model.datatypes;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A search for events by the words of their subject and description, optionally limited
+ * to the events overlapping a date time range.
+ * Text is split into words of letters and digits and compared without case. An event
+ * matches when each searched word starts a word of its subject or description. Matches are
+ * ranked by score: a word found in the subject counts more than one in the description,
+ * and a whole word more than a prefix.
+ */
+public final class SearchQuery {
+  private static final int SUBJECT_WORD = 4;
+  private static final int SUBJECT_PREFIX = 2;
+  private static final int DESCRIPTION_WORD = 2;
+  private static final int DESCRIPTION_PREFIX = 1;
+
+  private final List<String> terms;
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+
+  /**
+   * Creates a search over every event of a calendar.
+   *
+   * @param text the words to search for
+   * @throws IllegalArgumentException if the text holds no word
+   */
+  public SearchQuery(String text) {
+    this(text, null, null);
+  }
+
+  /**
+   * Creates a search over the events overlapping the closed range [from, to].
+   *
+   * @param text the words to search for
+   * @param from the start of the range, null with to for no range
+   * @param to   the end of the range, null with from for no range
+   * @throws IllegalArgumentException if the text holds no word, only one end of the range
+   *                                  is given, or the range ends before it starts
+   */
+  public SearchQuery(String text, LocalDateTime from, LocalDateTime to) {
+    this(tokenize(text), from, to);
+  }
+
+  private SearchQuery(List<String> terms, LocalDateTime from, LocalDateTime to) {
+    if (terms.isEmpty()) {
+      throw new IllegalArgumentException("Search needs at least one word");
+    }
+    if ((from == null) != (to == null)) {
+      throw new IllegalArgumentException("Search range needs a start and an end");
+    }
+    if (from != null && to.isBefore(from)) {
+      throw new IllegalArgumentException("End date cannot be before start date");
+    }
+    this.terms = Collections.unmodifiableList(terms);
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Splits text into lower case words of letters and digits, each word once, in order.
+   *
+   * @param text the text to split, may be null
+   * @return the distinct words of the text
+   */
+  public static List<String> tokenize(String text) {
+    if (text == null) {
+      return new ArrayList<>();
+    }
+    Set<String> words = new LinkedHashSet<>();
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        start = -1;
+      }
+    }
+    return new ArrayList<>(words);
+  }
+
+  /**
+   * Returns the same search limited to another range.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range
+   * @return the search over the given range
+   */
+  public SearchQuery withRange(LocalDateTime from, LocalDateTime to) {
+    return new SearchQuery(terms, from, to);
+  }
+
+  /**
+   * Returns the searched words, lower case.
+   *
+   * @return the distinct searched words
+   */
+  public List<String> getTerms() {
+    return terms;
+  }
+
+  /**
+   * Returns the start of the searched range.
+   *
+   * @return the start of the range, null if the search covers every event
+   */
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the end of the searched range.
+   *
+   * @return the end of the range, null if the search covers every event
+   */
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  /**
+   * Checks whether the search is limited to a range.
+   *
+   * @return true if only events overlapping the range are searched
+   */
+  public boolean isRestricted() {
+    return from != null;
+  }
+
+  /**
+   * Checks whether the given event overlaps the searched range, if any.
+   *
+   * @param event the event to check
+   * @return true if the search has no range or the event overlaps it
+   */
+  public boolean inRange(EventReadOnly event) {
+    return from == null
+        || !event.getEndDateTime().isBefore(from) && !event.getStartDateTime().isAfter(to);
+  }
+
+  /**
+   * Scores how well the text of an event matches the searched words.
+   * The range is not checked.
+   *
+   * @param event the event to score
+   * @return the score, 0 if some searched word is in neither the subject nor the description
+   */
+  public int score(EventReadOnly event) {
+    List<String> subject = tokenize(event.getSubject());
+    List<String> description = tokenize(event.getDescription());
+    int total = 0;
+    for (String term : terms) {
+      int score = best(subject, term, SUBJECT_WORD, SUBJECT_PREFIX)
+          + best(description, term, DESCRIPTION_WORD, DESCRIPTION_PREFIX);
+      if (score == 0) {
+        return 0;
+      }
+      total += score;
+    }
+    return total;
+  }
+
+  /**
+   * Keeps the events that match the search, inside its range, best score first.
+   * Events with the same score are ordered by start, end and subject.
+   *
+   * @param events the events to rank
+   * @return the matching events, ranked
+   */
+  public List<EventReadOnly> rank(Stream<EventReadOnly> events) {
+    Map<EventReadOnly, Integer> scores = new HashMap<>();
+    List<EventReadOnly> matches = new ArrayList<>();
+    events.filter(this::inRange).forEachOrdered(event -> {
+      int score = score(event);
+      if (score > 0) {
+        scores.put(event, score);
+        matches.add(event);
+      }
+    });
+    matches.sort(Comparator.comparing((EventReadOnly event) -> scores.get(event),
+            Comparator.reverseOrder())
+        .thenComparing(EventReadOnly::getStartDateTime)
+        .thenComparing(EventReadOnly::getEndDateTime)
+        .thenComparing(EventReadOnly::getSubject));
+    return matches;
+  }
+
+  private static int best(List<String> words, String term, int whole, int prefix) {
+    int score = 0;
+    for (String word : words) {
+      if (word.equals(term)) {
+        return whole;
+      }
+      if (word.startsWith(term)) {
+        score = prefix;
+      }
+    }
+    return score;
+  }
+
+  @Override
+  public String toString() {
+    String words = String.join(" ", terms);
+    return from == null ? words : words + " from " + from + " to " + to;
+  }
+}
@@ -0,0 +1,28 @@
+package calendar.model.datatypes;
+
+/**
+ * Enum to represent how a calendar stores its events.
+ * HEAP keeps event objects in an interval tree, COLUMNAR keeps them in primitive arrays on
+ * the heap, and OFF_HEAP keeps them in fixed-width records outside the heap.
+ */
+public enum StorageMode {
+  HEAP, COLUMNAR, OFF_HEAP;
+
+  /**
+   * Used to map a string input to an enum.
+   *
+   * @param storage string input like heap, columnar or off-heap.
+   * @return the enum corresponding to the string input.
+   * @throws IllegalArgumentException if the input names no storage mode
+   */
+  public static StorageMode getStorageMode(String storage) {
+    if (storage.equalsIgnoreCase("heap")) {
+      return HEAP;
+    } else if (storage.equalsIgnoreCase("columnar")) {
+      return COLUMNAR;
+    } else if (storage.equalsIgnoreCase("off-heap")) {
+      return OFF_HEAP;
+    }
+    throw new IllegalArgumentException("Invalid storage: " + storage);
+  }
+}
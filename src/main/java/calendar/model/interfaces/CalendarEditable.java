@@ -1,6 +1,10 @@
 package calendar.model.interfaces;
 
+import calendar.model.datatypes.RecurrenceRule;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Represents a modifiable version of the calendar model.
@@ -16,6 +20,29 @@ public interface CalendarEditable extends CalendarReadOnly {
    */
   EventReadOnly addEvent(EventReadOnly event);
 
+  /**
+   * Adds a batch of events to the calendar as a single operation.
+   * The whole batch is validated against the calendar and against itself first,
+   * so either every event is added or none is.
+   *
+   * @param events the events to add
+   * @return the added events, in the given order
+   * @throws IllegalArgumentException if any event already exists or appears twice in the batch
+   */
+  List<EventReadOnly> addEvents(Collection<EventReadOnly> events);
+
+  /**
+   * Adds a recurring series to the calendar without creating every occurrence up front.
+   * Each occurrence copies the template and keeps its start time and duration; the start
+   * date of the template anchors the rule. Occurrences that are later edited or removed
+   * are treated as exceptions to the series.
+   *
+   * @param template the event whose properties every occurrence shares
+   * @param rule     the days and the count or end date of the repetition
+   * @throws IllegalArgumentException if an occurrence already exists in the calendar
+   */
+  void addSeries(EventReadOnly template, RecurrenceRule rule);
+
   /**
    * Edits one or more existing events by modifying a specified property.
    *
@@ -27,10 +54,68 @@ public interface CalendarEditable extends CalendarReadOnly {
    */
   List<EventReadOnly> editEvent(List<EventReadOnly> events, String property, String newValue);
 
+  /**
+   * Replaces an event with its edited version, leaving the calendar unchanged if the edited
+   * version cannot be stored.
+   *
+   * @param oldEvent the event currently in the calendar
+   * @param newEvent the edited event
+   * @throws IllegalArgumentException if the edited event conflicts with an existing event
+   */
+  void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent);
+
   /**
    * Removes an event from the calendar.
    *
    * @param event the event to remove
    */
   void removeEvent(EventReadOnly event);
+
+  /**
+   * Returns every event that belongs to the given series, ordered by start date time.
+   *
+   * @param seriesId the id shared by the events of the series
+   * @return the events of the series, empty if there are none
+   */
+  List<EventReadOnly> getSeries(UUID seriesId);
+
+  /**
+   * Returns the events of the given series that start at or after the given date time,
+   * ordered by start date time.
+   *
+   * @param seriesId the id shared by the events of the series
+   * @param from     the earliest start date time to include
+   * @return the matching events of the series, empty if there are none
+   */
+  List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from);
+
+  /**
+   * Checks whether the calendar already has an event with the same subject,
+   * start date time and end date time as the given event.
+   *
+   * @param event the event to look up
+   * @return true if an event with the same identity exists
+   */
+  boolean containsEvent(EventReadOnly event);
+
+  /**
+   * Checks whether the calendar refuses events that are busy at the same time as an event
+   * it already holds. Calendars accept overlapping events by default.
+   *
+   * @return true if overlapping events are refused
+   */
+  default boolean rejectsOverlaps() {
+    return false;
+  }
+
+  /**
+   * Reports the events of the calendar to the listener as the changes that would rebuild
+   * them in an empty calendar. By default every event is reported as added; calendars that
+   * keep series as rules report each series once instead of its occurrences.
+   *
+   * @param listener the listener to report the changes to
+   */
+  default void replay(EventChangeListener listener) {
+    forEachEvent(listener::eventAdded);
+  }
 }
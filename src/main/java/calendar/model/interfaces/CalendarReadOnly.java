@@ -1,10 +1,17 @@
 package calendar.model.interfaces;
 
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.SearchQuery;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Represents the read-only view of the calendar model.
@@ -13,6 +20,13 @@ import java.util.function.Consumer;
  */
 public interface CalendarReadOnly {
 
+  /**
+   * The order calendars return their events in: by start, then by end, then by subject.
+   */
+  Comparator<EventReadOnly> START_ORDER = Comparator.comparing(EventReadOnly::getStartDateTime)
+      .thenComparing(EventReadOnly::getEndDateTime)
+      .thenComparing(EventReadOnly::getSubject);
+
   /**
    * Checks whether the status in calendar is busy at the given date and time.
    *
@@ -22,6 +36,24 @@ public interface CalendarReadOnly {
 
   boolean isBusy(LocalDateTime dateTime);
 
+  /**
+   * Checks whether the calendar is busy at some instant from the given start up to, but not
+   * including, the given end. An event makes an instant busy when it starts exactly at it,
+   * or starts before and ends after it, as in isBusy.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range, excluded
+   * @return true if busy somewhere in the range, false if free throughout or the range is
+   *         empty.
+   */
+  default boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    if (!from.isBefore(to)) {
+      return false;
+    }
+    return stream(from, to).anyMatch(event -> event.getStartDateTime().isBefore(to)
+        && (event.getEndDateTime().isAfter(from) || !event.getStartDateTime().isBefore(from)));
+  }
+
   /**
    * Executes the provided consumer for every event in the calendar.
    * Used mainly for filtering and passing each event to the filter predicate.
@@ -47,4 +79,101 @@ public interface CalendarReadOnly {
    *
    */
   Map<LocalDate, List<EventReadOnly>> getAllEvents();
+
+  /**
+   * Returns the events with exactly the given subject that start at the given date and time,
+   * ordered like getEvents. Calendars that index their events by subject and start answer
+   * without looking at any other event.
+   *
+   * @param subject       the subject of the events.
+   * @param startDateTime the start date and time of the events.
+   * @return the matching events, empty if there are none.
+   */
+  default List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    return stream(startDateTime, startDateTime)
+        .filter(event -> event.getSubject().equals(subject)
+            && event.getStartDateTime().equals(startDateTime))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the events whose subject and description hold the searched words, limited to
+   * the range of the search if it has one, best match first and otherwise in start order.
+   * Calendars that index the words of their events only look at the events holding them.
+   *
+   * @param query the words and optional range to search.
+   * @return the matching events, ranked, empty if there are none.
+   */
+  default List<EventReadOnly> search(SearchQuery query) {
+    return query.rank(query.isRestricted()
+        ? stream(query.getFrom(), query.getTo()) : stream(event -> true));
+  }
+
+  /**
+   * Returns the events with the location, status, type and all-day flag selected by the
+   * query, limited to its range if it has one, in start order. Calendars with bitmap
+   * indexes over these attributes intersect them instead of checking every event.
+   *
+   * @param query the attributes and optional range to select.
+   * @return the selected events, empty if there are none.
+   */
+  default List<EventReadOnly> select(AttributeQuery query) {
+    Stream<EventReadOnly> events = query.isRestricted()
+        ? stream(query.getFrom(), query.getTo()) : stream(event -> true);
+    List<EventReadOnly> selected = events.filter(query::matches).collect(Collectors.toList());
+    selected.sort(START_ORDER);
+    return selected;
+  }
+
+  /**
+   * Streams the events that occur between the given start and end times, in the order of
+   * getEvents. Calendars that can produce the events as the stream is consumed do so, so a
+   * caller that only needs the first match or a count does not build the whole list.
+   * The calendar must not be changed while the stream is consumed.
+   *
+   * @param startDateTime the start date and time of the range.
+   * @param endDateTime   the end date and time of the range.
+   * @return the events occurring in the given range.
+   */
+  default Stream<EventReadOnly> stream(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return getEvents(startDateTime, endDateTime).stream();
+  }
+
+  /**
+   * Streams the events of the calendar accepted by the given filter, day by day in date
+   * order. Within a day the events come in the order of forEachEvent unless the calendar
+   * documents otherwise. The calendar must not be changed while the stream is consumed.
+   *
+   * @param filter the condition each streamed event meets.
+   * @return the matching events.
+   */
+  default Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    List<EventReadOnly> matches = new ArrayList<>();
+    forEachEvent(event -> {
+      if (filter.test(event)) {
+        matches.add(event);
+      }
+    });
+    return matches.stream();
+  }
+
+  /**
+   * Returns the number of events in the calendar, counting each occurrence of a series.
+   *
+   * @return the number of events.
+   */
+  default int size() {
+    int[] count = new int[1];
+    forEachEvent(event -> count[0]++);
+    return count[0];
+  }
+
+  /**
+   * Returns an immutable view of the calendar as it is now.
+   * Later changes to the calendar are not visible through the view, so long reads such as
+   * exports and rendering can run on it while the calendar keeps being edited.
+   *
+   * @return the read-only view of the current events
+   */
+  CalendarReadOnly snapshot();
 }
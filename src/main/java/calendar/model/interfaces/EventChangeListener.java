@@ -0,0 +1,52 @@
+package calendar.model.interfaces;
+
+import calendar.model.datatypes.RecurrenceRule;
+
+/**
+ * Receives every change made to the events of a calendar, after the change has been applied.
+ * An edit is reported as the removal of the old event followed by the addition of the
+ * edited one. Changes that belong together, such as the events of a batch or the two halves
+ * of an edit, are reported between changesStarted and changesFinished. All methods do
+ * nothing by default.
+ */
+public interface EventChangeListener {
+
+  /**
+   * Called after an event has been added to the calendar.
+   *
+   * @param event the added event
+   */
+  default void eventAdded(EventReadOnly event) {
+  }
+
+  /**
+   * Called after an event, or an occurrence of a series, has been removed from the calendar.
+   *
+   * @param event the removed event
+   */
+  default void eventRemoved(EventReadOnly event) {
+  }
+
+  /**
+   * Called after a recurring series has been added to the calendar.
+   *
+   * @param template the event whose properties every occurrence shares
+   * @param rule     the recurrence rule of the series
+   */
+  default void seriesAdded(EventReadOnly template, RecurrenceRule rule) {
+  }
+
+  /**
+   * Called before a group of changes that belong together is applied.
+   * Groups may nest; every call is matched by a later call to changesFinished.
+   */
+  default void changesStarted() {
+  }
+
+  /**
+   * Called after a group of changes that belong together has been applied, or has stopped
+   * part way because a change was refused.
+   */
+  default void changesFinished() {
+  }
+}
@@ -0,0 +1,174 @@
+package calendar.model.persistence;
+
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.SearchQuery;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventChangeListener;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * An editable calendar that answers reads from a mapped snapshot until it is first changed.
+ * The first change loads the snapshot events into an ordinary calendar, and every later call
+ * goes to that calendar.
+ */
+class CopyOnWriteCalendar implements CalendarEditable {
+  private final SnapshotCalendar snapshot;
+  private final Supplier<CalendarEditable> loader;
+  private CalendarEditable calendar;
+
+  /**
+   * Creates a calendar backed by the given snapshot.
+   *
+   * @param snapshot the snapshot events of the calendar
+   * @param loader   creates the editable calendar holding the snapshot events
+   */
+  CopyOnWriteCalendar(SnapshotCalendar snapshot, Supplier<CalendarEditable> loader) {
+    this.snapshot = snapshot;
+    this.loader = loader;
+  }
+
+  private CalendarEditable writable() {
+    if (calendar == null) {
+      calendar = loader.get();
+    }
+    return calendar;
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly event) {
+    return writable().addEvent(event);
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    return writable().addEvents(events);
+  }
+
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    writable().addSeries(template, rule);
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    return writable().editEvent(events, property, newValue);
+  }
+
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    writable().updateEvent(oldEvent, newEvent);
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    writable().removeEvent(event);
+  }
+
+  @Override
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    return calendar == null ? snapshot.getSeries(seriesId) : calendar.getSeries(seriesId);
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    return calendar == null
+        ? snapshot.getSeriesFrom(seriesId, from) : calendar.getSeriesFrom(seriesId, from);
+  }
+
+  @Override
+  public boolean containsEvent(EventReadOnly event) {
+    return calendar == null ? snapshot.containsEvent(event) : calendar.containsEvent(event);
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    return calendar == null ? snapshot.isBusy(dateTime) : calendar.isBusy(dateTime);
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    return calendar == null ? snapshot.isBusy(from, to) : calendar.isBusy(from, to);
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    if (calendar == null) {
+      snapshot.forEachEvent(consumer);
+    } else {
+      calendar.forEachEvent(consumer);
+    }
+  }
+
+  @Override
+  public void replay(EventChangeListener listener) {
+    if (calendar == null) {
+      snapshot.forEachEvent(listener::eventAdded);
+    } else {
+      calendar.replay(listener);
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return calendar == null
+        ? snapshot.getEvents(startDateTime, endDateTime)
+        : calendar.getEvents(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    return calendar == null ? snapshot.getAllEvents() : calendar.getAllEvents();
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return calendar == null
+        ? snapshot.stream(startDateTime, endDateTime)
+        : calendar.stream(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    return calendar == null ? snapshot.stream(filter) : calendar.stream(filter);
+  }
+
+  @Override
+  public int size() {
+    return calendar == null ? snapshot.size() : calendar.size();
+  }
+
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    return calendar == null
+        ? snapshot.findEvents(subject, startDateTime)
+        : calendar.findEvents(subject, startDateTime);
+  }
+
+  @Override
+  public List<EventReadOnly> search(SearchQuery query) {
+    return calendar == null ? snapshot.search(query) : calendar.search(query);
+  }
+
+  @Override
+  public List<EventReadOnly> select(AttributeQuery query) {
+    return calendar == null ? snapshot.select(query) : calendar.select(query);
+  }
+
+  @Override
+  public CalendarReadOnly snapshot() {
+    return calendar == null ? snapshot : calendar.snapshot();
+  }
+}
@@ -0,0 +1,201 @@
+package calendar.model.persistence;
+
+import calendar.model.Event;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Binary encoding of the values stored in journal records.
+ * Date times are written as epoch seconds and nanoseconds, enums as their ordinal,
+ * and strings as a length followed by their UTF-8 bytes.
+ */
+final class JournalCodec {
+  static final byte CREATE_CALENDAR = 1;
+  static final byte UPDATE_CALENDAR = 2;
+  static final byte USE_CALENDAR = 3;
+  static final byte ADD_EVENT = 4;
+  static final byte REMOVE_EVENT = 5;
+  static final byte ADD_SERIES = 6;
+  static final byte GROUP = 7;
+
+  private JournalCodec() {
+  }
+
+  /**
+   * Writes a string, which may be null.
+   *
+   * @param out   the output to write to
+   * @param value the string to write
+   * @throws IOException if the output fails
+   */
+  static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a string written by writeString.
+   *
+   * @param in the input to read from
+   * @return the string, or null
+   * @throws IOException if the input fails
+   */
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a date time.
+   *
+   * @param out      the output to write to
+   * @param dateTime the date time to write
+   * @throws IOException if the output fails
+   */
+  static void writeDateTime(DataOutput out, LocalDateTime dateTime) throws IOException {
+    out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(dateTime.getNano());
+  }
+
+  /**
+   * Reads a date time written by writeDateTime.
+   *
+   * @param in the input to read from
+   * @return the date time
+   * @throws IOException if the input fails
+   */
+  static LocalDateTime readDateTime(DataInput in) throws IOException {
+    long seconds = in.readLong();
+    int nanos = in.readInt();
+    return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+  }
+
+  /**
+   * Writes every property of an event.
+   *
+   * @param out   the output to write to
+   * @param event the event to write
+   * @throws IOException if the output fails
+   */
+  static void writeEvent(DataOutput out, EventReadOnly event) throws IOException {
+    writeKey(out, event);
+    writeString(out, event.getDescription());
+    out.writeByte(event.getLocation().ordinal());
+    out.writeByte(event.getEventStatus().ordinal());
+    out.writeByte(event.getEventType().ordinal());
+    out.writeLong(event.getId().getMostSignificantBits());
+    out.writeLong(event.getId().getLeastSignificantBits());
+    out.writeBoolean(event.isAllDay());
+  }
+
+  /**
+   * Reads an event written by writeEvent.
+   *
+   * @param in the input to read from
+   * @return the event
+   * @throws IOException if the input fails
+   */
+  static EventReadOnly readEvent(DataInput in) throws IOException {
+    EventReadOnly key = readKey(in);
+    return new Event.EventBuilder(key)
+        .setDescription(readString(in))
+        .setLocation(Location.values()[in.readByte()])
+        .setEventStatus(EventStatus.values()[in.readByte()])
+        .setEventType(TypeOfEvent.values()[in.readByte()])
+        .setEventId(new UUID(in.readLong(), in.readLong()))
+        .setAllDay(in.readBoolean())
+        .build();
+  }
+
+  /**
+   * Writes the identity of an event: its subject, start and end.
+   *
+   * @param out   the output to write to
+   * @param event the event to write
+   * @throws IOException if the output fails
+   */
+  static void writeKey(DataOutput out, EventReadOnly event) throws IOException {
+    writeString(out, event.getSubject());
+    writeDateTime(out, event.getStartDateTime());
+    writeDateTime(out, event.getEndDateTime());
+  }
+
+  /**
+   * Reads an event identity written by writeKey.
+   *
+   * @param in the input to read from
+   * @return an event with the read subject, start and end
+   * @throws IOException if the input fails
+   */
+  static EventReadOnly readKey(DataInput in) throws IOException {
+    String subject = readString(in);
+    LocalDateTime start = readDateTime(in);
+    return new Event.EventBuilder(subject, start)
+        .setEndDateTime(readDateTime(in))
+        .build();
+  }
+
+  /**
+   * Writes a recurrence rule.
+   *
+   * @param out  the output to write to
+   * @param rule the rule to write
+   * @throws IOException if the output fails
+   */
+  static void writeRule(DataOutput out, RecurrenceRule rule) throws IOException {
+    int mask = 0;
+    for (DayOfWeek day : rule.getDays()) {
+      mask |= 1 << (day.getValue() - 1);
+    }
+    out.writeByte(mask);
+    out.writeInt(rule.getTimes());
+    out.writeLong(rule.getUntil() == null ? Long.MIN_VALUE : rule.getUntil().toEpochDay());
+  }
+
+  /**
+   * Reads a recurrence rule written by writeRule.
+   *
+   * @param in the input to read from
+   * @return the rule
+   * @throws IOException if the input fails
+   */
+  static RecurrenceRule readRule(DataInput in) throws IOException {
+    int mask = in.readByte();
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if ((mask & (1 << (day.getValue() - 1))) != 0) {
+        days.add(day);
+      }
+    }
+    int times = in.readInt();
+    long until = in.readLong();
+    if (until == Long.MIN_VALUE) {
+      return new RecurrenceRule(days, times);
+    }
+    return new RecurrenceRule(days, LocalDate.ofEpochDay(until));
+  }
+}
@@ -0,0 +1,163 @@
+package calendar.model.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Appends records to a journal file.
+ * The file starts with the epoch of the journal, which tells which snapshot its records
+ * follow. Each record is written as its payload length, the CRC32 of the payload and the
+ * payload, so that a record torn by a crash is detected and dropped when the journal is
+ * replayed.
+ */
+class JournalWriter implements Closeable {
+  static final int HEADER_SIZE = 8;
+
+  /**
+   * Writes the payload of a single record.
+   */
+  interface RecordBody {
+    /**
+     * Writes the fields of the record.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output fails
+     */
+    void write(DataOutput out) throws IOException;
+  }
+
+  private final Path path;
+  private final FileChannel channel;
+  private final SyncPolicy policy;
+  private final int groupSize;
+  private final ByteArrayOutputStream buffer;
+  private final DataOutputStream out;
+  private final CRC32 crc;
+  private int unsynced;
+  private int records;
+
+  /**
+   * Opens the journal for appending after its last valid record.
+   * Anything after that record, such as a torn write, is cut off. A journal without a valid
+   * header is started over with the given epoch.
+   *
+   * @param path        the journal file
+   * @param epoch       the epoch of the journal
+   * @param validLength the length of the valid prefix of the journal, including its header
+   * @param records     the number of records in the valid prefix
+   * @param policy      when to force records to the storage device
+   * @param groupSize   the number of records per forced write for the group policy
+   * @throws IOException if the file cannot be opened
+   */
+  JournalWriter(Path path, long epoch, long validLength, int records, SyncPolicy policy,
+                int groupSize) throws IOException {
+    if (groupSize <= 0) {
+      throw new IllegalArgumentException("Journal group size must be positive");
+    }
+    this.path = path;
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    this.policy = policy;
+    this.groupSize = groupSize;
+    this.buffer = new ByteArrayOutputStream();
+    this.out = new DataOutputStream(buffer);
+    this.crc = new CRC32();
+    if (validLength < HEADER_SIZE) {
+      restart(epoch);
+    } else {
+      this.channel.truncate(validLength);
+      this.channel.position(validLength);
+      this.records = records;
+    }
+  }
+
+  /**
+   * Drops every record and starts the journal over with a new epoch.
+   * The new header is forced to the device before this returns.
+   *
+   * @param epoch the epoch of the new journal
+   * @throws IOException if the journal cannot be written
+   */
+  void restart(long epoch) throws IOException {
+    channel.truncate(0);
+    channel.position(0);
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putLong(epoch);
+    header.flip();
+    while (header.hasRemaining()) {
+      channel.write(header);
+    }
+    channel.force(false);
+    unsynced = 0;
+    records = 0;
+  }
+
+  /**
+   * Returns the number of records in the journal since its epoch started.
+   *
+   * @return the number of records
+   */
+  int records() {
+    return records;
+  }
+
+  /**
+   * Appends one record to the journal, forcing it to the device if the policy asks for it.
+   *
+   * @param type the record type
+   * @param body writes the fields of the record
+   */
+  void append(byte type, RecordBody body) {
+    try {
+      buffer.reset();
+      out.writeByte(type);
+      body.write(out);
+      out.flush();
+      byte[] payload = buffer.toByteArray();
+      crc.reset();
+      crc.update(payload);
+      ByteBuffer record = ByteBuffer.allocate(8 + payload.length)
+          .putInt(payload.length)
+          .putInt((int) crc.getValue())
+          .put(payload);
+      record.flip();
+      while (record.hasRemaining()) {
+        channel.write(record);
+      }
+      unsynced++;
+      records++;
+      if (policy == SyncPolicy.ALWAYS
+          || (policy == SyncPolicy.GROUP && unsynced >= groupSize)) {
+        sync();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing to journal: " + path, e);
+    }
+  }
+
+  /**
+   * Forces every record written so far to the storage device.
+   *
+   * @throws IOException if the device cannot be written
+   */
+  void sync() throws IOException {
+    if (unsynced > 0) {
+      channel.force(false);
+      unsynced = 0;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel.isOpen()) {
+      sync();
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,611 @@
+package calendar.model.persistence;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendarImpl;
+import calendar.model.OffHeapCalendarImpl;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventChangeListener;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A calendar container that records every change of its calendars in an append-only
+ * binary journal, and rebuilds itself from that journal when it is opened.
+ * Calendars are journaled when they are created, renamed, given a new time zone or made
+ * active. Their events are journaled as they are added or removed; an edit becomes the
+ * removal of the old event followed by the addition of the edited one, and a recurring
+ * series is a single record holding its rule. Changes that belong together, such as a batch
+ * of events or the two halves of an edit, are written as one group record, so a torn journal
+ * replays either all of them or none. A time zone change is journaled as one record
+ * and replayed through the same container operation, instead of as the moved events.
+ *
+ * <p>Each calendar added to this container is stored in a new journaled calendar that copies
+ * the name, time zone, events and series rules of the given one, and whether it refuses
+ * overlapping events.
+ *
+ * <p>To keep the journal short, the container can write a snapshot of every calendar next to
+ * it and start the journal over. Opening then maps the snapshot and replays only the records
+ * written after it. The events of a calendar are read straight from the mapped snapshot until
+ * the calendar is first changed, when they are loaded into memory; a calendar with recurring
+ * series, or one that refuses overlapping events, is loaded when the snapshot is opened, its
+ * series restored from their rules. Like the journal records, the snapshot holds the events in
+ * the time zone each calendar was created with, together with the zone the calendar is now
+ * seen in, so records from before and after a snapshot replay onto the same stored times.
+ * Snapshot and journal carry an epoch, so a crash between writing the snapshot and restarting
+ * the journal is detected and the records already in the snapshot are not applied twice.
+ */
+public class JournaledCalendarContainer implements CalendarContainer, Closeable {
+  /**
+   * The number of journal records after which opening or closing writes a new snapshot.
+   */
+  public static final int DEFAULT_SNAPSHOT_THRESHOLD = 100_000;
+
+  private final CalendarContainer container;
+  private final Path path;
+  private final Path snapshotPath;
+  private final int snapshotThreshold;
+  private final Map<String, Integer> ids;
+  private final Map<Integer, CalendarEditable> stores;
+  private final Map<Integer, ZoneId> storeZones;
+  private JournalWriter writer;
+  private long epoch;
+  private int replayed;
+  private int nextId;
+  private boolean muted;
+
+  private JournaledCalendarContainer(CalendarContainer container, Path path,
+                                     int snapshotThreshold) {
+    if (snapshotThreshold <= 0) {
+      throw new IllegalArgumentException("Snapshot threshold must be positive");
+    }
+    this.container = container;
+    this.path = path;
+    this.snapshotPath = path.resolveSibling(path.getFileName() + ".snapshot");
+    this.snapshotThreshold = snapshotThreshold;
+    this.ids = new HashMap<>();
+    this.stores = new HashMap<>();
+    this.storeZones = new HashMap<>();
+  }
+
+  /**
+   * Opens the container journaled in the given file, replaying the changes already
+   * recorded there. A missing file starts an empty container. A snapshot is written once
+   * the journal holds {@link #DEFAULT_SNAPSHOT_THRESHOLD} records.
+   *
+   * @param path      the journal file
+   * @param policy    when to force records to the storage device
+   * @param groupSize the number of records per forced write for the group policy
+   * @return the rebuilt container, appending new changes to the same journal
+   */
+  public static JournaledCalendarContainer open(Path path, SyncPolicy policy, int groupSize) {
+    return open(path, policy, groupSize, DEFAULT_SNAPSHOT_THRESHOLD);
+  }
+
+  /**
+   * Opens the container journaled in the given file, starting from the snapshot next to it
+   * if there is one and replaying the changes recorded after that snapshot.
+   *
+   * @param path              the journal file
+   * @param policy            when to force records to the storage device
+   * @param groupSize         the number of records per forced write for the group policy
+   * @param snapshotThreshold the number of journal records after which opening or closing
+   *                          the container writes a new snapshot
+   * @return the rebuilt container, appending new changes to the same journal
+   */
+  public static JournaledCalendarContainer open(Path path, SyncPolicy policy, int groupSize,
+                                                int snapshotThreshold) {
+    JournaledCalendarContainer journaled =
+        new JournaledCalendarContainer(new CalendarContainerImpl(), path, snapshotThreshold);
+    try {
+      long validLength = journaled.replay(journaled.load());
+      journaled.writer = new JournalWriter(path, journaled.epoch, validLength,
+          journaled.replayed, policy, groupSize);
+      if (journaled.writer.records() >= snapshotThreshold) {
+        journaled.checkpoint();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error reading journal: " + path, e);
+    }
+    return journaled;
+  }
+
+  /**
+   * Adds a journaled copy of the given calendar, with its series copied as their rules.
+   * Journaled calendars keep their events on the heap, so a calendar storing its events as
+   * columnar or off-heap records is refused rather than silently stored another way.
+   *
+   * @param name             the name of the calendar
+   * @param advancedCalendar the calendar to copy
+   * @throws IllegalArgumentException if the calendar does not store its events on the heap
+   */
+  @Override
+  public void addCalendar(String name, AdvancedCalendar advancedCalendar) {
+    CalendarEditable source = advancedCalendar.getCalendar();
+    if (source instanceof ColumnarCalendarImpl || source instanceof OffHeapCalendarImpl) {
+      throw new IllegalArgumentException("Journaled calendars can only be stored on the heap");
+    }
+    int id = nextId;
+    boolean strict = advancedCalendar.rejectsOverlaps();
+    AdvancedCalendar journaled = createCalendar(id, name, advancedCalendar.getName(),
+        advancedCalendar.getZoneId(), new CalendarImpl(new CalendarLog(id), strict));
+    writer.append(JournalCodec.CREATE_CALENDAR, out -> {
+      out.writeInt(id);
+      JournalCodec.writeString(out, name);
+      JournalCodec.writeString(out, journaled.getName());
+      JournalCodec.writeString(out, journaled.getZoneId().getId());
+      out.writeBoolean(strict);
+    });
+    source.replay(copyTo(stores.get(id)));
+  }
+
+  @Override
+  public void updateCalendar(String name, String property, String newValue) {
+    Integer id = ids.get(name);
+    muted = true;
+    try {
+      container.updateCalendar(name, property, newValue);
+    } finally {
+      muted = false;
+    }
+    if (id == null) {
+      return;
+    }
+    calendarUpdated(id, name, property, newValue);
+    writer.append(JournalCodec.UPDATE_CALENDAR, out -> {
+      out.writeInt(id);
+      JournalCodec.writeString(out, property);
+      JournalCodec.writeString(out, newValue);
+    });
+  }
+
+  @Override
+  public AdvancedCalendar getActiveCalendar() {
+    return container.getActiveCalendar();
+  }
+
+  @Override
+  public void setActiveCalendar(String name) {
+    container.setActiveCalendar(name);
+    Integer id = ids.get(name);
+    if (id != null) {
+      writer.append(JournalCodec.USE_CALENDAR, out -> out.writeInt(id));
+    }
+  }
+
+  @Override
+  public Map<String, AdvancedCalendar> getCalendars() {
+    return container.getCalendars();
+  }
+
+  /**
+   * Writes a snapshot of every calendar and starts the journal over.
+   * The snapshot is written to a temporary file and moved over the previous one, so a crash
+   * leaves either the old snapshot with its journal or the new one.
+   *
+   * @throws IOException if the snapshot or the journal cannot be written
+   */
+  public void checkpoint() throws IOException {
+    writer.sync();
+    Map<String, AdvancedCalendar> calendars = container.getCalendars();
+    AdvancedCalendar active = calendars.isEmpty() ? null : container.getActiveCalendar();
+    Map<Integer, AdvancedCalendar> stored = new HashMap<>();
+    Map<Integer, ZoneId> viewZones = new HashMap<>();
+    Map<Integer, String> keys = new HashMap<>();
+    int activeId = -1;
+    for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+      int id = entry.getValue();
+      AdvancedCalendar calendar = calendars.get(entry.getKey());
+      stored.put(id, new AdvancedCalendarImpl
+          .AdvancedCalendarBuilder(calendar.getName(), storeZones.get(id))
+          .setCalendar(stores.get(id))
+          .build());
+      viewZones.put(id, calendar.getZoneId());
+      keys.put(id, entry.getKey());
+      if (calendar == active) {
+        activeId = id;
+      }
+    }
+    Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+    SnapshotFormat.write(temporary, epoch, stored, viewZones, keys, activeId);
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    epoch++;
+    writer.restart(epoch);
+  }
+
+  /**
+   * Forces every pending record to the storage device and closes the journal, writing a
+   * snapshot first if the journal has grown past the snapshot threshold.
+   *
+   * @throws IOException if the journal cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (writer.records() >= snapshotThreshold) {
+      checkpoint();
+    }
+    writer.close();
+  }
+
+  /**
+   * Adds a new journaled calendar to the underlying container.
+   *
+   * @param id           the journal id of the calendar
+   * @param name         the name the calendar is registered under
+   * @param calendarName the name of the calendar itself
+   * @param zoneId       the time zone of the calendar, in which its events are stored
+   * @param store        the events of the calendar
+   * @return the added calendar
+   */
+  private AdvancedCalendar createCalendar(int id, String name, String calendarName,
+                                          ZoneId zoneId, CalendarEditable store) {
+    AdvancedCalendar journaled = new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder(calendarName, zoneId)
+        .setCalendar(store)
+        .build();
+    container.addCalendar(name, journaled);
+    ids.put(name, id);
+    stores.put(id, store);
+    storeZones.put(id, zoneId);
+    nextId = Math.max(nextId, id + 1);
+    return journaled;
+  }
+
+  /**
+   * Keeps the name to id mapping in step with a successful calendar update.
+   *
+   * @param id       the journal id of the calendar
+   * @param name     the name of the calendar before the update
+   * @param property the updated property
+   * @param newValue the new value of the property
+   */
+  private void calendarUpdated(int id, String name, String property, String newValue) {
+    if ("name".equals(property)) {
+      ids.remove(name);
+      ids.put(newValue, id);
+    }
+  }
+
+  /**
+   * Returns the name a calendar is currently registered under.
+   *
+   * @param id the journal id of the calendar
+   * @return the name of the calendar
+   */
+  private String nameOf(int id) {
+    for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+      if (entry.getValue() == id) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("Journal refers to unknown calendar " + id);
+  }
+
+  /**
+   * Adds the calendars of the snapshot next to the journal, if there is one.
+   *
+   * @return the epoch of the snapshot, or -1 if there is no snapshot
+   * @throws IOException if the snapshot cannot be read
+   */
+  private long load() throws IOException {
+    if (!Files.exists(snapshotPath)) {
+      return -1;
+    }
+    MappedSnapshot snapshot = MappedSnapshot.open(snapshotPath);
+    for (int i = 0; i < snapshot.calendarCount(); i++) {
+      int id = snapshot.calendarId(i);
+      SnapshotCalendar events = snapshot.calendar(i);
+      String key = snapshot.calendarKey(i);
+      CalendarEditable store = snapshot.seriesCount(i) == 0 && !snapshot.rejectsOverlaps(i)
+          ? new CopyOnWriteCalendar(events, () -> copy(id, events))
+          : loadInMemory(id, snapshot, i);
+      createCalendar(id, key, snapshot.calendarName(i), ZoneId.of(snapshot.calendarZone(i)),
+          store);
+      if (!snapshot.calendarViewZone(i).equals(snapshot.calendarZone(i))) {
+        container.updateCalendar(key, "timezone", snapshot.calendarViewZone(i));
+      }
+    }
+    if (snapshot.activeId() >= 0) {
+      container.setActiveCalendar(nameOf(snapshot.activeId()));
+    }
+    return snapshot.epoch();
+  }
+
+  /**
+   * Loads a snapshot calendar that has recurring series, or refuses overlapping events, into
+   * a new journaled calendar. The series are added as their rules, with their removed
+   * occurrences taken out again, before the other events are added. Nothing loaded is
+   * journaled.
+   *
+   * @param id       the journal id of the calendar
+   * @param snapshot the snapshot holding the calendar
+   * @param calendar the position of the calendar in the snapshot
+   * @return the journaled calendar holding the series and events
+   * @throws IOException if a series cannot be read
+   */
+  private CalendarEditable loadInMemory(int id, MappedSnapshot snapshot, int calendar)
+      throws IOException {
+    CalendarEditable store = new CalendarImpl(new CalendarLog(id),
+        snapshot.rejectsOverlaps(calendar));
+    List<EventReadOnly> all = new ArrayList<>();
+    snapshot.calendar(calendar).forEachEvent(all::add);
+    boolean wasMuted = muted;
+    muted = true;
+    try {
+      snapshot.forEachSeries(calendar, copyTo(store));
+      store.addEvents(all);
+    } finally {
+      muted = wasMuted;
+    }
+    return store;
+  }
+
+  /**
+   * Returns a listener that repeats a replayed calendar into the given store.
+   *
+   * @param store the calendar to copy into
+   * @return the copying listener
+   */
+  private static EventChangeListener copyTo(CalendarEditable store) {
+    return new EventChangeListener() {
+      @Override
+      public void eventAdded(EventReadOnly event) {
+        store.addEvent(event);
+      }
+
+      @Override
+      public void eventRemoved(EventReadOnly event) {
+        store.removeEvent(event);
+      }
+
+      @Override
+      public void seriesAdded(EventReadOnly template, RecurrenceRule rule) {
+        store.addSeries(template, rule);
+      }
+    };
+  }
+
+  /**
+   * Loads the snapshot events of a calendar into a new journaled calendar.
+   * The events are already persisted, so adding them is not journaled.
+   *
+   * @param id     the journal id of the calendar
+   * @param events the snapshot events of the calendar
+   * @return the journaled calendar holding the events
+   */
+  private CalendarEditable copy(int id, SnapshotCalendar events) {
+    CalendarEditable calendar = new CalendarImpl(new CalendarLog(id));
+    List<EventReadOnly> all = new ArrayList<>();
+    events.forEachEvent(all::add);
+    boolean wasMuted = muted;
+    muted = true;
+    try {
+      calendar.addEvents(all);
+    } finally {
+      muted = wasMuted;
+    }
+    return calendar;
+  }
+
+  /**
+   * Applies every valid record of the journal written after the given snapshot.
+   * Replay stops at the first record that is incomplete or fails its checksum. A journal
+   * with the same epoch as the snapshot was not restarted after the snapshot was written;
+   * its records are already in the snapshot and are dropped.
+   *
+   * @param snapshotEpoch the epoch of the loaded snapshot, or -1 if there is none
+   * @return the length of the valid prefix of the journal, or 0 to start it over
+   * @throws IOException if the journal cannot be read
+   */
+  private long replay(long snapshotEpoch) throws IOException {
+    epoch = snapshotEpoch + 1;
+    if (!Files.exists(path) || Files.size(path) < JournalWriter.HEADER_SIZE) {
+      return 0;
+    }
+    long validLength = JournalWriter.HEADER_SIZE;
+    CRC32 crc = new CRC32();
+    muted = true;
+    try (InputStream file = Files.newInputStream(path);
+         DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+      long journalEpoch = in.readLong();
+      if (journalEpoch == snapshotEpoch) {
+        return 0;
+      }
+      if (journalEpoch != epoch) {
+        throw new IllegalStateException("Journal epoch " + journalEpoch
+            + " does not follow snapshot epoch " + snapshotEpoch);
+      }
+      while (true) {
+        byte[] payload;
+        int checksum;
+        try {
+          int length = in.readInt();
+          checksum = in.readInt();
+          if (length <= 0) {
+            break;
+          }
+          payload = in.readNBytes(length);
+          if (payload.length < length) {
+            break;
+          }
+        } catch (EOFException e) {
+          break;
+        }
+        crc.reset();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+        apply(new DataInputStream(new ByteArrayInputStream(payload)));
+        validLength += 8 + payload.length;
+        replayed++;
+      }
+    } finally {
+      muted = false;
+    }
+    return validLength;
+  }
+
+  /**
+   * Applies a single journal record.
+   *
+   * @param in the payload of the record
+   * @throws IOException if the payload cannot be read
+   */
+  private void apply(DataInputStream in) throws IOException {
+    byte type = in.readByte();
+    int id = in.readInt();
+    switch (type) {
+      case JournalCodec.CREATE_CALENDAR:
+        String name = JournalCodec.readString(in);
+        String calendarName = JournalCodec.readString(in);
+        ZoneId zoneId = ZoneId.of(JournalCodec.readString(in));
+        boolean strict = in.available() > 0 && in.readBoolean();
+        createCalendar(id, name, calendarName, zoneId, new CalendarImpl(new CalendarLog(id),
+            strict));
+        break;
+      case JournalCodec.UPDATE_CALENDAR:
+        String property = JournalCodec.readString(in);
+        String newValue = JournalCodec.readString(in);
+        String current = nameOf(id);
+        container.updateCalendar(current, property, newValue);
+        calendarUpdated(id, current, property, newValue);
+        break;
+      case JournalCodec.USE_CALENDAR:
+        container.setActiveCalendar(nameOf(id));
+        break;
+      case JournalCodec.ADD_EVENT:
+        stores.get(id).addEvent(JournalCodec.readEvent(in));
+        break;
+      case JournalCodec.REMOVE_EVENT:
+        stores.get(id).removeEvent(JournalCodec.readKey(in));
+        break;
+      case JournalCodec.ADD_SERIES:
+        EventReadOnly template = JournalCodec.readEvent(in);
+        stores.get(id).addSeries(template, JournalCodec.readRule(in));
+        break;
+      case JournalCodec.GROUP:
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+          apply(in);
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unknown journal record type " + type);
+    }
+  }
+
+  /**
+   * Journals the event changes of one calendar.
+   * Changes reported inside a group are held back until the outermost group finishes, and
+   * are then written as a single group record whose payload holds each change as it would
+   * have been written on its own.
+   */
+  private class CalendarLog implements EventChangeListener {
+    private final int id;
+    private final List<Byte> groupTypes;
+    private final List<JournalWriter.RecordBody> groupBodies;
+    private int depth;
+
+    private CalendarLog(int id) {
+      this.id = id;
+      this.groupTypes = new ArrayList<>();
+      this.groupBodies = new ArrayList<>();
+    }
+
+    @Override
+    public void eventAdded(EventReadOnly event) {
+      append(JournalCodec.ADD_EVENT, out -> {
+        out.writeInt(id);
+        JournalCodec.writeEvent(out, event);
+      });
+    }
+
+    @Override
+    public void eventRemoved(EventReadOnly event) {
+      append(JournalCodec.REMOVE_EVENT, out -> {
+        out.writeInt(id);
+        JournalCodec.writeKey(out, event);
+      });
+    }
+
+    @Override
+    public void seriesAdded(EventReadOnly template, RecurrenceRule rule) {
+      append(JournalCodec.ADD_SERIES, out -> {
+        out.writeInt(id);
+        JournalCodec.writeEvent(out, template);
+        JournalCodec.writeRule(out, rule);
+      });
+    }
+
+    @Override
+    public void changesStarted() {
+      depth++;
+    }
+
+    @Override
+    public void changesFinished() {
+      depth--;
+      if (depth > 0 || groupTypes.isEmpty()) {
+        return;
+      }
+      if (groupTypes.size() == 1) {
+        writer.append(groupTypes.get(0), groupBodies.get(0));
+      } else {
+        writer.append(JournalCodec.GROUP, out -> {
+          out.writeInt(id);
+          out.writeInt(groupTypes.size());
+          for (int i = 0; i < groupTypes.size(); i++) {
+            out.writeByte(groupTypes.get(i));
+            groupBodies.get(i).write(out);
+          }
+        });
+      }
+      groupTypes.clear();
+      groupBodies.clear();
+    }
+
+    /**
+     * Writes a change, or holds it back if a group is open.
+     *
+     * @param type the record type
+     * @param body writes the fields of the record
+     */
+    private void append(byte type, JournalWriter.RecordBody body) {
+      if (muted) {
+        return;
+      }
+      if (depth > 0) {
+        groupTypes.add(type);
+        groupBodies.add(body);
+      } else {
+        writer.append(type, body);
+      }
+    }
+  }
+}
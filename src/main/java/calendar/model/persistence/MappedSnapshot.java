@@ -0,0 +1,310 @@
+package calendar.model.persistence;
+
+import calendar.model.Event;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventChangeListener;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * A snapshot file mapped into memory.
+ * Nothing is decoded when the snapshot is opened; strings are decoded the first time they are
+ * used and events are built from their records each time they are read. Recurring series are
+ * only read through forEachSeries, which rebuilds each rule and the occurrences removed from it.
+ */
+final class MappedSnapshot {
+  private final ByteBuffer buffer;
+  private final String[] strings;
+  private final int stringIndex;
+  private final int stringData;
+  private final int eventTable;
+  private final int seriesTable;
+  private final int removalTable;
+
+  private MappedSnapshot(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < SnapshotFormat.HEADER_SIZE
+        || buffer.getInt(0) != SnapshotFormat.MAGIC
+        || buffer.getInt(4) != SnapshotFormat.VERSION) {
+      throw new IOException("Not a calendar snapshot");
+    }
+    this.buffer = buffer;
+    this.strings = new String[buffer.getInt(SnapshotFormat.STRING_COUNT)];
+    this.stringIndex = (int) buffer.getLong(SnapshotFormat.STRING_INDEX);
+    this.stringData = (int) buffer.getLong(SnapshotFormat.STRING_DATA);
+    this.eventTable = (int) buffer.getLong(SnapshotFormat.EVENT_TABLE);
+    this.seriesTable = (int) buffer.getLong(SnapshotFormat.SERIES_TABLE);
+    this.removalTable = (int) buffer.getLong(SnapshotFormat.REMOVAL_TABLE);
+  }
+
+  /**
+   * Maps the given snapshot file.
+   *
+   * @param path the snapshot file
+   * @return the mapped snapshot
+   * @throws IOException if the file cannot be mapped or is not a snapshot
+   */
+  static MappedSnapshot open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new MappedSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Returns the journal epoch included in the snapshot.
+   *
+   * @return the epoch
+   */
+  long epoch() {
+    return buffer.getLong(SnapshotFormat.EPOCH);
+  }
+
+  /**
+   * Returns the journal id of the active calendar.
+   *
+   * @return the id of the active calendar, or -1
+   */
+  int activeId() {
+    return buffer.getInt(SnapshotFormat.ACTIVE_ID);
+  }
+
+  /**
+   * Returns the number of calendars in the snapshot.
+   *
+   * @return the number of calendars
+   */
+  int calendarCount() {
+    return buffer.getInt(SnapshotFormat.CALENDAR_COUNT);
+  }
+
+  /**
+   * Returns the journal id of a calendar.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the journal id
+   */
+  int calendarId(int calendar) {
+    return buffer.getInt(calendarEntry(calendar) + SnapshotFormat.CALENDAR_ID);
+  }
+
+  /**
+   * Returns the name a calendar is registered under.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the registered name
+   */
+  String calendarKey(int calendar) {
+    return string(buffer.getInt(calendarEntry(calendar) + SnapshotFormat.CALENDAR_KEY));
+  }
+
+  /**
+   * Returns the name of a calendar.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the calendar name
+   */
+  String calendarName(int calendar) {
+    return string(buffer.getInt(calendarEntry(calendar) + SnapshotFormat.CALENDAR_NAME));
+  }
+
+  /**
+   * Returns the id of the time zone the events of a calendar are stored in.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the time zone id
+   */
+  String calendarZone(int calendar) {
+    return string(buffer.getInt(calendarEntry(calendar) + SnapshotFormat.CALENDAR_ZONE));
+  }
+
+  /**
+   * Returns the id of the time zone a calendar is seen in.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the time zone id
+   */
+  String calendarViewZone(int calendar) {
+    return string(buffer.getInt(calendarEntry(calendar) + SnapshotFormat.CALENDAR_VIEW_ZONE));
+  }
+
+  /**
+   * Returns a read-only view of the events of a calendar.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the events of the calendar, read from the mapped file
+   */
+  SnapshotCalendar calendar(int calendar) {
+    int entry = calendarEntry(calendar);
+    return new SnapshotCalendar(this,
+        (int) buffer.getLong(entry + SnapshotFormat.CALENDAR_FIRST_EVENT),
+        buffer.getInt(entry + SnapshotFormat.CALENDAR_EVENT_COUNT),
+        buffer.getLong(entry + SnapshotFormat.CALENDAR_MAX_DURATION));
+  }
+
+  /**
+   * Checks whether a calendar refuses events that overlap one it already holds.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return true if the calendar refuses overlapping events
+   */
+  boolean rejectsOverlaps(int calendar) {
+    return buffer.get(calendarEntry(calendar) + SnapshotFormat.CALENDAR_REJECT_OVERLAPS) != 0;
+  }
+
+  /**
+   * Returns the number of recurring series of a calendar.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @return the number of series
+   */
+  int seriesCount(int calendar) {
+    return buffer.getInt(calendarEntry(calendar) + SnapshotFormat.CALENDAR_SERIES_COUNT);
+  }
+
+  /**
+   * Reports the recurring series of a calendar the way CalendarImpl.replay does: each series
+   * as its first occurrence and rule, followed by the occurrences removed from it.
+   *
+   * @param calendar the position of the calendar in the snapshot
+   * @param listener the listener to report the series to
+   * @throws IOException if a rule record cannot be read
+   */
+  void forEachSeries(int calendar, EventChangeListener listener) throws IOException {
+    int entry = calendarEntry(calendar);
+    int first = (int) buffer.getLong(entry + SnapshotFormat.CALENDAR_FIRST_SERIES);
+    int removal = (int) buffer.getLong(entry + SnapshotFormat.CALENDAR_FIRST_REMOVAL);
+    for (int series = first; series < first + seriesCount(calendar); series++) {
+      int record = seriesTable + series * SnapshotFormat.SERIES_SIZE;
+      byte[] rule = new byte[SnapshotFormat.SERIES_REMOVAL_COUNT - SnapshotFormat.SERIES_DAYS];
+      buffer.get(record + SnapshotFormat.SERIES_DAYS, rule);
+      listener.seriesAdded(eventAt(record),
+          JournalCodec.readRule(new DataInputStream(new ByteArrayInputStream(rule))));
+      int removals = buffer.getInt(record + SnapshotFormat.SERIES_REMOVAL_COUNT);
+      for (int i = 0; i < removals; i++, removal++) {
+        listener.eventRemoved(eventAt(removalTable + removal * SnapshotFormat.EVENT_SIZE));
+      }
+    }
+  }
+
+  /**
+   * Returns the start of an event in seconds since the epoch, read as UTC.
+   *
+   * @param event the index of the event record
+   * @return the start seconds
+   */
+  long start(int event) {
+    return buffer.getLong(eventRecord(event) + SnapshotFormat.EVENT_START);
+  }
+
+  /**
+   * Returns the end of an event in seconds since the epoch, read as UTC.
+   *
+   * @param event the index of the event record
+   * @return the end seconds
+   */
+  long end(int event) {
+    return buffer.getLong(eventRecord(event) + SnapshotFormat.EVENT_END);
+  }
+
+  /**
+   * Returns the subject of an event.
+   *
+   * @param event the index of the event record
+   * @return the subject
+   */
+  String subject(int event) {
+    return string(buffer.getInt(eventRecord(event) + SnapshotFormat.EVENT_SUBJECT));
+  }
+
+  /**
+   * Checks whether an event has the given id.
+   *
+   * @param event the index of the event record
+   * @param id    the id to compare with
+   * @return true if the ids are equal
+   */
+  boolean hasId(int event, UUID id) {
+    int record = eventRecord(event);
+    return buffer.getLong(record + SnapshotFormat.EVENT_ID_HIGH) == id.getMostSignificantBits()
+        && buffer.getLong(record + SnapshotFormat.EVENT_ID_LOW) == id.getLeastSignificantBits();
+  }
+
+  /**
+   * Builds the event stored in a record.
+   *
+   * @param event the index of the event record
+   * @return the event
+   */
+  EventReadOnly event(int event) {
+    return eventAt(eventRecord(event));
+  }
+
+  private EventReadOnly eventAt(int record) {
+    return new Event.EventBuilder(
+        string(buffer.getInt(record + SnapshotFormat.EVENT_SUBJECT)),
+        dateTime(buffer.getLong(record + SnapshotFormat.EVENT_START)))
+        .setEndDateTime(dateTime(buffer.getLong(record + SnapshotFormat.EVENT_END)))
+        .setDescription(string(buffer.getInt(record + SnapshotFormat.EVENT_DESCRIPTION)))
+        .setLocation(Location.values()[buffer.get(record + SnapshotFormat.EVENT_LOCATION)])
+        .setEventStatus(EventStatus.values()[buffer.get(record + SnapshotFormat.EVENT_STATUS)])
+        .setEventType(TypeOfEvent.values()[buffer.get(record + SnapshotFormat.EVENT_TYPE)])
+        .setAllDay(buffer.get(record + SnapshotFormat.EVENT_ALL_DAY) != 0)
+        .setEventId(new UUID(buffer.getLong(record + SnapshotFormat.EVENT_ID_HIGH),
+            buffer.getLong(record + SnapshotFormat.EVENT_ID_LOW)))
+        .build();
+  }
+
+  /**
+   * Converts seconds since the epoch, read as UTC, to a date time.
+   *
+   * @param seconds the seconds since the epoch
+   * @return the date time
+   */
+  static LocalDateTime dateTime(long seconds) {
+    return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts a date time to seconds since the epoch, read as UTC.
+   *
+   * @param dateTime the date time
+   * @return the seconds since the epoch
+   */
+  static long seconds(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  private int calendarEntry(int calendar) {
+    return SnapshotFormat.HEADER_SIZE + calendar * SnapshotFormat.CALENDAR_SIZE;
+  }
+
+  private int eventRecord(int event) {
+    return eventTable + event * SnapshotFormat.EVENT_SIZE;
+  }
+
+  private String string(int index) {
+    if (index == SnapshotFormat.NO_STRING) {
+      return null;
+    }
+    String value = strings[index];
+    if (value == null) {
+      int entry = stringIndex + index * SnapshotFormat.STRING_ENTRY_SIZE;
+      byte[] bytes = new byte[buffer.getInt(entry + 4)];
+      buffer.get(stringData + buffer.getInt(entry), bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+      strings[index] = value;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,173 @@
+package calendar.model.persistence;
+
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The events of one calendar, read in place from a mapped snapshot.
+ * The records are sorted by start, so range and busy queries binary search for the first
+ * record that may overlap and scan forward. The longest event of the calendar bounds how far
+ * before the range that first record can start.
+ */
+class SnapshotCalendar implements CalendarReadOnly {
+  private final MappedSnapshot snapshot;
+  private final int first;
+  private final int count;
+  private final long maxDuration;
+
+  /**
+   * Creates a view over a run of event records.
+   *
+   * @param snapshot    the mapped snapshot
+   * @param first       the index of the first event record of the calendar
+   * @param count       the number of event records of the calendar
+   * @param maxDuration the longest event duration of the calendar, in seconds
+   */
+  SnapshotCalendar(MappedSnapshot snapshot, int first, int count, long maxDuration) {
+    this.snapshot = snapshot;
+    this.first = first;
+    this.count = count;
+    this.maxDuration = maxDuration;
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    long instant = MappedSnapshot.seconds(dateTime);
+    for (int i = lowerBound(instant - maxDuration); i < first + count; i++) {
+      long start = snapshot.start(i);
+      if (start > instant) {
+        return false;
+      }
+      if (start == instant || snapshot.end(i) > instant) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    for (int i = first; i < first + count; i++) {
+      consumer.accept(snapshot.event(i));
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    long from = MappedSnapshot.seconds(startDateTime);
+    long to = MappedSnapshot.seconds(endDateTime);
+    List<EventReadOnly> result = new ArrayList<>();
+    for (int i = lowerBound(from - maxDuration); i < first + count; i++) {
+      if (snapshot.start(i) > to) {
+        break;
+      }
+      if (snapshot.end(i) >= from) {
+        result.add(snapshot.event(i));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    forEachEvent(event -> allEvents
+        .computeIfAbsent(event.getStartDateTime().toLocalDate(), date -> new ArrayList<>())
+        .add(event));
+    return allEvents;
+  }
+
+  @Override
+  public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+    return IntStream.range(first, first + count).mapToObj(snapshot::event).filter(filter);
+  }
+
+  @Override
+  public int size() {
+    return count;
+  }
+
+  @Override
+  public CalendarReadOnly snapshot() {
+    return this;
+  }
+
+  /**
+   * Returns every event of the series with the given id, in start order.
+   *
+   * @param seriesId the id of the series
+   * @return the events of the series
+   */
+  List<EventReadOnly> getSeries(UUID seriesId) {
+    return collectSeries(seriesId, first);
+  }
+
+  /**
+   * Returns the events of the series with the given id that start at or after the given time.
+   *
+   * @param seriesId the id of the series
+   * @param from     the earliest start
+   * @return the matching events, in start order
+   */
+  List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    return collectSeries(seriesId, lowerBound(MappedSnapshot.seconds(from)));
+  }
+
+  /**
+   * Checks whether an event with the same subject, start and end is stored.
+   *
+   * @param event the event to look up
+   * @return true if such an event is stored
+   */
+  boolean containsEvent(EventReadOnly event) {
+    long start = MappedSnapshot.seconds(event.getStartDateTime());
+    long end = MappedSnapshot.seconds(event.getEndDateTime());
+    for (int i = lowerBound(start); i < first + count && snapshot.start(i) == start; i++) {
+      if (snapshot.end(i) == end && snapshot.subject(i).equals(event.getSubject())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<EventReadOnly> collectSeries(UUID seriesId, int from) {
+    List<EventReadOnly> result = new ArrayList<>();
+    for (int i = from; i < first + count; i++) {
+      if (snapshot.hasId(i, seriesId)) {
+        result.add(snapshot.event(i));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the index of the first record that starts at or after the given time.
+   *
+   * @param seconds the start to search for, in seconds since the epoch
+   * @return the index of the first such record, or the end of the calendar's records
+   */
+  private int lowerBound(long seconds) {
+    int low = first;
+    int high = first + count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (snapshot.start(mid) < seconds) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
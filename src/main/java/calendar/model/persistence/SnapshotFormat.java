@@ -0,0 +1,294 @@
+package calendar.model.persistence;
+
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventChangeListener;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout of a calendar snapshot file, and the code that writes one.
+ * A snapshot holds a fixed-size header, one fixed-size entry per calendar, a string table
+ * and the events of every calendar as fixed-width records sorted by start, end and subject.
+ * Recurring series follow as their rules: a table of fixed-width records each holding the
+ * first occurrence of a series, its rule and the number of occurrences removed from it, and a
+ * table of the removed occurrences in the same order. The event table holds the other events
+ * only, so a snapshot grows with the number of series rather than with their occurrences.
+ * Strings are stored once and referenced by index, and date times are stored to the second.
+ * The fixed widths let a reader map the file and look records up in place.
+ *
+ * <p>Events are written as they are stored, in the time zone their calendar was created
+ * with, the same one the journal records use; each calendar entry also holds the zone the
+ * calendar is seen in, which differs once its time zone has been changed.
+ */
+final class SnapshotFormat {
+  static final int MAGIC = 0x43414c53;
+  static final int VERSION = 4;
+
+  static final int HEADER_SIZE = 68;
+  static final int EPOCH = 8;
+  static final int CALENDAR_COUNT = 16;
+  static final int ACTIVE_ID = 20;
+  static final int STRING_COUNT = 24;
+  static final int STRING_INDEX = 28;
+  static final int STRING_DATA = 36;
+  static final int EVENT_TABLE = 44;
+  static final int SERIES_TABLE = 52;
+  static final int REMOVAL_TABLE = 60;
+
+  static final int CALENDAR_SIZE = 61;
+  static final int CALENDAR_ID = 0;
+  static final int CALENDAR_KEY = 4;
+  static final int CALENDAR_NAME = 8;
+  static final int CALENDAR_ZONE = 12;
+  static final int CALENDAR_FIRST_EVENT = 16;
+  static final int CALENDAR_EVENT_COUNT = 24;
+  static final int CALENDAR_MAX_DURATION = 28;
+  static final int CALENDAR_VIEW_ZONE = 36;
+  static final int CALENDAR_FIRST_SERIES = 40;
+  static final int CALENDAR_SERIES_COUNT = 48;
+  static final int CALENDAR_FIRST_REMOVAL = 52;
+  static final int CALENDAR_REJECT_OVERLAPS = 60;
+
+  static final int STRING_ENTRY_SIZE = 8;
+
+  static final int EVENT_SIZE = 44;
+  static final int EVENT_SUBJECT = 0;
+  static final int EVENT_START = 4;
+  static final int EVENT_END = 12;
+  static final int EVENT_DESCRIPTION = 20;
+  static final int EVENT_LOCATION = 24;
+  static final int EVENT_STATUS = 25;
+  static final int EVENT_TYPE = 26;
+  static final int EVENT_ALL_DAY = 27;
+  static final int EVENT_ID_HIGH = 28;
+  static final int EVENT_ID_LOW = 36;
+
+  static final int SERIES_SIZE = 61;
+  static final int SERIES_DAYS = 44;
+  static final int SERIES_TIMES = 45;
+  static final int SERIES_UNTIL = 49;
+  static final int SERIES_REMOVAL_COUNT = 57;
+
+  static final int NO_STRING = -1;
+
+  private static final Comparator<EventReadOnly> ORDER = CalendarReadOnly.START_ORDER;
+
+  private SnapshotFormat() {
+  }
+
+  /**
+   * Writes a snapshot of the given calendars.
+   *
+   * @param path      the file to write
+   * @param epoch     the journal epoch the snapshot includes
+   * @param calendars the calendars by journal id, with their stored events and series and the
+   *                  time zone those are stored in
+   * @param viewZones the time zone each calendar is seen in, by journal id
+   * @param keys      the registered name of each calendar, by journal id
+   * @param activeId  the journal id of the active calendar, or -1
+   * @throws IOException if the file cannot be written
+   */
+  static void write(Path path, long epoch, Map<Integer, AdvancedCalendar> calendars,
+                    Map<Integer, ZoneId> viewZones, Map<Integer, String> keys, int activeId)
+      throws IOException {
+    Map<String, Integer> stringIds = new HashMap<>();
+    List<byte[]> strings = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>(calendars.keySet());
+    ids.sort(Comparator.naturalOrder());
+    List<Contents> contents = new ArrayList<>();
+    long eventCount = 0;
+    long seriesCount = 0;
+    long removalCount = 0;
+    for (int id : ids) {
+      AdvancedCalendar calendar = calendars.get(id);
+      intern(keys.get(id), stringIds, strings);
+      intern(calendar.getName(), stringIds, strings);
+      intern(calendar.getZoneId().getId(), stringIds, strings);
+      intern(viewZones.get(id).getId(), stringIds, strings);
+      Contents calendarContents = new Contents();
+      calendar.getCalendar().replay(calendarContents);
+      calendarContents.events.sort(ORDER);
+      for (EventReadOnly event : calendarContents.events) {
+        intern(event.getSubject(), stringIds, strings);
+        intern(event.getDescription(), stringIds, strings);
+      }
+      for (Series series : calendarContents.series) {
+        intern(series.template.getSubject(), stringIds, strings);
+        intern(series.template.getDescription(), stringIds, strings);
+        for (EventReadOnly removal : series.removals) {
+          intern(removal.getSubject(), stringIds, strings);
+          intern(removal.getDescription(), stringIds, strings);
+        }
+        removalCount += series.removals.size();
+      }
+      contents.add(calendarContents);
+      eventCount += calendarContents.events.size();
+      seriesCount += calendarContents.series.size();
+    }
+
+    long stringIndex = HEADER_SIZE + (long) CALENDAR_SIZE * ids.size();
+    long stringData = stringIndex + (long) STRING_ENTRY_SIZE * strings.size();
+    long stringBytes = 0;
+    for (byte[] bytes : strings) {
+      stringBytes += bytes.length;
+    }
+    long eventTable = stringData + stringBytes;
+    long seriesTable = eventTable + eventCount * EVENT_SIZE;
+    long removalTable = seriesTable + seriesCount * SERIES_SIZE;
+
+    try (OutputStream file = Files.newOutputStream(path);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(epoch);
+      out.writeInt(ids.size());
+      out.writeInt(activeId);
+      out.writeInt(strings.size());
+      out.writeLong(stringIndex);
+      out.writeLong(stringData);
+      out.writeLong(eventTable);
+      out.writeLong(seriesTable);
+      out.writeLong(removalTable);
+
+      long firstEvent = 0;
+      long firstSeries = 0;
+      long firstRemoval = 0;
+      for (int i = 0; i < ids.size(); i++) {
+        int id = ids.get(i);
+        AdvancedCalendar calendar = calendars.get(id);
+        List<EventReadOnly> calendarEvents = contents.get(i).events;
+        List<Series> calendarSeries = contents.get(i).series;
+        long maxDuration = 0;
+        for (EventReadOnly event : calendarEvents) {
+          maxDuration = Math.max(maxDuration,
+              Duration.between(event.getStartDateTime(), event.getEndDateTime()).getSeconds());
+        }
+        out.writeInt(id);
+        out.writeInt(stringIds.get(keys.get(id)));
+        out.writeInt(stringIds.get(calendar.getName()));
+        out.writeInt(stringIds.get(calendar.getZoneId().getId()));
+        out.writeLong(firstEvent);
+        out.writeInt(calendarEvents.size());
+        out.writeLong(maxDuration);
+        out.writeInt(stringIds.get(viewZones.get(id).getId()));
+        out.writeLong(firstSeries);
+        out.writeInt(calendarSeries.size());
+        out.writeLong(firstRemoval);
+        out.writeBoolean(calendar.rejectsOverlaps());
+        firstEvent += calendarEvents.size();
+        firstSeries += calendarSeries.size();
+        for (Series series : calendarSeries) {
+          firstRemoval += series.removals.size();
+        }
+      }
+
+      int offset = 0;
+      for (byte[] bytes : strings) {
+        out.writeInt(offset);
+        out.writeInt(bytes.length);
+        offset += bytes.length;
+      }
+      for (byte[] bytes : strings) {
+        out.write(bytes);
+      }
+
+      for (Contents calendarContents : contents) {
+        for (EventReadOnly event : calendarContents.events) {
+          writeEvent(out, event, stringIds);
+        }
+      }
+      for (Contents calendarContents : contents) {
+        for (Series series : calendarContents.series) {
+          writeEvent(out, series.template, stringIds);
+          JournalCodec.writeRule(out, series.rule);
+          out.writeInt(series.removals.size());
+        }
+      }
+      for (Contents calendarContents : contents) {
+        for (Series series : calendarContents.series) {
+          for (EventReadOnly removal : series.removals) {
+            writeEvent(out, removal, stringIds);
+          }
+        }
+      }
+    }
+    if (removalCount * EVENT_SIZE + removalTable != Files.size(path)) {
+      throw new IOException("Snapshot size does not match its layout: " + path);
+    }
+  }
+
+  private static void writeEvent(DataOutputStream out, EventReadOnly event,
+                                 Map<String, Integer> stringIds) throws IOException {
+    out.writeInt(stringIds.get(event.getSubject()));
+    out.writeLong(event.getStartDateTime().toEpochSecond(ZoneOffset.UTC));
+    out.writeLong(event.getEndDateTime().toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(event.getDescription() == null
+        ? NO_STRING : stringIds.get(event.getDescription()));
+    out.writeByte(event.getLocation().ordinal());
+    out.writeByte(event.getEventStatus().ordinal());
+    out.writeByte(event.getEventType().ordinal());
+    out.writeBoolean(event.isAllDay());
+    out.writeLong(event.getId().getMostSignificantBits());
+    out.writeLong(event.getId().getLeastSignificantBits());
+  }
+
+  private static void intern(String value, Map<String, Integer> stringIds, List<byte[]> strings) {
+    if (value != null && !stringIds.containsKey(value)) {
+      stringIds.put(value, strings.size());
+      strings.add(value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * The events and series of one calendar, as its replay reports them.
+   */
+  private static final class Contents implements EventChangeListener {
+    private final List<EventReadOnly> events = new ArrayList<>();
+    private final List<Series> series = new ArrayList<>();
+
+    @Override
+    public void eventAdded(EventReadOnly event) {
+      events.add(event);
+    }
+
+    @Override
+    public void eventRemoved(EventReadOnly event) {
+      series.get(series.size() - 1).removals.add(event);
+    }
+
+    @Override
+    public void seriesAdded(EventReadOnly template, RecurrenceRule rule) {
+      series.add(new Series(template, rule));
+    }
+  }
+
+  /**
+   * A series rule and the occurrences removed from it.
+   */
+  private static final class Series {
+    private final EventReadOnly template;
+    private final RecurrenceRule rule;
+    private final List<EventReadOnly> removals = new ArrayList<>();
+
+    private Series(EventReadOnly template, RecurrenceRule rule) {
+      this.template = template;
+      this.rule = rule;
+    }
+  }
+}
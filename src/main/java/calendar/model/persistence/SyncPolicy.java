@@ -0,0 +1,39 @@
+package calendar.model.persistence;
+
+/**
+ * Decides when the journal forces its records to the storage device.
+ * Every record is handed to the operating system as soon as it is written, so it survives
+ * a crash of the program; the policy controls how much may be lost if the machine itself fails.
+ */
+public enum SyncPolicy {
+  /**
+   * Forces the journal after every record.
+   */
+  ALWAYS,
+
+  /**
+   * Forces the journal once a group of records has been written, and on close.
+   */
+  GROUP,
+
+  /**
+   * Leaves flushing to the operating system, and forces the journal only on close.
+   */
+  NEVER;
+
+  /**
+   * Returns the policy with the given name, ignoring case.
+   *
+   * @param name the name of the policy
+   * @return the matching policy
+   * @throws IllegalArgumentException if no policy has that name
+   */
+  public static SyncPolicy of(String name) {
+    for (SyncPolicy policy : values()) {
+      if (policy.name().equalsIgnoreCase(name)) {
+        return policy;
+      }
+    }
+    throw new IllegalArgumentException("Invalid journal sync policy: " + name);
+  }
+}
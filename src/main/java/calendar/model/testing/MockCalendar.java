@@ -1,13 +1,19 @@
 package calendar.model.testing;
 
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.SearchQuery;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
 import calendar.model.interfaces.EventReadOnly;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 /**
@@ -34,6 +40,17 @@ class MockCalendar implements CalendarEditable {
     return event;
   }
 
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    appendToLog("addEvents");
+    return new ArrayList<>(events);
+  }
+
+  @Override
+  public void addSeries(EventReadOnly template, RecurrenceRule rule) {
+    appendToLog("addSeries");
+  }
+
   @Override
   public List<EventReadOnly> editEvent(List<EventReadOnly> events,
                                        String property, String newValue) {
@@ -41,6 +58,11 @@ class MockCalendar implements CalendarEditable {
     return events;
   }
 
+  @Override
+  public void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    appendToLog("updateEvent");
+  }
+
   @Override
   public void removeEvent(EventReadOnly event) {
     appendToLog("removeEvent");
@@ -52,6 +74,12 @@ class MockCalendar implements CalendarEditable {
     return false;
   }
 
+  @Override
+  public boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    appendToLog("isBusy");
+    return false;
+  }
+
   @Override
   public void forEachEvent(Consumer<EventReadOnly> consumer) {
     appendToLog("forEachEvent");
@@ -69,6 +97,53 @@ class MockCalendar implements CalendarEditable {
     return Map.of();
   }
 
+  @Override
+  public CalendarReadOnly snapshot() {
+    appendToLog("snapshot");
+    return this;
+  }
+
+  @Override
+  public List<EventReadOnly> getSeries(UUID seriesId) {
+    appendToLog("getSeries");
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesFrom(UUID seriesId, LocalDateTime from) {
+    appendToLog("getSeriesFrom");
+    return new ArrayList<>();
+  }
+
+  @Override
+  public int size() {
+    return 0;
+  }
+
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    appendToLog("findEvents");
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<EventReadOnly> search(SearchQuery query) {
+    appendToLog("search");
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<EventReadOnly> select(AttributeQuery query) {
+    appendToLog("select");
+    return new ArrayList<>();
+  }
+
+  @Override
+  public boolean containsEvent(EventReadOnly event) {
+    appendToLog("containsEvent");
+    return false;
+  }
+
   private void appendToLog(String message) {
     try {
       log.append(message);
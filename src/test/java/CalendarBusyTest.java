@@ -0,0 +1,147 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the busy checks of CalendarImpl, answered from minute bitmaps of each day.
+ * Checks them against a snapshot, which answers from the events themselves, for events that
+ * span midnight, last less than a minute or do not start on a whole minute, and for series
+ * added or changed after busy checks have already marked their days.
+ */
+public class CalendarBusyTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 0, 0);
+
+  private CalendarEditable calendar;
+  private List<EventReadOnly> added;
+
+  private static EventReadOnly event(String subject, LocalDateTime start, LocalDateTime end) {
+    return new Event.EventBuilder(subject, start).setEndDateTime(end).build();
+  }
+
+  /**
+   * Adds events of awkward lengths and offsets.
+   */
+  @Before
+  public void setUp() {
+    calendar = new CalendarImpl();
+    added = new ArrayList<>();
+    added.add(event("Overnight", MONDAY.plusHours(22), MONDAY.plusDays(1).plusHours(2)));
+    added.add(event("Trip", MONDAY.plusDays(2).plusHours(9), MONDAY.plusDays(5).plusHours(9)));
+    added.add(event("Instant", MONDAY.plusHours(12), MONDAY.plusHours(12)));
+    added.add(event("Seconds", MONDAY.plusHours(14).plusSeconds(30),
+        MONDAY.plusHours(14).plusMinutes(2).plusSeconds(15)));
+    added.add(event("Midnight", MONDAY.plusDays(1), MONDAY.plusDays(1).plusHours(1)));
+    for (int i = 0; i < 200; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(37L * (i * 53 % 400)).plusSeconds(i % 7);
+      added.add(event("Event" + i, start, start.plusMinutes(5 + i % 90)));
+    }
+    for (EventReadOnly event : added) {
+      calendar.addEvent(event);
+    }
+  }
+
+  private void assertMatchesSnapshot() {
+    CalendarReadOnly snapshot = calendar.snapshot();
+    for (LocalDateTime t = MONDAY.minusHours(1); t.isBefore(MONDAY.plusDays(12));
+         t = t.plusSeconds(1795)) {
+      assertEquals(t.toString(), snapshot.isBusy(t), calendar.isBusy(t));
+      LocalDateTime to = t.plusSeconds(t.getSecond() * 97L + 1);
+      assertEquals(t + " " + to, snapshot.isBusy(t, to), calendar.isBusy(t, to));
+    }
+  }
+
+  @Test
+  public void testBusyMatchesEvents() {
+    assertMatchesSnapshot();
+    assertTrue(calendar.isBusy(MONDAY.plusDays(4)));
+  }
+
+  @Test
+  public void testShortEventsAreBusyToTheSecond() {
+    CalendarEditable quiet = new CalendarImpl();
+    for (EventReadOnly event : added.subList(0, 5)) {
+      quiet.addEvent(event);
+    }
+    assertTrue(quiet.isBusy(MONDAY.plusHours(12)));
+    assertFalse(quiet.isBusy(MONDAY.plusHours(12).plusSeconds(1)));
+    assertTrue(quiet.isBusy(MONDAY.plusHours(12), MONDAY.plusHours(12).plusSeconds(1)));
+    assertFalse(quiet.isBusy(MONDAY.plusHours(14).plusSeconds(29)));
+    assertTrue(quiet.isBusy(MONDAY.plusHours(14).plusMinutes(2).plusSeconds(14)));
+    assertFalse(quiet.isBusy(MONDAY.plusHours(14).plusMinutes(2).plusSeconds(15)));
+    assertFalse(quiet.isBusy(MONDAY.plusHours(14).plusMinutes(2).plusSeconds(15),
+        MONDAY.plusHours(14).plusMinutes(3)));
+  }
+
+  @Test
+  public void testBusyFollowsRemovalsAndEdits() {
+    for (int i = 0; i < added.size(); i += 2) {
+      calendar.removeEvent(added.get(i));
+    }
+    calendar.editEvent(List.of(added.get(1)), "start", MONDAY.plusDays(3).toString());
+    assertMatchesSnapshot();
+  }
+
+  @Test
+  public void testBusyFollowsSeriesChanges() {
+    LocalDateTime standup = MONDAY.plusHours(9).plusSeconds(30);
+    calendar.addSeries(new Event.EventBuilder("Standup", standup)
+            .setEndDateTime(standup.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 6));
+    assertMatchesSnapshot();
+    assertTrue(calendar.isBusy(MONDAY.plusDays(14).plusHours(9).plusMinutes(5)));
+
+    calendar.removeEvent(calendar.findEvents("Standup", standup.plusDays(14)).get(0));
+    assertFalse(calendar.isBusy(MONDAY.plusDays(14).plusHours(9).plusMinutes(5)));
+    assertFalse(calendar.isBusy(MONDAY.plusDays(14), MONDAY.plusDays(15)));
+    LocalDateTime review = MONDAY.plusDays(14).plusHours(18);
+    calendar.addSeries(new Event.EventBuilder("Review", review)
+            .setEndDateTime(review.plusHours(1)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 2));
+    assertTrue(calendar.isBusy(review.plusMinutes(30)));
+    assertMatchesSnapshot();
+  }
+
+  @Test
+  public void testBusyOverManyDaysAndLongRanges() {
+    LocalDateTime standup = MONDAY.plusHours(7).plusSeconds(30);
+    calendar.addSeries(new Event.EventBuilder("Standup", standup)
+            .setEndDateTime(standup.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 30));
+    CalendarReadOnly snapshot = calendar.snapshot();
+    for (int round = 0; round < 2; round++) {
+      for (LocalDateTime t = MONDAY; t.isBefore(MONDAY.plusDays(120)); t = t.plusMinutes(433)) {
+        assertEquals(t.toString(), snapshot.isBusy(t), calendar.isBusy(t));
+        LocalDateTime to = t.plusDays(t.getMinute() % 50).plusMinutes(7);
+        assertEquals(t + " " + to, snapshot.isBusy(t, to), calendar.isBusy(t, to));
+      }
+    }
+    assertTrue(calendar.isBusy(MONDAY.plusDays(60), MONDAY.plusDays(100)));
+    assertFalse(calendar.isBusy(MONDAY.plusDays(110), MONDAY.plusDays(150)));
+  }
+
+  @Test
+  public void testRangeBusyExcludesItsEnd() {
+    CalendarEditable single = new CalendarImpl();
+    single.addEvent(event("Review", MONDAY.plusHours(9), MONDAY.plusHours(10)));
+    assertFalse(single.isBusy(MONDAY.plusHours(8), MONDAY.plusHours(9)));
+    assertTrue(single.isBusy(MONDAY.plusHours(8), MONDAY.plusHours(9).plusSeconds(1)));
+    assertFalse(single.isBusy(MONDAY.plusHours(10), MONDAY.plusHours(11)));
+    assertTrue(single.isBusy(MONDAY, MONDAY.plusDays(1)));
+    assertFalse(single.isBusy(MONDAY.plusHours(9), MONDAY.plusHours(9)));
+  }
+}
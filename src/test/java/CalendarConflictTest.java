@@ -0,0 +1,206 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ConflictDetector;
+import calendar.model.Event;
+import calendar.model.datatypes.EventConflict;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventChangeListener;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.view.CalendarViewImpl;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Tests for the conflict report over one or several calendars and for calendars that refuse
+ * overlapping events.
+ */
+public class CalendarConflictTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 0, 0);
+
+  private static EventReadOnly event(String subject, LocalDateTime start, LocalDateTime end) {
+    return new Event.EventBuilder(subject, start).setEndDateTime(end).build();
+  }
+
+  private static CalendarEditable strict() {
+    return new CalendarImpl(new EventChangeListener() {
+    }, true);
+  }
+
+  private static Set<List<String>> pairs(List<EventConflict> conflicts) {
+    Set<List<String>> pairs = new HashSet<>();
+    for (EventConflict conflict : conflicts) {
+      pairs.add(List.of(conflict.getFirst().getSubject(), conflict.getSecond().getSubject()));
+    }
+    return pairs;
+  }
+
+  @Test
+  public void testOverlapNeedsASharedInstant() {
+    EventReadOnly review = event("Review", MONDAY.plusHours(9), MONDAY.plusHours(10));
+    assertTrue(ConflictDetector.overlap(review,
+        event("Call", MONDAY.plusHours(9).plusMinutes(59), MONDAY.plusHours(11))));
+    assertFalse(ConflictDetector.overlap(review,
+        event("Lunch", MONDAY.plusHours(10), MONDAY.plusHours(11))));
+    assertTrue(ConflictDetector.overlap(review,
+        event("Reminder", MONDAY.plusHours(9), MONDAY.plusHours(9))));
+    assertFalse(ConflictDetector.overlap(review,
+        event("Reminder", MONDAY.plusHours(10), MONDAY.plusHours(10))));
+  }
+
+  @Test
+  public void testSweepFindsEveryOverlappingPair() {
+    CalendarEditable calendar = new CalendarImpl();
+    List<EventReadOnly> events = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(23L * (i * 31 % 150));
+      EventReadOnly event = event("Event" + i, start, start.plusMinutes(i % 4 == 0 ? 0 : i % 97));
+      events.add(event);
+      calendar.addEvent(event);
+    }
+    Set<List<String>> expected = new HashSet<>();
+    for (EventReadOnly first : events) {
+      for (EventReadOnly second : events) {
+        if (first != second && ConflictDetector.overlap(first, second)
+            && reportedFirst(first, second)) {
+          expected.add(List.of(first.getSubject(), second.getSubject()));
+        }
+      }
+    }
+    List<EventConflict> conflicts = ConflictDetector.find(calendar, MONDAY, MONDAY.plusDays(7));
+    assertEquals(expected.size(), conflicts.size());
+    assertEquals(expected, pairs(conflicts));
+    for (EventConflict conflict : conflicts) {
+      assertFalse(conflict.getStart().isBefore(conflict.getSecond().getStartDateTime()));
+      assertFalse(conflict.getEnd().isBefore(conflict.getStart()));
+    }
+  }
+
+  @Test
+  public void testConflictsAcrossTimeZones() {
+    AdvancedCalendar work = new AdvancedCalendarImpl.AdvancedCalendarBuilder("Work",
+        ZoneId.of("America/New_York")).build();
+    AdvancedCalendar home = new AdvancedCalendarImpl.AdvancedCalendarBuilder("Home",
+        ZoneId.of("Europe/London")).build();
+    work.addEvent(event("Review", MONDAY.plusHours(9), MONDAY.plusHours(10)));
+    work.addEvent(event("Retro", MONDAY.plusHours(11), MONDAY.plusHours(12)));
+    home.addEvent(event("Dentist", MONDAY.plusHours(14).plusMinutes(30),
+        MONDAY.plusHours(15).plusMinutes(30)));
+    home.addEvent(event("Gym", MONDAY.plusHours(17), MONDAY.plusHours(18)));
+
+    List<EventConflict> conflicts = new ConflictDetector(ZoneId.of("America/New_York"))
+        .find(List.of(work, home), MONDAY, MONDAY.plusDays(1));
+    assertEquals(1, conflicts.size());
+    EventConflict conflict = conflicts.get(0);
+    assertEquals("Review", conflict.getFirst().getSubject());
+    assertEquals("Work", conflict.getFirstCalendar());
+    assertEquals("Dentist", conflict.getSecond().getSubject());
+    assertEquals("Home", conflict.getSecondCalendar());
+    assertEquals(MONDAY.plusHours(9).plusMinutes(30), conflict.getStart());
+    assertEquals(MONDAY.plusHours(10), conflict.getEnd());
+  }
+
+  @Test
+  public void testStrictCalendarRefusesOverlaps() {
+    CalendarEditable calendar = strict();
+    EventReadOnly review = calendar.addEvent(event("Review", MONDAY.plusHours(9),
+        MONDAY.plusHours(10)));
+    calendar.addEvent(event("Lunch", MONDAY.plusHours(10), MONDAY.plusHours(11)));
+    calendar.addEvent(event("Breakfast", MONDAY.plusHours(8), MONDAY.plusHours(9)));
+    assertRefused(() -> calendar.addEvent(event("Call", MONDAY.plusHours(8).plusMinutes(30),
+        MONDAY.plusHours(8).plusMinutes(45))));
+    assertRefused(() -> calendar.addEvent(event("Reminder", MONDAY.plusHours(10),
+        MONDAY.plusHours(10))));
+    assertRefused(() -> calendar.addEvent(event("Day", MONDAY, MONDAY.plusDays(1))));
+    assertRefused(() -> calendar.addEvents(List.of(
+        event("Walk", MONDAY.plusHours(12), MONDAY.plusHours(13)),
+        event("Talk", MONDAY.plusHours(12).plusMinutes(30), MONDAY.plusHours(14)))));
+    assertEquals(3, calendar.size());
+
+    calendar.editEvent(List.of(review), "end", MONDAY.plusHours(9).plusMinutes(30).toString());
+    assertRefused(() -> calendar.editEvent(calendar.findEvents("Review", MONDAY.plusHours(9)),
+        "end", MONDAY.plusHours(10).plusMinutes(15).toString()));
+    assertEquals(3, calendar.size());
+
+    calendar.addSeries(new Event.EventBuilder("Standup", MONDAY.plusHours(12))
+            .setEndDateTime(MONDAY.plusHours(12).plusMinutes(15))
+            .setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+    assertRefused(() -> calendar.addEvent(event("Sync", MONDAY.plusDays(7).plusHours(12),
+        MONDAY.plusDays(7).plusHours(13))));
+    calendar.addEvent(event("Sync", MONDAY.plusDays(8).plusHours(12),
+        MONDAY.plusDays(8).plusHours(13)));
+    assertTrue(ConflictDetector.find(calendar, MONDAY, MONDAY.plusDays(30)).isEmpty());
+  }
+
+  @Test
+  public void testDefaultCalendarKeepsOverlaps() {
+    CalendarEditable calendar = new CalendarImpl();
+    calendar.addEvent(event("Review", MONDAY.plusHours(9), MONDAY.plusHours(10)));
+    calendar.addEvent(event("Call", MONDAY.plusHours(9), MONDAY.plusHours(9).plusMinutes(30)));
+    assertEquals(1, ConflictDetector.find(calendar, MONDAY, MONDAY.plusDays(1)).size());
+  }
+
+  @Test
+  public void testShowConflictsCommand() {
+    CalendarContainer container = new CalendarContainerImpl();
+    StringBuilder out = new StringBuilder();
+    String in = "create calendar --name Work --timezone America/New_York"
+        + System.lineSeparator()
+        + "create calendar --name Home --timezone Europe/London" + System.lineSeparator()
+        + "use calendar --name Home" + System.lineSeparator()
+        + "create event Dentist from 2025-11-03T14:30 to 2025-11-03T15:30"
+        + System.lineSeparator()
+        + "use calendar --name Work" + System.lineSeparator()
+        + "create event Review from 2025-11-03T09:00 to 2025-11-03T10:00"
+        + System.lineSeparator()
+        + "show conflicts from 2025-11-03T00:00 to 2025-11-04T00:00"
+        + System.lineSeparator()
+        + "show conflicts from 2025-11-03T00:00 to 2025-11-04T00:00 --calendars Work,Home"
+        + System.lineSeparator()
+        + "show conflicts from 2025-11-03T00:00";
+    new AdvanceCalendarController(container, new StringReader(in), new CalendarViewImpl(out))
+        .run();
+    String output = out.toString();
+    assertTrue(output.contains("No conflicts found"));
+    assertTrue(output.contains("> Review (Work) overlaps Dentist (Home) starting on 2025-11-03 "
+        + "at 09:30, ending on 2025-11-03 at 10:00"));
+    assertTrue(output.contains("Invalid show conflicts command"));
+  }
+
+  private static void assertRefused(Runnable change) {
+    try {
+      change.run();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event overlaps an existing event", e.getMessage());
+      return;
+    }
+    throw new AssertionError("Overlapping change was accepted");
+  }
+
+  private static boolean reportedFirst(EventReadOnly first, EventReadOnly second) {
+    int byStart = first.getStartDateTime().compareTo(second.getStartDateTime());
+    if (byStart != 0) {
+      return byStart < 0;
+    }
+    int byEnd = first.getEndDateTime().compareTo(second.getEndDateTime());
+    return byEnd != 0 ? byEnd < 0 : first.getSubject().compareTo(second.getSubject()) < 0;
+  }
+}
@@ -6,6 +6,8 @@ import calendar.controller.AdvanceCalendarController;
 import calendar.controller.CalendarController;
 import calendar.model.AdvancedCalendarImpl;
 import calendar.model.CalendarContainerImpl;
+import calendar.model.ColumnarCalendarImpl;
+import calendar.model.OffHeapCalendarImpl;
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.CalendarEditable;
@@ -54,6 +56,72 @@ public class CalendarContainerControllerTest {
     assertEquals("America/New_York", container.getCalendars().get("Work").getZoneId().toString());
   }
 
+  @Test
+  public void testCalendarManagerCreateWithStorage() {
+    String in = "create calendar --name Archive --timezone America/New_York --storage off-heap"
+        + System.lineSeparator()
+        + "create calendar --name Reports --timezone UTC --storage columnar"
+        + System.lineSeparator()
+        + "use calendar --name Archive"
+        + System.lineSeparator()
+        + "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00"
+        + System.lineSeparator()
+        + "print events on 2025-11-03";
+
+    inputStream = new StringReader(in);
+
+    CalendarController controller = new AdvanceCalendarController(container, inputStream, view);
+
+    controller.run();
+
+    assertTrue(container.getCalendars().get("Archive").getCalendar()
+        instanceof OffHeapCalendarImpl);
+    assertTrue(container.getCalendars().get("Reports").getCalendar()
+        instanceof ColumnarCalendarImpl);
+    assertTrue(out.toString().contains("Review"));
+    assertEquals(1, container.getCalendars().get("Archive")
+        .getEvents(LocalDateTime.of(2025, 11, 3, 0, 0), LocalDateTime.of(2025, 11, 4, 0, 0))
+        .size());
+  }
+
+  @Test
+  public void testCalendarManagerCreateStrict() {
+    String in = "create calendar --name Work --timezone America/New_York --strict"
+        + System.lineSeparator()
+        + "create calendar --name Archive --timezone UTC --storage columnar --strict"
+        + System.lineSeparator()
+        + "use calendar --name Work"
+        + System.lineSeparator()
+        + "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00"
+        + System.lineSeparator()
+        + "create event Sync from 2025-11-03T10:30 to 2025-11-03T11:30";
+
+    inputStream = new StringReader(in);
+
+    CalendarController controller = new AdvanceCalendarController(container, inputStream, view);
+
+    controller.run();
+
+    assertTrue(container.getCalendars().get("Work").rejectsOverlaps());
+    assertFalse(container.getCalendars().containsKey("Archive"));
+    assertTrue(out.toString().contains("Strict calendars are stored on the heap"));
+    assertTrue(out.toString().contains("Event overlaps an existing event"));
+    assertEquals(1, container.getCalendars().get("Work").size());
+  }
+
+  @Test
+  public void testCalendarManagerCreateInvalidStorage() {
+    String in = "create calendar --name Work --timezone America/New_York --storage disk";
+
+    inputStream = new StringReader(in);
+
+    CalendarController controller = new AdvanceCalendarController(container, inputStream, view);
+
+    controller.run();
+    assertTrue(out.toString().contains("Invalid storage: disk"));
+    assertFalse(container.getCalendars().containsKey("Work"));
+  }
+
   @Test
   public void testCalendarManagerCreateDuplicate() {
     String in = "create calendar --name Work --timezone America/New_York"
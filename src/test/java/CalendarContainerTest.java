@@ -10,6 +10,7 @@ import calendar.model.Event;
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventChangeListener;
 import calendar.model.interfaces.EventReadOnly;
 import calendar.view.CalendarViewImpl;
 import java.io.StringReader;
@@ -308,4 +309,104 @@ public class CalendarContainerTest {
     assertEquals(cal1, calendars.get("Cal1"));
     assertEquals(cal2, calendars.get("Cal2"));
   }
+
+  @Test
+  public void testUpdateTimezoneProjectsEventsWithoutRewritingThem() {
+    CalendarContainer container = new CalendarContainerImpl();
+    CalendarEditable store = new CalendarImpl();
+    AdvancedCalendar work = new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", ZoneId.of("America/New_York"))
+        .setCalendar(store)
+        .build();
+    container.addCalendar("Work", work);
+    EventReadOnly review = new Event.EventBuilder("Review", LocalDateTime.of(2025, 11, 3, 22, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 3, 23, 30)).build();
+    work.addEvent(review);
+
+    container.updateCalendar("Work", "timezone", "Asia/Kolkata");
+    AdvancedCalendar kolkata = container.getCalendars().get("Work");
+    List<EventReadOnly> moved = kolkata.getEvents(LocalDateTime.of(2025, 11, 4, 0, 0),
+        LocalDateTime.of(2025, 11, 4, 23, 59));
+    assertEquals(1, moved.size());
+    assertEquals(LocalDateTime.of(2025, 11, 4, 8, 30), moved.get(0).getStartDateTime());
+    assertEquals(review.getId(), moved.get(0).getId());
+    assertTrue(kolkata.getAllEvents().containsKey(LocalDateTime.of(2025, 11, 4, 0, 0)
+        .toLocalDate()));
+    assertTrue(kolkata.isBusy(LocalDateTime.of(2025, 11, 4, 9, 0)));
+    assertEquals(review, store.getAllEvents().values().iterator().next().get(0));
+
+    kolkata.getCalendar().addEvent(new Event.EventBuilder("Lunch",
+        LocalDateTime.of(2025, 11, 4, 12, 0)).setEndDateTime(LocalDateTime.of(2025, 11, 4, 13, 0))
+        .build());
+    kolkata.editEvent(moved, "subject", "Retro");
+    assertTrue(store.isBusy(LocalDateTime.of(2025, 11, 4, 1, 30)));
+
+    container.updateCalendar("Work", "timezone", "America/New_York");
+    AdvancedCalendar back = container.getCalendars().get("Work");
+    assertEquals(store, back.getCalendar());
+    List<EventReadOnly> events = back.getEvents(LocalDateTime.of(2025, 11, 3, 0, 0),
+        LocalDateTime.of(2025, 11, 4, 23, 59));
+    assertEquals(2, events.size());
+    assertEquals("Retro", events.get(0).getSubject());
+    assertEquals(review.getStartDateTime(), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 11, 4, 1, 30), events.get(1).getStartDateTime());
+  }
+
+  @Test
+  public void testProjectedEventsAcrossDaylightSavingChangesAreFound() {
+    CalendarContainer container = new CalendarContainerImpl();
+    CalendarEditable store = new CalendarImpl();
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", ZoneId.of("Europe/London"))
+        .setCalendar(store)
+        .build());
+    store.addEvent(new Event.EventBuilder("Late", LocalDateTime.of(2025, 11, 2, 6, 30))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 2, 7, 0)).build());
+    store.addEvent(new Event.EventBuilder("Skipped", LocalDateTime.of(2025, 3, 30, 1, 30))
+        .setEndDateTime(LocalDateTime.of(2025, 3, 30, 2, 45)).build());
+
+    container.updateCalendar("Work", "timezone", "America/New_York");
+    CalendarEditable newYork = container.getCalendars().get("Work").getCalendar();
+    List<EventReadOnly> late = newYork.findEvents("Late", LocalDateTime.of(2025, 11, 2, 1, 30));
+    assertEquals(1, late.size());
+    assertTrue(newYork.containsEvent(late.get(0)));
+    List<EventReadOnly> skipped = newYork.findEvents("Skipped",
+        LocalDateTime.of(2025, 3, 29, 21, 30));
+    assertEquals(1, skipped.size());
+    assertTrue(newYork.containsEvent(skipped.get(0)));
+
+    newYork.editEvent(skipped, "subject", "Moved");
+    newYork.removeEvent(late.get(0));
+    assertEquals(1, store.size());
+    assertEquals("Moved", store.getAllEvents().values().iterator().next().get(0).getSubject());
+  }
+
+  @Test
+  public void testRefusedProjectedEditKeepsOldEvent() {
+    CalendarContainer container = new CalendarContainerImpl();
+    CalendarEditable store = new CalendarImpl(new EventChangeListener() {
+    }, true);
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", ZoneId.of("America/New_York"))
+        .setCalendar(store)
+        .build());
+    store.addEvent(new Event.EventBuilder("Review", LocalDateTime.of(2025, 11, 3, 10, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 3, 11, 0)).build());
+    store.addEvent(new Event.EventBuilder("Lunch", LocalDateTime.of(2025, 11, 3, 12, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 3, 13, 0)).build());
+
+    container.updateCalendar("Work", "timezone", "Asia/Kolkata");
+    CalendarEditable kolkata = container.getCalendars().get("Work").getCalendar();
+    List<EventReadOnly> review = kolkata.findEvents("Review",
+        LocalDateTime.of(2025, 11, 3, 20, 30));
+    boolean refused = false;
+    try {
+      kolkata.editEvent(review, "end", "2025-11-03T22:45");
+    } catch (IllegalArgumentException e) {
+      refused = true;
+    }
+    assertTrue(refused);
+    assertEquals(2, store.size());
+    assertTrue(kolkata.containsEvent(review.get(0)));
+  }
 }
@@ -0,0 +1,122 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendarImpl;
+import calendar.model.ConcurrentCalendarImpl;
+import calendar.model.Event;
+import calendar.model.OffHeapCalendarImpl;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Tests that the other ways of storing events, ConcurrentCalendarImpl, ColumnarCalendarImpl
+ * and OffHeapCalendarImpl, answer like CalendarImpl, run once for each.
+ */
+@RunWith(Parameterized.class)
+public class CalendarEquivalenceTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+  private final Supplier<CalendarEditable> storage;
+  private CalendarEditable calendar;
+
+  /**
+   * Creates the test for one way of storing events.
+   *
+   * @param name    the name of the storage, shown in the test name
+   * @param storage creates an empty calendar of that kind
+   */
+  public CalendarEquivalenceTest(String name, Supplier<CalendarEditable> storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * Returns the kinds of calendar to run the tests for.
+   *
+   * @return the name and constructor of each kind
+   */
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> storages() {
+    Supplier<CalendarEditable> concurrent = ConcurrentCalendarImpl::new;
+    Supplier<CalendarEditable> columnar = ColumnarCalendarImpl::new;
+    Supplier<CalendarEditable> offHeap = OffHeapCalendarImpl::new;
+    return List.of(new Object[] {"concurrent", concurrent},
+        new Object[] {"columnar", columnar}, new Object[] {"off-heap", offHeap});
+  }
+
+  /**
+   * Creates an empty calendar for each test.
+   */
+  @Before
+  public void setUp() {
+    calendar = storage.get();
+  }
+
+  /**
+   * Returns the events of a calendar grouped by day, ignoring their order within a day.
+   *
+   * @param target the calendar to read
+   * @return the events of each day
+   */
+  static Map<LocalDate, Set<EventReadOnly>> byDay(CalendarReadOnly target) {
+    Map<LocalDate, Set<EventReadOnly>> days = new HashMap<>();
+    target.getAllEvents().forEach((date, events) -> days.put(date, new HashSet<>(events)));
+    return days;
+  }
+
+  private static EventReadOnly event(String subject, LocalDateTime start, long hours) {
+    return new Event.EventBuilder(subject, start).setEndDateTime(start.plusHours(hours)).build();
+  }
+
+  @Test
+  public void testAnswersLikeCalendarImpl() {
+    CalendarEditable expected = new CalendarImpl();
+    EventReadOnly review = event("Review", MONDAY.plusHours(1), 1);
+    EventReadOnly trip = event("Trip", MONDAY.plusDays(2), 50);
+    EventReadOnly standup = new Event.EventBuilder("Standup", MONDAY)
+        .setEndDateTime(MONDAY.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build();
+    RecurrenceRule rule = new RecurrenceRule(
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), 12);
+    for (CalendarEditable target : List.of(expected, calendar)) {
+      target.addEvent(review);
+      target.addEvent(trip);
+      target.addSeries(standup, rule);
+      target.editEvent(List.of(review), "location", "online");
+      target.editEvent(target.getSeriesFrom(standup.getId(), MONDAY.plusDays(7)),
+          "subject", "Sync");
+      target.removeEvent(new Event.EventBuilder("Standup", MONDAY.plusDays(2))
+          .setEndDateTime(MONDAY.plusDays(2).plusMinutes(15)).build());
+    }
+
+    assertEquals(byDay(expected), byDay(calendar));
+    assertEquals(13, calendar.size());
+    assertEquals(expected.getSeries(standup.getId()), calendar.getSeries(standup.getId()));
+    for (int hour = 0; hour < 24 * 7; hour += 3) {
+      LocalDateTime from = MONDAY.plusHours(hour);
+      assertEquals(expected.isBusy(from), calendar.isBusy(from));
+      assertEquals(expected.getEvents(from, from.plusHours(5)),
+          calendar.getEvents(from, from.plusHours(5)));
+    }
+    assertTrue(calendar.isBusy(MONDAY.plusDays(3)));
+    assertFalse(calendar.isBusy(MONDAY.plusDays(2).plusHours(50)));
+  }
+}
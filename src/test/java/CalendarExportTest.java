@@ -1,15 +1,45 @@
+import static org.junit.Assert.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
 
 import calendar.controller.AdvanceCalendarController;
 import calendar.controller.CalendarController;
+import calendar.controller.export.CsvExporter;
+import calendar.controller.export.IcalExporter;
+import calendar.model.AdvancedCalendarImpl;
 import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
 import calendar.view.CalendarView;
 import calendar.view.CalendarViewImpl;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.Test;
 
 /**
@@ -61,7 +91,7 @@ public class CalendarExportTest {
     assertTrue(content.contains("SUMMARY:Hello Meet"));
     assertTrue(content.contains("DTSTART:20251012T080000"));
     assertTrue(content.contains("DTEND:20251012T170000"));
-    assertTrue(content.contains("DTSTART:20251212T080000"));
+    assertTrue(content.contains("RRULE:FREQ=WEEKLY;BYDAY=TU,FR,SU;COUNT=27"));
 
 
 
@@ -162,5 +192,201 @@ public class CalendarExportTest {
     assertTrue(out.toString().contains("Invalid export command"));
   }
 
+  @Test
+  public void testCsvRowsMatchFormatter() throws IOException {
+    List<EventReadOnly> events = new ArrayList<>();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 5000; i++) {
+      String subject = (i % 3 == 0 ? "Caf\u00e9 \u4f1a\u8b70 " : "Meeting ") + i;
+      events.add(new Event.EventBuilder(subject, start.plusMinutes(97L * i)).build());
+    }
+    DateTimeFormatter date = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    DateTimeFormatter time = DateTimeFormatter.ofPattern("h:mma");
+    StringBuilder expected = new StringBuilder("Subject,StartDate,StartTime")
+        .append(System.lineSeparator());
+    for (EventReadOnly event : events) {
+      expected.append(event.getSubject()).append(',')
+          .append(event.getStartDateTime().format(date)).append(',')
+          .append(event.getStartDateTime().format(time).toUpperCase())
+          .append(System.lineSeparator());
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new CsvExporter().write(events.stream(), bytes);
+    Charset charset = Charset.defaultCharset();
+    assertEquals(new String(expected.toString().getBytes(charset), charset),
+        bytes.toString(charset));
+  }
+
+  @Test
+  public void testCsvExportMergesCalendarsInRange() throws IOException {
+    AdvancedCalendar work =
+        new AdvancedCalendarImpl.AdvancedCalendarBuilder("Work", ZoneId.of("UTC")).build();
+    AdvancedCalendar home =
+        new AdvancedCalendarImpl.AdvancedCalendarBuilder("Home", ZoneId.of("Asia/Tokyo")).build();
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 0, 0);
+    work.addEvent(new Event.EventBuilder("Review", monday.plusHours(9)).build());
+    work.addEvent(new Event.EventBuilder("Retro", monday.plusDays(1).plusHours(12)).build());
+    work.addEvent(new Event.EventBuilder("Planning", monday.plusDays(9)).build());
+    home.addEvent(new Event.EventBuilder("Breakfast", monday.plusHours(8))
+        .setEndDateTime(monday.plusHours(8).plusMinutes(30)).build());
+    home.addEvent(new Event.EventBuilder("Dentist", monday.plusDays(1).plusHours(8)).build());
+    home.addEvent(new Event.EventBuilder("Gym", monday.plusDays(1).plusHours(18)).build());
+
+    Instant from = monday.toInstant(ZoneOffset.UTC);
+    String path = new CsvExporter().export("testCSVExport.csv", List.of(work, home),
+        from, from.plus(Duration.ofDays(7)));
+    List<String> lines = Files.readAllLines(new File(path).toPath());
+    assertEquals(List.of("Subject,StartDate,StartTime", "Review,11/03/2025,9:00AM",
+        "Dentist,11/04/2025,8:00AM", "Gym,11/04/2025,6:00PM", "Retro,11/04/2025,12:00PM"),
+        lines);
+  }
+
+  @Test
+  public void testCsvExportRangeCommand() throws IOException {
+    String in = "create calendar --name Work --timezone America/New_York"
+        + System.lineSeparator()
+        + "use calendar --name Work"
+        + System.lineSeparator()
+        + "create event Review from 2025-11-03T09:00 to 2025-11-03T10:00"
+        + System.lineSeparator()
+        + "create event Planning from 2025-11-10T09:00 to 2025-11-10T10:00"
+        + System.lineSeparator()
+        + "export cal testCSVExport.csv from 2025-11-03T00:00 to 2025-11-07T00:00";
+
+    new AdvanceCalendarController(container, new StringReader(in), view).run();
+
+    List<String> lines = Files.readAllLines(new File("testCSVExport.csv").toPath());
+    assertEquals(List.of("Subject,StartDate,StartTime", "Review,11/03/2025,9:00AM"), lines);
+  }
+
+  @Test
+  public void testIcalKeepsOrderAcrossChunks() throws IOException {
+    List<EventReadOnly> events = new ArrayList<>();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 6000; i++) {
+      events.add(new Event.EventBuilder("Event " + i, start.plusMinutes(7L * i)).build());
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new IcalExporter().write(events.stream(), Channels.newChannel(bytes));
+    String content = bytes.toString(StandardCharsets.UTF_8);
+
+    assertTrue(content.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+    assertTrue(content.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+    List<String> summaries = content.lines().filter(line -> line.startsWith("SUMMARY:"))
+        .collect(Collectors.toList());
+    assertEquals(events.size(), summaries.size());
+    for (int i = 0; i < events.size(); i++) {
+      assertEquals("SUMMARY:Event " + i, summaries.get(i));
+    }
+  }
 
+  @Test
+  public void testIcalWritesEventProperties() throws IOException {
+    EventReadOnly event = new Event.EventBuilder("Review, part 1; " + "x".repeat(80),
+        LocalDateTime.of(2025, 11, 3, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 3, 10, 30))
+        .setDescription("Bring notes\nand slides")
+        .setLocation(Location.ONLINE)
+        .setEventStatus(EventStatus.PRIVATE)
+        .build();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new IcalExporter().write(List.of(event).stream(), Channels.newChannel(bytes));
+    String content = bytes.toString(StandardCharsets.UTF_8);
+
+    assertTrue(content.contains("UID:" + event.getId() + "\r\n"));
+    assertTrue(content.contains("DTSTART:20251103T090000\r\nDTEND:20251103T103000\r\n"));
+    assertTrue(content.contains("DESCRIPTION:Bring notes\\nand slides\r\n"));
+    assertTrue(content.contains("LOCATION:ONLINE\r\n"));
+    assertTrue(content.contains("CLASS:PRIVATE\r\n"));
+    assertTrue(content.contains("DTSTAMP:"));
+    for (String line : content.split("\r\n")) {
+      assertTrue(line, line.getBytes(StandardCharsets.UTF_8).length <= 75);
+    }
+    String unfolded = content.replace("\r\n ", "");
+    assertTrue(unfolded.contains("SUMMARY:Review\\, part 1\\; " + "x".repeat(80) + "\r\n"));
+  }
+
+  @Test
+  public void testIcalWritesSeriesAsRules() throws IOException {
+    CalendarEditable calendar = new CalendarImpl();
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 9, 0);
+    calendar.addSeries(new Event.EventBuilder("Standup", monday)
+            .setEndDateTime(monday.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 6));
+    calendar.addSeries(new Event.EventBuilder("Retro", monday.plusHours(5))
+            .setEndDateTime(monday.plusHours(6)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+    EventReadOnly second = calendar.findEvents("Retro", monday.plusDays(7).plusHours(5)).get(0);
+    calendar.editEvent(List.of(second), "subject", "Long retro");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new IcalExporter().write(calendar.snapshot().stream(event -> true),
+        Channels.newChannel(bytes));
+    String content = bytes.toString(StandardCharsets.UTF_8);
+
+    assertTrue(content.contains("RRULE:FREQ=WEEKLY;BYDAY=MO,TH;COUNT=6\r\n"));
+    assertEquals(1, content.split("SUMMARY:Standup\r\n", -1).length - 1);
+    assertEquals(2, content.split("SUMMARY:Retro\r\n", -1).length - 1);
+    assertEquals(1, content.split("SUMMARY:Long retro\r\n", -1).length - 1);
+    assertEquals(1, content.split("RRULE:", -1).length - 1);
+    assertTrue(content.contains("DTSTART:20251117T140000"));
+  }
+
+  @Test
+  public void testIcalWritesEachRunOfSeriesWhenItEnds() throws IOException {
+    CalendarEditable calendar = new CalendarImpl();
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 9, 0);
+    EventReadOnly standup = new Event.EventBuilder("Standup", monday)
+        .setEndDateTime(monday.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build();
+    calendar.addSeries(standup,
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 8));
+    calendar.removeEvent(calendar.findEvents("Standup", monday.plusDays(10)).get(0));
+    calendar.addEvent(new Event.EventBuilder("Early", monday.minusDays(2)).build());
+    calendar.addEvent(new Event.EventBuilder("Late", monday.plusDays(47)).build());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new IcalExporter().write(calendar.snapshot().stream(event -> true),
+        Channels.newChannel(bytes));
+    String content = bytes.toString(StandardCharsets.UTF_8);
+
+    int first = content.indexOf("UID:" + standup.getId() + "\r\n");
+    int second = content.indexOf("UID:" + standup.getId() + "-20251117T090000\r\n");
+    assertTrue(content.indexOf("SUMMARY:Early") < first);
+    assertTrue(first < content.indexOf("RRULE:FREQ=WEEKLY;BYDAY=MO,TH;COUNT=3\r\n"));
+    assertTrue(first < second);
+    assertTrue(second < content.indexOf("RRULE:FREQ=WEEKLY;BYDAY=MO,TH;COUNT=4\r\n"));
+    assertTrue(second < content.indexOf("SUMMARY:Late"));
+    assertEquals(2, content.split("RRULE:", -1).length - 1);
+  }
+
+  @Test
+  public void testIcalReportsWriteFailure() {
+    List<EventReadOnly> events = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      events.add(new Event.EventBuilder("Event " + i,
+          LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i)).build());
+    }
+    WritableByteChannel failing = new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer src) throws IOException {
+        throw new IOException("Disk full");
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    try {
+      new IcalExporter().write(events.stream(), failing);
+    } catch (IOException e) {
+      assertEquals("Disk full", e.getMessage());
+      return;
+    }
+    throw new AssertionError("Write failure was not reported");
+  }
 }
@@ -0,0 +1,149 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.controller.CalendarController;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.FreeSlotFinder;
+import calendar.model.datatypes.FreeSlot;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.view.CalendarViewImpl;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for finding free slots across calendars, in the model and through the find slot
+ * command.
+ */
+public class CalendarFreeSlotTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 0, 0);
+
+  private AdvancedCalendar work;
+  private AdvancedCalendar home;
+
+  private static AdvancedCalendar calendar(String name, ZoneId zone) {
+    return new AdvancedCalendarImpl.AdvancedCalendarBuilder(name, zone)
+        .setCalendar(new CalendarImpl()).build();
+  }
+
+  private static void add(AdvancedCalendar calendar, String subject, LocalDateTime start,
+                          LocalDateTime end) {
+    calendar.addEvent(new Event.EventBuilder(subject, start).setEndDateTime(end).build());
+  }
+
+  /**
+   * Creates a New York work calendar and a London home calendar, five hours ahead.
+   */
+  @Before
+  public void setUp() {
+    work = calendar("Work", NEW_YORK);
+    home = calendar("Home", LONDON);
+    add(work, "Standup", MONDAY.plusHours(9), MONDAY.plusHours(9).plusMinutes(30));
+    add(work, "Review", MONDAY.plusHours(11), MONDAY.plusHours(12));
+    add(home, "Gym", MONDAY.plusHours(15), MONDAY.plusHours(16));
+  }
+
+  @Test
+  public void testFindsEarliestSlotInOneCalendar() {
+    List<FreeSlot> slots = new FreeSlotFinder(NEW_YORK).find(List.of(work),
+        MONDAY.plusHours(9), MONDAY.plusHours(17), Duration.ofMinutes(60), 1);
+    assertEquals(List.of(new FreeSlot(MONDAY.plusHours(9).plusMinutes(30),
+        MONDAY.plusHours(11))), slots);
+  }
+
+  @Test
+  public void testMergesCalendarsInTheirOwnZones() {
+    List<FreeSlot> slots = new FreeSlotFinder(NEW_YORK).find(List.of(work, home),
+        MONDAY.plusHours(8), MONDAY.plusHours(13), Duration.ofMinutes(30), 5);
+    assertEquals(List.of(
+        new FreeSlot(MONDAY.plusHours(8), MONDAY.plusHours(9)),
+        new FreeSlot(MONDAY.plusHours(9).plusMinutes(30), MONDAY.plusHours(10)),
+        new FreeSlot(MONDAY.plusHours(12), MONDAY.plusHours(13))), slots);
+
+    List<FreeSlot> london = new FreeSlotFinder(LONDON).find(List.of(work, home),
+        MONDAY.plusHours(13), MONDAY.plusHours(18), Duration.ofMinutes(30), 1);
+    assertEquals(List.of(new FreeSlot(MONDAY.plusHours(13), MONDAY.plusHours(14))), london);
+  }
+
+  @Test
+  public void testSlotsAreFreeInEveryCalendar() {
+    for (int i = 0; i < 60; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(47L * i).plusSeconds(i % 3 * 20);
+      add(i % 2 == 0 ? work : home, "Event" + i, start, start.plusMinutes(10 + i % 50));
+    }
+    add(home, "Reminder", MONDAY.plusHours(20), MONDAY.plusHours(20));
+    LocalDateTime from = MONDAY;
+    LocalDateTime to = MONDAY.plusDays(3);
+    List<FreeSlot> slots = new FreeSlotFinder(NEW_YORK).find(List.of(work, home), from, to,
+        Duration.ofMinutes(20), 100);
+    assertFalse(slots.isEmpty());
+    LocalDateTime previous = from;
+    for (FreeSlot slot : slots) {
+      assertFalse(slot.getStart().isBefore(previous));
+      assertTrue(slot.getDuration().compareTo(Duration.ofMinutes(20)) >= 0);
+      assertFalse(work.isBusy(slot.getStart(), slot.getEnd()));
+      assertFalse(home.isBusy(slot.getStart().atZone(NEW_YORK).withZoneSameInstant(LONDON)
+          .toLocalDateTime(), slot.getEnd().atZone(NEW_YORK).withZoneSameInstant(LONDON)
+          .toLocalDateTime()));
+      previous = slot.getEnd();
+    }
+    for (LocalDateTime t = from; t.isBefore(to); t = t.plusMinutes(20)) {
+      LocalDateTime end = t.plusMinutes(20);
+      boolean free = !work.isBusy(t, end) && !home.isBusy(t.atZone(NEW_YORK)
+          .withZoneSameInstant(LONDON).toLocalDateTime(), end.atZone(NEW_YORK)
+          .withZoneSameInstant(LONDON).toLocalDateTime());
+      LocalDateTime instant = t;
+      boolean inSlot = slots.stream().anyMatch(slot -> !slot.getStart().isAfter(instant)
+          && !slot.getEnd().isBefore(end));
+      assertEquals(t.toString(), free, inSlot);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsEmptyDuration() {
+    new FreeSlotFinder(NEW_YORK).find(List.of(work), MONDAY, MONDAY.plusDays(1),
+        Duration.ZERO, 1);
+  }
+
+  @Test
+  public void testFindSlotCommand() {
+    CalendarContainer container = new CalendarContainerImpl();
+    container.addCalendar("Work", work);
+    container.addCalendar("Home", home);
+    StringBuilder out = new StringBuilder();
+    String in = "use calendar --name Work" + System.lineSeparator()
+        + "find slot for 60 minutes from 2025-11-03T09:00 to 2025-11-03T17:00"
+        + System.lineSeparator()
+        + "find slot for 30 minutes from 2025-11-03T08:00 to 2025-11-03T13:00 "
+        + "--calendars Work,Home --count 2" + System.lineSeparator()
+        + "find slot for 600 minutes from 2025-11-03T09:00 to 2025-11-03T17:00"
+        + System.lineSeparator()
+        + "find slot for 30 minutes from 2025-11-03T09:00 to 2025-11-03T17:00 "
+        + "--calendars Gym";
+    CalendarController controller = new AdvanceCalendarController(container,
+        new StringReader(in), new CalendarViewImpl(out));
+    controller.run();
+    String output = out.toString();
+    assertTrue(output.contains("> Free starting on 2025-11-03 at 09:30, ending on 2025-11-03 "
+        + "at 11:00"));
+    assertTrue(output.contains("> Free starting on 2025-11-03 at 08:00, ending on 2025-11-03 "
+        + "at 09:00"));
+    assertTrue(output.contains("> Free starting on 2025-11-03 at 09:30, ending on 2025-11-03 "
+        + "at 10:00"));
+    assertFalse(output.contains("at 12:00, ending"));
+    assertTrue(output.contains("No free slot found with the given details"));
+    assertTrue(output.contains("No calendar with name Gym"));
+  }
+}
@@ -0,0 +1,335 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.controller.CalendarController;
+import calendar.controller.export.IcalExporter;
+import calendar.controller.importer.IcalImporter;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.Event;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.view.CalendarViewImpl;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Tests for importing iCalendar files.
+ * These tests check that folded lines, escaped text, time zones, all-day dates and
+ * recurrence rules are read into the right events, and that exported calendars import back.
+ */
+public class CalendarImportTest {
+
+  private static AdvancedCalendar calendar(String zone) {
+    return new AdvancedCalendarImpl.AdvancedCalendarBuilder("Target", ZoneId.of(zone)).build();
+  }
+
+  private static IcalImporter.Result load(AdvancedCalendar calendar, String... lines)
+      throws IOException {
+    String text = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\n" + String.join("\r\n", lines)
+        + "\r\nEND:VCALENDAR\r\n";
+    return new IcalImporter().importFrom(Channels.newChannel(
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), calendar);
+  }
+
+  private static List<EventReadOnly> all(AdvancedCalendar calendar) {
+    return calendar.stream(event -> true).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testUnfoldsAndUnescapesProperties() throws IOException {
+    AdvancedCalendar calendar = calendar("America/New_York");
+    UUID id = UUID.randomUUID();
+    load(calendar,
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "SUMMARY:Review\\, part 1\\; with a very long subject that the writer has fol",
+        " ded onto a second line",
+        "DESCRIPTION:Bring notes\\nand slides",
+        "LOCATION:ONLINE",
+        "CLASS:PRIVATE",
+        "DTSTART:20251103T090000",
+        "DTEND:20251103T103000",
+        "BEGIN:VALARM",
+        "TRIGGER:-PT15M",
+        "DESCRIPTION:Reminder",
+        "END:VALARM",
+        "END:VEVENT");
+
+    List<EventReadOnly> events = all(calendar);
+    assertEquals(1, events.size());
+    EventReadOnly event = events.get(0);
+    assertEquals("Review, part 1; with a very long subject that the writer has folded onto a "
+        + "second line", event.getSubject());
+    assertEquals("Bring notes\nand slides", event.getDescription());
+    assertEquals(Location.ONLINE, event.getLocation());
+    assertEquals(EventStatus.PRIVATE, event.getEventStatus());
+    assertEquals(LocalDateTime.of(2025, 11, 3, 10, 30), event.getEndDateTime());
+    assertEquals(id, event.getId());
+  }
+
+  @Test
+  public void testConvertsUtcAndZonedTimes() throws IOException {
+    AdvancedCalendar calendar = calendar("America/New_York");
+    load(calendar,
+        "BEGIN:VEVENT",
+        "SUMMARY:Utc",
+        "DTSTART:20250701T160000Z",
+        "DURATION:PT30M",
+        "END:VEVENT",
+        "BEGIN:VEVENT",
+        "SUMMARY:Paris",
+        "DTSTART;TZID=Europe/Paris:20250701T180000",
+        "DTEND;TZID=Europe/Paris:20250701T190000",
+        "END:VEVENT");
+
+    EventReadOnly utc = calendar.findEvents("Utc", LocalDateTime.of(2025, 7, 1, 12, 0)).get(0);
+    assertEquals(LocalDateTime.of(2025, 7, 1, 12, 30), utc.getEndDateTime());
+    EventReadOnly paris = calendar.findEvents("Paris", LocalDateTime.of(2025, 7, 1, 12, 0))
+        .get(0);
+    assertEquals(LocalDateTime.of(2025, 7, 1, 13, 0), paris.getEndDateTime());
+  }
+
+  @Test
+  public void testDatesBecomeAllDayEvents() throws IOException {
+    AdvancedCalendar calendar = calendar("UTC");
+    load(calendar,
+        "BEGIN:VEVENT",
+        "SUMMARY:Offsite",
+        "DTSTART;VALUE=DATE:20251110",
+        "DTEND;VALUE=DATE:20251112",
+        "END:VEVENT");
+
+    List<EventReadOnly> events = all(calendar);
+    assertEquals(2, events.size());
+    for (EventReadOnly event : events) {
+      assertTrue(event.isAllDay());
+      assertEquals(8, event.getStartDateTime().getHour());
+      assertEquals(17, event.getEndDateTime().getHour());
+    }
+    assertEquals(1, calendar.getEvents(LocalDate.of(2025, 11, 11).atStartOfDay(),
+        LocalDate.of(2025, 11, 11).atTime(23, 59)).size());
+  }
+
+  @Test
+  public void testAllDayRulesBecomeSeriesOrAreCounted() throws IOException {
+    AdvancedCalendar calendar = calendar("America/New_York");
+    UUID id = UUID.randomUUID();
+    IcalImporter.Result result = load(calendar,
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "SUMMARY:Remote",
+        "DTSTART;VALUE=DATE:20251107",
+        "RRULE:FREQ=WEEKLY;COUNT=3",
+        "EXDATE;VALUE=DATE:20251114",
+        "END:VEVENT",
+        "BEGIN:VEVENT",
+        "SUMMARY:Conference",
+        "DTSTART;VALUE=DATE:20251110",
+        "DTEND;VALUE=DATE:20251112",
+        "RRULE:FREQ=YEARLY;COUNT=2",
+        "END:VEVENT");
+
+    assertEquals(1, result.getSeries());
+    assertEquals(1, result.getUnsupportedRules());
+    List<EventReadOnly> series = calendar.getSeries(id);
+    assertEquals(2, series.size());
+    for (EventReadOnly event : series) {
+      assertTrue(event.isAllDay());
+      assertEquals(DayOfWeek.FRIDAY, event.getStartDateTime().getDayOfWeek());
+    }
+    assertEquals(LocalDateTime.of(2025, 11, 21, 8, 0), series.get(1).getStartDateTime());
+    assertEquals(2, calendar.stream(event -> event.getSubject().equals("Conference")).count());
+  }
+
+  @Test
+  public void testRulesBecomeSeries() throws IOException {
+    AdvancedCalendar calendar = calendar("UTC");
+    UUID id = UUID.randomUUID();
+    IcalImporter.Result result = load(calendar,
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "SUMMARY:Standup",
+        "DTSTART:20251103T090000",
+        "DTEND:20251103T091500",
+        "RRULE:FREQ=WEEKLY;BYDAY=MO,TH;COUNT=6",
+        "EXDATE:20251106T090000",
+        "END:VEVENT",
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "RECURRENCE-ID:20251110T090000",
+        "SUMMARY:Long standup",
+        "DTSTART:20251110T093000",
+        "DTEND:20251110T101500",
+        "END:VEVENT",
+        "BEGIN:VEVENT",
+        "SUMMARY:Monthly",
+        "DTSTART:20251103T120000",
+        "RRULE:FREQ=MONTHLY;COUNT=3",
+        "END:VEVENT");
+
+    assertEquals(3, result.getEvents());
+    assertEquals(1, result.getSeries());
+    assertEquals(1, result.getUnsupportedRules());
+    List<EventReadOnly> series = calendar.getSeries(id);
+    assertEquals(5, series.size());
+    for (EventReadOnly event : series) {
+      assertEquals(TypeOfEvent.SERIES, event.getEventType());
+      assertFalse(event.getStartDateTime().equals(LocalDateTime.of(2025, 11, 6, 9, 0)));
+    }
+    assertEquals(1, calendar.findEvents("Long standup",
+        LocalDateTime.of(2025, 11, 10, 9, 30)).size());
+    assertTrue(calendar.findEvents("Standup", LocalDateTime.of(2025, 11, 10, 9, 0)).isEmpty());
+    assertEquals(1, calendar.stream(event -> event.getSubject().equals("Monthly")).count());
+  }
+
+  @Test
+  public void testRecurrenceIdIsReadInItsOwnZone() throws IOException {
+    AdvancedCalendar calendar = calendar("America/New_York");
+    UUID id = UUID.randomUUID();
+    load(calendar,
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "SUMMARY:Standup",
+        "DTSTART;TZID=America/New_York:20251103T090000",
+        "DTEND;TZID=America/New_York:20251103T091500",
+        "RRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=3",
+        "END:VEVENT",
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "RECURRENCE-ID:20251110T140000Z",
+        "SUMMARY:Standup",
+        "DTSTART;TZID=America/New_York:20251110T100000",
+        "DTEND;TZID=America/New_York:20251110T101500",
+        "END:VEVENT");
+
+    List<EventReadOnly> series = calendar.getSeries(id);
+    assertEquals(3, series.size());
+    assertEquals(LocalDateTime.of(2025, 11, 10, 10, 0), series.get(1).getStartDateTime());
+    assertTrue(calendar.findEvents("Standup", LocalDateTime.of(2025, 11, 10, 9, 0)).isEmpty());
+  }
+
+  @Test
+  public void testRuleWeekdaysFollowTheZoneConversion() throws IOException {
+    AdvancedCalendar calendar = calendar("America/New_York");
+    UUID id = UUID.randomUUID();
+    load(calendar,
+        "BEGIN:VEVENT",
+        "UID:" + id,
+        "SUMMARY:Sync",
+        "DTSTART;TZID=Asia/Tokyo:20251103T080000",
+        "DTEND;TZID=Asia/Tokyo:20251103T090000",
+        "RRULE:FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20251112T080000",
+        "EXDATE;TZID=Asia/Tokyo:20251105T080000",
+        "END:VEVENT");
+
+    List<LocalDateTime> starts = calendar.getSeries(id).stream()
+        .map(EventReadOnly::getStartDateTime).collect(Collectors.toList());
+    assertEquals(List.of(LocalDateTime.of(2025, 11, 2, 18, 0),
+        LocalDateTime.of(2025, 11, 9, 18, 0), LocalDateTime.of(2025, 11, 11, 18, 0)), starts);
+  }
+
+  @Test
+  public void testExportedCalendarImportsBack() throws IOException {
+    AdvancedCalendar source = calendar("UTC");
+    List<EventReadOnly> singles = new ArrayList<>();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 10000; i++) {
+      singles.add(new Event.EventBuilder("Event " + i, start.plusMinutes(37L * i))
+          .setDescription("Line " + i + ", with; escapes")
+          .setLocation(i % 2 == 0 ? Location.PHYSICAL : Location.ONLINE)
+          .build());
+    }
+    source.addEvents(singles);
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 9, 0);
+    source.addSeries(new Event.EventBuilder("Standup", monday)
+            .setEndDateTime(monday.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 6));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new IcalExporter().write(source.snapshot().stream(event -> true),
+        Channels.newChannel(bytes));
+
+    AdvancedCalendar target = calendar("UTC");
+    new IcalImporter().importFrom(Channels.newChannel(
+        new ByteArrayInputStream(bytes.toByteArray())), target);
+
+    List<EventReadOnly> expected = all(source);
+    List<EventReadOnly> actual = all(target);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      EventReadOnly a = expected.get(i);
+      EventReadOnly b = actual.get(i);
+      assertEquals(a.getSubject(), b.getSubject());
+      assertEquals(a.getStartDateTime(), b.getStartDateTime());
+      assertEquals(a.getEndDateTime(), b.getEndDateTime());
+      assertEquals(a.getDescription(), b.getDescription());
+      assertEquals(a.getLocation(), b.getLocation());
+      assertEquals(a.getEventType(), b.getEventType());
+    }
+  }
+
+  @Test
+  public void testInvalidEventReportsLine() throws IOException {
+    try {
+      load(calendar("UTC"), "BEGIN:VEVENT", "SUMMARY:Broken", "DTSTART:2025-11-03",
+          "END:VEVENT");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid iCal line 5"));
+      return;
+    }
+    throw new AssertionError("Invalid date was accepted");
+  }
+
+  @Test
+  public void testImportCommand() {
+    CalendarContainer container = new CalendarContainerImpl();
+    StringBuilder out = new StringBuilder();
+    String in = "create calendar --name Work --timezone America/New_York"
+        + System.lineSeparator()
+        + "create calendar --name Copy --timezone America/New_York"
+        + System.lineSeparator()
+        + "use calendar --name Work"
+        + System.lineSeparator()
+        + "create event \"Hello Meet\" on 2025-10-12 repeats TUF until 2025-12-12"
+        + System.lineSeparator()
+        + "export cal IcalExportTest.ical"
+        + System.lineSeparator()
+        + "use calendar --name Copy"
+        + System.lineSeparator()
+        + "import cal IcalExportTest.ical"
+        + System.lineSeparator()
+        + "import cal events.txt";
+    CalendarController controller = new AdvanceCalendarController(container,
+        new StringReader(in), new CalendarViewImpl(out));
+    controller.run();
+
+    assertTrue(out.toString(), out.toString()
+        .contains("Imported 1 events (1 series) from: IcalExportTest.ical"));
+    assertTrue(out.toString().contains("Invalid file type.txt"));
+    AdvancedCalendar copy = container.getCalendars().get("Copy");
+    assertEquals(27, copy.stream(event -> true).count());
+    assertTrue(copy.getEvents(LocalDate.of(2025, 10, 12).atStartOfDay(),
+        LocalDate.of(2025, 10, 12).atTime(23, 59)).get(0).isAllDay());
+  }
+}
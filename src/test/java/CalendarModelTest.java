@@ -9,13 +9,20 @@ import calendar.model.CalendarImpl;
 import calendar.model.Event;
 import calendar.model.datatypes.EventStatus;
 import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
 import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
 import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -163,6 +170,121 @@ public class CalendarModelTest {
     assertTrue(filteredEvents.contains(event));
   }
 
+  @Test
+  public void testParallelFilterMatchesSequentialFilter() {
+    for (int i = 0; i < 3000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0).plusMinutes(97L * (i * 31 % 3000));
+      calendar.addEvent(new Event.EventBuilder("Meeting" + i % 7, start)
+          .setEndDateTime(start.plusHours(1 + i % 3))
+          .setLocation(i % 2 == 0 ? Location.ONLINE : Location.PHYSICAL)
+          .build());
+    }
+    CalendarFilter parallel = new CalendarFilter(calendar, 0);
+    CalendarFilter sequential = new CalendarFilter(calendar, Integer.MAX_VALUE);
+
+    List<EventReadOnly> expected = sequential.filter(EventPredicates.bySubject("Meeting3")
+        .and(EventPredicates.byLocation(Location.ONLINE)));
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, parallel.filter(EventPredicates.bySubject("Meeting3")
+        .and(EventPredicates.byLocation(Location.ONLINE))));
+    assertEquals(3000, parallel.filter(event -> true).size());
+  }
+
+  @Test
+  public void testFilterSizesCalendarFromItsStream() {
+    CalendarEditable uncounted = new CalendarImpl() {
+      @Override
+      public int size() {
+        throw new AssertionError("The filter counted the calendar");
+      }
+    };
+    for (int i = 0; i < 100; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0).plusDays(i);
+      uncounted.addEvent(new Event.EventBuilder("Meeting" + i % 7, start).build());
+    }
+
+    assertEquals(14, new CalendarFilter(uncounted, 0)
+        .filter(EventPredicates.bySubject("Meeting3")).size());
+    assertEquals(100, new CalendarFilter(uncounted, 0).filter(event -> true).size());
+  }
+
+  @Test
+  public void testUnsplittableCalendarIsFilteredOnCallingThread() {
+    for (int i = 0; i < 500; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i);
+      calendar.addEvent(new Event.EventBuilder("Meeting" + i, start).build());
+    }
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    List<EventReadOnly> all = new CalendarFilter(calendar, 0).filter(event -> {
+      threads.add(Thread.currentThread());
+      return true;
+    });
+    assertEquals(500, all.size());
+    assertEquals(Set.of(Thread.currentThread()), threads);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeParallelThreshold() {
+    new CalendarFilter(calendar, -1);
+  }
+
+  @Test
+  public void testFindEventsBySubjectAndStart() {
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+    EventReadOnly shortMeeting = new Event.EventBuilder("Meeting", start)
+        .setEndDateTime(start.plusHours(1)).build();
+    EventReadOnly longMeeting = new Event.EventBuilder("Meeting", start)
+        .setEndDateTime(start.plusHours(3)).build();
+    calendar.addEvent(longMeeting);
+    calendar.addEvent(shortMeeting);
+    calendar.addEvent(new Event.EventBuilder("Lunch", start).build());
+    calendar.addSeries(new Event.EventBuilder("Standup", start)
+            .setEndDateTime(start.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+
+    assertEquals(List.of(shortMeeting, longMeeting), calendar.findEvents("Meeting", start));
+    assertEquals(1, calendar.findEvents("Standup", start.plusDays(7)).size());
+    assertTrue(calendar.findEvents("Standup", start.plusDays(8)).isEmpty());
+    assertTrue(calendar.findEvents("meeting", start).isEmpty());
+
+    calendar.removeEvent(shortMeeting);
+    calendar.editEvent(List.of(longMeeting), "start", start.plusHours(1).toString());
+    assertTrue(calendar.findEvents("Meeting", start).isEmpty());
+    assertEquals(1, calendar.findEvents("Meeting", start.plusHours(1)).size());
+    assertEquals(calendar.snapshot().findEvents("Meeting", start.plusHours(1)),
+        calendar.findEvents("Meeting", start.plusHours(1)));
+  }
+
+  @Test
+  public void testFindEventsAmongSeriesWithSharedSubjects() {
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+    RecurrenceRule weekdays = new RecurrenceRule(EnumSet.range(DayOfWeek.MONDAY,
+        DayOfWeek.FRIDAY), 2);
+    EventReadOnly early = new Event.EventBuilder("Standup", start)
+        .setEndDateTime(start.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build();
+    EventReadOnly late = new Event.EventBuilder("Standup", start.plusHours(8))
+        .setEndDateTime(start.plusHours(8).plusMinutes(15)).setEventType(TypeOfEvent.SERIES)
+        .build();
+    calendar.addSeries(early, weekdays);
+    calendar.addSeries(late, weekdays);
+    calendar.addSeries(new Event.EventBuilder("Review", start)
+        .setEndDateTime(start.plusHours(1)).setEventType(TypeOfEvent.SERIES).build(), weekdays);
+
+    assertEquals(List.of(early), calendar.findEvents("Standup", start));
+    assertEquals(1, calendar.findEvents("Standup", start.plusDays(1).plusHours(8)).size());
+    assertEquals(1, calendar.findEvents("Review", start).size());
+
+    for (EventReadOnly occurrence : calendar.getSeries(early.getId())) {
+      calendar.removeEvent(occurrence);
+    }
+    assertTrue(calendar.findEvents("Standup", start).isEmpty());
+    assertFalse(calendar.containsEvent(early));
+    assertTrue(calendar.containsEvent(late));
+    calendar.addEvent(early);
+    assertEquals(List.of(early), calendar.findEvents("Standup", start));
+  }
+
   @Test
   public void testEventToString() {
     event = new Event.EventBuilder("Meeting", LocalDateTime.of(2025, 7, 13, 12, 12))
@@ -878,4 +1000,273 @@ public class CalendarModelTest {
     calendar.addEvent(event2);
     assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 29, 13, 0)));
   }
+
+  @Test
+  public void testGetEventsFindsMultiDayEventFromEarlierDate() {
+    event = new Event.EventBuilder("Conference", LocalDateTime.of(2025, 10, 27, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 29, 17, 0))
+        .build();
+    calendar.addEvent(event);
+    List<EventReadOnly> events = calendar.getEvents(LocalDateTime.of(2025, 10, 28, 0, 0),
+        LocalDateTime.of(2025, 10, 28, 23, 59));
+    assertEquals(1, events.size());
+    assertEquals(event, events.get(0));
+  }
+
+  @Test
+  public void testGetEventsOrderedByStartAfterRemoval() {
+    EventReadOnly late = new Event.EventBuilder("Late", LocalDateTime.of(2025, 10, 28, 15, 0))
+        .build();
+    EventReadOnly early = new Event.EventBuilder("Early", LocalDateTime.of(2025, 10, 28, 9, 0))
+        .build();
+    EventReadOnly middle = new Event.EventBuilder("Middle", LocalDateTime.of(2025, 10, 28, 12, 0))
+        .build();
+    calendar.addEvent(late);
+    calendar.addEvent(early);
+    calendar.addEvent(middle);
+    calendar.removeEvent(middle);
+    List<EventReadOnly> events = calendar.getEvents(LocalDateTime.of(2025, 10, 28, 8, 0),
+        LocalDateTime.of(2025, 10, 28, 16, 0));
+    assertEquals(2, events.size());
+    assertEquals(early, events.get(0));
+    assertEquals(late, events.get(1));
+  }
+
+  @Test
+  public void testIsBusyDuringMultiDayEvent() {
+    CalendarImpl calendar = new CalendarImpl();
+    EventReadOnly event = new Event.EventBuilder("Trip", LocalDateTime.of(2025, 10, 27, 18, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 29, 10, 0))
+        .build();
+    calendar.addEvent(event);
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 28, 3, 0)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2025, 10, 29, 10, 0)));
+  }
+
+  @Test
+  public void testEditStartMovesEventToNewDate() {
+    event = new Event.EventBuilder("Meeting", LocalDateTime.of(2025, 10, 28, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 30, 10, 0))
+        .build();
+    calendar.addEvent(event);
+    List<EventReadOnly> toEdit = new ArrayList<>();
+    toEdit.add(event);
+    calendar.editEvent(toEdit, "start", "2025-10-29T09:00");
+    assertTrue(calendar.getEvents(LocalDateTime.of(2025, 10, 28, 0, 0),
+        LocalDateTime.of(2025, 10, 28, 23, 59)).isEmpty());
+    assertEquals(1, calendar.getAllEvents()
+        .get(LocalDateTime.of(2025, 10, 29, 9, 0).toLocalDate()).size());
+  }
+
+  @Test
+  public void testGetSeriesReturnsOccurrencesInStartOrder() {
+    UUID seriesId = UUID.randomUUID();
+    EventReadOnly second = new Event.EventBuilder("Standup", LocalDateTime.of(2025, 11, 4, 9, 0))
+        .setEventType(TypeOfEvent.SERIES).setEventId(seriesId).build();
+    EventReadOnly first = new Event.EventBuilder("Standup", LocalDateTime.of(2025, 11, 3, 9, 0))
+        .setEventType(TypeOfEvent.SERIES).setEventId(seriesId).build();
+    EventReadOnly third = new Event.EventBuilder("Standup", LocalDateTime.of(2025, 11, 5, 9, 0))
+        .setEventType(TypeOfEvent.SERIES).setEventId(seriesId).build();
+    calendar.addEvent(second);
+    calendar.addEvent(third);
+    calendar.addEvent(first);
+    calendar.addEvent(new Event.EventBuilder("Other", LocalDateTime.of(2025, 11, 3, 9, 0))
+        .build());
+
+    List<EventReadOnly> all = calendar.getSeries(seriesId);
+    assertEquals(3, all.size());
+    assertEquals(first, all.get(0));
+    assertEquals(third, all.get(2));
+
+    List<EventReadOnly> tail = calendar.getSeriesFrom(seriesId,
+        LocalDateTime.of(2025, 11, 4, 9, 0));
+    assertEquals(2, tail.size());
+    assertEquals(second, tail.get(0));
+
+    calendar.removeEvent(second);
+    assertEquals(2, calendar.getSeries(seriesId).size());
+    assertTrue(calendar.getSeries(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  public void testContainsEventUsesSubjectStartAndEnd() {
+    event = new Event.EventBuilder("Review", LocalDateTime.of(2025, 12, 1, 10, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 12, 1, 11, 0))
+        .build();
+    calendar.addEvent(event);
+    EventReadOnly sameIdentity = new Event.EventBuilder("Review",
+        LocalDateTime.of(2025, 12, 1, 10, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 12, 1, 11, 0))
+        .setDescription("different description")
+        .build();
+    EventReadOnly otherEnd = new Event.EventBuilder("Review", LocalDateTime.of(2025, 12, 1, 10, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 12, 1, 12, 0))
+        .build();
+    assertTrue(calendar.containsEvent(sameIdentity));
+    assertFalse(calendar.containsEvent(otherEnd));
+    calendar.removeEvent(sameIdentity);
+    assertFalse(calendar.containsEvent(event));
+  }
+
+  @Test
+  public void testConflictingEditKeepsOriginalEvent() {
+    EventReadOnly first = new Event.EventBuilder("Sync", LocalDateTime.of(2025, 12, 2, 9, 0))
+        .build();
+    EventReadOnly second = new Event.EventBuilder("Sync", LocalDateTime.of(2025, 12, 2, 8, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 12, 2, 10, 0))
+        .build();
+    calendar.addEvent(first);
+    calendar.addEvent(second);
+    List<EventReadOnly> toEdit = new ArrayList<>();
+    toEdit.add(second);
+    try {
+      calendar.editEvent(toEdit, "start", "2025-12-02T09:00");
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertTrue(calendar.containsEvent(second));
+    }
+    assertTrue(calendar.containsEvent(first));
+    assertEquals(2, calendar.getEvents(LocalDateTime.of(2025, 12, 2, 0, 0),
+        LocalDateTime.of(2025, 12, 2, 23, 59)).size());
+  }
+
+  @Test
+  public void testAddEventsAddsWholeBatch() {
+    List<EventReadOnly> batch = new ArrayList<>();
+    for (int day = 1; day <= 5; day++) {
+      batch.add(new Event.EventBuilder("Shift", LocalDateTime.of(2026, 1, day, 9, 0)).build());
+    }
+    List<EventReadOnly> added = calendar.addEvents(batch);
+    assertEquals(batch, added);
+    assertEquals(5, calendar.getEvents(LocalDateTime.of(2026, 1, 1, 0, 0),
+        LocalDateTime.of(2026, 1, 5, 23, 59)).size());
+  }
+
+  @Test
+  public void testAddEventsIsAllOrNothing() {
+    EventReadOnly existing = new Event.EventBuilder("Shift", LocalDateTime.of(2026, 1, 3, 9, 0))
+        .build();
+    calendar.addEvent(existing);
+    List<EventReadOnly> batch = new ArrayList<>();
+    for (int day = 1; day <= 5; day++) {
+      batch.add(new Event.EventBuilder("Shift", LocalDateTime.of(2026, 1, day, 9, 0)).build());
+    }
+    try {
+      calendar.addEvents(batch);
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+    assertEquals(1, calendar.getEvents(LocalDateTime.of(2026, 1, 1, 0, 0),
+        LocalDateTime.of(2026, 1, 5, 23, 59)).size());
+  }
+
+  @Test
+  public void testAddEventsRejectsDuplicatesWithinBatch() {
+    List<EventReadOnly> batch = new ArrayList<>();
+    batch.add(new Event.EventBuilder("Shift", LocalDateTime.of(2026, 1, 1, 9, 0)).build());
+    batch.add(new Event.EventBuilder("Shift", LocalDateTime.of(2026, 1, 1, 9, 0)).build());
+    try {
+      calendar.addEvents(batch);
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertTrue(calendar.getAllEvents().isEmpty());
+    }
+  }
+
+  private EventReadOnly standup() {
+    return new Event.EventBuilder("Standup", LocalDateTime.of(2026, 1, 5, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2026, 1, 5, 9, 15))
+        .setEventType(TypeOfEvent.SERIES)
+        .build();
+  }
+
+  @Test
+  public void testAddSeriesExpandsOccurrencesWhenRead() {
+    EventReadOnly template = standup();
+    calendar.addSeries(template, new RecurrenceRule(
+        EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), LocalDate.of(2030, 12, 31)));
+
+    List<EventReadOnly> week = calendar.getEvents(LocalDateTime.of(2027, 3, 1, 0, 0),
+        LocalDateTime.of(2027, 3, 7, 23, 59));
+    assertEquals(5, week.size());
+    assertEquals(LocalDateTime.of(2027, 3, 1, 9, 0), week.get(0).getStartDateTime());
+    assertEquals(template.getId(), week.get(0).getId());
+    assertTrue(calendar.isBusy(LocalDateTime.of(2030, 12, 31, 9, 10)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2027, 3, 6, 9, 10)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2031, 1, 1, 9, 10)));
+    assertTrue(calendar.containsEvent(week.get(2)));
+  }
+
+  @Test
+  public void testRemovingSeriesOccurrenceKeepsTheRest() {
+    calendar.addSeries(standup(), new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+
+    EventReadOnly second = calendar.getEvents(LocalDateTime.of(2026, 1, 12, 0, 0),
+        LocalDateTime.of(2026, 1, 12, 23, 59)).get(0);
+    calendar.removeEvent(second);
+
+    assertFalse(calendar.containsEvent(second));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2026, 1, 12, 9, 0)));
+    assertEquals(2, calendar.getSeries(second.getId()).size());
+    assertEquals(2, calendar.getAllEvents().size());
+  }
+
+  @Test
+  public void testEditingSeriesOccurrenceStoresItAsEvent() {
+    EventReadOnly template = standup();
+    calendar.addSeries(template, new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+    List<EventReadOnly> toEdit = new ArrayList<>();
+    toEdit.add(calendar.getSeries(template.getId()).get(1));
+
+    calendar.editEvent(toEdit, "location", "online");
+
+    List<EventReadOnly> occurrences = calendar.getSeries(template.getId());
+    assertEquals(3, occurrences.size());
+    assertEquals(Location.ONLINE, occurrences.get(1).getLocation());
+    assertEquals(Location.UNKNOWN, occurrences.get(2).getLocation());
+  }
+
+  @Test
+  public void testAddSeriesRejectsConflictingOccurrence() {
+    calendar.addEvent(new Event.EventBuilder("Standup", LocalDateTime.of(2026, 1, 19, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2026, 1, 19, 9, 15))
+        .build());
+    try {
+      calendar.addSeries(standup(), new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+    assertEquals(1, calendar.getAllEvents().size());
+  }
+
+  @Test
+  public void testSnapshotIsIsolatedFromLaterChanges() {
+    calendar.addSeries(standup(), new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3));
+    for (int day = 5; day < 10; day++) {
+      calendar.addEvent(new Event.EventBuilder("Review", LocalDateTime.of(2026, 1, day, 14, 0))
+          .setEndDateTime(LocalDateTime.of(2026, 1, day, 15, 0)).build());
+    }
+    CalendarReadOnly snapshot = calendar.snapshot();
+    LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2026, 1, 31, 0, 0);
+
+    List<EventReadOnly> seen = new ArrayList<>();
+    snapshot.forEachEvent(event -> {
+      seen.add(event);
+      calendar.removeEvent(event);
+    });
+    calendar.addEvent(new Event.EventBuilder("Lunch", LocalDateTime.of(2026, 1, 6, 12, 0))
+        .setEndDateTime(LocalDateTime.of(2026, 1, 6, 13, 0)).build());
+
+    assertEquals(8, seen.size());
+    assertEquals(1, calendar.getEvents(from, to).size());
+    assertEquals(8, snapshot.getEvents(from, to).size());
+    assertEquals(7, snapshot.getAllEvents().size());
+    assertTrue(snapshot.isBusy(LocalDateTime.of(2026, 1, 12, 9, 0)));
+    assertFalse(snapshot.isBusy(LocalDateTime.of(2026, 1, 6, 12, 30)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2026, 1, 12, 9, 0)));
+    assertTrue(calendar.isBusy(LocalDateTime.of(2026, 1, 6, 12, 30)));
+  }
 }
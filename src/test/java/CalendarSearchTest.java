@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.CalendarControllerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendarImpl;
+import calendar.model.Event;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.SearchQuery;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.view.CalendarViewImpl;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for searching events by the words of their subject and description.
+ * Checks the indexed search of CalendarImpl against the scanning search of other calendars,
+ * the ranking, range restriction, and the search events command.
+ */
+public class CalendarSearchTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+  private CalendarEditable calendar;
+  private EventReadOnly review;
+  private EventReadOnly planning;
+  private EventReadOnly lunch;
+
+  /**
+   * Fills a calendar with a few events that share some words.
+   */
+  @Before
+  public void setUp() {
+    calendar = new CalendarImpl();
+    review = new Event.EventBuilder("Quarterly Review", MONDAY)
+        .setEndDateTime(MONDAY.plusHours(2)).setDescription("Budget and hiring").build();
+    planning = new Event.EventBuilder("Planning", MONDAY.plusDays(1))
+        .setEndDateTime(MONDAY.plusDays(1).plusHours(1))
+        .setDescription("Review the quarterly budget").build();
+    lunch = new Event.EventBuilder("Team lunch", MONDAY.plusDays(2))
+        .setEndDateTime(MONDAY.plusDays(2).plusHours(1)).setDescription("Reviewing menus").build();
+    calendar.addEvent(lunch);
+    calendar.addEvent(planning);
+    calendar.addEvent(review);
+  }
+
+  @Test
+  public void testResultsAreRankedBySubjectThenDescription() {
+    assertEquals(List.of(review, planning, lunch),
+        calendar.search(new SearchQuery("review")));
+    assertEquals(List.of(review, planning), calendar.search(new SearchQuery("QUARTER budget")));
+    assertTrue(calendar.search(new SearchQuery("review dinner")).isEmpty());
+  }
+
+  @Test
+  public void testSearchIsLimitedToTheRange() {
+    assertEquals(List.of(planning, lunch), calendar.search(
+        new SearchQuery("review", MONDAY.plusDays(1), MONDAY.plusDays(3))));
+  }
+
+  @Test
+  public void testIndexFollowsEditsAndRemovals() {
+    calendar.editEvent(List.of(planning), "description", "Roadmap");
+    calendar.removeEvent(lunch);
+    assertEquals(List.of(review), calendar.search(new SearchQuery("review")));
+    assertEquals(1, calendar.search(new SearchQuery("roadmap")).size());
+  }
+
+  @Test
+  public void testIndexedSearchMatchesScanningSearch() {
+    CalendarEditable scanned = new ColumnarCalendarImpl();
+    for (EventReadOnly event : List.of(review, planning, lunch)) {
+      scanned.addEvent(event);
+    }
+    EventReadOnly standup = new Event.EventBuilder("Daily standup", MONDAY.minusHours(1))
+        .setEndDateTime(MONDAY.minusMinutes(45)).setEventType(TypeOfEvent.SERIES)
+        .setDescription("Quick review of blockers").build();
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), 6);
+    calendar.addSeries(standup, rule);
+    scanned.addSeries(standup, rule);
+
+    for (SearchQuery query : List.of(new SearchQuery("review"), new SearchQuery("stand"),
+        new SearchQuery("review", MONDAY.plusDays(1), MONDAY.plusDays(8)))) {
+      assertEquals(scanned.search(query), calendar.search(query));
+    }
+    assertEquals(6, calendar.search(new SearchQuery("blockers")).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSearchWithoutWords() {
+    new SearchQuery(" - ");
+  }
+
+  @Test
+  public void testSearchEventsCommand() {
+    StringBuilder output = new StringBuilder();
+    String input = "search events \"quarterly review\"" + System.lineSeparator()
+        + "search events dinner" + System.lineSeparator()
+        + "search events review from 2025-11-04T00:00 to 2025-11-04T23:59";
+    new CalendarControllerImpl(calendar, new StringReader(input), new CalendarViewImpl(output))
+        .run();
+    assertTrue(output.toString().contains("> Quarterly Review starting on 2025-11-03 at 09:00, "
+        + "ending on 2025-11-03 at 11:00" + System.lineSeparator()
+        + "> Planning starting on 2025-11-04 at 09:00, ending on 2025-11-04 at 10:00"));
+    assertTrue(output.toString().contains("No Events found with the given details"));
+    assertTrue(output.toString().contains(System.lineSeparator()
+        + "> Planning starting on 2025-11-04 at 09:00, ending on 2025-11-04 at 10:00"
+        + System.lineSeparator()));
+  }
+}
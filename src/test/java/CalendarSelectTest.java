@@ -0,0 +1,120 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.filter.CalendarFilter;
+import calendar.controller.filter.EventPredicates;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendarImpl;
+import calendar.model.Event;
+import calendar.model.datatypes.AttributeQuery;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for selecting events by location, status, type and all-day flag.
+ * Checks the bitmap indexes of CalendarImpl against the scanning selection of another
+ * calendar while many events are added and removed.
+ */
+public class CalendarSelectTest {
+  private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+  private CalendarEditable indexed;
+  private CalendarEditable scanned;
+  private List<EventReadOnly> added;
+
+  /**
+   * Adds the same events with mixed attributes to an indexed and a scanned calendar.
+   */
+  @Before
+  public void setUp() {
+    indexed = new CalendarImpl();
+    scanned = new ColumnarCalendarImpl();
+    added = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      LocalDateTime start = START.plusMinutes(29L * (i * 7919 % 20000));
+      EventReadOnly event = new Event.EventBuilder("Event" + i, start)
+          .setEndDateTime(start.plusHours(1))
+          .setLocation(i % 3 == 0 ? Location.ONLINE : Location.PHYSICAL)
+          .setEventStatus(i % 5 == 0 ? EventStatus.PRIVATE : EventStatus.PUBLIC)
+          .setEventType(i % 2 == 0 ? TypeOfEvent.SERIES : TypeOfEvent.SINGLE)
+          .build();
+      added.add(event);
+      indexed.addEvent(event);
+      scanned.addEvent(event);
+    }
+  }
+
+  private List<AttributeQuery> queries() {
+    AttributeQuery privateOnline = new AttributeQuery()
+        .withStatus(EventStatus.PRIVATE).withLocation(Location.ONLINE);
+    return List.of(
+        privateOnline,
+        privateOnline.withType(TypeOfEvent.SERIES)
+            .within(LocalDateTime.of(2025, 7, 1, 0, 0), LocalDateTime.of(2025, 9, 30, 23, 59)),
+        new AttributeQuery().withLocation(Location.PHYSICAL),
+        new AttributeQuery().withAllDay(false).withType(TypeOfEvent.SINGLE),
+        new AttributeQuery().withLocation(Location.UNKNOWN),
+        new AttributeQuery().within(START, START.plusDays(2)));
+  }
+
+  @Test
+  public void testSelectionsMatchScans() {
+    for (AttributeQuery query : queries()) {
+      assertEquals(scanned.select(query), indexed.select(query));
+    }
+    assertTrue(indexed.select(queries().get(0)).size() > 1000);
+  }
+
+  @Test
+  public void testSelectionsFollowRemovalsAndEdits() {
+    for (int i = 0; i < 15000; i++) {
+      indexed.removeEvent(added.get(i));
+      scanned.removeEvent(added.get(i));
+    }
+    List<EventReadOnly> online = indexed.select(new AttributeQuery()
+        .withLocation(Location.ONLINE)).subList(0, 50);
+    indexed.editEvent(online, "location", "physical");
+    scanned.editEvent(online, "location", "physical");
+    for (AttributeQuery query : queries()) {
+      assertEquals(scanned.select(query), indexed.select(query));
+    }
+  }
+
+  @Test
+  public void testSeriesOccurrencesAreSelected() {
+    EventReadOnly standup = new Event.EventBuilder("Standup", START.minusHours(1))
+        .setEndDateTime(START.minusMinutes(45)).setEventType(TypeOfEvent.SERIES)
+        .setLocation(Location.ONLINE).setEventStatus(EventStatus.PRIVATE).build();
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 40);
+    indexed.addSeries(standup, rule);
+    scanned.addSeries(standup, rule);
+    for (AttributeQuery query : queries()) {
+      assertEquals(scanned.select(query), indexed.select(query));
+    }
+  }
+
+  @Test
+  public void testFilterUsesAttributeConditions() {
+    CalendarFilter filter = new CalendarFilter(indexed);
+    List<EventReadOnly> expected = indexed.select(queries().get(1));
+    assertEquals(expected, filter.filter(EventPredicates.byStatus(EventStatus.PRIVATE)
+        .and(EventPredicates.byLocation(Location.ONLINE))
+        .and(EventPredicates.byEventType(TypeOfEvent.SERIES))
+        .and(EventPredicates.betweenStartAndEnd(LocalDateTime.of(2025, 7, 1, 0, 0),
+            LocalDateTime.of(2025, 9, 30, 23, 59)))));
+    assertEquals(added.stream()
+            .filter(event -> event.getEventStatus() == EventStatus.PRIVATE).count(),
+        filter.filter(EventPredicates.byStatus(EventStatus.PRIVATE)).size());
+  }
+}
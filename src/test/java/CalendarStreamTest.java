@@ -0,0 +1,118 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.filter.CalendarFilter;
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the streaming queries of the calendars.
+ * Checks that streams return the same events in the same order as the list queries, and
+ * that they can be split and run in parallel.
+ */
+public class CalendarStreamTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+  private CalendarEditable calendar;
+
+  /**
+   * Fills a calendar with events spread over several weeks, some spanning days.
+   */
+  @Before
+  public void setUp() {
+    calendar = new CalendarImpl();
+    for (int i = 0; i < 500; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(53L * (i * 7919 % 500));
+      calendar.addEvent(new Event.EventBuilder("Event" + i, start)
+          .setEndDateTime(start.plusHours(1 + i % 30)).build());
+    }
+  }
+
+  @Test
+  public void testRangeStreamMatchesGetEvents() {
+    for (int hour = 0; hour < 24 * 21; hour += 5) {
+      LocalDateTime from = MONDAY.plusHours(hour);
+      assertEquals(calendar.getEvents(from, from.plusHours(7)),
+          calendar.stream(from, from.plusHours(7)).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testFilterStreamMatchesSnapshot() {
+    CalendarReadOnly snapshot = calendar.snapshot();
+    assertEquals(snapshot.stream(event -> true).collect(Collectors.toList()),
+        calendar.stream(event -> true).collect(Collectors.toList()));
+    assertEquals(snapshot.stream(event -> event.getSubject().endsWith("7")).count(),
+        calendar.stream(event -> event.getSubject().endsWith("7")).count());
+  }
+
+  @Test
+  public void testFilterStreamSortsEachDayByStart() {
+    CalendarEditable unordered = new CalendarImpl();
+    for (int hour : new int[] {15, 9, 12}) {
+      LocalDateTime start = MONDAY.withHour(hour);
+      unordered.addEvent(new Event.EventBuilder("At" + hour, start)
+          .setEndDateTime(start.plusHours(1)).build());
+    }
+    List<String> added = new ArrayList<>();
+    unordered.forEachEvent(event -> added.add(event.getSubject()));
+
+    assertEquals(List.of("At15", "At9", "At12"), added);
+    assertEquals(List.of("At9", "At12", "At15"), unordered.stream(event -> true)
+        .map(EventReadOnly::getSubject).collect(Collectors.toList()));
+    assertEquals(unordered.stream(event -> true).collect(Collectors.toList()),
+        new CalendarFilter(unordered).filter(event -> true));
+  }
+
+  @Test
+  public void testSizeAndParallelCount() {
+    assertEquals(500, calendar.size());
+    assertEquals(500, calendar.snapshot().size());
+    assertEquals(500, calendar.stream(event -> true).parallel().count());
+    assertEquals(calendar.stream(event -> true).collect(Collectors.toList()),
+        calendar.stream(event -> true).parallel().collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testSplitsCoverEveryEventOnce() {
+    Spliterator<EventReadOnly> whole = calendar.stream(event -> true).parallel().spliterator();
+    List<Spliterator<EventReadOnly>> parts = new ArrayList<>();
+    parts.add(whole);
+    for (int round = 0; round < 4; round++) {
+      List<Spliterator<EventReadOnly>> split = new ArrayList<>();
+      for (Spliterator<EventReadOnly> part : parts) {
+        Spliterator<EventReadOnly> first = part.trySplit();
+        if (first != null) {
+          split.add(first);
+        }
+        split.add(part);
+      }
+      parts = split;
+    }
+    assertTrue(parts.size() > 1);
+    List<EventReadOnly> seen = new ArrayList<>();
+    for (Spliterator<EventReadOnly> part : parts) {
+      part.forEachRemaining(seen::add);
+    }
+    assertEquals(calendar.stream(event -> true).collect(Collectors.toList()), seen);
+  }
+
+  @Test
+  public void testStreamStopsEarly() {
+    int[] visited = new int[1];
+    EventReadOnly first = calendar.stream(MONDAY, MONDAY.plusDays(30))
+        .peek(event -> visited[0]++).findFirst().orElse(null);
+    assertEquals(calendar.getEvents(MONDAY, MONDAY.plusDays(30)).get(0), first);
+    assertEquals(1, visited[0]);
+  }
+}
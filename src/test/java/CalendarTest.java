@@ -1024,7 +1024,8 @@ public class CalendarTest {
     assertTrue(output.contains("!!***Invalid command format***!!"));
     assertTrue(output.contains("!!***Invalid command syntax***!!"));
     assertTrue(output.contains("!!***Invalid create calendar command. Usage: create calendar "
-        + "--name <calName> --timezone area/location***!!"));
+        + "--name <calName> --timezone area/location [--storage heap|columnar|off-heap] "
+        + "[--strict]***!!"));
     assertTrue(output.contains("!!***Invalid command: create cal***!!"));
     assertTrue(output.contains("!!***Invalid command: random check***!!"));
     assertTrue(output.contains("!!***Calendar with name cal1 does not exist***!!"));
@@ -0,0 +1,223 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.ConcurrentCalendarImpl;
+import calendar.model.Event;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for ConcurrentCalendarImpl.
+ * Stresses it with several threads adding, editing, removing and reading events on the same
+ * days. That it answers like CalendarImpl on a single thread is checked by
+ * CalendarEquivalenceTest.
+ */
+public class ConcurrentCalendarImplTest {
+  private static final int THREADS = 8;
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+  private CalendarEditable calendar;
+
+  /**
+   * Creates an empty concurrent calendar for each test.
+   */
+  @Before
+  public void setUp() {
+    calendar = new ConcurrentCalendarImpl();
+  }
+
+  private static EventReadOnly event(String subject, LocalDateTime start, long hours) {
+    return new Event.EventBuilder(subject, start).setEndDateTime(start.plusHours(hours)).build();
+  }
+
+  private static void runThreads(int threads, ThreadTask task) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int thread = t;
+      results.add(pool.submit(() -> {
+        start.await();
+        task.run(thread);
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> result : results) {
+      result.get(60, TimeUnit.SECONDS);
+    }
+    pool.shutdown();
+  }
+
+  private interface ThreadTask {
+    void run(int thread) throws Exception;
+  }
+
+  @Test
+  public void testConcurrentAddsStoreEachEventOnce() throws Exception {
+    int events = 500;
+    AtomicInteger added = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    runThreads(THREADS, thread -> {
+      for (int i = 0; i < events; i++) {
+        try {
+          calendar.addEvent(event("Event" + i, MONDAY.plusHours(i % 48), 1));
+          added.incrementAndGet();
+        } catch (IllegalArgumentException e) {
+          rejected.incrementAndGet();
+        }
+      }
+    });
+
+    assertEquals(events, added.get());
+    assertEquals(events * (THREADS - 1), rejected.get());
+    List<EventReadOnly> all = new ArrayList<>();
+    calendar.forEachEvent(all::add);
+    assertEquals(events, all.size());
+    assertEquals(events, new HashSet<>(all).size());
+  }
+
+  @Test
+  public void testConcurrentBatchesAreAllOrNothing() throws Exception {
+    int batches = 200;
+    AtomicInteger added = new AtomicInteger();
+    runThreads(THREADS, thread -> {
+      for (int b = 0; b < batches; b++) {
+        List<EventReadOnly> batch = List.of(
+            event("Batch" + b, MONDAY, 1),
+            event("Batch" + b + "-" + thread, MONDAY, 1));
+        try {
+          calendar.addEvents(batch);
+          added.incrementAndGet();
+        } catch (IllegalArgumentException e) {
+          assertFalse(calendar.containsEvent(batch.get(1)));
+        }
+      }
+    });
+
+    assertEquals(batches, added.get());
+    assertEquals(batches * 2, calendar.getEvents(MONDAY, MONDAY).size());
+  }
+
+  @Test
+  public void testRemovalsRacingAddsLeaveNoOrphans() throws Exception {
+    int rounds = 20000;
+    runThreads(THREADS, thread -> {
+      for (int i = 0; i < rounds; i++) {
+        EventReadOnly event = event("Race" + i % 2, MONDAY.plusHours(i % 2), 1);
+        if (thread % 2 == 0) {
+          try {
+            calendar.addEvent(event);
+          } catch (IllegalArgumentException e) {
+            // Another thread holds the identity.
+          }
+        } else {
+          calendar.removeEvent(event);
+        }
+      }
+    });
+
+    List<EventReadOnly> all = new ArrayList<>();
+    calendar.forEachEvent(all::add);
+    for (EventReadOnly event : all) {
+      assertTrue(calendar.containsEvent(event));
+    }
+    assertEquals(all.size(), new HashSet<>(all).size());
+    for (EventReadOnly event : all) {
+      calendar.removeEvent(event);
+    }
+    assertTrue(calendar.getAllEvents().isEmpty());
+  }
+
+  @Test
+  public void testStressWritersAndReaders() throws Exception {
+    int rounds = 300;
+    AtomicInteger failures = new AtomicInteger();
+    runThreads(THREADS, thread -> {
+      if (thread % 2 == 0) {
+        for (int i = 0; i < rounds; i++) {
+          LocalDateTime from = MONDAY.plusHours(i % 72);
+          for (EventReadOnly found : calendar.getEvents(from, from.plusHours(6))) {
+            if (found.getStartDateTime().isAfter(from.plusHours(6))
+                || found.getEndDateTime().isBefore(from)) {
+              failures.incrementAndGet();
+            }
+          }
+          calendar.isBusy(from);
+          calendar.getAllEvents();
+        }
+        return;
+      }
+      for (int i = 0; i < rounds; i++) {
+        EventReadOnly created = event("Writer" + thread + "-" + i, MONDAY.plusHours(i % 72), 2);
+        calendar.addEvent(created);
+        List<EventReadOnly> edited = calendar.editEvent(List.of(created), "location", "online");
+        if (i % 3 == 0) {
+          calendar.removeEvent(edited.get(0));
+        } else if (i % 3 == 1) {
+          calendar.editEvent(edited, "subject", "Moved" + thread + "-" + i);
+        }
+      }
+    });
+
+    assertEquals(0, failures.get());
+    Map<LocalDate, List<EventReadOnly>> all = calendar.getAllEvents();
+    Set<EventReadOnly> distinct = new HashSet<>();
+    int total = 0;
+    for (List<EventReadOnly> day : all.values()) {
+      distinct.addAll(day);
+      total += day.size();
+    }
+    int writers = THREADS / 2;
+    int kept = rounds - (rounds + 2) / 3;
+    assertEquals(writers * kept, total);
+    assertEquals(total, distinct.size());
+    for (EventReadOnly stored : distinct) {
+      assertTrue(calendar.containsEvent(stored));
+      assertTrue(calendar.isBusy(stored.getStartDateTime()));
+    }
+  }
+
+  @Test
+  public void testContainerSharedByThreads() throws Exception {
+    CalendarContainer container = new CalendarContainerImpl();
+    runThreads(THREADS, thread -> {
+      String name = "Calendar" + thread;
+      container.addCalendar(name, new AdvancedCalendarImpl
+          .AdvancedCalendarBuilder(name, ZoneId.of("UTC"))
+          .setCalendar(new ConcurrentCalendarImpl())
+          .build());
+      for (int i = 0; i < 100; i++) {
+        container.getCalendars().get(name).addEvent(event("Event" + i, MONDAY, 1));
+        container.setActiveCalendar(name);
+        container.getActiveCalendar().getEvents(MONDAY, MONDAY);
+      }
+    });
+
+    assertEquals(THREADS, container.getCalendars().size());
+    for (int t = 0; t < THREADS; t++) {
+      assertEquals(100, container.getCalendars().get("Calendar" + t)
+          .getEvents(MONDAY, MONDAY).size());
+    }
+  }
+}
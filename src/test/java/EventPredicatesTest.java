@@ -1,15 +1,21 @@
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import calendar.controller.filter.CalendarFilter;
 import calendar.controller.filter.EventPredicates;
+import calendar.model.CalendarImpl;
 import calendar.model.Event;
 import calendar.model.datatypes.EventStatus;
 import calendar.model.datatypes.Location;
 import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -154,4 +160,55 @@ public class EventPredicatesTest {
     assertFalse(p.test(allMismatch));
   }
 
+  @Test
+  public void testQueriesAreLookedUpWithoutScanning() {
+    CalendarEditable calendar = new CalendarImpl() {
+      @Override
+      public Stream<EventReadOnly> stream(Predicate<? super EventReadOnly> filter) {
+        throw new IllegalStateException("scanned every event");
+      }
+    };
+    calendar.addEvent(event1);
+    calendar.addEvent(event2);
+    calendar.addEvent(new Event.EventBuilder("Meeting", start.plusHours(1)).build());
+    CalendarFilter filter = new CalendarFilter(calendar);
+
+    assertEquals(List.of(event1), filter.filter(EventPredicates.bySubject("Meeting")
+        .and(EventPredicates.byStartDate(start))));
+    assertEquals(List.of(event1), filter.filter(EventPredicates.byEventId(id)));
+    assertEquals(List.of(event2), filter.filter(EventPredicates.byLocation(Location.ONLINE)
+        .and(EventPredicates.betweenStartAndEnd(start, end.plusDays(2)))));
+    assertEquals(List.of(event1), filter.filter(EventPredicates.bySeries(start, end, "Meeting")
+        .and(event -> !event.isAllDay())));
+  }
+
+  @Test
+  public void testLookedUpQueriesMatchScans() {
+    CalendarEditable calendar = new CalendarImpl();
+    for (int i = 0; i < 200; i++) {
+      LocalDateTime from = start.plusMinutes(45L * (i * 37 % 200));
+      calendar.addEvent(new Event.EventBuilder("Meeting" + i % 3, from)
+          .setEndDateTime(from.plusHours(1 + i % 4))
+          .setLocation(i % 2 == 0 ? Location.ONLINE : Location.PHYSICAL)
+          .build());
+    }
+    CalendarFilter filter = new CalendarFilter(calendar);
+    List<Predicate<EventReadOnly>> queries = List.of(
+        EventPredicates.byStartDate(start.plusMinutes(45 * 10))
+            .and(EventPredicates.bySubject("Meeting1")),
+        EventPredicates.byLocation(Location.ONLINE)
+            .and(EventPredicates.betweenStartAndEnd(start.plusDays(1), start.plusDays(3)))
+            .and(EventPredicates.betweenStartAndEnd(start.plusDays(2), start.plusDays(5))),
+        EventPredicates.bySubject("Meeting2").and(EventPredicates.byStatus(EventStatus.PUBLIC)));
+    for (Predicate<EventReadOnly> query : queries) {
+      assertEquals(filter.filter(query::test), filter.filter(query));
+    }
+  }
+
+  @Test
+  public void testQueryDescribesItsConditions() {
+    assertEquals("subject = Meeting and start = 2025-10-25T08:00 and predicate",
+        EventPredicates.bySubject("Meeting").and(EventPredicates.byStartDate(start))
+            .and(EventReadOnly::isAllDay).toString());
+  }
 }
@@ -0,0 +1,420 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.controller.CalendarController;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.Event;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.StorageMode;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.persistence.JournaledCalendarContainer;
+import calendar.model.persistence.SyncPolicy;
+import calendar.view.CalendarViewImpl;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for JournaledCalendarContainer.
+ * Runs commands against a journaled container, reopens the journal and checks that the
+ * rebuilt container holds the same calendars and events.
+ */
+public class JournaledCalendarContainerTest {
+  private Path journal;
+  private Path snapshot;
+
+  /**
+   * Creates an empty journal location for each test.
+   */
+  @Before
+  public void setUp() throws IOException {
+    journal = Files.createTempFile("calendar", ".journal");
+    Files.delete(journal);
+    snapshot = journal.resolveSibling(journal.getFileName() + ".snapshot");
+  }
+
+  /**
+   * Removes the journal and snapshot written by the test.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(journal);
+    Files.deleteIfExists(snapshot);
+  }
+
+  private static void run(JournaledCalendarContainer container, String... commands) {
+    String in = String.join(System.lineSeparator(), commands);
+    CalendarController controller = new AdvanceCalendarController(container,
+        new StringReader(in), new CalendarViewImpl(new StringBuilder()));
+    controller.run();
+  }
+
+  private static void assertSameCalendars(Map<String, AdvancedCalendar> expected,
+                                          Map<String, AdvancedCalendar> actual) {
+    assertEquals(expected.keySet(), actual.keySet());
+    for (String name : expected.keySet()) {
+      AdvancedCalendar before = expected.get(name);
+      AdvancedCalendar after = actual.get(name);
+      assertEquals(before.getName(), after.getName());
+      assertEquals(before.getZoneId(), after.getZoneId());
+      Map<LocalDate, List<EventReadOnly>> beforeEvents = before.getAllEvents();
+      Map<LocalDate, List<EventReadOnly>> afterEvents = after.getAllEvents();
+      assertEquals(beforeEvents.keySet(), afterEvents.keySet());
+      for (LocalDate date : beforeEvents.keySet()) {
+        List<EventReadOnly> beforeDay = beforeEvents.get(date);
+        List<EventReadOnly> afterDay = afterEvents.get(date);
+        assertEquals(beforeDay.size(), afterDay.size());
+        for (EventReadOnly event : beforeDay) {
+          EventReadOnly match = afterDay.get(afterDay.indexOf(event));
+          assertEquals(event.getDescription(), match.getDescription());
+          assertEquals(event.getLocation(), match.getLocation());
+          assertEquals(event.getEventType(), match.getEventType());
+          assertEquals(event.getId(), match.getId());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testReplayRebuildsContainer() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00",
+        "create event Trip from 2025-11-05T10:00 to 2025-11-07T11:00",
+        "create event Standup from 2025-11-03T09:00 to 2025-11-03T09:15 repeats MWF for 12 times",
+        "edit event location Review from 2025-11-03T10:00 to 2025-11-03T11:00 with online",
+        "edit events subject Standup from 2025-11-10T09:00 with Sync",
+        "create calendar --name Home --timezone Europe/London",
+        "use calendar --name Home",
+        "create event Gym from 2025-11-04T18:00 to 2025-11-04T19:00 repeats TR until 2025-12-31",
+        "edit calendar --name Home --property timezone Asia/Kolkata",
+        "edit calendar --name Home --property name Personal",
+        "use calendar --name Personal");
+    Map<String, AdvancedCalendar> before = container.getCalendars();
+    String active = container.getActiveCalendar().getName();
+    container.close();
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertSameCalendars(before, reopened.getCalendars());
+    assertEquals(active, reopened.getActiveCalendar().getName());
+    assertTrue(reopened.getCalendars().get("Work").getAllEvents().size() > 10);
+    reopened.close();
+  }
+
+  @Test
+  public void testTornRecordIsDroppedOnReplay() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.GROUP, 16);
+    run(container,
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00");
+    container.close();
+    long length = Files.size(journal);
+    Files.write(journal, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.GROUP, 16);
+    assertEquals(length, Files.size(journal));
+    assertEquals(1, reopened.getCalendars().get("Work").getAllEvents().size());
+    run(reopened, "use calendar --name Work",
+        "create event Lunch from 2025-11-03T12:00 to 2025-11-03T13:00");
+    reopened.close();
+
+    JournaledCalendarContainer again =
+        JournaledCalendarContainer.open(journal, SyncPolicy.NEVER, 1);
+    assertEquals(2, again.getCalendars().get("Work").getEvents(
+        LocalDate.of(2025, 11, 3).atStartOfDay(), LocalDate.of(2025, 11, 3).atTime(23, 59))
+        .size());
+    again.close();
+  }
+
+  @Test
+  public void testTornEditKeepsOldEvent() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00");
+    long length = Files.size(journal);
+    run(container, "use calendar --name Work",
+        "edit event subject Review from 2025-11-03T10:00 to 2025-11-03T11:00 with Retro");
+    container.close();
+    byte[] records = Files.readAllBytes(journal);
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 10, 0);
+
+    for (long cut = length; cut < records.length; cut++) {
+      Files.write(journal, Arrays.copyOf(records, (int) cut));
+      JournaledCalendarContainer reopened =
+          JournaledCalendarContainer.open(journal, SyncPolicy.NEVER, 1);
+      AdvancedCalendar work = reopened.getCalendars().get("Work");
+      assertEquals(1, work.findEvents("Review", start).size());
+      assertTrue(work.findEvents("Retro", start).isEmpty());
+      reopened.close();
+    }
+    Files.write(journal, records);
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.NEVER, 1);
+    AdvancedCalendar work = reopened.getCalendars().get("Work");
+    assertTrue(work.findEvents("Review", start).isEmpty());
+    assertEquals(1, work.findEvents("Retro", start).size());
+    reopened.close();
+  }
+
+  @Test
+  public void testCheckpointStartsJournalOver() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00",
+        "create event Trip from 2025-11-05T10:00 to 2025-11-07T11:00",
+        "create event Standup from 2025-11-03T09:00 to 2025-11-03T09:15 repeats MWF for 12 times",
+        "create calendar --name Home --timezone Europe/London");
+    container.checkpoint();
+    assertTrue(Files.exists(snapshot));
+    assertEquals(8, Files.size(journal));
+    run(container, "use calendar --name Home",
+        "create event Gym from 2025-11-04T18:00 to 2025-11-04T19:00");
+    Map<String, AdvancedCalendar> before = container.getCalendars();
+    container.close();
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertSameCalendars(before, reopened.getCalendars());
+    assertEquals("Home", reopened.getActiveCalendar().getName());
+    AdvancedCalendar work = reopened.getCalendars().get("Work");
+    assertTrue(work.isBusy(LocalDateTime.of(2025, 11, 6, 12, 0)));
+    assertFalse(work.isBusy(LocalDateTime.of(2025, 11, 7, 11, 0)));
+    assertEquals(2, work.getEvents(LocalDateTime.of(2025, 11, 3, 0, 0),
+        LocalDateTime.of(2025, 11, 3, 23, 59)).size());
+    run(reopened, "use calendar --name Work",
+        "create event Lunch from 2025-11-03T12:00 to 2025-11-03T13:00");
+    reopened.close();
+
+    JournaledCalendarContainer again =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertEquals(3, again.getCalendars().get("Work").getEvents(
+        LocalDateTime.of(2025, 11, 3, 0, 0), LocalDateTime.of(2025, 11, 3, 23, 59)).size());
+    again.close();
+  }
+
+  @Test
+  public void testSnapshotWrittenOnCloseAfterThreshold() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.NEVER, 1, 3);
+    run(container,
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00",
+        "edit event subject Review from 2025-11-03T10:00 to 2025-11-03T11:00 with Retro");
+    Map<String, AdvancedCalendar> before = container.getCalendars();
+    container.close();
+    assertTrue(Files.exists(snapshot));
+    assertEquals(8, Files.size(journal));
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.NEVER, 1, 3);
+    assertSameCalendars(before, reopened.getCalendars());
+    reopened.close();
+  }
+
+  @Test
+  public void testJournalAlreadyInSnapshotIsNotReplayed() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00");
+    byte[] records = Files.readAllBytes(journal);
+    container.checkpoint();
+    container.close();
+    Files.write(journal, records);
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertEquals(1, reopened.getCalendars().get("Work").getAllEvents().size());
+    assertEquals(8, Files.size(journal));
+    reopened.close();
+  }
+
+  @Test
+  public void testZoneChangeBeforeCheckpointKeepsLaterEvents() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name w --timezone America/New_York",
+        "use calendar --name w",
+        "create event Review from 2025-01-08T10:00 to 2025-01-08T11:00",
+        "edit calendar --name w --property timezone Asia/Kolkata");
+    container.checkpoint();
+    run(container, "use calendar --name w",
+        "create event Sync from 2025-01-10T10:00 to 2025-01-10T11:00");
+    Map<String, AdvancedCalendar> before = container.getCalendars();
+    container.close();
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertSameCalendars(before, reopened.getCalendars());
+    AdvancedCalendar calendar = reopened.getCalendars().get("w");
+    assertEquals("Asia/Kolkata", calendar.getZoneId().getId());
+    EventReadOnly sync = calendar.findEvents("Sync", LocalDateTime.of(2025, 1, 10, 10, 0))
+        .get(0);
+    assertEquals(LocalDateTime.of(2025, 1, 10, 11, 0), sync.getEndDateTime());
+    assertEquals(1, calendar.findEvents("Review", LocalDateTime.of(2025, 1, 8, 20, 30))
+        .size());
+    run(reopened, "use calendar --name w",
+        "create event Lunch from 2025-01-10T13:00 to 2025-01-10T14:00");
+    reopened.checkpoint();
+    reopened.close();
+
+    JournaledCalendarContainer again =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertEquals(2, again.getCalendars().get("w").getEvents(
+        LocalDateTime.of(2025, 1, 10, 0, 0), LocalDateTime.of(2025, 1, 10, 23, 59)).size());
+    again.close();
+  }
+
+  @Test
+  public void testAddedCalendarKeepsSeriesAsRules() throws IOException {
+    AdvancedCalendar copied = new AdvancedCalendarImpl.AdvancedCalendarBuilder("Copied",
+        ZoneId.of("Europe/London")).build();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+    EventReadOnly standup = new Event.EventBuilder("Standup", start)
+        .setEndDateTime(start.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build();
+    copied.getCalendar().addSeries(standup,
+        new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), 1000));
+    copied.getCalendar().removeEvent(new Event.EventBuilder("Standup", start.plusDays(1))
+        .setEndDateTime(start.plusDays(1).plusMinutes(15)).build());
+    copied.getCalendar().addEvent(new Event.EventBuilder("Review", start.plusHours(2))
+        .setEndDateTime(start.plusHours(3)).build());
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    container.addCalendar("Copied", copied);
+    container.close();
+
+    assertTrue(Files.size(journal) < 1024);
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    AdvancedCalendar calendar = reopened.getCalendars().get("Copied");
+    assertEquals(999, calendar.getCalendar().getSeries(standup.getId()).size());
+    assertEquals(1000, calendar.size());
+    assertFalse(calendar.isBusy(start.plusDays(1)));
+    reopened.close();
+  }
+
+  @Test
+  public void testCheckpointKeepsSeriesAsRules() throws IOException {
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name Work --timezone Europe/London",
+        "use calendar --name Work",
+        "create event Standup from 2025-01-06T09:00 to 2025-01-06T09:15 repeats MTWRFSU "
+            + "for 1000 times",
+        "create event Review from 2025-01-06T11:00 to 2025-01-06T12:00",
+        "edit event subject Standup from 2025-01-07T09:00 to 2025-01-07T09:15 with Retro");
+    container.checkpoint();
+    container.close();
+
+    assertTrue(Files.size(snapshot) < 1024);
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    AdvancedCalendar calendar = reopened.getCalendars().get("Work");
+    EventReadOnly standup = calendar.findEvents("Standup", start).get(0);
+    assertEquals(1000, calendar.getCalendar().getSeries(standup.getId()).size());
+    assertEquals(1, calendar.findEvents("Retro", start.plusDays(1)).size());
+    assertEquals(1001, calendar.size());
+    run(reopened, "use calendar --name Work",
+        "edit event subject Standup from 2025-01-08T09:00 to 2025-01-08T09:15 with Demo");
+    reopened.checkpoint();
+    reopened.close();
+
+    assertTrue(Files.size(snapshot) < 1024);
+    JournaledCalendarContainer again =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    AdvancedCalendar work = again.getCalendars().get("Work");
+    assertEquals(1000, work.getCalendar().getSeries(standup.getId()).size());
+    assertEquals(1, work.findEvents("Demo", start.plusDays(2)).size());
+    assertTrue(work.findEvents("Standup", start.plusDays(2)).isEmpty());
+    again.close();
+  }
+
+  @Test
+  public void testEmptySeriesIsNotJournaled() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container, "create calendar --name Work --timezone Europe/London");
+    long length = Files.size(journal);
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+    container.getCalendars().get("Work").addSeries(new Event.EventBuilder("Standup", start)
+            .setEndDateTime(start.plusMinutes(15)).setEventType(TypeOfEvent.SERIES).build(),
+        new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), start.toLocalDate().minusDays(1)));
+    assertEquals(length, Files.size(journal));
+    container.close();
+  }
+
+  @Test
+  public void testStrictCalendarStaysStrict() throws IOException {
+    JournaledCalendarContainer container =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    run(container,
+        "create calendar --name Work --timezone America/New_York --strict",
+        "create calendar --name Home --timezone America/New_York");
+    container.close();
+
+    JournaledCalendarContainer reopened =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    assertTrue(reopened.getCalendars().get("Work").rejectsOverlaps());
+    assertFalse(reopened.getCalendars().get("Home").rejectsOverlaps());
+    run(reopened, "use calendar --name Work",
+        "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00");
+    reopened.checkpoint();
+    reopened.close();
+
+    JournaledCalendarContainer again =
+        JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1);
+    AdvancedCalendar work = again.getCalendars().get("Work");
+    assertTrue(work.rejectsOverlaps());
+    assertFalse(again.getCalendars().get("Home").rejectsOverlaps());
+    run(again, "use calendar --name Work",
+        "create event Sync from 2025-11-03T10:30 to 2025-11-03T11:30");
+    assertEquals(1, work.size());
+    again.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddedCalendarStoredInRecordsIsRefused() throws IOException {
+    AdvancedCalendar columnar = new AdvancedCalendarImpl.AdvancedCalendarBuilder("Columnar",
+        ZoneId.of("Europe/London")).setStorage(StorageMode.COLUMNAR).build();
+    try (JournaledCalendarContainer container =
+             JournaledCalendarContainer.open(journal, SyncPolicy.ALWAYS, 1)) {
+      container.addCalendar("Columnar", columnar);
+    }
+  }
+}
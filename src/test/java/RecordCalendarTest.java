@@ -0,0 +1,225 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendarImpl;
+import calendar.model.Event;
+import calendar.model.OffHeapCalendarImpl;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.RecurrenceRule;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Tests for the calendars storing events as records, ColumnarCalendarImpl and
+ * OffHeapCalendarImpl, run once for each.
+ * Checks that their records and strings decode back to the stored events, and that snapshots
+ * and views stay valid while records are merged, removed and compacted. That they answer like
+ * CalendarImpl is checked by CalendarEquivalenceTest.
+ */
+@RunWith(Parameterized.class)
+public class RecordCalendarTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+  private final Supplier<CalendarEditable> storage;
+  private CalendarEditable calendar;
+
+  /**
+   * Creates the test for one kind of record calendar.
+   *
+   * @param name    the name of the storage, shown in the test name
+   * @param storage creates an empty calendar of that kind
+   */
+  public RecordCalendarTest(String name, Supplier<CalendarEditable> storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * Returns the kinds of record calendar to run the tests for.
+   *
+   * @return the name and constructor of each kind
+   */
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> storages() {
+    Supplier<CalendarEditable> columnar = ColumnarCalendarImpl::new;
+    Supplier<CalendarEditable> offHeap = OffHeapCalendarImpl::new;
+    return List.of(new Object[] {"columnar", columnar}, new Object[] {"off-heap", offHeap});
+  }
+
+  /**
+   * Creates an empty calendar for each test.
+   */
+  @Before
+  public void setUp() {
+    calendar = storage.get();
+  }
+
+  private static EventReadOnly event(String subject, LocalDateTime start, long hours) {
+    return new Event.EventBuilder(subject, start).setEndDateTime(start.plusHours(hours)).build();
+  }
+
+  @Test
+  public void testEventsDecodeEveryField() {
+    EventReadOnly stored = new Event.EventBuilder("Offsite", MONDAY)
+        .setEndDateTime(MONDAY.plusHours(8))
+        .setDescription("Planning")
+        .setLocation(Location.ONLINE)
+        .setEventStatus(EventStatus.PRIVATE)
+        .setEventType(TypeOfEvent.SERIES)
+        .build();
+    calendar.addEvent(stored);
+
+    EventReadOnly read = calendar.getEvents(MONDAY, MONDAY).get(0);
+    assertEquals("Offsite", read.getSubject());
+    assertEquals(MONDAY, read.getStartDateTime());
+    assertEquals(MONDAY.plusHours(8), read.getEndDateTime());
+    assertEquals("Planning", read.getDescription());
+    assertEquals(Location.ONLINE, read.getLocation());
+    assertEquals(EventStatus.PRIVATE, read.getEventStatus());
+    assertEquals(TypeOfEvent.SERIES, read.getEventType());
+    assertEquals(stored.getId(), read.getId());
+    assertEquals(stored.isAllDay(), read.isAllDay());
+    assertEquals(stored, read);
+    assertEquals(read, stored);
+    assertEquals(stored.hashCode(), read.hashCode());
+    assertEquals(stored.toString(), read.toString());
+  }
+
+  @Test
+  public void testStringsAreStoredOnceAndDecodedExactly() {
+    String longSubject = "Quarterly planning ".repeat(5000);
+    EventReadOnly planning = new Event.EventBuilder(longSubject, MONDAY)
+        .setEndDateTime(MONDAY.plusHours(2)).setDescription("Café für alle – 会议").build();
+    calendar.addEvent(planning);
+    for (int i = 1; i < 50; i++) {
+      calendar.addEvent(new Event.EventBuilder("Sync", MONDAY.plusDays(i))
+          .setEndDateTime(MONDAY.plusDays(i).plusHours(1)).setDescription("Café").build());
+    }
+
+    EventReadOnly read = calendar.getEvents(MONDAY, MONDAY).get(0);
+    assertEquals(longSubject, read.getSubject());
+    assertEquals("Café für alle – 会议", read.getDescription());
+    assertTrue(calendar.containsEvent(planning));
+    assertEquals(50, calendar.size());
+    assertEquals("Café", calendar.getEvents(MONDAY.plusDays(1), MONDAY.plusDays(1)).get(0)
+        .getDescription());
+  }
+
+  @Test
+  public void testBatchWithDuplicateAddsNothing() {
+    calendar.addEvent(event("Review", MONDAY, 1));
+    try {
+      calendar.addEvents(List.of(event("Lunch", MONDAY, 1), event("Review", MONDAY, 1)));
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+    assertFalse(calendar.containsEvent(event("Lunch", MONDAY, 1)));
+    assertEquals(1, calendar.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEditIntoExistingEventFails() {
+    calendar.addEvent(event("Review", MONDAY, 1));
+    calendar.addEvent(event("Other", MONDAY, 1));
+    calendar.editEvent(List.of(event("Other", MONDAY, 1)), "subject", "Review");
+  }
+
+  @Test
+  public void testManyRowsMergedRemovedAndCompacted() {
+    CalendarEditable expected = new CalendarImpl();
+    List<EventReadOnly> added = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(37L * (i * 7919 % 5000));
+      EventReadOnly created = event("Event" + i % 97, start, 1 + i % 5);
+      added.add(created);
+      expected.addEvent(created);
+      calendar.addEvent(created);
+    }
+    EventReadOnly view = calendar.getEvents(MONDAY, MONDAY).get(0);
+    CalendarReadOnly before = calendar.snapshot();
+    for (int i = 0; i < 4000; i++) {
+      expected.removeEvent(added.get(i));
+      calendar.removeEvent(added.get(i));
+    }
+
+    assertEquals(1000, calendar.size());
+    assertEquals(CalendarEquivalenceTest.byDay(expected),
+        CalendarEquivalenceTest.byDay(calendar));
+    for (int hour = 0; hour < 24 * 140; hour += 7) {
+      LocalDateTime from = MONDAY.plusHours(hour);
+      assertEquals(expected.isBusy(from), calendar.isBusy(from));
+      assertEquals(expected.getEvents(from, from.plusHours(3)),
+          calendar.getEvents(from, from.plusHours(3)));
+    }
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(i >= 4000, calendar.containsEvent(added.get(i)));
+    }
+    assertEquals(added.get(0), view);
+    assertEquals(5000, before.getAllEvents().values().stream().mapToInt(List::size).sum());
+  }
+
+  @Test
+  public void testSeriesAreFoundAcrossEditsAndCompaction() {
+    CalendarEditable expected = new CalendarImpl();
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), 30);
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      EventReadOnly template = new Event.EventBuilder("Series" + i, MONDAY.plusMinutes(i))
+          .setEndDateTime(MONDAY.plusMinutes(i + 30)).setEventType(TypeOfEvent.SERIES).build();
+      ids.add(template.getId());
+      expected.addSeries(template, rule);
+      calendar.addSeries(template, rule);
+    }
+    for (int i = 0; i < 100; i += 2) {
+      for (CalendarEditable target : List.of(expected, calendar)) {
+        target.editEvent(target.getSeriesFrom(ids.get(i), MONDAY.plusDays(10)),
+            "subject", "Moved" + i);
+      }
+    }
+    for (int i = 0; i < 70; i++) {
+      for (EventReadOnly event : expected.getSeries(ids.get(i))) {
+        expected.removeEvent(event);
+        calendar.removeEvent(event);
+      }
+    }
+
+    assertEquals(900, calendar.size());
+    for (UUID id : ids) {
+      assertEquals(expected.getSeries(id), calendar.getSeries(id));
+    }
+    assertEquals(30, calendar.getSeries(ids.get(80)).size());
+    assertEquals(20, calendar.getSeriesFrom(ids.get(80), MONDAY.plusDays(10)).size());
+    assertTrue(calendar.getSeries(ids.get(0)).isEmpty());
+  }
+
+  @Test
+  public void testSnapshotIsIsolatedFromLaterChanges() {
+    EventReadOnly review = event("Review", MONDAY, 1);
+    calendar.addEvent(review);
+    CalendarReadOnly snapshot = calendar.snapshot();
+    calendar.removeEvent(review);
+    calendar.addEvent(event("Lunch", MONDAY.plusHours(3), 1));
+
+    assertEquals(List.of(review), snapshot.getEvents(MONDAY, MONDAY.plusDays(1)));
+    assertTrue(snapshot.isBusy(MONDAY));
+    assertFalse(snapshot.isBusy(MONDAY.plusHours(3)));
+    assertFalse(calendar.isBusy(MONDAY));
+    assertEquals(1, calendar.getEvents(MONDAY, MONDAY.plusDays(1)).size());
+  }
+}
@@ -0,0 +1,119 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.datatypes.RecurrenceRule;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.Test;
+
+/**
+ * Represents tests for RecurrenceRule, comparing its closed form expansion against
+ * stepping through the calendar one day at a time.
+ */
+public class RecurrenceRuleTest {
+
+  private static List<LocalDate> stepDates(Set<DayOfWeek> days, LocalDate anchor,
+                                           int times, LocalDate until) {
+    List<LocalDate> dates = new ArrayList<>();
+    LocalDate date = anchor;
+    while ((times > 0 && dates.size() < times) || (until != null && !date.isAfter(until))) {
+      if (days.contains(date.getDayOfWeek())) {
+        dates.add(date);
+      }
+      date = date.plusDays(1);
+    }
+    return dates;
+  }
+
+  private static List<LocalDate> toList(Iterator<LocalDate> dates) {
+    List<LocalDate> result = new ArrayList<>();
+    dates.forEachRemaining(result::add);
+    return result;
+  }
+
+  @Test
+  public void testTimesMatchesStepping() {
+    LocalDate anchor = LocalDate.of(2025, 10, 8);
+    for (int bits = 1; bits < 128; bits++) {
+      Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+      for (DayOfWeek day : DayOfWeek.values()) {
+        if ((bits & (1 << (day.getValue() - 1))) != 0) {
+          days.add(day);
+        }
+      }
+      RecurrenceRule rule = new RecurrenceRule(days, 23);
+      List<LocalDate> expected = stepDates(days, anchor, 23, null);
+      assertEquals(expected, toList(rule.dates(anchor)));
+      assertEquals(expected.get(22), rule.lastDate(anchor));
+    }
+  }
+
+  @Test
+  public void testUntilMatchesStepping() {
+    Set<DayOfWeek> days = EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY, DayOfWeek.SUNDAY);
+    LocalDate until = LocalDate.of(2025, 12, 12);
+    for (int shift = 0; shift < 7; shift++) {
+      LocalDate anchor = LocalDate.of(2025, 10, 12).plusDays(shift);
+      RecurrenceRule rule = new RecurrenceRule(days, until);
+      List<LocalDate> expected = stepDates(days, anchor, 0, until);
+      assertEquals(expected, toList(rule.dates(anchor)));
+      assertEquals(expected.size(), rule.count(anchor));
+    }
+  }
+
+  @Test
+  public void testWindowSkipsToFirstOccurrence() {
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+        LocalDate.of(2030, 12, 31));
+    LocalDate anchor = LocalDate.of(2026, 1, 1);
+    List<LocalDate> window = toList(rule.dates(anchor, LocalDate.of(2028, 3, 1),
+        LocalDate.of(2028, 3, 10)));
+    List<LocalDate> expected = new ArrayList<>();
+    expected.add(LocalDate.of(2028, 3, 3));
+    expected.add(LocalDate.of(2028, 3, 6));
+    expected.add(LocalDate.of(2028, 3, 10));
+    assertEquals(expected, window);
+    assertTrue(rule.includes(anchor, LocalDate.of(2028, 3, 6)));
+    assertFalse(rule.includes(anchor, LocalDate.of(2028, 3, 7)));
+    assertFalse(rule.includes(anchor, LocalDate.of(2031, 1, 3)));
+  }
+
+  @Test
+  public void testSpliteratorSplitsInOrder() {
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.WEDNESDAY), 10000);
+    LocalDate anchor = LocalDate.of(2025, 1, 1);
+    Spliterator<LocalDate> dates = rule.spliterator(anchor, anchor, null);
+    assertEquals(10000, dates.estimateSize());
+    List<LocalDate> parallel = StreamSupport.stream(dates, true).collect(Collectors.toList());
+    assertEquals(toList(rule.dates(anchor)), parallel);
+    assertEquals(rule.occurrence(anchor, 9999), parallel.get(9999));
+  }
+
+  @Test
+  public void testUntilBeforeFirstMatchHasNoOccurrences() {
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY),
+        LocalDate.of(2025, 10, 11));
+    assertEquals(0, rule.count(LocalDate.of(2025, 10, 7)));
+    assertNull(rule.lastDate(LocalDate.of(2025, 10, 7)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyDaysRejected() {
+    new RecurrenceRule(EnumSet.noneOf(DayOfWeek.class), 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveTimesRejected() {
+    new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 0);
+  }
+}
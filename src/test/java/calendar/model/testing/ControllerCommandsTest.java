@@ -10,15 +10,19 @@ import calendar.controller.CalendarController;
 import calendar.controller.CalendarControllerImpl;
 import calendar.controller.commands.CommandTokenizerImpl;
 import calendar.model.Event;
+import calendar.model.datatypes.RecurrenceRule;
 import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
 import calendar.view.CalendarView;
 import calendar.view.CalendarViewImpl;
 import java.io.IOException;
 import java.io.StringReader;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -111,12 +115,46 @@ public class ControllerCommandsTest {
 
   }
 
+  @Test
+  public void testGetSeries() {
+    CalendarEditable mockCalendar = new MockCalendar(log);
+    mockCalendar.getSeries(UUID.randomUUID());
+    mockCalendar.getSeriesFrom(UUID.randomUUID(), LocalDateTime.of(2025, 10, 10, 0, 0));
+    assertEquals("getSeriesgetSeriesFrom", log.toString());
+  }
+
+  @Test
+  public void testAddEvents() {
+    CalendarEditable mockCalendar = new MockCalendar(log);
+    List<EventReadOnly> events = new ArrayList<>();
+    events.add(new Event.EventBuilder("Sample", LocalDateTime.of(2025, 10, 10, 10, 10)).build());
+    assertEquals(events, mockCalendar.addEvents(events));
+    assertEquals("addEvents", log.toString());
+  }
+
+  @Test
+  public void testAddSeries() {
+    CalendarEditable mockCalendar = new MockCalendar(log);
+    EventReadOnly template =
+        new Event.EventBuilder("Sample", LocalDateTime.of(2025, 10, 10, 10, 10)).build();
+    mockCalendar.addSeries(template, new RecurrenceRule(EnumSet.of(DayOfWeek.FRIDAY), 2));
+    assertEquals("addSeries", log.toString());
+  }
+
+  @Test
+  public void testContainsEvent() {
+    CalendarEditable mockCalendar = new MockCalendar(log);
+    assertFalse(mockCalendar.containsEvent(new Event.EventBuilder("Sample",
+        LocalDateTime.of(2025, 10, 10, 10, 10)).build()));
+    assertEquals("containsEvent", log.toString());
+  }
+
   @Test
   public void testCommandEdit() {
     CalendarControllerImpl controller =
         new CalendarControllerImpl(calendar, testInputEdit, calendarView);
     controller.run();
-    assertTrue(log.toString().contains("forEachEventeditEvent"));
+    assertTrue(log.toString().contains("findEventseditEvent"));
   }
 
 